@@ -0,0 +1,79 @@
+package backend.exception;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit du chemin d'erreur (identifiant inconnu -> 404), levée à {@code depth} appels de
+ * profondeur comme sous la pile Tomcat + filtres + proxy de service :
+ * <ul>
+ *     <li>{@code runtimeException} : chemin d'origine, RuntimeException avec capture de la pile ;</li>
+ *     <li>{@code domainException} : {@link ResourceNotFoundException}, sans pile ;</li>
+ *     <li>{@code domainExceptionHandled} : la même, traduite en problem+json par
+ *     {@link GlobalExceptionHandler}.</li>
+ * </ul>
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="ErrorPath"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    private static final long UNKNOWN_ID = 987_654L;
+
+    @Param({"20", "120"})
+    public int depth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Benchmark
+    public String runtimeException() {
+        try {
+            return lookup(depth, false);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String domainException() {
+        try {
+            return lookup(depth, true);
+        } catch (DomainException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDetail> domainExceptionHandled() {
+        try {
+            lookup(depth, true);
+            return null;
+        } catch (DomainException e) {
+            return handler.handleDomainException(e);
+        }
+    }
+
+    private static String lookup(int depth, boolean domain) {
+        if (depth > 0) {
+            return lookup(depth - 1, domain);
+        }
+        String message = "Lieu non trouvé avec l'id : " + UNKNOWN_ID;
+        throw domain ? new ResourceNotFoundException(message) : new RuntimeException(message);
+    }
+}
@@ -0,0 +1,83 @@
+package backend.service;
+
+import backend.entities.Role;
+import backend.entities.Status;
+import backend.entities.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coût de la vérification du JWT par requête authentifiée, avant et après le passage à
+ * {@link JwtService#verify} :
+ * <ul>
+ *     <li>{@code legacy} : chemin d'origine de JwtAuthFilter, trois parsings + vérifications HMAC
+ *     (extractUsername, puis isTokenValid = extractUsername + isTokenExpired), chacun avec une clé
+ *     décodée et un parseur construits à nouveau ;</li>
+ *     <li>{@code verified} : un seul parsing avec la clé et le parseur construits au démarrage,
+ *     puis le principal construit à partir des claims.</li>
+ * </ul>
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="JwtVerification"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    // Même secret que JwtService
+    private static final String SECRET_KEY = "413F4428472B4B6250655368566D5970337336763979244226452948404D6351";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        token = jwtService.generateToken(User.builder()
+                .id(42L)
+                .email("guide@taroudant.ma")
+                .fullName("Guide Taroudant")
+                .role(Role.GUIDE)
+                .status(Status.ACTIVE)
+                .tokenVersion(0)
+                .build());
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String username = legacyClaim(token, Claims::getSubject);
+        return username.equals(legacyClaim(token, Claims::getSubject))
+                && !legacyClaim(token, Claims::getExpiration).before(new Date());
+    }
+
+    @Benchmark
+    public User verified() {
+        VerifiedToken verified = jwtService.verify(token).orElseThrow();
+        return verified.isExpired(Instant.now()) ? null : verified.toPrincipal();
+    }
+
+    private static <T> T legacyClaim(String token, Function<Claims, T> resolver) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return resolver.apply(Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload());
+    }
+}
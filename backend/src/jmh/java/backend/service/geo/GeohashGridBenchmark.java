@@ -0,0 +1,108 @@
+package backend.service.geo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plus proches voisins dans la grille geohash ({@link GeohashGrid}) face à un parcours complet des
+ * points, avec 100 000 lieux répartis sur la région Souss-Massa :
+ * <ul>
+ *     <li>{@code gridNearest} : les 20 lieux les plus proches à moins de 5 km (rayon par défaut) ;</li>
+ *     <li>{@code gridNearestWide} : les 20 plus proches à moins de 100 km (rayon maximal), anneaux
+ *     parcourus jusqu'à ce que le 20e voisin soit plus proche que les cellules restantes ;</li>
+ *     <li>{@code linearScan} : haversine sur tous les points et tas des 20 meilleurs, sans index.</li>
+ * </ul>
+ * Les points de requête tournent sur un jeu fixe tiré dans la même zone.
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="GeohashGrid"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeohashGridBenchmark {
+
+    private static final int NEIGHBOURS = 20;
+    private static final int QUERIES = 1024;
+
+    @Param({"100000"})
+    public int places;
+
+    private GeohashGrid grid;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[][] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        grid = new GeohashGrid(5);
+        latitudes = new double[places];
+        longitudes = new double[places];
+        for (int id = 0; id < places; id++) {
+            latitudes[id] = 29.0 + random.nextDouble() * 2.5;
+            longitudes[id] = -10.0 + random.nextDouble() * 3.5;
+            grid.put(id, latitudes[id], longitudes[id]);
+        }
+        queries = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = new double[]{29.0 + random.nextDouble() * 2.5, -10.0 + random.nextDouble() * 3.5};
+        }
+    }
+
+    @Benchmark
+    public List<GeohashGrid.Hit> gridNearest() {
+        double[] query = query();
+        return grid.nearest(query[0], query[1], 5_000, NEIGHBOURS);
+    }
+
+    @Benchmark
+    public List<GeohashGrid.Hit> gridNearestWide() {
+        double[] query = query();
+        return grid.nearest(query[0], query[1], 100_000, NEIGHBOURS);
+    }
+
+    @Benchmark
+    public PriorityQueue<double[]> linearScan() {
+        double[] query = query();
+        double latitude = Math.toRadians(query[0]);
+        double longitude = Math.toRadians(query[1]);
+        double cosLatitude = Math.cos(latitude);
+        PriorityQueue<double[]> best = new PriorityQueue<>(NEIGHBOURS + 1, (a, b) -> Double.compare(b[1], a[1]));
+        for (int id = 0; id < places; id++) {
+            double pointLatitude = Math.toRadians(latitudes[id]);
+            double sinLat = Math.sin((pointLatitude - latitude) / 2);
+            double sinLon = Math.sin((Math.toRadians(longitudes[id]) - longitude) / 2);
+            double haversine = sinLat * sinLat + cosLatitude * Math.cos(pointLatitude) * sinLon * sinLon;
+            if (best.size() < NEIGHBOURS) {
+                best.add(new double[]{id, haversine});
+            } else if (haversine < best.peek()[1]) {
+                best.poll();
+                best.add(new double[]{id, haversine});
+            }
+        }
+        return best;
+    }
+
+    private double[] query() {
+        next = (next + 1) & (QUERIES - 1);
+        return queries[next];
+    }
+}
@@ -0,0 +1,163 @@
+package backend.service.readmodel;
+
+import backend.dto.PlaceSummary;
+import backend.entities.Place;
+import backend.entities.Status;
+import backend.service.PageQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Modèle de lecture des lieux ({@link PlaceTable}) face aux mêmes lignes gardées en objets, à
+ * 10 000 et 100 000 lieux :
+ * <ul>
+ *     <li>{@code tablePage} / {@code summaryListPage} : une page de 50 lieux publiés au milieu de
+ *     la liste, depuis les colonnes ou depuis une liste de {@link PlaceSummary} ;</li>
+ *     <li>{@code mappedTablePage} : la même page depuis la table relue d'un instantané, colonnes
+ *     lues dans la projection mémoire du fichier ;</li>
+ *     <li>{@code mergeOneRow} : mise à jour incrémentale après la modification d'un lieu (fusion puis
+ *     nouvelle table) ; {@code rebuild} : reconstruction complète à partir de toutes les lignes.</li>
+ * </ul>
+ * L'empreinte mémoire retenue (tas occupé après GC, avant et après construction) est affichée au
+ * démarrage pour la table, la table relue d'un instantané, la liste de vues et une liste
+ * d'entités {@link Place} détachées.
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="ReadModel"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadModelBenchmark {
+
+    private static final String[] CITIES = {"Taroudant", "Agadir", "Tiznit", "Taliouine", "Tafraout"};
+
+    @Param({"10000", "100000"})
+    public int places;
+
+    private List<PlaceSummary> rows;
+    private PlaceTable table;
+    private PlaceTable mapped;
+    private PageQuery middle;
+    private PlaceSummary changed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        rows = rows();
+        table = PlaceTable.build(List.of(), rows, List.of());
+        Path snapshot = Files.createTempFile("places", ".snapshot");
+        snapshot.toFile().deleteOnExit();
+        SnapshotFile.write(snapshot, table::writeTo);
+        mapped = PlaceTable.readFrom(SnapshotFile.read(snapshot));
+        middle = new PageQuery(ScrollPosition.forward(Map.of("id", (long) places / 2)), Limit.of(50));
+        changed = summary(places / 3, "Lieu renommé");
+
+        System.out.printf("%n[%d lieux] table en colonnes : %,d octets retenus (estimation %,d), "
+                        + "table relue (projection) : estimation %,d octets sur le tas, "
+                        + "vues PlaceSummary : %,d octets, entités Place : %,d octets%n", places,
+                retained(() -> PlaceTable.build(List.of(), rows(), List.of())), table.estimatedBytes(),
+                mapped.estimatedBytes(), retained(this::rows), retained(this::entities));
+    }
+
+    @Benchmark
+    public Window<PlaceSummary> tablePage() {
+        return table.active(middle);
+    }
+
+    @Benchmark
+    public Window<PlaceSummary> mappedTablePage() {
+        return mapped.active(middle);
+    }
+
+    @Benchmark
+    public Window<PlaceSummary> summaryListPage() {
+        List<PlaceSummary> page = new ArrayList<>(51);
+        long afterId = middle.afterId();
+        for (PlaceSummary row : rows) {
+            if (row.id() > afterId && row.status() == Status.ACTIVE && page.size() < 51) {
+                page.add(row);
+            }
+        }
+        return middle.window(page, PlaceSummary::id);
+    }
+
+    @Benchmark
+    public PlaceTable mergeOneRow() {
+        return PlaceTable.build(List.of(), CatalogReadModel.merge(table.rows(), Set.of(changed.id()),
+                List.of(changed), PlaceSummary::id), table.ratings());
+    }
+
+    @Benchmark
+    public PlaceTable rebuild() {
+        return PlaceTable.build(List.of(), rows, List.of());
+    }
+
+    // Lignes neuves à chaque appel : les structures mesurées ne partagent aucune chaîne
+    private List<PlaceSummary> rows() {
+        List<PlaceSummary> fresh = new ArrayList<>(places);
+        for (long id = 1; id <= places; id++) {
+            fresh.add(summary(id, "Lieu " + id));
+        }
+        return fresh;
+    }
+
+    private List<Place> entities() {
+        List<Place> entities = new ArrayList<>(places);
+        for (PlaceSummary row : rows()) {
+            Place place = new Place();
+            place.setId(row.id());
+            place.setName(row.name());
+            place.setCity(row.city());
+            place.setLatitude(row.latitude());
+            place.setLongitude(row.longitude());
+            place.setStatus(row.status());
+            place.setCreatedAt(row.createdAt());
+            entities.add(place);
+        }
+        return entities;
+    }
+
+    // Tas occupé après GC, avant et après la construction (l'objet construit reste référencé)
+    private static long retained(Supplier<Object> build) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        Object kept = build.get();
+        System.gc();
+        long after = memory.getHeapMemoryUsage().getUsed();
+        return kept != null ? after - before : 0L;
+    }
+
+    private static PlaceSummary summary(long id, String name) {
+        return new PlaceSummary(id, name, CITIES[(int) (id % CITIES.length)], 30.47 + id * 1e-6, -8.87 - id * 1e-6,
+                null, id % 10 == 0 ? Status.PENDING : Status.ACTIVE, LocalDateTime.of(2026, 1, 1, 0, 0).plusMinutes(id),
+                id % 3 == 0 ? null : 3.5 + (id % 3) * 0.5);
+    }
+}
@@ -5,11 +5,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @SpringBootApplication
 @EntityScan(basePackages = "backend.entities")
 @EnableTransactionManagement
+@EnableScheduling
 @EnableJpaRepositories(basePackages = "backend.repositories")
 @ComponentScan(basePackages = {"backend", "backend.repositories"})
 public class ExploreTaroudantApplication {
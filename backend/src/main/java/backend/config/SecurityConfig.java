@@ -1,7 +1,13 @@
 package backend.config;
 
+import backend.config.concurrency.ConcurrencyLimitFilter;
+import backend.config.concurrency.ConcurrencyLimitProperties;
 import backend.config.jwt.JwtAuthFilter;
+import backend.config.ratelimit.RateLimitFilter;
+import backend.config.ratelimit.RateLimitProperties;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -27,19 +33,30 @@ import java.util.Arrays;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
+@EnableConfigurationProperties({RateLimitProperties.class, ConcurrencyLimitProperties.class})
 //@RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter ;
+    private final RateLimitFilter rateLimitFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
     private final UserDetailsService userDetailsService;
+
+    // Facteur de coût BCrypt ; les hashs plus faibles sont migrés à la connexion suivante
+    @Value("${application.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
     
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, RateLimitFilter rateLimitFilter,
+                          ConcurrencyLimitFilter concurrencyLimitFilter,
+                          UserDetailsService userDetailsService) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
         this.userDetailsService = userDetailsService;
     }
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -67,11 +84,18 @@ public class SecurityConfig {
                         .requestMatchers("/api/guide/**").hasRole("GUIDE") // Routes Guide
                         .requestMatchers(HttpMethod.GET, "/api/events/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/activities/**", "/api/places/**").permitAll() // Routes publiques (non-authentifiées)
+                        .requestMatchers(HttpMethod.GET, "/api/suggest", "/api/search").permitAll()
+                        // GraphQL (lecture seule) : l'authentification est exigée champ par champ (@PreAuthorize)
+                        .requestMatchers(HttpMethod.POST, "/api/graphql").permitAll()
                         .anyRequest().authenticated() // Toutes les autres routes nécessitent une authentification
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Après le JWT : les utilisateurs authentifiés sont limités par compte, les autres par IP
+                .addFilterAfter(rateLimitFilter, JwtAuthFilter.class)
+                // Délestage adaptatif : les requêtes au-delà de la capacité mesurée sont refusées sans attendre
+                .addFilterAfter(concurrencyLimitFilter, RateLimitFilter.class);
 
         return http.build();
     }
@@ -82,6 +106,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // En-têtes de pagination lisibles par le front (autre origine)
+        configuration.setExposedHeaders(Arrays.asList("X-Next-Cursor", "Link", "ETag"));
         configuration.setAllowCredentials(false);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,22 @@
+package backend.config;
+
+import backend.controller.CatalogSnapshotInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CatalogSnapshotInterceptor catalogSnapshotInterceptor;
+
+    public WebConfig(CatalogSnapshotInterceptor catalogSnapshotInterceptor) {
+        this.catalogSnapshotInterceptor = catalogSnapshotInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogSnapshotInterceptor)
+                .addPathPatterns("/api/places", "/api/activities", "/api/circuits", "/api/events");
+    }
+}
@@ -0,0 +1,149 @@
+package backend.config.concurrency;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite de requêtes simultanées apprise à partir de la latence observée (algorithme à gradient) :
+ * on compare la latence récente à une moyenne long terme ; si elle se dégrade, la limite baisse
+ * proportionnellement, sinon elle remonte doucement (+ racine de la limite par fenêtre).
+ * Les erreurs serveur divisent la limite (décroissance multiplicative).
+ * Les requêtes au-delà de la limite ne sont jamais mises en file : elles sont refusées tout de suite.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LONG_RTT_ALPHA = 0.05;
+
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RequestPriority, LongAdder> accepted = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, LongAdder> shed = new EnumMap<>(RequestPriority.class);
+
+    private volatile int limit;
+
+    // État de la fenêtre de mesure, protégé par le verrou de l'instance
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.estimatedLimit = clamp(properties.initialLimit());
+        this.limit = (int) estimatedLimit;
+        for (RequestPriority priority : RequestPriority.values()) {
+            accepted.put(priority, new LongAdder());
+            shed.put(priority, new LongAdder());
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /** Réserve une place pour la requête, ou retourne faux si sa classe a atteint sa part de la limite. */
+    public boolean tryAcquire(RequestPriority priority) {
+        int allowed = priority.allowedInFlight(limit);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                shed.get(priority).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.get(priority).increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libère la place et enregistre la mesure.
+     *
+     * @param rttNanos durée de traitement de la requête
+     * @param dropped  vrai si la requête a échoué côté serveur (erreur 5xx, délai dépassé...)
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        onSample(System.nanoTime(), rttNanos, current, dropped);
+    }
+
+    private synchronized void onSample(long now, long rttNanos, int inFlightAtRelease, boolean dropped) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtRelease);
+        windowDropped |= dropped;
+
+        if (windowSamples < properties.minWindowSamples()
+                || now - windowStart < properties.sampleWindow().toNanos()) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSum / windowSamples;
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) * LONG_RTT_ALPHA;
+        }
+        // Après une dégradation durable, la référence long terme rattrape la latence courante
+        // plus vite, pour ne pas rester bloquée sur une limite basse une fois la base rétablie
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double newLimit;
+        if (windowDropped) {
+            newLimit = estimatedLimit * BACKOFF_RATIO;
+        } else if (windowMaxInFlight < estimatedLimit / 2) {
+            // Application peu sollicitée : la latence ne dit rien de la capacité, on ne bouge pas
+            newLimit = estimatedLimit;
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, properties.tolerance() * longRttNanos / shortRtt));
+            double queueSize = Math.sqrt(estimatedLimit);
+            newLimit = estimatedLimit * gradient + queueSize;
+            newLimit = estimatedLimit * (1 - properties.smoothing()) + newLimit * properties.smoothing();
+        }
+
+        estimatedLimit = clamp(newLimit);
+        limit = (int) estimatedLimit;
+
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    private double clamp(double value) {
+        return Math.max(properties.minLimit(), Math.min(properties.maxLimit(), value));
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1, properties.retryAfter().toSeconds());
+    }
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("limit", (long) limit);
+        stats.put("inFlight", (long) inFlight.get());
+        synchronized (this) {
+            stats.put("longRttMicros", (long) (longRttNanos / 1_000));
+        }
+        for (RequestPriority priority : RequestPriority.values()) {
+            stats.put(priority.name() + ".allowed", (long) priority.allowedInFlight(limit));
+            stats.put(priority.name() + ".accepted", accepted.get(priority).sum());
+            stats.put(priority.name() + ".shed", shed.get(priority).sum());
+        }
+        return stats;
+    }
+}
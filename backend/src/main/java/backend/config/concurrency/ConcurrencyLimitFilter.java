@@ -0,0 +1,93 @@
+package backend.config.concurrency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Délestage devant les contrôleurs : chaque requête /api/** doit obtenir une place auprès du
+ * limiteur adaptatif, selon sa classe de priorité. Sinon, réponse 503 immédiate avec Retry-After.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final RequestMatcher API_ROUTES = new AntPathRequestMatcher("/api/**");
+
+    private static final RequestMatcher RESERVATION_WRITES = request ->
+            !HttpMethod.GET.matches(request.getMethod())
+                    && new AntPathRequestMatcher("/api/tourist/reservations/**").matches(request);
+
+    // Listes complètes destinées au back-office, les plus coûteuses et les moins urgentes
+    private static final RequestMatcher ADMIN_BULK_READS = new OrRequestMatcher(
+            new AntPathRequestMatcher("/api/admin/**", HttpMethod.GET.name()),
+            new AntPathRequestMatcher("/api/*/all", HttpMethod.GET.name()),
+            new AntPathRequestMatcher("/api/*/pending", HttpMethod.GET.name()),
+            new AntPathRequestMatcher("/api/circuits/admin/all", HttpMethod.GET.name()),
+            new AntPathRequestMatcher("/api/tourist/reservations/all", HttpMethod.GET.name()),
+            new AntPathRequestMatcher("/api/reports", HttpMethod.GET.name())
+    );
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (!limiter.isEnabled() || !API_ROUTES.matches(request)
+                || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire(resolvePriority(request))) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(limiter.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("{\"error\":\"Service momentanément surchargé, veuillez réessayer\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    static RequestPriority resolvePriority(HttpServletRequest request) {
+        if (RESERVATION_WRITES.matches(request)) {
+            return RequestPriority.RESERVATION_WRITE;
+        }
+        if (ADMIN_BULK_READS.matches(request)) {
+            return RequestPriority.ADMIN_BULK_READ;
+        }
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            return RequestPriority.READ;
+        }
+        return RequestPriority.WRITE;
+    }
+}
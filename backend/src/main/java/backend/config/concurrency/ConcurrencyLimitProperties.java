@@ -0,0 +1,51 @@
+package backend.config.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Paramétrage du limiteur de concurrence adaptatif.
+ *
+ * @param enabled          active ou non le filtre
+ * @param initialLimit     limite de requêtes simultanées au démarrage
+ * @param minLimit         plancher de la limite
+ * @param maxLimit         plafond de la limite
+ * @param tolerance        dégradation de latence tolérée avant de réduire la limite (2.0 = latence doublée)
+ * @param smoothing        poids de la nouvelle estimation à chaque fenêtre (0..1)
+ * @param sampleWindow     durée minimale d'une fenêtre de mesure
+ * @param minWindowSamples nombre minimal de mesures avant de recalculer la limite
+ * @param retryAfter       délai conseillé aux clients délestés
+ */
+@ConfigurationProperties(prefix = "application.concurrency-limit")
+public record ConcurrencyLimitProperties(boolean enabled, int initialLimit, int minLimit, int maxLimit,
+                                         double tolerance, double smoothing, Duration sampleWindow,
+                                         int minWindowSamples, Duration retryAfter) {
+
+    public ConcurrencyLimitProperties {
+        if (initialLimit <= 0) {
+            initialLimit = 20;
+        }
+        if (minLimit <= 0) {
+            minLimit = 4;
+        }
+        if (maxLimit <= 0) {
+            maxLimit = 200;
+        }
+        if (tolerance <= 0) {
+            tolerance = 2.0;
+        }
+        if (smoothing <= 0 || smoothing > 1) {
+            smoothing = 0.2;
+        }
+        if (sampleWindow == null) {
+            sampleWindow = Duration.ofMillis(200);
+        }
+        if (minWindowSamples <= 0) {
+            minWindowSamples = 10;
+        }
+        if (retryAfter == null) {
+            retryAfter = Duration.ofSeconds(1);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package backend.config.concurrency;
+
+/**
+ * Classes de priorité du délestage. Chaque classe n'a droit qu'à une fraction de la limite
+ * courante : quand la base ralentit et que la limite baisse, les classes les moins prioritaires
+ * sont refusées en premier.
+ */
+public enum RequestPriority {
+
+    /** Listes d'administration complètes (/all, /pending, /api/admin...) : délestées en premier. */
+    ADMIN_BULK_READ(0.5),
+    /** Lectures du catalogue public et des espaces personnels. */
+    READ(0.75),
+    /** Écritures authentifiées (lieux, avis, profils...). */
+    WRITE(0.9),
+    /** Création et gestion des réservations : délestées en dernier. */
+    RESERVATION_WRITE(1.0);
+
+    private final double share;
+
+    RequestPriority(double share) {
+        this.share = share;
+    }
+
+    /** Nombre de requêtes simultanées tolérées pour cette classe avec la limite donnée. */
+    int allowedInFlight(int limit) {
+        return Math.max(1, (int) (limit * share));
+    }
+}
@@ -0,0 +1,57 @@
+package backend.config.graphql;
+
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.schema.GraphQLTypeUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Garde-fous de l'API GraphQL : profondeur et complexité maximales vérifiées avant exécution,
+ * et requêtes persistées (voir {@link PersistedQueryStore}).
+ */
+@Configuration
+public class GraphQlConfig {
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(
+            @Value("${application.graphql.max-depth:8}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    /**
+     * Un champ coûte 1 plus le coût de ses sous-champs, multiplié par le nombre d'éléments attendus :
+     * l'argument "first" quand il est fourni, sinon une estimation fixe pour les listes associées.
+     */
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${application.graphql.max-complexity:1000}") int maxComplexity,
+            @Value("${application.graphql.list-size-estimate:5}") int listSizeEstimate) {
+        FieldComplexityCalculator calculator = (environment, childComplexity) -> {
+            int factor = 1;
+            if (environment.getArguments().get("first") instanceof Integer first) {
+                factor = Math.max(first, 1);
+            } else if (GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()))) {
+                factor = listSizeEstimate;
+            }
+            return 1 + childComplexity * factor;
+        };
+        return new MaxQueryComplexityInstrumentation(maxComplexity, calculator);
+    }
+
+    @Bean
+    public PersistedQueryStore persistedQueryStore(
+            @Value("${application.graphql.persisted-queries.maximum-size:1000}") long maximumSize) {
+        return new PersistedQueryStore(maximumSize);
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer persistedQueries(PersistedQueryStore persistedQueryStore) {
+        return builder -> builder.configureGraphQl(graphQl ->
+                graphQl.preparsedDocumentProvider(new ApolloPersistedQuerySupport(persistedQueryStore)));
+    }
+}
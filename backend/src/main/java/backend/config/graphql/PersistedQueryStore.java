@@ -0,0 +1,116 @@
+package backend.config.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Requêtes persistées (protocole "Automatic Persisted Queries") : le client envoie le SHA-256
+ * de sa requête dans extensions.persistedQuery.sha256Hash et, à la place du texte, le marqueur
+ * "PersistedQueryMarker" (Spring GraphQL refuse un champ query vide). Le document déjà analysé
+ * et validé est servi depuis un cache borné ; sinon le client renvoie le texte complet une fois.
+ * Les requêtes livrées avec l'application (classpath:graphql/persisted/*.graphql) sont connues
+ * dès le démarrage.
+ */
+public class PersistedQueryStore implements PersistedQueryCache {
+
+    static final String LOCATION = "classpath*:graphql/persisted/*.graphql";
+
+    private final Cache<Object, PreparsedDocumentEntry> documents;
+    private final Map<String, String> bundled;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PersistedQueryStore(long maximumSize) {
+        this.documents = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.bundled = loadBundled();
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(
+            Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss)
+            throws PersistedQueryNotFound {
+        return CompletableFuture.completedFuture(lookup(persistedQueryId, executionInput, onCacheMiss));
+    }
+
+    // Encore appelée par PersistedQuerySupport (graphql-java 21) : même recherche que la version asynchrone
+    @Deprecated
+    @Override
+    public PreparsedDocumentEntry getPersistedQueryDocument(Object persistedQueryId, ExecutionInput executionInput,
+                                                            PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+        return lookup(persistedQueryId, executionInput, onCacheMiss);
+    }
+
+    private PreparsedDocumentEntry lookup(Object persistedQueryId, ExecutionInput executionInput,
+                                          PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+        PreparsedDocumentEntry cached = documents.getIfPresent(persistedQueryId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        String query = executionInput.getQuery();
+        if (query == null || query.isBlank() || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+            query = bundled.get(String.valueOf(persistedQueryId));
+            if (query == null) {
+                throw new PersistedQueryNotFound(persistedQueryId);
+            }
+        }
+        // Vérifie le hash, analyse et valide le texte une seule fois
+        PreparsedDocumentEntry entry = onCacheMiss.apply(query);
+        if (!entry.hasErrors()) {
+            documents.put(persistedQueryId, entry);
+        }
+        return entry;
+    }
+
+    public Map<String, Long> getStatistics() {
+        return Map.of(
+                "size", documents.estimatedSize(),
+                "bundled", (long) bundled.size(),
+                "hits", hits.sum(),
+                "misses", misses.sum());
+    }
+
+    private static Map<String, String> loadBundled() {
+        Map<String, String> queries = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                String query = StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+                queries.put(sha256(query), query);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return queries;
+    }
+
+    static String sha256(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
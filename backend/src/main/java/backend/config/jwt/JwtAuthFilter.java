@@ -1,6 +1,9 @@
 package backend.config.jwt;
 
 import backend.service.JwtService;
+import backend.service.PrincipalCache;
+import backend.service.TokenVersionRegistry;
+import backend.service.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,22 +12,24 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 //@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
-    public JwtAuthFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersions;
+    public JwtAuthFilter(JwtService jwtService, PrincipalCache principalCache, TokenVersionRegistry tokenVersions) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.tokenVersions = tokenVersions;
     }
     @Override
     protected void doFilterInternal(
@@ -34,30 +39,42 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        // Un seul parsing + vérification HMAC par requête (signature et expiration comprises)
+        Optional<VerifiedToken> token = jwtService.verify(authHeader.substring(7));
+        if (token.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolvePrincipal(token.get());
+            if (userDetails == null) {
+                filterChain.doFilter(request, response);
+                return;
             }
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         filterChain.doFilter(request, response);
     }
+
+    // Retourne null si le jeton a été révoqué depuis son émission
+    private UserDetails resolvePrincipal(VerifiedToken token) {
+        if (!token.isSelfContained()) {
+            // Jeton émis avant l'ajout des claims d'identité : rechargement via le cache
+            return principalCache.load(token.subject());
+        }
+        if (!tokenVersions.isCurrent(token.userId(), token.tokenVersion())) {
+            return null;
+        }
+        return token.toPrincipal();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package backend.config.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitation de débit en amont des contrôleurs : un seau par IP pour les visiteurs anonymes,
+ * un seau par utilisateur une fois authentifié (ce filtre passe après JwtAuthFilter).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String AUTH = "auth";
+    static final String PUBLIC = "public";
+    static final String API = "api";
+
+    private static final RequestMatcher AUTH_ROUTES = new OrRequestMatcher(
+            new AntPathRequestMatcher("/api/auth/login", HttpMethod.POST.name()),
+            new AntPathRequestMatcher("/api/auth/register/**", HttpMethod.POST.name())
+    );
+    private static final RequestMatcher PUBLIC_ROUTES = new OrRequestMatcher(
+            new AntPathRequestMatcher("/api/places/**", HttpMethod.GET.name()),
+            new AntPathRequestMatcher("/api/activities/**", HttpMethod.GET.name()),
+            new AntPathRequestMatcher("/api/events/**", HttpMethod.GET.name()),
+            new AntPathRequestMatcher("/api/suggest", HttpMethod.GET.name()),
+            new AntPathRequestMatcher("/api/search", HttpMethod.GET.name())
+    );
+    private static final RequestMatcher API_ROUTES = new AntPathRequestMatcher("/api/**");
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String group = resolveGroup(request);
+        if (group == null || !rateLimiter.isEnabled(group)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(group, clientKey(request, group));
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+
+        if (!decision.allowed()) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setHeader("RateLimit-Reset", String.valueOf(retryAfter));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("{\"error\":\"Trop de requêtes, veuillez réessayer plus tard\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String resolveGroup(HttpServletRequest request) {
+        if (AUTH_ROUTES.matches(request)) {
+            return AUTH;
+        }
+        if (PUBLIC_ROUTES.matches(request)) {
+            return PUBLIC;
+        }
+        if (API_ROUTES.matches(request)) {
+            return API;
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request, String group) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!AUTH.equals(group) && authentication != null && authentication.isAuthenticated()
+                && authentication.getName() != null) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,34 @@
+package backend.config.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Paramétrage du limiteur de débit : un seau par client et par groupe de routes.
+ *
+ * @param enabled     active ou non le filtre
+ * @param idleTimeout durée d'inactivité après laquelle le seau d'un client est oublié
+ * @param groups      capacité et recharge par groupe de routes ("auth", "public", "api")
+ */
+@ConfigurationProperties(prefix = "application.rate-limit")
+public record RateLimitProperties(boolean enabled, Duration idleTimeout, Map<String, Limit> groups) {
+
+    public RateLimitProperties {
+        if (idleTimeout == null) {
+            idleTimeout = Duration.ofMinutes(10);
+        }
+        if (groups == null) {
+            groups = Map.of();
+        }
+    }
+
+    /**
+     * @param capacity     nombre maximal de requêtes en rafale
+     * @param refillTokens jetons rendus à chaque période
+     * @param refillPeriod période de recharge
+     */
+    public record Limit(long capacity, long refillTokens, Duration refillPeriod) {
+    }
+}
@@ -0,0 +1,79 @@
+package backend.config.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Seaux à jetons par (groupe de routes, client), rangés dans une map concurrente à segments.
+ * Les seaux inactifs sont purgés périodiquement pour borner la mémoire.
+ */
+@Component
+public class RateLimiter {
+
+    /** Résultat d'une tentative : remaining &gt;= 0 si autorisé, sinon délai d'attente. */
+    public record Decision(boolean allowed, long limit, long remaining, long retryAfterNanos) {
+    }
+
+    private final RateLimitProperties properties;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> allowed = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> throttled = new ConcurrentHashMap<>();
+    private final LongAdder evicted = new LongAdder();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isEnabled(String group) {
+        return properties.enabled() && properties.groups().containsKey(group);
+    }
+
+    public Decision tryAcquire(String group, String clientKey) {
+        RateLimitProperties.Limit limit = properties.groups().get(group);
+        TokenBucket bucket = buckets.computeIfAbsent(group + '|' + clientKey, key -> newBucket(limit));
+
+        long result = bucket.tryConsume(System.nanoTime());
+        if (result >= 0) {
+            counter(allowed, group).increment();
+            return new Decision(true, bucket.capacity(), result, 0);
+        }
+        counter(throttled, group).increment();
+        return new Decision(false, bucket.capacity(), 0, -result);
+    }
+
+    @Scheduled(fixedDelayString = "${application.rate-limit.eviction-interval-ms:60000}")
+    void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = properties.idleTimeout().toNanos();
+        buckets.values().removeIf(bucket -> {
+            boolean idle = bucket.isIdle(now, idleNanos);
+            if (idle) {
+                evicted.increment();
+            }
+            return idle;
+        });
+    }
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("activeBuckets", (long) buckets.size());
+        stats.put("evictedBuckets", evicted.sum());
+        allowed.forEach((group, count) -> stats.put(group + ".allowed", count.sum()));
+        throttled.forEach((group, count) -> stats.put(group + ".throttled", count.sum()));
+        return stats;
+    }
+
+    private static TokenBucket newBucket(RateLimitProperties.Limit limit) {
+        long intervalNanos = Math.max(1, limit.refillPeriod().toNanos() / Math.max(1, limit.refillTokens()));
+        return new TokenBucket(Math.max(1, limit.capacity()), intervalNanos);
+    }
+
+    private static LongAdder counter(Map<String, LongAdder> counters, String group) {
+        return counters.computeIfAbsent(group, g -> new LongAdder());
+    }
+}
@@ -0,0 +1,49 @@
+package backend.config.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sans verrou (algorithme GCRA) : tout l'état tient dans un seul {@code long},
+ * l'instant théorique auquel le seau sera de nouveau plein, mis à jour par CAS.
+ */
+class TokenBucket {
+
+    private final long capacity;
+    private final long intervalNanos;   // temps de recharge d'un jeton
+    private final long burstNanos;      // capacity * intervalNanos
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(long capacity, long intervalNanos) {
+        this.capacity = capacity;
+        this.intervalNanos = intervalNanos;
+        this.burstNanos = capacity * intervalNanos;
+    }
+
+    /**
+     * Consomme un jeton. Retourne le nombre de jetons restants (&gt;= 0) si la requête passe,
+     * sinon l'opposé du délai d'attente en nanosecondes (&lt; 0).
+     */
+    long tryConsume(long now) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long newTat = Math.max(tat, now) + intervalNanos;
+            long backlog = newTat - now;
+            if (backlog > burstNanos) {
+                return -(backlog - burstNanos);
+            }
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                return (burstNanos - backlog) / intervalNanos;
+            }
+        }
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    // Un seau inactif depuis plus longtemps que idleNanos est plein : il peut être oublié sans effet
+    boolean isIdle(long now, long idleNanos) {
+        long tat = theoreticalArrival.get();
+        return tat == Long.MIN_VALUE || now - tat > idleNanos;
+    }
+}
@@ -1,15 +1,25 @@
 package backend.controller;
 
 
+import backend.exception.InvalidRequestException;
+import backend.dto.ActivitySummary;
+import backend.dto.BatchResult;
+import backend.dto.FilterResults;
 import backend.entities.Activity;
 import backend.entities.User;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import backend.service.ActivityService;
+import backend.service.CatalogCollection;
+import backend.service.PageQuery;
+import backend.service.facet.FacetFilter;
+import backend.service.facet.FacetedPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/activities")
@@ -18,43 +28,95 @@ import java.util.List;
 public class ActivityController {
 
     private final ActivityService activityService;
-
-    public ActivityController(ActivityService activityService) {
+    private final CursorPagination pagination;
+    private final CatalogETags etags;
+    private final BatchLookup batch;
+
+    public ActivityController(ActivityService activityService, CursorPagination pagination, CatalogETags etags,
+                              BatchLookup batch) {
+        this.batch = batch;
+        this.pagination = pagination;
+        this.etags = etags;
         this.activityService = activityService;
     }
 
     // PUBLIC : Uniquement les activités validées
     @GetMapping
-    public ResponseEntity<List<Activity>> getAllActiveActivities() {
-        return ResponseEntity.ok(activityService.getAllActiveActivities());
+    public ResponseEntity<List<ActivitySummary>> getAllActiveActivities(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.list(request, CatalogCollection.ACTIVITIES,
+                () -> pagination.ok(activityService.getAllActiveActivities(pagination.request(cursor, size))));
     }
 
      @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Activity>> getAllForAdmin() {
-        return ResponseEntity.ok(activityService.getAllActivities());
+    public ResponseEntity<List<Activity>> getAllForAdmin(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(activityService.getAllActivities(pagination.request(cursor, size)));
     }
 
     // ADMIN : Liste de modération
     @GetMapping("/pending")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Activity>> getPendingActivities() {
-        return ResponseEntity.ok(activityService.getAllPendingActivities());
+    public ResponseEntity<List<Activity>> getPendingActivities(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(activityService.getAllPendingActivities(pagination.request(cursor, size)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Activity> getActivityById(@PathVariable Long id) {
-        return ResponseEntity.ok(activityService.getActivityById(id));
+    public ResponseEntity<Activity> getActivityById(@PathVariable Long id, WebRequest request) {
+        return etags.entity(request, CatalogCollection.ACTIVITIES, id,
+                () -> ResponseEntity.ok(activityService.getActivityById(id)));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResult<ActivitySummary>> getActivitiesByIds(@RequestParam List<Long> ids, WebRequest request) {
+        List<Long> keys = batch.ids(ids);
+        return etags.list(request, CatalogCollection.ACTIVITIES,
+                () -> batch.ok(keys, activityService.getActivitiesByIds(keys), ActivitySummary::id));
     }
 
     @GetMapping("/place/{placeId}")
-    public ResponseEntity<List<Activity>> getActivitiesByPlace(@PathVariable Long placeId) {
-        return ResponseEntity.ok(activityService.getActivitiesByPlace(placeId));
+    public ResponseEntity<List<ActivitySummary>> getActivitiesByPlace(@PathVariable Long placeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.list(request, CatalogCollection.ACTIVITIES,
+                () -> pagination.ok(activityService.getActivitiesByPlace(placeId, pagination.request(cursor, size))));
     }
 
     @GetMapping("/guide/{guideId}")
-    public ResponseEntity<List<Activity>> getActivitiesByGuide(@PathVariable Long guideId) {
-        return ResponseEntity.ok(activityService.getActivitiesByGuide(guideId));
+    public ResponseEntity<List<ActivitySummary>> getActivitiesByGuide(@PathVariable Long guideId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.list(request, CatalogCollection.ACTIVITIES,
+                () -> pagination.ok(activityService.getActivitiesByGuide(guideId, pagination.request(cursor, size))));
+    }
+
+    // PUBLIC : filtres combinables, avec les comptes par facette dans la même réponse
+    @GetMapping("/filter")
+    public ResponseEntity<FilterResults<ActivitySummary>> filterActivities(
+            @RequestParam(required = false) Set<Long> place,
+            @RequestParam(required = false) Set<Long> guide,
+            @RequestParam(required = false) Set<String> city,
+            @RequestParam(required = false) Set<String> price,
+            @RequestParam(required = false) Set<String> duration,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.indexed(request, CatalogCollection.ACTIVITIES, activityService.getFilterTag(), () -> {
+            FacetedPage<ActivitySummary> page = activityService.filterActivities(
+                    new FacetFilter(place, guide, city, price, duration, minRating), pagination.request(cursor, size));
+            return ResponseEntity.ok()
+                    .headers(pagination.nextPageHeaders(PageQuery.nextPosition(page.window())))
+                    .body(new FilterResults<>(page.window().getContent(), page.total(), page.facets()));
+        });
     }
 
    @PostMapping
@@ -68,7 +130,7 @@ public ResponseEntity<Activity> createActivity(
     
     // Assurez-vous que l'objet activity reçu a bien un ID dans son champ place
     if (activity.getPlace() == null || activity.getPlace().getId() == null) {
-         throw new RuntimeException("L'ID du lieu est obligatoire");
+         throw new InvalidRequestException("L'ID du lieu est obligatoire");
     }
 
     return ResponseEntity.ok(activityService.createActivity(activity, currentUser));
@@ -76,9 +138,11 @@ public ResponseEntity<Activity> createActivity(
 
 @GetMapping("/my-activities")
 @PreAuthorize("hasRole('GUIDE')")
-public ResponseEntity<List<Activity>> getMyActivities(@AuthenticationPrincipal User currentUser) {
+public ResponseEntity<List<Activity>> getMyActivities(@AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
     // Le guide récupère TOUTES ses activités (ACTIVE + PENDING)
-    return ResponseEntity.ok(activityService.getActivitiesByUserId(currentUser.getId()));
+    return pagination.ok(activityService.getActivitiesByUserId(currentUser.getId(), pagination.request(cursor, size)));
 }
 
     @PutMapping("/{id}")
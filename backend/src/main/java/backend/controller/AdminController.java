@@ -1,15 +1,33 @@
 package backend.controller;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import backend.config.concurrency.AdaptiveConcurrencyLimiter;
+import backend.config.graphql.PersistedQueryStore;
+import backend.config.ratelimit.RateLimiter;
+import backend.dto.BulkImportReport;
 import backend.entities.Status;
 import backend.entities.User;
 import backend.service.AdminService;
+import backend.service.CatalogVersions;
+import backend.service.SingleFlight;
+import backend.service.UserImportService;
+import backend.service.readmodel.CatalogReadModel;
+import backend.service.facet.CatalogFacets;
+import backend.service.geo.PlaceClusterIndex;
+import backend.service.geo.PlaceGeoIndex;
+import backend.service.search.CatalogSearchIndex;
+import backend.service.search.PlaceSearchIndex;
+import backend.service.search.SuggestionIndex;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -18,24 +36,76 @@ import backend.service.AdminService;
 public class AdminController {
 
     private final AdminService adminService;
+    private final UserImportService userImportService;
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final CursorPagination pagination;
+    private final CatalogVersions catalogVersions;
+    private final CatalogSnapshots catalogSnapshots;
+    private final PersistedQueryStore persistedQueries;
+    private final SingleFlight singleFlight;
+    private final CatalogReadModel readModel;
+    private final PlaceSearchIndex placeSearchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final CatalogFacets catalogFacets;
+    private final PlaceGeoIndex placeGeoIndex;
+    private final PlaceClusterIndex placeClusterIndex;
 
-    public AdminController(AdminService adminService) {
+    public AdminController(AdminService adminService, UserImportService userImportService,
+                           RateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                           CursorPagination pagination, CatalogVersions catalogVersions,
+                           CatalogSnapshots catalogSnapshots, PersistedQueryStore persistedQueries,
+                           SingleFlight singleFlight, CatalogReadModel readModel,
+                           PlaceSearchIndex placeSearchIndex, SuggestionIndex suggestionIndex,
+                           CatalogSearchIndex catalogSearchIndex, CatalogFacets catalogFacets,
+                           PlaceGeoIndex placeGeoIndex, PlaceClusterIndex placeClusterIndex) {
+        this.pagination = pagination;
+        this.placeClusterIndex = placeClusterIndex;
+        this.placeGeoIndex = placeGeoIndex;
+        this.catalogFacets = catalogFacets;
+        this.catalogSearchIndex = catalogSearchIndex;
+        this.suggestionIndex = suggestionIndex;
+        this.placeSearchIndex = placeSearchIndex;
+        this.readModel = readModel;
+        this.singleFlight = singleFlight;
+        this.persistedQueries = persistedQueries;
+        this.catalogSnapshots = catalogSnapshots;
+        this.catalogVersions = catalogVersions;
         this.adminService = adminService;
+        this.userImportService = userImportService;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
     }
 
     @GetMapping("/guides")
-    public ResponseEntity<List<User>> getAllGuides() {
-        return ResponseEntity.ok(adminService.getAllGuides());
+    public ResponseEntity<List<User>> getAllGuides(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(adminService.getAllGuides(pagination.request(cursor, size)));
     }
 
     @GetMapping("/tourists")
-    public ResponseEntity<List<User>> getAllTourists() {
-        return ResponseEntity.ok(adminService.getAllTourists());
+    public ResponseEntity<List<User>> getAllTourists(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(adminService.getAllTourists(pagination.request(cursor, size)));
     }
 
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(adminService.getAllUsers());
+    public ResponseEntity<List<User>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(adminService.getAllUsers(pagination.request(cursor, size)));
+    }
+
+    // Import en masse (CSV ou JSON) : un compte rendu par ligne
+    @PostMapping(value = "/users/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkImportReport> importUsers(@RequestParam("file") MultipartFile file) throws IOException {
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        boolean json = name.endsWith(".json") || MediaType.APPLICATION_JSON_VALUE.equals(file.getContentType());
+        UserImportService.Format format = json ? UserImportService.Format.JSON : UserImportService.Format.CSV;
+        return ResponseEntity.ok(userImportService.importUsers(file.getInputStream(), format));
     }
 
     @PutMapping("/guides/{id}/status")
@@ -60,4 +130,81 @@ public class AdminController {
     public ResponseEntity<Map<String, Long>> getUserStats() {
         return ResponseEntity.ok(adminService.getUserStatistics());
     }
-}
\ No newline at end of file
+
+    @GetMapping("/stats/principal-cache")
+    public ResponseEntity<Map<String, Long>> getPrincipalCacheStats() {
+        return ResponseEntity.ok(adminService.getPrincipalCacheStatistics());
+    }
+
+    @GetMapping("/stats/rate-limit")
+    public ResponseEntity<Map<String, Long>> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimiter.getStatistics());
+    }
+
+    @GetMapping("/stats/concurrency")
+    public ResponseEntity<Map<String, Long>> getConcurrencyStats() {
+        return ResponseEntity.ok(concurrencyLimiter.getStatistics());
+    }
+
+    @GetMapping("/stats/catalog-versions")
+    public ResponseEntity<Map<String, Long>> getCatalogVersions() {
+        return ResponseEntity.ok(catalogVersions.getStatistics());
+    }
+
+    @GetMapping("/stats/catalog-snapshots")
+    public ResponseEntity<Map<String, Long>> getCatalogSnapshotStats() {
+        return ResponseEntity.ok(catalogSnapshots.getStatistics());
+    }
+
+    @GetMapping("/stats/graphql-persisted-queries")
+    public ResponseEntity<Map<String, Long>> getPersistedQueryStats() {
+        return ResponseEntity.ok(persistedQueries.getStatistics());
+    }
+
+    @GetMapping("/stats/single-flight")
+    public ResponseEntity<Map<String, Long>> getSingleFlightStats() {
+        return ResponseEntity.ok(singleFlight.getStatistics());
+    }
+
+    @GetMapping("/stats/read-model")
+    public ResponseEntity<Map<String, Long>> getReadModelStats() {
+        return ResponseEntity.ok(readModel.getStatistics());
+    }
+
+    @GetMapping("/stats/place-search")
+    public ResponseEntity<Map<String, Long>> getPlaceSearchStats() {
+        return ResponseEntity.ok(placeSearchIndex.getStatistics());
+    }
+
+    @GetMapping("/stats/suggest")
+    public ResponseEntity<Map<String, Long>> getSuggestStats() {
+        return ResponseEntity.ok(suggestionIndex.getStatistics());
+    }
+
+    @GetMapping("/stats/search")
+    public ResponseEntity<Map<String, Long>> getSearchStats() {
+        return ResponseEntity.ok(catalogSearchIndex.getStatistics());
+    }
+
+    @GetMapping("/stats/facets")
+    public ResponseEntity<Map<String, Long>> getFacetStats() {
+        return ResponseEntity.ok(catalogFacets.getStatistics());
+    }
+
+    @GetMapping("/stats/geo")
+    public ResponseEntity<Map<String, Long>> getGeoStats() {
+        return ResponseEntity.ok(placeGeoIndex.getStatistics());
+    }
+
+    @GetMapping("/stats/clusters")
+    public ResponseEntity<Map<String, Long>> getClusterStats() {
+        return ResponseEntity.ok(placeClusterIndex.getStatistics());
+    }
+
+    // Reconstruction complète de l'index de recherche depuis la base, en arrière-plan
+    @PostMapping("/search/reindex")
+    public ResponseEntity<Void> reindexSearch() {
+        catalogSearchIndex.reindex();
+        return ResponseEntity.accepted().build();
+    }
+}
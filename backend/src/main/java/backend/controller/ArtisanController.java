@@ -1,12 +1,16 @@
 package backend.controller;
 
+import backend.dto.ArtisanSummary;
+import backend.dto.BatchResult;
 import backend.entities.Artisan;
 import backend.entities.User;
 import backend.service.ArtisanService;
+import backend.service.CatalogCollection;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 import backend.repositories.ArtisanRepository;
 
@@ -17,34 +21,56 @@ public class ArtisanController {
 
     private final ArtisanService artisanService;
     private final ArtisanRepository artisanRepository;
+    private final CursorPagination pagination;
+    private final CatalogETags etags;
+    private final BatchLookup batch;
 
-    public ArtisanController(ArtisanService artisanService, ArtisanRepository artisanRepository) {
+    public ArtisanController(ArtisanService artisanService, ArtisanRepository artisanRepository, CursorPagination pagination,
+                             CatalogETags etags, BatchLookup batch) {
+        this.batch = batch;
+        this.pagination = pagination;
+        this.etags = etags;
         this.artisanService = artisanService;
         this.artisanRepository = artisanRepository;
     }
 
     @GetMapping
-    public ResponseEntity<List<Artisan>> getAllActive() {
-        return ResponseEntity.ok(artisanService.getAllActiveArtisans());
+    public ResponseEntity<List<ArtisanSummary>> getAllActive(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.list(request, CatalogCollection.ARTISANS,
+                () -> pagination.ok(artisanService.getAllActiveArtisans(pagination.request(cursor, size))));
     }
 @GetMapping("/all")
 @PreAuthorize("hasAnyRole('ADMIN', 'GUIDE')")
-public ResponseEntity<List<Artisan>> getAll(@AuthenticationPrincipal User currentUser) {
+public ResponseEntity<List<Artisan>> getAll(@AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
     // CORRECTION : Appeler getAllArtisans() pour voir aussi les PENDING
-    return ResponseEntity.ok(artisanService.getAllArtisans()); 
+    return pagination.ok(artisanService.getAllArtisans(pagination.request(cursor, size))); 
 }
 
 @GetMapping("/{id}")
-public ResponseEntity<Artisan> getById(@PathVariable Long id) {
-    return artisanRepository.findById(id)
+public ResponseEntity<Artisan> getById(@PathVariable Long id, WebRequest request) {
+    return etags.entity(request, CatalogCollection.ARTISANS, id, () -> artisanRepository.findById(id)
             .map(ResponseEntity::ok)
-            .orElse(ResponseEntity.notFound().build());
+            .orElse(ResponseEntity.notFound().build()));
 }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResult<ArtisanSummary>> getArtisansByIds(@RequestParam List<Long> ids, WebRequest request) {
+        List<Long> keys = batch.ids(ids);
+        return etags.list(request, CatalogCollection.ARTISANS,
+                () -> batch.ok(keys, artisanService.getArtisansByIds(keys), ArtisanSummary::id));
+    }
+
     @GetMapping("/pending")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Artisan>> getPending() {
-        return ResponseEntity.ok(artisanService.getPendingArtisans());
+    public ResponseEntity<List<Artisan>> getPending(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(artisanService.getPendingArtisans(pagination.request(cursor, size)));
     }
 @PutMapping("/{id}")
 @PreAuthorize("hasAnyRole('ADMIN', 'GUIDE')")
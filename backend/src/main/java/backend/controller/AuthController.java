@@ -4,6 +4,7 @@ import backend.dto.AuthResponse;
 import backend.dto.LoginRequest;
 import backend.dto.RegisterRequest;
 import backend.entities.User;
+import backend.exception.PasswordHashingBusyException;
 import backend.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 @RestController
@@ -73,16 +75,14 @@ public class AuthController {
         return errors;
     }
 
-    // GESTION DES ERREURS (Email déjà utilisé)
-    @ResponseStatus(HttpStatus.CONFLICT)
-    @ExceptionHandler(RuntimeException.class) // Utilisation de RuntimeException si EmailAlreadyExistsException n'est pas créée
-    public Map<String, String> handleEmailExistsExceptions(RuntimeException ex) {
-        Map<String, String> errors = new HashMap<>();
-        if(ex.getMessage().contains("email")) {
-            errors.put("email", ex.getMessage());
-        } else {
-            errors.put("error", ex.getMessage());
-        }
-        return errors;
+    // GESTION DES ERREURS (Hachage des mots de passe saturé : 503 immédiat)
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, String>> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(Map.of("error", ex.getMessage()));
     }
-}
\ No newline at end of file
+
+    // Les autres erreurs (email déjà utilisé, identifiants invalides...) sont traduites
+    // en problem+json par GlobalExceptionHandler
+}
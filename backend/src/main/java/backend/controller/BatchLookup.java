@@ -0,0 +1,42 @@
+package backend.controller;
+
+import backend.dto.BatchResult;
+import backend.exception.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Lectures groupées par ids (GET /api/xxx?ids=1,2,3), communes à tous les contrôleurs du catalogue.
+ * Les doublons sont retirés en gardant le premier ordre d'apparition ; au-delà de
+ * {@code application.batch.max-ids} la requête est refusée (400).
+ */
+@Component
+public class BatchLookup {
+
+    private final int maxIds;
+
+    public BatchLookup(@Value("${application.batch.max-ids:100}") int maxIds) {
+        this.maxIds = maxIds;
+    }
+
+    public List<Long> ids(List<Long> ids) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            throw new InvalidRequestException("Le paramètre ids est vide");
+        }
+        if (distinct.size() > maxIds) {
+            throw new InvalidRequestException("Au plus " + maxIds + " ids par requête (" + distinct.size() + " reçus)");
+        }
+        return List.copyOf(distinct);
+    }
+
+    public <T> ResponseEntity<BatchResult<T>> ok(List<Long> ids, List<T> found, Function<T, Long> idOf) {
+        return ResponseEntity.ok(BatchResult.of(ids, found, idOf));
+    }
+}
@@ -0,0 +1,74 @@
+package backend.controller;
+
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Lectures conditionnelles du catalogue public. L'ETag est calculé à partir des compteurs de
+ * {@link CatalogVersions} avant toute lecture : un If-None-Match à jour reçoit un 304 sans
+ * requête SQL ni sérialisation Jackson.
+ */
+@Component
+public class CatalogETags {
+
+    private final CatalogVersions versions;
+
+    public CatalogETags(CatalogVersions versions) {
+        this.versions = versions;
+    }
+
+    public <T> ResponseEntity<T> list(WebRequest request, CatalogCollection collection, Supplier<ResponseEntity<T>> loader) {
+        return respond(request, versions.listTag(collection), loader);
+    }
+
+    /**
+     * Liste dont les éléments retenus viennent d'un index en mémoire ({@code indexTag}) et les lignes
+     * de la collection : l'ETag change avec l'un ou l'autre. Sans tag d'index (index pas encore
+     * construit, la base répond), celui de la collection seul.
+     */
+    public <T> ResponseEntity<T> indexed(WebRequest request, CatalogCollection collection, String indexTag,
+                                         Supplier<ResponseEntity<T>> loader) {
+        String tag = versions.listTag(collection);
+        return respond(request, indexTag == null ? tag : tag + "." + indexTag, loader);
+    }
+
+    /**
+     * Réponse tirée entièrement d'un index en mémoire : son tag suffit. Sans tag (index pas encore
+     * construit), la réponse part sans ETag.
+     */
+    public <T> ResponseEntity<T> index(WebRequest request, String indexTag, Supplier<ResponseEntity<T>> loader) {
+        return indexTag == null ? loader.get() : respond(request, indexTag, loader);
+    }
+
+    public <T> ResponseEntity<T> entity(WebRequest request, CatalogCollection collection, Long id,
+                                        Supplier<ResponseEntity<T>> loader) {
+        return respond(request, versions.entityTag(collection, id), loader);
+    }
+
+    private static <T> ResponseEntity<T> respond(WebRequest request, String tag, Supplier<ResponseEntity<T>> loader) {
+        String etag = "\"" + tag + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        ResponseEntity<T> response = loader.get();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        // no-cache : le navigateur garde la réponse mais la revalide à chaque fois
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(response.getBody());
+    }
+}
@@ -0,0 +1,196 @@
+package backend.controller;
+
+import backend.dto.RatingStats;
+import backend.dto.graph.ActivityNode;
+import backend.dto.graph.CircuitNode;
+import backend.dto.graph.EventNode;
+import backend.dto.graph.GuideNode;
+import backend.dto.graph.PlaceNode;
+import backend.dto.graph.ReservationNode;
+import backend.dto.graph.ReviewNode;
+import backend.entities.User;
+import backend.service.CatalogGraphService;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * API GraphQL de lecture (schéma : resources/graphql/schema.graphqls). Les champs associés
+ * passent par des DataLoader nommés, enregistrés une fois et recréés à chaque requête :
+ * toutes les clés d'un même niveau sont regroupées en une seule requête IN (...) par type.
+ */
+@Controller
+//@RequiredArgsConstructor
+public class CatalogGraphQlController {
+
+    private final CatalogGraphService graphService;
+
+    public CatalogGraphQlController(CatalogGraphService graphService, BatchLoaderRegistry registry) {
+        this.graphService = graphService;
+
+        registry.<Long, PlaceNode>forName("places")
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> graphService.getPlacesById(ids)));
+        registry.<Long, ActivityNode>forName("activities")
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> graphService.getActivitiesById(ids)));
+        registry.<Long, CircuitNode>forName("circuits")
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> graphService.getCircuitsById(ids)));
+        registry.<Long, EventNode>forName("events")
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> graphService.getEventsById(ids)));
+        registry.<Long, GuideNode>forName("guides")
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> graphService.getGuidesById(ids)));
+
+        registry.<Long, List<ActivityNode>>forName("activitiesByPlace")
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> graphService.getActivitiesByPlace(ids)));
+        registry.<Long, List<ActivityNode>>forName("activitiesByGuide")
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> graphService.getActivitiesByGuide(ids)));
+        registry.<Long, List<CircuitNode>>forName("circuitsByGuide")
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> graphService.getCircuitsByGuide(ids)));
+        registry.<Long, List<ReviewNode>>forName("reviewsByPlace")
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> graphService.getReviewsByPlace(ids)));
+        registry.<Long, RatingStats>forName("ratingsByPlace")
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> graphService.getRatingStatsByPlace(ids)));
+    }
+
+    // ==================== Query ====================
+
+    @QueryMapping
+    public List<PlaceNode> places(@Argument int first, @Argument Long after) {
+        return graphService.getPlaces(first, after);
+    }
+
+    @QueryMapping
+    public CompletableFuture<PlaceNode> place(@Argument Long id, DataLoader<Long, PlaceNode> places) {
+        return places.load(id);
+    }
+
+    @QueryMapping
+    public List<ActivityNode> activities(@Argument int first, @Argument Long after) {
+        return graphService.getActivities(first, after);
+    }
+
+    @QueryMapping
+    public CompletableFuture<ActivityNode> activity(@Argument Long id, DataLoader<Long, ActivityNode> activities) {
+        return activities.load(id);
+    }
+
+    @QueryMapping
+    @PreAuthorize("isAuthenticated()")
+    public List<CircuitNode> circuits(@Argument int first, @Argument Long after) {
+        return graphService.getCircuits(first, after);
+    }
+
+    @QueryMapping
+    @PreAuthorize("isAuthenticated()")
+    public CompletableFuture<CircuitNode> circuit(@Argument Long id, DataLoader<Long, CircuitNode> circuits) {
+        return circuits.load(id);
+    }
+
+    @QueryMapping
+    public List<EventNode> events(@Argument int first, @Argument Long after) {
+        return graphService.getUpcomingEvents(first, after);
+    }
+
+    @QueryMapping
+    public CompletableFuture<EventNode> event(@Argument Long id, DataLoader<Long, EventNode> events) {
+        return events.load(id);
+    }
+
+    @QueryMapping
+    public CompletableFuture<GuideNode> guide(@Argument Long id, DataLoader<Long, GuideNode> guides) {
+        return guides.load(id);
+    }
+
+    @QueryMapping
+    @PreAuthorize("isAuthenticated()")
+    public List<ReservationNode> myReservations(@AuthenticationPrincipal User currentUser, @Argument int first) {
+        return graphService.getReservationsOf(currentUser.getId(), first);
+    }
+
+    // ==================== Place ====================
+
+    @SchemaMapping(typeName = "Place")
+    public CompletableFuture<List<ActivityNode>> activities(PlaceNode place, DataLoader<Long, List<ActivityNode>> activitiesByPlace) {
+        return activitiesByPlace.load(place.id());
+    }
+
+    @SchemaMapping(typeName = "Place")
+    public CompletableFuture<RatingStats> rating(PlaceNode place, DataLoader<Long, RatingStats> ratingsByPlace) {
+        return ratingsByPlace.load(place.id());
+    }
+
+    // Les avis exposent le nom de leurs auteurs : réservés aux utilisateurs connectés (comme /api/reviews)
+    @SchemaMapping(typeName = "Place")
+    @PreAuthorize("isAuthenticated()")
+    public CompletableFuture<List<ReviewNode>> reviews(PlaceNode place, DataLoader<Long, List<ReviewNode>> reviewsByPlace) {
+        return reviewsByPlace.load(place.id());
+    }
+
+    @SchemaMapping(typeName = "RatingStats")
+    public List<Long> distribution(RatingStats stats) {
+        return new ArrayList<>(stats.distribution().values());
+    }
+
+    // ==================== Activity / Circuit / Review ====================
+
+    @SchemaMapping(typeName = "Activity")
+    public CompletableFuture<PlaceNode> place(ActivityNode activity, DataLoader<Long, PlaceNode> places) {
+        return load(places, activity.placeId());
+    }
+
+    @SchemaMapping(typeName = "Activity")
+    public CompletableFuture<GuideNode> guide(ActivityNode activity, DataLoader<Long, GuideNode> guides) {
+        return load(guides, activity.guideId());
+    }
+
+    @SchemaMapping(typeName = "Circuit")
+    public CompletableFuture<GuideNode> guide(CircuitNode circuit, DataLoader<Long, GuideNode> guides) {
+        return load(guides, circuit.guideId());
+    }
+
+    @SchemaMapping(typeName = "Review")
+    public CompletableFuture<PlaceNode> place(ReviewNode review, DataLoader<Long, PlaceNode> places) {
+        return load(places, review.placeId());
+    }
+
+    // ==================== Guide ====================
+
+    @SchemaMapping(typeName = "Guide")
+    public CompletableFuture<List<ActivityNode>> activities(GuideNode guide, DataLoader<Long, List<ActivityNode>> activitiesByGuide) {
+        return activitiesByGuide.load(guide.id());
+    }
+
+    // Circuits réservés aux utilisateurs connectés, quel que soit le chemin (comme Query.circuits)
+    @SchemaMapping(typeName = "Guide")
+    @PreAuthorize("isAuthenticated()")
+    public CompletableFuture<List<CircuitNode>> circuits(GuideNode guide, DataLoader<Long, List<CircuitNode>> circuitsByGuide) {
+        return circuitsByGuide.load(guide.id());
+    }
+
+    // ==================== Reservation ====================
+
+    @SchemaMapping(typeName = "Reservation")
+    public CompletableFuture<ActivityNode> activity(ReservationNode reservation, DataLoader<Long, ActivityNode> activities) {
+        return load(activities, reservation.activityId());
+    }
+
+    @SchemaMapping(typeName = "Reservation")
+    @PreAuthorize("isAuthenticated()")
+    public CompletableFuture<CircuitNode> circuit(ReservationNode reservation, DataLoader<Long, CircuitNode> circuits) {
+        return load(circuits, reservation.circuitId());
+    }
+
+    // Association facultative : pas de clé, pas de chargement
+    private static <V> CompletableFuture<V> load(DataLoader<Long, V> loader, Long id) {
+        return id != null ? loader.load(id) : CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,98 @@
+package backend.controller;
+
+import backend.service.CatalogCollection;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Sert la première page des listes publiques depuis {@link CatalogSnapshots}, avant le
+ * contrôleur : ni requête SQL ni Jackson. Seules les requêtes GET sans paramètre (sans curseur
+ * ni taille) sont concernées ; toutes les autres, ou l'absence d'instantané, passent au contrôleur.
+ */
+@Component
+public class CatalogSnapshotInterceptor implements HandlerInterceptor {
+
+    private final CatalogSnapshots snapshots;
+    private final CursorPagination pagination;
+
+    public CatalogSnapshotInterceptor(CatalogSnapshots snapshots, CursorPagination pagination) {
+        this.snapshots = snapshots;
+        this.pagination = pagination;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!"GET".equals(request.getMethod()) || !request.getParameterMap().isEmpty()) {
+            return true;
+        }
+        CatalogCollection collection = snapshots.collectionFor(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        if (collection == null) {
+            return true;
+        }
+        CatalogSnapshots.Snapshot snapshot = snapshots.current(collection);
+        if (snapshot == null) {
+            return true;
+        }
+
+        // Le client peut détenir la version courante (servie par le contrôleur) ou celle de l'instantané
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        String current = snapshots.currentETag(collection);
+        if (matches(ifNoneMatch, current) || matches(ifNoneMatch, snapshot.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, matches(ifNoneMatch, current) ? current : snapshot.etag());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            return false;
+        }
+
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = gzip ? snapshot.gzip() : snapshot.json();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, snapshot.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        pagination.nextPageHeaders(snapshot.next())
+                .forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,216 @@
+package backend.controller;
+
+import backend.service.ActivityService;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.CircuitService;
+import backend.service.EventService;
+import backend.service.PageQuery;
+import backend.service.PlaceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Première page des listes publiques les plus lues, déjà encodée en JSON (et en gzip).
+ * Reconstruite sur un thread dédié après chaque mutation commitée ({@link CatalogChangedEvent}) :
+ * les lecteurs ne bloquent jamais, ils reçoivent l'ancien instantané jusqu'à ce que le nouveau
+ * le remplace d'un seul coup. Les rafales de mutations sont fusionnées en une reconstruction.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshots {
+
+    /** Corps prêt à écrire, avec l'ETag de la version à partir de laquelle il a été construit. */
+    public record Snapshot(byte[] json, byte[] gzip, String etag, KeysetScrollPosition next, LocalDate builtOn) {
+    }
+
+    private final Map<String, CatalogCollection> paths = Map.of(
+            "/api/places", CatalogCollection.PLACES,
+            "/api/activities", CatalogCollection.ACTIVITIES,
+            "/api/circuits", CatalogCollection.CIRCUITS,
+            "/api/events", CatalogCollection.EVENTS);
+
+    private final Map<CatalogCollection, Function<PageQuery, Window<?>>> loaders = new EnumMap<>(CatalogCollection.class);
+    private final Map<CatalogCollection, AtomicReference<Snapshot>> snapshots = new EnumMap<>(CatalogCollection.class);
+    private final Map<CatalogCollection, AtomicBoolean> pending = new EnumMap<>(CatalogCollection.class);
+
+    private final CatalogVersions versions;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+    private final int pageSize;
+    private final boolean enabled;
+    private final ExecutorService executor;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public CatalogSnapshots(PlaceService placeService, ActivityService activityService,
+                            CircuitService circuitService, EventService eventService,
+                            CatalogVersions versions, ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${application.pagination.default-size:50}") int pageSize,
+                            @Value("${application.catalog.snapshots.enabled:true}") boolean enabled) {
+        this.versions = versions;
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+        this.enabled = enabled;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+
+        loaders.put(CatalogCollection.PLACES, placeService::getAllActivePlaces);
+        loaders.put(CatalogCollection.ACTIVITIES, activityService::getAllActiveActivities);
+        loaders.put(CatalogCollection.CIRCUITS, circuitService::getActiveCircuits);
+        loaders.put(CatalogCollection.EVENTS, eventService::getAllActiveEvents);
+        for (CatalogCollection collection : loaders.keySet()) {
+            snapshots.put(collection, new AtomicReference<>());
+            pending.put(collection, new AtomicBoolean());
+        }
+
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Collection servie par instantané pour ce chemin, ou null. */
+    public CatalogCollection collectionFor(String path) {
+        return enabled ? paths.get(path) : null;
+    }
+
+    /**
+     * Instantané servable, ou null tant qu'il n'existe pas encore (la requête passe alors par le
+     * contrôleur). Un instantané d'une liste datée construit un autre jour n'est plus servi.
+     */
+    public Snapshot current(CatalogCollection collection) {
+        Snapshot snapshot = snapshots.get(collection).get();
+        if (snapshot == null) {
+            return null;
+        }
+        if (collection.isDated() && !snapshot.builtOn().equals(LocalDate.now())) {
+            schedule(collection);
+            return null;
+        }
+        hits.increment();
+        return snapshot;
+    }
+
+    public String currentETag(CatalogCollection collection) {
+        return "\"" + versions.listTag(collection) + "\"";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        loaders.keySet().forEach(this::schedule);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        for (CatalogCollection collection : loaders.keySet()) {
+            if (collection.isAffectedBy(event.collection())) {
+                schedule(collection);
+            }
+        }
+    }
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("rebuilds", rebuilds.sum());
+        stats.put("failures", failures.sum());
+        snapshots.forEach((collection, reference) -> {
+            Snapshot snapshot = reference.get();
+            String name = collection.name().toLowerCase();
+            stats.put(name + ".jsonBytes", snapshot != null ? (long) snapshot.json().length : 0L);
+            stats.put(name + ".gzipBytes", snapshot != null ? (long) snapshot.gzip().length : 0L);
+        });
+        return stats;
+    }
+
+    private void schedule(CatalogCollection collection) {
+        if (!enabled) {
+            return;
+        }
+        AtomicBoolean flag = pending.get(collection);
+        // Une seule reconstruction en attente par collection : les mutations suivantes s'y greffent
+        if (!flag.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                flag.set(false);
+                rebuild(collection);
+            });
+        } catch (RejectedExecutionException e) {
+            flag.set(false);
+        }
+    }
+
+    private void rebuild(CatalogCollection collection) {
+        try {
+            // Tag lu avant la requête : une mutation concurrente relancera une reconstruction
+            String etag = currentETag(collection);
+            LocalDate today = LocalDate.now();
+            Snapshot snapshot = readOnly.execute(status -> {
+                Window<?> window = loaders.get(collection).apply(PageQuery.first(pageSize));
+                byte[] json = writeJson(window);
+                return new Snapshot(json, gzip(json), etag, PageQuery.nextPosition(window), today);
+            });
+            snapshots.get(collection).set(snapshot);
+            rebuilds.increment();
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Reconstruction de l'instantané {} impossible, l'ancien reste servi", collection, e);
+        }
+    }
+
+    private byte[] writeJson(Window<?> window) {
+        try {
+            return objectMapper.writeValueAsBytes(window.getContent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,14 +1,23 @@
 package backend.controller;
 
+import backend.dto.BatchResult;
+import backend.dto.CircuitSummary;
+import backend.dto.FilterResults;
 import backend.entities.Circuit;
 import backend.entities.User;
+import backend.service.CatalogCollection;
 import backend.service.CircuitService;
+import backend.service.PageQuery;
+import backend.service.facet.FacetFilter;
+import backend.service.facet.FacetedPage;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/circuits")
@@ -16,37 +25,77 @@ import java.util.List;
 public class CircuitController {
 
     private final CircuitService circuitService;
-
-    public CircuitController(CircuitService circuitService) {
+    private final CursorPagination pagination;
+    private final CatalogETags etags;
+    private final BatchLookup batch;
+
+    public CircuitController(CircuitService circuitService, CursorPagination pagination, CatalogETags etags,
+                             BatchLookup batch) {
+        this.batch = batch;
+        this.pagination = pagination;
+        this.etags = etags;
         this.circuitService = circuitService;
     }
 
     // --- ACCÈS PUBLIC ---
 
     @GetMapping
-    public ResponseEntity<List<Circuit>> getAllActive() {
-        return ResponseEntity.ok(circuitService.getActiveCircuits());
+    public ResponseEntity<List<CircuitSummary>> getAllActive(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.list(request, CatalogCollection.CIRCUITS,
+                () -> pagination.ok(circuitService.getActiveCircuits(pagination.request(cursor, size))));
+    }
+
+    // Filtres combinables (guide, prix, durée), avec les comptes par facette dans la même réponse
+    @GetMapping("/filter")
+    public ResponseEntity<FilterResults<CircuitSummary>> filterCircuits(
+            @RequestParam(required = false) Set<Long> guide,
+            @RequestParam(required = false) Set<String> price,
+            @RequestParam(required = false) Set<String> duration,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.indexed(request, CatalogCollection.CIRCUITS, circuitService.getFilterTag(), () -> {
+            FacetedPage<CircuitSummary> page = circuitService.filterCircuits(
+                    new FacetFilter(null, guide, null, price, duration, null), pagination.request(cursor, size));
+            return ResponseEntity.ok()
+                    .headers(pagination.nextPageHeaders(PageQuery.nextPosition(page.window())))
+                    .body(new FilterResults<>(page.window().getContent(), page.total(), page.facets()));
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Circuit> getById(@PathVariable Long id) {
-        return circuitService.getCircuitById(id)
+    public ResponseEntity<Circuit> getById(@PathVariable Long id, WebRequest request) {
+        return etags.entity(request, CatalogCollection.CIRCUITS, id, () -> circuitService.getCircuitById(id)
                 .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+                .orElse(ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResult<CircuitSummary>> getCircuitsByIds(@RequestParam List<Long> ids, WebRequest request) {
+        List<Long> keys = batch.ids(ids);
+        return etags.list(request, CatalogCollection.CIRCUITS,
+                () -> batch.ok(keys, circuitService.getCircuitsByIds(keys), CircuitSummary::id));
     }
 
     // --- ACCÈS ADMIN (Modération) ---
 
     @GetMapping("/pending")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Circuit>> getPending() {
-        return ResponseEntity.ok(circuitService.getPendingCircuits());
+    public ResponseEntity<List<Circuit>> getPending(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(circuitService.getPendingCircuits(pagination.request(cursor, size)));
     }
 
     @GetMapping("/admin/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Circuit>> getAllForAdmin() {
-        return ResponseEntity.ok(circuitService.getAllCircuits());
+    public ResponseEntity<List<Circuit>> getAllForAdmin(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(circuitService.getAllCircuits(pagination.request(cursor, size)));
     }
 
     @PutMapping("/{id}/validate")
@@ -67,8 +116,10 @@ public class CircuitController {
 
     @GetMapping("/my-circuits")
     @PreAuthorize("hasRole('GUIDE')")
-    public ResponseEntity<List<Circuit>> getMyCircuits(@AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(circuitService.getCircuitsByGuide(currentUser));
+    public ResponseEntity<List<Circuit>> getMyCircuits(@AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(circuitService.getCircuitsByGuide(currentUser, pagination.request(cursor, size)));
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,65 @@
+package backend.controller;
+
+import backend.service.CursorCodec;
+import backend.service.PageQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Traduction HTTP de la pagination par curseur, commune à tous les contrôleurs.
+ * Le corps reste un tableau JSON (compatible avec les clients existants) ; le curseur
+ * de la page suivante est renvoyé dans l'en-tête X-Next-Cursor et dans un lien rel="next".
+ */
+@Component
+public class CursorPagination {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public CursorPagination(@Value("${application.pagination.default-size:50}") int defaultSize,
+                            @Value("${application.pagination.max-size:200}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    public PageQuery request(String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultSize : Math.min(size, maxSize);
+        return new PageQuery(CursorCodec.decode(cursor, currentScope()), Limit.of(pageSize));
+    }
+
+    public <T> ResponseEntity<List<T>> ok(Window<T> window) {
+        return ResponseEntity.ok()
+                .headers(nextPageHeaders(PageQuery.nextPosition(window)))
+                .body(window.getContent());
+    }
+
+    /** En-têtes X-Next-Cursor et Link pour la requête courante (vides si {@code next} est null). */
+    public HttpHeaders nextPageHeaders(KeysetScrollPosition next) {
+        HttpHeaders headers = new HttpHeaders();
+        if (next != null) {
+            String cursor = CursorCodec.encode(next, currentScope());
+            String nextUri = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", cursor)
+                    .build()
+                    .toUriString();
+            headers.set(NEXT_CURSOR_HEADER, cursor);
+            headers.set(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    // Une liste = un chemin (voir CursorCodec.scopeOf)
+    private static int currentScope() {
+        return CursorCodec.scopeOf(ServletUriComponentsBuilder.fromCurrentRequestUri().build().getPath());
+    }
+}
@@ -1,7 +1,10 @@
 package backend.controller;
 
 
+import backend.dto.BatchResult;
+import backend.dto.EventView;
 import backend.entities.Event;
+import backend.service.CatalogCollection;
 import backend.service.EventService;
 import backend.entities.User;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -10,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 @RestController
 @RequestMapping("/api/events")
@@ -18,8 +22,15 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
-
-    public EventController(EventService eventService) {
+    private final CursorPagination pagination;
+    private final CatalogETags etags;
+    private final BatchLookup batch;
+
+    public EventController(EventService eventService, CursorPagination pagination, CatalogETags etags,
+                           BatchLookup batch) {
+        this.batch = batch;
+        this.pagination = pagination;
+        this.etags = etags;
         this.eventService =  eventService;
     }
 
@@ -28,38 +39,60 @@ public class EventController {
 
     @GetMapping("/all") 
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Event>> getAllEvents() {
-        return ResponseEntity.ok(eventService.getAllEvents());
+    public ResponseEntity<List<Event>> getAllEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(eventService.getAllEvents(pagination.request(cursor, size)));
     }
 
     // PUBLIC : Uniquement les événements validés
     @GetMapping
-    public ResponseEntity<List<Event>> getAllActiveEvents() {
-        return ResponseEntity.ok(eventService.getAllActiveEvents());
+    public ResponseEntity<List<EventView>> getAllActiveEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.list(request, CatalogCollection.EVENTS,
+                () -> pagination.ok(eventService.getAllActiveEvents(pagination.request(cursor, size))));
     }
 
     // ADMIN : Modération
     @GetMapping("/pending")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Event>> getPendingEvents() {
-        return ResponseEntity.ok(eventService.getPendingEvents());
+    public ResponseEntity<List<Event>> getPendingEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(eventService.getPendingEvents(pagination.request(cursor, size)));
     }
 
     @GetMapping("/my-proposals")
 @PreAuthorize("hasRole('GUIDE')")
-public ResponseEntity<List<Event>> getMyProposedEvents(@AuthenticationPrincipal User currentUser) {
+public ResponseEntity<List<Event>> getMyProposedEvents(@AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
     // Utilisation du service pour filtrer par utilisateur connecté
-    return ResponseEntity.ok(eventService.getEventsByProposer(currentUser));
+    return pagination.ok(eventService.getEventsByProposer(currentUser, pagination.request(cursor, size)));
 }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<Event>> getUpcomingEvents() {
-        return ResponseEntity.ok(eventService.getUpcomingEvents());
+    public ResponseEntity<List<Event>> getUpcomingEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.list(request, CatalogCollection.EVENTS,
+                () -> pagination.ok(eventService.getUpcomingEvents(pagination.request(cursor, size))));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Event> getEventById(@PathVariable Long id) {
-        return ResponseEntity.ok(eventService.getEventById(id));
+    public ResponseEntity<Event> getEventById(@PathVariable Long id, WebRequest request) {
+        return etags.entity(request, CatalogCollection.EVENTS, id,
+                () -> ResponseEntity.ok(eventService.getEventById(id)));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResult<EventView>> getEventsByIds(@RequestParam List<Long> ids, WebRequest request) {
+        List<Long> keys = batch.ids(ids);
+        return etags.list(request, CatalogCollection.EVENTS,
+                () -> batch.ok(keys, eventService.getEventsByIds(keys), EventView::id));
     }
 
     @PostMapping
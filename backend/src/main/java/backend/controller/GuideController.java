@@ -1,5 +1,6 @@
 package backend.controller;
 
+import backend.exception.ResourceNotFoundException;
 import backend.entities.Circuit;
 import backend.entities.User;
 import backend.service.CircuitService;
@@ -21,8 +22,10 @@ public class GuideController {
 
     private final GuideService guideService;
     private final CircuitService circuitService;
+    private final CursorPagination pagination;
 
-    public GuideController(CircuitService circuitService, GuideService guideService) {
+    public GuideController(CircuitService circuitService, GuideService guideService, CursorPagination pagination) {
+        this.pagination = pagination;
         this.circuitService = circuitService;
         this.guideService = guideService;
     }
@@ -71,9 +74,10 @@ public ResponseEntity<User> updateTechnicalInfo(
 
     @GetMapping("/circuits")
     @PreAuthorize("hasRole('GUIDE')")
-    public ResponseEntity<List<Circuit>> getAllMyCircuits(@AuthenticationPrincipal User currentUser) {
-        List<Circuit> circuits = circuitService.getCircuitsByGuide(currentUser);
-        return ResponseEntity.ok(circuits);
+    public ResponseEntity<List<Circuit>> getAllMyCircuits(@AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(circuitService.getCircuitsByGuide(currentUser, pagination.request(cursor, size)));
     }
 
     @GetMapping("/circuits/{id}")
@@ -83,7 +87,7 @@ public ResponseEntity<User> updateTechnicalInfo(
             @PathVariable Long id) {
         Circuit circuit = circuitService.getCircuitById(id)
                 .filter(c -> c.getGuide() != null && c.getGuide().getUser().getId().equals(currentUser.getId()))
-                .orElseThrow(() -> new RuntimeException("Circuit non trouvé ou vous n'êtes pas le propriétaire"));
+                .orElseThrow(() -> new ResourceNotFoundException("Circuit non trouvé ou vous n'êtes pas le propriétaire"));
         return ResponseEntity.ok(circuit);
     }
 
@@ -1,14 +1,23 @@
 package backend.controller;
 
+import backend.dto.BatchResult;
+import backend.dto.NearbyPlace;
+import backend.dto.PlaceCluster;
+import backend.dto.PlaceDetails;
+import backend.dto.PlaceSummary;
+import backend.dto.PlaceView;
 import backend.entities.Place;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import backend.entities.User;
+import backend.service.CatalogCollection;
+import backend.service.PlaceDetailsService;
 import backend.service.PlaceService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -18,39 +27,110 @@ import java.util.List;
 public class PlaceController {
 
     private final PlaceService placeService;
-    public PlaceController(PlaceService placeService) {
+    private final CursorPagination pagination;
+    private final CatalogETags etags;
+    private final PlaceDetailsService placeDetailsService;
+    private final BatchLookup batch;
+    public PlaceController(PlaceService placeService, CursorPagination pagination, CatalogETags etags,
+                           PlaceDetailsService placeDetailsService, BatchLookup batch) {
+        this.batch = batch;
+        this.pagination = pagination;
+        this.placeDetailsService = placeDetailsService;
+        this.etags = etags;
         this.placeService = placeService;
     }
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Place>> getAllPlacesForAdmin() {
-        return ResponseEntity.ok(placeService.getAllPlaces());
+    public ResponseEntity<List<Place>> getAllPlacesForAdmin(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(placeService.getAllPlaces(pagination.request(cursor, size)));
     }
 
     @GetMapping
-    public ResponseEntity<List<Place>> getAllActivePlaces() {
-        return ResponseEntity.ok(placeService.getAllActivePlaces());
+    public ResponseEntity<List<PlaceSummary>> getAllActivePlaces(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.list(request, CatalogCollection.PLACES,
+                () -> pagination.ok(placeService.getAllActivePlaces(pagination.request(cursor, size))));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Place> getPlaceById(@PathVariable Long id) {
-        return ResponseEntity.ok(placeService.getPlaceById(id));
+    public ResponseEntity<PlaceView> getPlaceById(@PathVariable Long id, WebRequest request) {
+        return etags.entity(request, CatalogCollection.PLACES, id,
+                () -> ResponseEntity.ok(placeService.getPlaceView(id)));
+    }
+
+    // Lecture groupée : GET ?ids=1,2,3 -> éléments dans l'ordre demandé + ids introuvables
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResult<PlaceView>> getPlacesByIds(@RequestParam List<Long> ids, WebRequest request) {
+        List<Long> keys = batch.ids(ids);
+        return etags.list(request, CatalogCollection.PLACES,
+                () -> batch.ok(keys, placeService.getPlacesByIds(keys), PlaceView::id));
+    }
+
+    // Page lieu complète en un aller-retour (lieu, activités, avis, notes)
+    @GetMapping("/{id}/full")
+    public ResponseEntity<PlaceDetails> getPlaceDetails(@PathVariable Long id,
+                                                        @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(placeDetailsService.getPlaceDetails(id, currentUser != null));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Place>> searchPlaces(@RequestParam String query) {
-        return ResponseEntity.ok(placeService.searchPlaces(query));
+    public ResponseEntity<List<PlaceSummary>> searchPlaces(@RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.indexed(request, CatalogCollection.PLACES, placeService.getSearchTag(),
+                () -> pagination.ok(placeService.searchPlaces(query, pagination.request(cursor, size))));
     }
 
     @GetMapping("/city/{city}")
-    public ResponseEntity<List<Place>> getPlacesByCity(@PathVariable String city) {
-        return ResponseEntity.ok(placeService.getPlacesByCity(city));
+    public ResponseEntity<List<PlaceSummary>> getPlacesByCity(@PathVariable String city,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.list(request, CatalogCollection.PLACES,
+                () -> pagination.ok(placeService.getPlacesByCity(city, pagination.request(cursor, size))));
+    }
+
+    // Carte : lieux les plus proches d'un point (rayon en mètres), du plus proche au plus lointain
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyPlace>> getNearbyPlaces(@RequestParam Double lat, @RequestParam Double lon,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        return etags.indexed(request, CatalogCollection.PLACES, placeService.getGeoTag(),
+                () -> ResponseEntity.ok(placeService.getNearbyPlaces(lat, lon, radius, limit)));
+    }
+
+    // Carte : lieux du rectangle visible (minLon > maxLon : rectangle à cheval sur l'antiméridien)
+    @GetMapping("/bbox")
+    public ResponseEntity<List<PlaceSummary>> getPlacesInBox(@RequestParam Double minLat, @RequestParam Double minLon,
+            @RequestParam Double maxLat, @RequestParam Double maxLon,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        return etags.indexed(request, CatalogCollection.PLACES, placeService.getGeoTag(), () -> pagination.ok(
+                placeService.getPlacesInBox(minLat, minLon, maxLat, maxLon, pagination.request(cursor, size))));
+    }
+
+    // Carte : lieux regroupés selon le zoom (bbox = ouest,sud,est,nord), servis par tuiles en cache
+    @GetMapping("/clusters")
+    public ResponseEntity<List<PlaceCluster>> getPlaceClusters(@RequestParam List<Double> bbox,
+            @RequestParam Integer zoom,
+            WebRequest request) {
+        return etags.index(request, placeService.getClusterTag(),
+                () -> ResponseEntity.ok(placeService.getPlaceClusters(bbox, zoom)));
     }
 
     @GetMapping("/pending")
     @PreAuthorize("hasRole('ADMIN', 'GUIDE')")
-    public ResponseEntity<List<Place>> getPendingPlaces() {
-        return ResponseEntity.ok(placeService.getPendingPlaces());
+    public ResponseEntity<List<Place>> getPendingPlaces(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(placeService.getPendingPlaces(pagination.request(cursor, size)));
     }
 
     @PostMapping
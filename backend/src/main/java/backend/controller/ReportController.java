@@ -17,8 +17,10 @@ import java.util.List;
 public class ReportController {
 
     private final ReportService reportService;
+    private final CursorPagination pagination;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, CursorPagination pagination) {
+        this.pagination = pagination;
         this.reportService = reportService;
     }
 
@@ -33,8 +35,10 @@ public class ReportController {
     // Réservé à l'Admin pour la modération
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Report>> getAllReports() {
-        return ResponseEntity.ok(reportService.getAllReports());
+    public ResponseEntity<List<Report>> getAllReports(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(reportService.getAllReports(pagination.request(cursor, size)));
     }
 
     @PutMapping("/{id}/status")
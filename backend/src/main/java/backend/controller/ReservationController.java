@@ -15,8 +15,10 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final CursorPagination pagination;
 
-    public ReservationController(ReservationService reservationService) {
+    public ReservationController(ReservationService reservationService, CursorPagination pagination) {
+        this.pagination = pagination;
         this.reservationService = reservationService;
     }
 
@@ -30,9 +32,10 @@ public class ReservationController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<Reservation>> getMyReservations(
-            @AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(reservationService.getMyReservations(currentUser.getId()));
+    public ResponseEntity<List<Reservation>> getMyReservations(@AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(reservationService.getMyReservations(currentUser.getId(), pagination.request(cursor, size)));
     }
 
     @DeleteMapping("/{id}")
@@ -45,18 +48,21 @@ public class ReservationController {
 
     @GetMapping("/guide/my-bookings")
 @PreAuthorize("hasRole('GUIDE')")
-public ResponseEntity<List<Reservation>> getReservationsForMyContent(
-        @AuthenticationPrincipal User currentUser) {
+public ResponseEntity<List<Reservation>> getReservationsForMyContent(@AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
     // Cette méthode doit filtrer les réservations dont l'activité ou le circuit appartient au guide
-    return ResponseEntity.ok(reservationService.getReservationsForGuide(currentUser.getId()));
+    return pagination.ok(reservationService.getReservationsForGuide(currentUser.getId(), pagination.request(cursor, size)));
 }
 
     // --- PARTIE ADMIN ---
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Reservation>> getAllReservationsForAdmin() {
-        return ResponseEntity.ok(reservationService.getAllReservations());
+    public ResponseEntity<List<Reservation>> getAllReservationsForAdmin(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(reservationService.getAllReservations(pagination.request(cursor, size)));
     }
 
     // UNE SEULE MÉTHODE ICI POUR ÉVITER L'ERREUR "AMBIGUOUS MAPPING"
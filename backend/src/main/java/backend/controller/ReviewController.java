@@ -20,7 +20,9 @@ import backend.entities.User;
 public class ReviewController {
 
     private final ReviewService reviewService;
-    public ReviewController(ReviewService reviewService) {
+    private final CursorPagination pagination;
+    public ReviewController(ReviewService reviewService, CursorPagination pagination) {
+        this.pagination = pagination;
         this.reviewService = reviewService;
     }
    @PostMapping
@@ -33,13 +35,17 @@ public class ReviewController {
     }
 
     @GetMapping("/place/{placeId}")
-    public ResponseEntity<List<Review>> getReviewsByPlace(@PathVariable Long placeId) {
-        return ResponseEntity.ok(reviewService.getReviewsByPlace(placeId));
+    public ResponseEntity<List<Review>> getReviewsByPlace(@PathVariable Long placeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(reviewService.getReviewsByPlace(placeId, pagination.request(cursor, size)));
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Review>> getReviewsByUser(@PathVariable Long userId) {
-        return ResponseEntity.ok(reviewService.getReviewsByUser(userId));
+    public ResponseEntity<List<Review>> getReviewsByUser(@PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(reviewService.getReviewsByUser(userId, pagination.request(cursor, size)));
     }
 
     @GetMapping("/{id}")
@@ -67,8 +73,10 @@ public class ReviewController {
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Review>> getAllReviews() {
-        return ResponseEntity.ok(reviewService.getAllReviews());
+    public ResponseEntity<List<Review>> getAllReviews(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return pagination.ok(reviewService.getAllReviews(pagination.request(cursor, size)));
     }
     @GetMapping("/place/{placeId}/average")
     public ResponseEntity<Double> getAverageRating(@PathVariable Long placeId) {
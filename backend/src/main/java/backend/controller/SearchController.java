@@ -0,0 +1,57 @@
+package backend.controller;
+
+import backend.dto.SearchResults;
+import backend.entities.User;
+import backend.service.CatalogCollection;
+import backend.service.PageQuery;
+import backend.service.search.CatalogSearchIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+
+// Recherche unifiée du catalogue : un seul appel pour les lieux, activités, événements (et circuits, artisans une fois connecté)
+@RestController
+@RequestMapping("/api/search")
+//@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private final CatalogSearchIndex searchIndex;
+    private final CursorPagination pagination;
+    private final CatalogETags etags;
+
+    public SearchController(CatalogSearchIndex searchIndex, CursorPagination pagination, CatalogETags etags) {
+        this.searchIndex = searchIndex;
+        this.pagination = pagination;
+        this.etags = etags;
+    }
+
+    @GetMapping
+    public ResponseEntity<SearchResults> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) List<CatalogCollection> type,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal User currentUser,
+            WebRequest request) {
+        boolean authenticated = currentUser != null;
+        // Circuits et artisans en plus une fois connecté : réponse différente sous la même URL
+        String tag = searchIndex.tag();
+        return etags.index(request, tag != null && authenticated ? tag + "-auth" : tag, () -> {
+            CatalogSearchIndex.Result result = searchIndex.search(q,
+                    type != null && !type.isEmpty() ? EnumSet.copyOf(type) : EnumSet.noneOf(CatalogCollection.class),
+                    city, minPrice, maxPrice, pagination.request(cursor, size), authenticated);
+            return ResponseEntity.ok()
+                    .headers(pagination.nextPageHeaders(PageQuery.nextPosition(result.hits())))
+                    .body(new SearchResults(result.hits().getContent(), result.total(), result.facets()));
+        });
+    }
+}
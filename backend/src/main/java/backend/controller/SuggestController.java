@@ -0,0 +1,35 @@
+package backend.controller;
+
+import backend.dto.Suggestion;
+import backend.entities.User;
+import backend.service.search.SuggestionIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Autocomplétion du champ de recherche (un appel par frappe) : servie depuis la mémoire, sans requête SQL
+@RestController
+@RequestMapping("/api/suggest")
+//@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SuggestController {
+
+    private final SuggestionIndex suggestionIndex;
+    private final int defaultSize;
+
+    public SuggestController(SuggestionIndex suggestionIndex,
+                             @Value("${application.suggest.default-size:8}") int defaultSize) {
+        this.suggestionIndex = suggestionIndex;
+        this.defaultSize = defaultSize;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam String prefix,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(suggestionIndex.suggest(prefix, size != null ? size : defaultSize, currentUser != null));
+    }
+}
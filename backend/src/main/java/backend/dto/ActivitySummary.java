@@ -0,0 +1,28 @@
+package backend.dto;
+
+import backend.entities.Status;
+
+import java.math.BigDecimal;
+
+/**
+ * Vue liste d'une activité : le lieu et le guide sont réduits à leur id et leur libellé,
+ * lus par jointure dans la même requête au lieu de charger les entités associées.
+ */
+public record ActivitySummary(Long id, String title, BigDecimal price, String duration, Status status,
+                              PlaceRef place, GuideRef guide) {
+
+    public record PlaceRef(Long id, String name, String city) {
+    }
+
+    public record GuideRef(Long id, String fullName) {
+    }
+
+    // Constructeur à plat utilisé par les expressions "select new" JPQL
+    public ActivitySummary(Long id, String title, BigDecimal price, String duration, Status status,
+                           Long placeId, String placeName, String placeCity,
+                           Long guideId, String guideFullName) {
+        this(id, title, price, duration, status,
+                placeId != null ? new PlaceRef(placeId, placeName, placeCity) : null,
+                guideId != null ? new GuideRef(guideId, guideFullName) : null);
+    }
+}
@@ -0,0 +1,12 @@
+package backend.dto;
+
+import backend.entities.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vue liste d'un artisan : ses colonnes seulement, sans le compte de l'utilisateur qui l'a proposé.
+ */
+public record ArtisanSummary(Long id, String name, String speciality, String phone, String city, Status status,
+                             LocalDateTime createdAt) {
+}
@@ -0,0 +1,30 @@
+package backend.dto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Réponse d'une lecture groupée (?ids=...) : les éléments trouvés dans l'ordre des ids demandés,
+ * puis les ids introuvables.
+ */
+public record BatchResult<T>(List<T> items, List<Long> missing) {
+
+    public static <T> BatchResult<T> of(Collection<Long> ids, List<T> found, Function<T, Long> idOf) {
+        Map<Long, T> byId = found.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<T> items = new ArrayList<>(byId.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T item = byId.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchResult<>(items, missing);
+    }
+}
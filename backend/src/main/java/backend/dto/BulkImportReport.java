@@ -0,0 +1,28 @@
+package backend.dto;
+
+import java.util.List;
+
+/**
+ * Compte rendu d'un import en masse d'utilisateurs : un résultat par ligne du fichier.
+ */
+public record BulkImportReport(int total, int created, int skipped, int failed, List<RowResult> rows) {
+
+    public enum Outcome { CREATED, SKIPPED, FAILED }
+
+    public record RowResult(int line, String email, Outcome outcome, Long userId, String message) {
+    }
+
+    public static BulkImportReport of(List<RowResult> rows) {
+        int created = 0;
+        int skipped = 0;
+        int failed = 0;
+        for (RowResult row : rows) {
+            switch (row.outcome()) {
+                case CREATED -> created++;
+                case SKIPPED -> skipped++;
+                case FAILED -> failed++;
+            }
+        }
+        return new BulkImportReport(rows.size(), created, skipped, failed, rows);
+    }
+}
@@ -0,0 +1,19 @@
+package backend.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Empreinte bon marché d'une table, lue en une requête d'agrégat : nombre de lignes, plus grand id
+ * et dernière date de modification. Deux empreintes différentes signifient que le contenu a changé
+ * entre les deux lectures.
+ */
+public record ChangeMark(long rows, long maxId, long revision) {
+
+    // Constructeur utilisé par les requêtes "select new" sur une table datée
+    public ChangeMark(Long rows, Long maxId, LocalDateTime lastUpdate) {
+        this(rows, maxId, lastUpdate != null
+                ? lastUpdate.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + lastUpdate.getNano()
+                : 0L);
+    }
+}
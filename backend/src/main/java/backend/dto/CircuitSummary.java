@@ -0,0 +1,13 @@
+package backend.dto;
+
+import backend.entities.Status;
+
+import java.math.BigDecimal;
+
+/**
+ * Vue liste d'un circuit : le guide est réduit à son id, lu par jointure dans la même requête
+ * au lieu de charger le profil du guide et son utilisateur.
+ */
+public record CircuitSummary(Long id, String title, String description, String duration, BigDecimal price,
+                             Status status, Long guideId) {
+}
@@ -0,0 +1,13 @@
+package backend.dto;
+
+import backend.entities.User;
+
+/**
+ * Proposant d'un élément du catalogue tel qu'exposé publiquement : id et nom seulement.
+ */
+public record Contributor(Long id, String fullName) {
+
+    public static Contributor of(User user) {
+        return user != null ? new Contributor(user.getId(), user.getFullName()) : null;
+    }
+}
@@ -0,0 +1,26 @@
+package backend.dto;
+
+import backend.entities.Event;
+import backend.entities.Status;
+
+import java.time.LocalDate;
+
+/**
+ * Événement de la liste publique (GET /api/events). Immuable, comme {@link PlaceView} : la page
+ * est partagée entre les requêtes simultanées identiques.
+ */
+public record EventView(Long id, String title, String description, LocalDate startDate, LocalDate endDate,
+                        String location, Status status, Contributor proposedBy) {
+
+    // Constructeur à plat utilisé par les expressions "select new" JPQL
+    public EventView(Long id, String title, String description, LocalDate startDate, LocalDate endDate,
+                     String location, Status status, Long proposedById, String proposedByName) {
+        this(id, title, description, startDate, endDate, location, status,
+                proposedById != null ? new Contributor(proposedById, proposedByName) : null);
+    }
+
+    public static EventView of(Event event) {
+        return new EventView(event.getId(), event.getTitle(), event.getDescription(), event.getStartDate(),
+                event.getEndDate(), event.getLocation(), event.getStatus(), Contributor.of(event.getProposedBy()));
+    }
+}
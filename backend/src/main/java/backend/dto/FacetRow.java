@@ -0,0 +1,11 @@
+package backend.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Valeurs des facettes d'une activité ou d'un circuit publié, lues pour l'index à facettes
+ * (CatalogFacets). Lieu, ville et note (moyenne des avis du lieu) sont absents pour un circuit.
+ */
+public record FacetRow(Long id, Long placeId, Long guideId, String city, BigDecimal price, String duration,
+                       Double rating) {
+}
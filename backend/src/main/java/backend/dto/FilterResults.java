@@ -0,0 +1,11 @@
+package backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page d'un filtrage à facettes : éléments, nombre total d'éléments retenus et comptes par valeur
+ * de chaque facette (chaque facette comptée avec les filtres des autres).
+ */
+public record FilterResults<T>(List<T> results, long total, Map<String, Map<String, Long>> facets) {
+}
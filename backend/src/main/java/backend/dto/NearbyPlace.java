@@ -0,0 +1,5 @@
+package backend.dto;
+
+/** Lieu proche d'un point, avec sa distance à ce point en mètres (grand cercle). */
+public record NearbyPlace(PlaceSummary place, double distance) {
+}
@@ -0,0 +1,10 @@
+package backend.dto;
+
+import java.util.List;
+
+/**
+ * Groupe de lieux affiché sur la carte à un zoom donné : centre, nombre de lieux et ids de
+ * quelques lieux représentatifs (les plus proches du centre). {@code count == 1} : lieu isolé.
+ */
+public record PlaceCluster(double latitude, double longitude, int count, List<Long> placeIds) {
+}
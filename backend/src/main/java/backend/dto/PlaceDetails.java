@@ -0,0 +1,19 @@
+package backend.dto;
+
+import backend.entities.Review;
+
+import java.util.List;
+
+/**
+ * Page lieu en un seul aller-retour : le lieu, ses activités actives, la première page d'avis
+ * et les statistiques de notes. Une partie qui n'a pas répondu à temps vaut null et son nom
+ * figure dans {@code unavailable} ; le client peut alors la recharger par son endpoint dédié.
+ * Les avis valent aussi null, sans figurer dans {@code unavailable}, pour un visiteur anonyme.
+ */
+public record PlaceDetails(PlaceView place,
+                           List<ActivitySummary> activities,
+                           List<Review> reviews,
+                           String reviewsNextCursor,
+                           RatingStats rating,
+                           List<String> unavailable) {
+}
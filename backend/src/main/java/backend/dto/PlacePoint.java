@@ -0,0 +1,5 @@
+package backend.dto;
+
+/** Coordonnées d'un lieu publié, lues pour l'index géographique (PlaceGeoIndex). */
+public record PlacePoint(Long id, Double latitude, Double longitude) {
+}
@@ -0,0 +1,13 @@
+package backend.dto;
+
+import backend.entities.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vue liste d'un lieu : colonnes courtes uniquement (ni description TEXT, ni proposant),
+ * avec la note moyenne calculée par la base.
+ */
+public record PlaceSummary(Long id, String name, String city, Double latitude, Double longitude,
+                           String imageUrl, Status status, LocalDateTime createdAt, Double averageRating) {
+}
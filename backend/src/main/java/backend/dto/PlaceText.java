@@ -0,0 +1,7 @@
+package backend.dto;
+
+/**
+ * Champs textuels d'un lieu, lus pour l'index de recherche (PlaceSearchIndex).
+ */
+public record PlaceText(Long id, String name, String city, String description) {
+}
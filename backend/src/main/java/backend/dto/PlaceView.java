@@ -0,0 +1,21 @@
+package backend.dto;
+
+import backend.entities.Place;
+import backend.entities.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fiche publique d'un lieu (GET /api/places/{id}, page lieu). Immuable : une même instance peut
+ * être servie à toutes les requêtes regroupées par {@link backend.service.SingleFlight}, ce qui
+ * n'est pas possible avec l'entité, modifiable et liée au contexte de persistance qui l'a lue.
+ */
+public record PlaceView(Long id, String name, String description, String city, Double latitude, Double longitude,
+                        Status status, String imageUrl, LocalDateTime createdAt, Contributor proposedBy) {
+
+    public static PlaceView of(Place place) {
+        return new PlaceView(place.getId(), place.getName(), place.getDescription(), place.getCity(),
+                place.getLatitude(), place.getLongitude(), place.getStatus(), place.getImageUrl(),
+                place.getCreatedAt(), Contributor.of(place.getProposedBy()));
+    }
+}
@@ -0,0 +1,25 @@
+package backend.dto;
+
+/**
+ * Nombre d'avis d'un lieu pour chaque note, de 1 à 5 : agrégat gardé par le modèle de lecture,
+ * d'où sont tirées la note moyenne et les {@link RatingStats} du lieu.
+ */
+public record RatingCounts(Long placeId, long one, long two, long three, long four, long five) {
+
+    /** Lieu sans avis. */
+    public static RatingCounts none(Long placeId) {
+        return new RatingCounts(placeId, 0L, 0L, 0L, 0L, 0L);
+    }
+
+    /** Nombre d'avis de la note donnée (1 à 5). */
+    public long of(int rating) {
+        return switch (rating) {
+            case 1 -> one;
+            case 2 -> two;
+            case 3 -> three;
+            case 4 -> four;
+            case 5 -> five;
+            default -> throw new IllegalArgumentException("Note hors de 1..5 : " + rating);
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package backend.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statistiques des avis d'un lieu : moyenne, nombre d'avis et répartition par note (1 à 5).
+ */
+public record RatingStats(double average, long count, Map<Integer, Long> distribution) {
+
+    /** Statistiques d'un lieu à partir de ses comptes par note ; répartition non modifiable. */
+    public static RatingStats of(RatingCounts counts) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        long count = 0;
+        long sum = 0;
+        for (int rating = 1; rating <= 5; rating++) {
+            long total = counts.of(rating);
+            distribution.put(rating, total);
+            count += total;
+            sum += rating * total;
+        }
+        return new RatingStats(count == 0 ? 0.0 : (double) sum / count, count,
+                Collections.unmodifiableMap(distribution));
+    }
+}
@@ -0,0 +1,13 @@
+package backend.dto;
+
+import backend.service.CatalogCollection;
+
+import java.math.BigDecimal;
+
+/**
+ * Résultat de la recherche unifiée : élément du catalogue, de n'importe quelle collection,
+ * avec sa pertinence. Ville et prix sont absents quand l'élément n'en a pas.
+ */
+public record SearchHit(CatalogCollection type, Long id, String title, String city, BigDecimal price,
+                        double score) {
+}
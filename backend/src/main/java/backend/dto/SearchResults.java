@@ -0,0 +1,11 @@
+package backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page de la recherche unifiée (/api/search) : résultats classés, nombre total de résultats et
+ * comptes par facette (type, ville, tranche de prix) calculés sur l'ensemble des résultats.
+ */
+public record SearchResults(List<SearchHit> results, long total, Map<String, Map<String, Long>> facets) {
+}
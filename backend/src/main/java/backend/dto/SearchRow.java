@@ -0,0 +1,10 @@
+package backend.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Élément publié du catalogue tel qu'indexé pour la recherche unifiée (CatalogSearchIndex) :
+ * titre, texte libre, ville et prix quand l'élément en a.
+ */
+public record SearchRow(Long id, String title, String text, String city, BigDecimal price) {
+}
@@ -0,0 +1,9 @@
+package backend.dto;
+
+import backend.service.CatalogCollection;
+
+/**
+ * Proposition d'autocomplétion : type d'élément du catalogue, id et libellé affiché.
+ */
+public record Suggestion(CatalogCollection type, Long id, String label) {
+}
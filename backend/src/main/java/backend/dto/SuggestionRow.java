@@ -0,0 +1,8 @@
+package backend.dto;
+
+/**
+ * Ligne chargée pour l'autocomplétion : libellé, popularité (avis ou réservations confirmées)
+ * et note moyenne quand l'élément en a une.
+ */
+public record SuggestionRow(Long id, String label, Long popularity, Double rating) {
+}
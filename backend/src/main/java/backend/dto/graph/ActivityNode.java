@@ -0,0 +1,10 @@
+package backend.dto.graph;
+
+import java.math.BigDecimal;
+
+/**
+ * Activité GraphQL : le lieu et le guide ne sont que des clés, chargées par lots à la demande.
+ */
+public record ActivityNode(Long id, String title, String description, BigDecimal price, String duration,
+                           Long placeId, Long guideId) {
+}
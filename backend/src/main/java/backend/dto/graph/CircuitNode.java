@@ -0,0 +1,10 @@
+package backend.dto.graph;
+
+import java.math.BigDecimal;
+
+/**
+ * Circuit GraphQL : le guide n'est qu'une clé, chargée par lots à la demande.
+ */
+public record CircuitNode(Long id, String title, String description, String duration, BigDecimal price,
+                          Long guideId) {
+}
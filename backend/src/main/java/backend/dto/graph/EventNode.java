@@ -0,0 +1,10 @@
+package backend.dto.graph;
+
+import java.time.LocalDate;
+
+/**
+ * Événement GraphQL (sans le proposant).
+ */
+public record EventNode(Long id, String title, String description, LocalDate startDate, LocalDate endDate,
+                        String location) {
+}
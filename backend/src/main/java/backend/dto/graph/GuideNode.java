@@ -0,0 +1,7 @@
+package backend.dto.graph;
+
+/**
+ * Guide GraphQL : seul le nom complet de l'utilisateur est exposé (ni email, ni téléphone).
+ */
+public record GuideNode(Long id, String fullName, String bio, String languages) {
+}
@@ -0,0 +1,11 @@
+package backend.dto.graph;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lieu tel que servi par l'API GraphQL : colonnes propres uniquement, les champs associés
+ * (activités, avis, notes) sont résolus par lots.
+ */
+public record PlaceNode(Long id, String name, String description, String city,
+                        Double latitude, Double longitude, String imageUrl, LocalDateTime createdAt) {
+}
@@ -0,0 +1,12 @@
+package backend.dto.graph;
+
+import backend.entities.Reservation;
+
+import java.time.LocalDate;
+
+/**
+ * Réservation GraphQL : l'activité ou le circuit réservé ne sont que des clés, chargées par lots.
+ */
+public record ReservationNode(Long id, LocalDate reservationDate, Reservation.Status status,
+                              Long activityId, Long circuitId) {
+}
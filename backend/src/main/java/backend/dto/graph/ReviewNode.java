@@ -0,0 +1,10 @@
+package backend.dto.graph;
+
+import java.time.LocalDateTime;
+
+/**
+ * Avis GraphQL : l'auteur est réduit à son nom complet.
+ */
+public record ReviewNode(Long id, int rating, String comment, LocalDateTime createdAt,
+                         Long placeId, String authorName) {
+}
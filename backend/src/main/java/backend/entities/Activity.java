@@ -1,5 +1,6 @@
 package backend.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name="activities")
@@ -42,6 +44,16 @@ public class Activity {
     @Enumerated(EnumType.STRING)
     private Status status = Status.PENDING; 
 
+    // Dernière écriture : entre dans l'empreinte comparée au redémarrage (voir Place.updatedAt)
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
 
 // Getters and Setters
 
@@ -108,4 +120,12 @@ public class Activity {
     public void setStatus(Status status) {
         this.status = status;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -1,5 +1,6 @@
 package backend.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -37,6 +38,16 @@ public class Artisan {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Dernière écriture : entre dans l'empreinte comparée au redémarrage (voir Place.updatedAt)
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
     // Getters and Setters
 
     public Long getId() {
@@ -102,4 +113,12 @@ public class Artisan {
     public void setProposedBy(User proposedBy) {
         this.proposedBy = proposedBy;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
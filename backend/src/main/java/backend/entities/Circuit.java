@@ -1,5 +1,6 @@
 package backend.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,6 +12,7 @@ import backend.entities.Status;
 
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name="circuits")
@@ -41,6 +43,16 @@ public class Circuit {
     @Enumerated(EnumType.STRING)
     private Status status = Status.PENDING;
 
+    // Dernière écriture : entre dans l'empreinte comparée au redémarrage (voir Place.updatedAt)
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
     // Getters and Setters
 
     public Long getId() {
@@ -102,4 +114,12 @@ public class Circuit {
     
 
   
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -1,6 +1,7 @@
 package backend.entities;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,6 +12,7 @@ import backend.entities.User;
 import backend.entities.Status;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name="events")
@@ -41,6 +43,16 @@ public class Event {
     @JoinColumn(name = "proposed_by_id")
     private User proposedBy;
 
+    // Dernière écriture : entre dans l'empreinte comparée au redémarrage (voir Place.updatedAt)
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
     // Getters and Setters
 
     public Long getId() {
@@ -106,4 +118,12 @@ public class Event {
     public void setProposedBy(User proposedBy) {
         this.proposedBy = proposedBy;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -1,5 +1,6 @@
 package backend.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -41,6 +42,16 @@ public class Place {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Date de dernière écriture, pour savoir si un instantané du catalogue est encore à jour
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
     // Getters and Setters
 
     public Long getId() {
@@ -122,4 +133,12 @@ public class Place {
     public void setProposedBy(User proposedBy) {
         this.proposedBy = proposedBy;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -6,6 +6,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import backend.entities.Status;
@@ -51,6 +52,11 @@ public class User implements UserDetails {
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Incrémentée pour révoquer les JWT déjà émis (suspension, changement de mot de passe...)
+    @JsonIgnore
+    @Column(name = "token_version", nullable = false, columnDefinition = "int default 0")
+    private int tokenVersion;
     
     @OneToOne(mappedBy = "user", fetch = FetchType.EAGER)
     @JsonManagedReference // C'est LUI la clé pour que le JSON s'affiche
@@ -178,4 +184,12 @@ public class User implements UserDetails {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Requête bien formée mais refusée par une règle métier (422).
+ */
+public class BusinessRuleException extends DomainException {
+
+    public BusinessRuleException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.UNPROCESSABLE_ENTITY;
+    }
+}
@@ -0,0 +1,18 @@
+package backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Opération incompatible avec l'état actuel de la ressource (409).
+ */
+public class ConflictException extends DomainException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
@@ -0,0 +1,17 @@
+package backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Erreur métier attendue (ressource absente, règle non respectée...). Ces cas sont fréquents
+ * (identifiants invalides, robots) : la pile d'appels n'est pas capturée, elle n'apporte rien
+ * et coûte cher à construire. Le statut HTTP est porté par chaque sous-classe.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    public abstract HttpStatus getStatus();
+}
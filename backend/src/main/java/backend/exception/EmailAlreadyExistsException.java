@@ -1,11 +1,10 @@
-
 package backend.exception;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.CONFLICT)
-public class EmailAlreadyExistsException extends RuntimeException {
+public class EmailAlreadyExistsException extends ConflictException {
 
     public EmailAlreadyExistsException(String message) {
         super(message);
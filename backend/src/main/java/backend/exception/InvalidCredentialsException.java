@@ -0,0 +1,18 @@
+package backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Email ou mot de passe incorrect (401).
+ */
+public class InvalidCredentialsException extends DomainException {
+
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.UNAUTHORIZED;
+    }
+}
@@ -0,0 +1,18 @@
+package backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Requête incomplète ou mal formée (400).
+ */
+public class InvalidRequestException extends DomainException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
@@ -0,0 +1,18 @@
+package backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Opération réservée au propriétaire de la ressource ou à l'administrateur (403).
+ */
+public class OperationNotAllowedException extends DomainException {
+
+    public OperationNotAllowedException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.FORBIDDEN;
+    }
+}
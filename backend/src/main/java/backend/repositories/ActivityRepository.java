@@ -1,10 +1,23 @@
 package backend.repositories;
 
-
+import backend.dto.ActivitySummary;
+import backend.dto.ChangeMark;
+import backend.dto.FacetRow;
+import backend.dto.SearchRow;
+import backend.dto.SuggestionRow;
+import backend.dto.graph.ActivityNode;
 import backend.entities.Activity;
+import backend.entities.Reservation;
 import backend.entities.Status;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,4 +27,105 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
     List<Activity> findByStatus(Status status);
     List<Activity> findByGuideUserId(Long userId);
     List<Activity> findByPlaceIdAndStatus(Long placeId, Status status);
+
+    // Lecture groupée (?ids=) : lieu, guide et leurs utilisateurs joints dans la même requête
+    @Override
+    @EntityGraph(attributePaths = {"place", "place.proposedBy", "place.proposedBy.guide", "guide", "guide.user"})
+    List<Activity> findAllById(Iterable<Long> ids);
+
+    // Pagination par clé (id) : voir PageQuery
+    Window<Activity> findAllByOrderByIdAsc(ScrollPosition position, Limit limit);
+
+    Window<Activity> findByStatusOrderByIdAsc(Status status, ScrollPosition position, Limit limit);
+
+    // Vues liste : lieu et guide lus par jointure, sans description ni entités associées
+    String SUMMARY = "SELECT new backend.dto.ActivitySummary(a.id, a.title, a.price, a.duration, a.status, " +
+            "p.id, p.name, p.city, g.id, u.fullName) " +
+            "FROM Activity a LEFT JOIN a.place p LEFT JOIN a.guide g LEFT JOIN g.user u ";
+
+    @Query(SUMMARY + "WHERE a.status = :status AND a.id > :afterId ORDER BY a.id")
+    List<ActivitySummary> findSummariesByStatus(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "WHERE p.id = :placeId AND a.status = :status AND a.id > :afterId ORDER BY a.id")
+    List<ActivitySummary> findSummariesByPlace(@Param("placeId") Long placeId, @Param("status") Status status,
+                                               @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "WHERE g.id = :guideId AND a.id > :afterId ORDER BY a.id")
+    List<ActivitySummary> findSummariesByGuide(@Param("guideId") Long guideId, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "WHERE a.id > :afterId ORDER BY a.id")
+    List<ActivitySummary> findSummaries(@Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "WHERE a.id IN :ids")
+    List<ActivitySummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Lieu modifié (nom, ville) : ses activités recopient ces champs
+    @Query(SUMMARY + "WHERE p.id IN :placeIds")
+    List<ActivitySummary> findSummariesByPlaceIdIn(@Param("placeIds") Collection<Long> placeIds);
+
+    Window<Activity> findByGuideUserIdOrderByIdAsc(Long userId, ScrollPosition position, Limit limit);
+
+    // API GraphQL : lieu et guide réduits à leur clé, résolus par lots
+    String NODE = "SELECT new backend.dto.graph.ActivityNode(a.id, a.title, a.description, a.price, a.duration, " +
+            "p.id, g.id) FROM Activity a LEFT JOIN a.place p LEFT JOIN a.guide g ";
+
+    @Query(NODE + "WHERE a.status = :status AND a.id > :afterId ORDER BY a.id")
+    List<ActivityNode> findNodesByStatus(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(NODE + "WHERE a.id IN :ids")
+    List<ActivityNode> findNodesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(NODE + "WHERE p.id IN :placeIds AND a.status = :status ORDER BY a.id")
+    List<ActivityNode> findNodesByPlaceIdIn(@Param("placeIds") Collection<Long> placeIds, @Param("status") Status status);
+
+    @Query(NODE + "WHERE g.id IN :guideIds AND a.status = :status ORDER BY a.id")
+    List<ActivityNode> findNodesByGuideIdIn(@Param("guideIds") Collection<Long> guideIds, @Param("status") Status status);
+
+    // Empreinte comparée à celle d'un instantané du modèle de lecture (CatalogReadModel)
+    @Query("SELECT new backend.dto.ChangeMark(COUNT(a), COALESCE(MAX(a.id), 0), MAX(a.updatedAt)) FROM Activity a")
+    ChangeMark findChangeMark();
+
+    // Autocomplétion (SuggestionIndex) : popularité = réservations confirmées, pas de note propre
+    String SUGGESTION = "SELECT new backend.dto.SuggestionRow(a.id, a.title, " +
+            "(SELECT COUNT(r) FROM Reservation r WHERE r.activity = a AND r.status = :confirmed), CAST(NULL AS Double)) " +
+            "FROM Activity a ";
+
+    @Query(SUGGESTION + "WHERE a.status = :status AND a.id > :afterId ORDER BY a.id")
+    List<SuggestionRow> findSuggestions(@Param("status") Status status, @Param("confirmed") Reservation.Status confirmed,
+                                        @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUGGESTION + "WHERE a.status = :status AND a.id IN :ids")
+    List<SuggestionRow> findSuggestionsByIdIn(@Param("status") Status status,
+                                              @Param("confirmed") Reservation.Status confirmed,
+                                              @Param("ids") Collection<Long> ids);
+
+    // Recherche unifiée (CatalogSearchIndex) : la ville est celle du lieu de l'activité
+    String SEARCH_ROW = "SELECT new backend.dto.SearchRow(a.id, a.title, a.description, pl.city, a.price) " +
+            "FROM Activity a LEFT JOIN a.place pl ";
+
+    @Query(SEARCH_ROW + "WHERE a.status = :status AND a.id > :afterId ORDER BY a.id")
+    List<SearchRow> findSearchRows(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SEARCH_ROW + "WHERE a.status = :status AND a.id IN :ids")
+    List<SearchRow> findSearchRowsByIdIn(@Param("status") Status status, @Param("ids") Collection<Long> ids);
+
+    // Lieux renommés ou déplacés : leurs activités portent leur ville
+    @Query(SEARCH_ROW + "WHERE a.status = :status AND pl.id IN :placeIds")
+    List<SearchRow> findSearchRowsByPlaceIdIn(@Param("status") Status status,
+                                              @Param("placeIds") Collection<Long> placeIds);
+
+    // Index à facettes (CatalogFacets) : ville et note moyenne du lieu de l'activité
+    String FACET_ROW = "SELECT new backend.dto.FacetRow(a.id, p.id, g.id, p.city, a.price, a.duration, " +
+            "(SELECT AVG(r.rating) FROM Review r WHERE r.place = p)) " +
+            "FROM Activity a LEFT JOIN a.place p LEFT JOIN a.guide g ";
+
+    @Query(FACET_ROW + "WHERE a.status = :status AND a.id > :afterId ORDER BY a.id")
+    List<FacetRow> findFacetRows(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(FACET_ROW + "WHERE a.status = :status AND a.id IN :ids")
+    List<FacetRow> findFacetRowsByIdIn(@Param("status") Status status, @Param("ids") Collection<Long> ids);
+
+    @Query(FACET_ROW + "WHERE a.status = :status AND p.id IN :placeIds")
+    List<FacetRow> findFacetRowsByPlaceIdIn(@Param("status") Status status,
+                                            @Param("placeIds") Collection<Long> placeIds);
 }
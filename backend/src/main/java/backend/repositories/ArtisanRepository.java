@@ -1,12 +1,70 @@
 package backend.repositories;
 
+import backend.dto.ArtisanSummary;
+import backend.dto.ChangeMark;
+import backend.dto.SearchRow;
 import backend.entities.Artisan;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import backend.entities.Status;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ArtisanRepository extends JpaRepository<Artisan, Long> {
     List<Artisan> findByStatus(Status status);
     List<Artisan> findByCityContainingIgnoreCaseAndStatus(String city, Status status);
-}
 
+    // Lecture groupée (?ids=) : proposant joint dans la même requête
+    @Override
+    @EntityGraph(attributePaths = {"proposedBy", "proposedBy.guide"})
+    List<Artisan> findAllById(Iterable<Long> ids);
+
+    // Pagination par clé (id) : voir PageQuery
+    Window<Artisan> findAllByOrderByIdAsc(ScrollPosition position, Limit limit);
+
+    Window<Artisan> findByStatusOrderByIdAsc(Status status, ScrollPosition position, Limit limit);
+
+    // Vues liste (modèle de lecture) : colonnes de l'artisan seulement
+    String SUMMARY = "SELECT new backend.dto.ArtisanSummary(a.id, a.name, a.speciality, a.phone, a.city, " +
+            "a.status, a.createdAt) FROM Artisan a ";
+
+    @Query(SUMMARY + "WHERE a.status = :status AND a.id > :afterId ORDER BY a.id")
+    List<ArtisanSummary> findSummariesByStatus(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "WHERE a.id > :afterId ORDER BY a.id")
+    List<ArtisanSummary> findSummaries(@Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "WHERE a.id IN :ids")
+    List<ArtisanSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Empreinte comparée à celle d'un instantané du modèle de lecture (CatalogReadModel)
+    @Query("SELECT new backend.dto.ChangeMark(COUNT(a), COALESCE(MAX(a.id), 0), MAX(a.updatedAt)) FROM Artisan a")
+    ChangeMark findChangeMark();
+
+    @Query("SELECT a.id AS id, u.id AS ownerId FROM Artisan a LEFT JOIN a.proposedBy u WHERE a.id = :id")
+    Optional<OwnershipView> findOwnershipById(@Param("id") Long id);
+
+    // status null = statut inchangé ; @PreUpdate n'est pas appelé, la date de modification est posée ici
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Artisan a SET a.name = :name, a.speciality = :speciality, a.phone = :phone, a.city = :city, " +
+           "a.status = COALESCE(:status, a.status), a.updatedAt = LOCAL_DATETIME WHERE a.id = :id")
+    int updateDetails(@Param("id") Long id, @Param("name") String name, @Param("speciality") String speciality,
+                      @Param("phone") String phone, @Param("city") String city, @Param("status") Status status);
+
+    // Recherche unifiée (CatalogSearchIndex) : la spécialité tient lieu de description
+    String SEARCH_ROW = "SELECT new backend.dto.SearchRow(r.id, r.name, r.speciality, r.city, CAST(NULL AS BigDecimal)) " +
+            "FROM Artisan r ";
+
+    @Query(SEARCH_ROW + "WHERE r.status = :status AND r.id > :afterId ORDER BY r.id")
+    List<SearchRow> findSearchRows(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SEARCH_ROW + "WHERE r.status = :status AND r.id IN :ids")
+    List<SearchRow> findSearchRowsByIdIn(@Param("status") Status status, @Param("ids") Collection<Long> ids);
+}
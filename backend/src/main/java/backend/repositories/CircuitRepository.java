@@ -1,11 +1,27 @@
 package backend.repositories;
 
+import backend.dto.ChangeMark;
+import backend.dto.CircuitSummary;
+import backend.dto.FacetRow;
+import backend.dto.SearchRow;
+import backend.dto.SuggestionRow;
+import backend.dto.graph.CircuitNode;
 import backend.entities.Circuit;
 import backend.entities.Guide;
+import backend.entities.Reservation;
 import backend.entities.Status;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +31,96 @@ public interface CircuitRepository extends JpaRepository<Circuit, Long> {
     List<Circuit> findByGuideAndStatus(Guide guide, Status status);
     List<Circuit> findByGuide(Guide guide);
     Optional<Circuit> findByIdAndGuide(Long id, Guide guide);
-}
\ No newline at end of file
+
+    // Lecture groupée (?ids=) : guide joint dans la même requête
+    @Override
+    @EntityGraph(attributePaths = {"guide", "guide.user"})
+    List<Circuit> findAllById(Iterable<Long> ids);
+
+    // Pagination par clé (id) : voir PageQuery
+    Window<Circuit> findAllByOrderByIdAsc(ScrollPosition position, Limit limit);
+
+    Window<Circuit> findByStatusOrderByIdAsc(Status status, ScrollPosition position, Limit limit);
+
+    Window<Circuit> findByGuideOrderByIdAsc(Guide guide, ScrollPosition position, Limit limit);
+
+    // Vues liste (modèle de lecture) : le guide réduit à son id, sans jointure sur son utilisateur
+    String SUMMARY = "SELECT new backend.dto.CircuitSummary(c.id, c.title, c.description, c.duration, c.price, " +
+            "c.status, g.id) FROM Circuit c LEFT JOIN c.guide g ";
+
+    @Query(SUMMARY + "WHERE c.status = :status AND c.id > :afterId ORDER BY c.id")
+    List<CircuitSummary> findSummariesByStatus(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "WHERE c.id > :afterId ORDER BY c.id")
+    List<CircuitSummary> findSummaries(@Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "WHERE c.id IN :ids")
+    List<CircuitSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Empreinte comparée à celle d'un instantané du modèle de lecture (CatalogReadModel)
+    @Query("SELECT new backend.dto.ChangeMark(COUNT(c), COALESCE(MAX(c.id), 0), MAX(c.updatedAt)) FROM Circuit c")
+    ChangeMark findChangeMark();
+
+    // Propriétaire du circuit sans charger le graphe Circuit -> Guide -> User
+    @Query("SELECT c.id AS id, u.id AS ownerId FROM Circuit c LEFT JOIN c.guide g LEFT JOIN g.user u WHERE c.id = :id")
+    Optional<OwnershipView> findOwnershipById(@Param("id") Long id);
+
+    // Mise à jour directe : @PreUpdate n'est pas appelé, la date de modification est posée ici
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Circuit c SET c.title = :title, c.description = :description, c.duration = :duration, " +
+           "c.price = :price, c.status = :status, c.updatedAt = LOCAL_DATETIME WHERE c.id = :id")
+    int updateDetails(@Param("id") Long id, @Param("title") String title, @Param("description") String description,
+                      @Param("duration") String duration, @Param("price") BigDecimal price,
+                      @Param("status") Status status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Circuit c WHERE c.id = :id")
+    int deleteDirectlyById(@Param("id") Long id);
+
+    // API GraphQL : guide réduit à sa clé, résolu par lots
+    String NODE = "SELECT new backend.dto.graph.CircuitNode(c.id, c.title, c.description, c.duration, c.price, g.id) " +
+            "FROM Circuit c LEFT JOIN c.guide g ";
+
+    @Query(NODE + "WHERE c.status = :status AND c.id > :afterId ORDER BY c.id")
+    List<CircuitNode> findNodesByStatus(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(NODE + "WHERE c.id IN :ids")
+    List<CircuitNode> findNodesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(NODE + "WHERE g.id IN :guideIds AND c.status = :status ORDER BY c.id")
+    List<CircuitNode> findNodesByGuideIdIn(@Param("guideIds") Collection<Long> guideIds, @Param("status") Status status);
+
+    // Autocomplétion (SuggestionIndex) : popularité = réservations confirmées
+    String SUGGESTION = "SELECT new backend.dto.SuggestionRow(c.id, c.title, " +
+            "(SELECT COUNT(r) FROM Reservation r WHERE r.circuit = c AND r.status = :confirmed), CAST(NULL AS Double)) " +
+            "FROM Circuit c ";
+
+    @Query(SUGGESTION + "WHERE c.status = :status AND c.id > :afterId ORDER BY c.id")
+    List<SuggestionRow> findSuggestions(@Param("status") Status status, @Param("confirmed") Reservation.Status confirmed,
+                                        @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUGGESTION + "WHERE c.status = :status AND c.id IN :ids")
+    List<SuggestionRow> findSuggestionsByIdIn(@Param("status") Status status,
+                                              @Param("confirmed") Reservation.Status confirmed,
+                                              @Param("ids") Collection<Long> ids);
+
+    // Recherche unifiée (CatalogSearchIndex) : un circuit traverse plusieurs villes, pas de ville
+    String SEARCH_ROW = "SELECT new backend.dto.SearchRow(c.id, c.title, c.description, CAST(NULL AS String), c.price) " +
+            "FROM Circuit c ";
+
+    @Query(SEARCH_ROW + "WHERE c.status = :status AND c.id > :afterId ORDER BY c.id")
+    List<SearchRow> findSearchRows(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SEARCH_ROW + "WHERE c.status = :status AND c.id IN :ids")
+    List<SearchRow> findSearchRowsByIdIn(@Param("status") Status status, @Param("ids") Collection<Long> ids);
+
+    // Index à facettes (CatalogFacets) : un circuit n'a ni lieu, ni ville, ni avis
+    String FACET_ROW = "SELECT new backend.dto.FacetRow(c.id, CAST(NULL AS Long), g.id, CAST(NULL AS String), " +
+            "c.price, c.duration, CAST(NULL AS Double)) FROM Circuit c LEFT JOIN c.guide g ";
+
+    @Query(FACET_ROW + "WHERE c.status = :status AND c.id > :afterId ORDER BY c.id")
+    List<FacetRow> findFacetRows(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(FACET_ROW + "WHERE c.status = :status AND c.id IN :ids")
+    List<FacetRow> findFacetRowsByIdIn(@Param("status") Status status, @Param("ids") Collection<Long> ids);
+}
@@ -1,9 +1,21 @@
 package backend.repositories;
+import backend.dto.ChangeMark;
+import backend.dto.EventView;
+import backend.dto.SearchRow;
+import backend.dto.SuggestionRow;
+import backend.dto.graph.EventNode;
 import backend.entities.Event;
 import backend.entities.Status;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,5 +26,89 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findByProposedByOrderByStartDateDesc(backend.entities.User user);
     // Admin : Tous par statut
     List<Event> findByStatus(Status status);
-    
+
+    // Lecture groupée (?ids=) : proposant joint dans la même requête
+    @Override
+    @EntityGraph(attributePaths = {"proposedBy", "proposedBy.guide"})
+    List<Event> findAllById(Iterable<Long> ids);
+
+    Window<Event> findByStatusOrderByIdAsc(Status status, ScrollPosition position, Limit limit);
+
+    // Pagination par clé (date de début, id) : la date est facultative, les événements sans date
+    // viennent en dernier et l'id départage (voir PageQuery.lastKey)
+    String AFTER_START_DESC = "(:afterId IS NULL " +
+            "OR (:afterDate IS NULL AND e.startDate IS NULL AND e.id < :afterId) " +
+            "OR (:afterDate IS NOT NULL AND (e.startDate < :afterDate OR e.startDate IS NULL " +
+            "OR (e.startDate = :afterDate AND e.id < :afterId)))) " +
+            "ORDER BY e.startDate DESC NULLS LAST, e.id DESC";
+
+    String AFTER_START_ASC = "(:afterId IS NULL " +
+            "OR (:afterDate IS NULL AND e.startDate IS NULL AND e.id > :afterId) " +
+            "OR (:afterDate IS NOT NULL AND (e.startDate > :afterDate OR e.startDate IS NULL " +
+            "OR (e.startDate = :afterDate AND e.id > :afterId)))) " +
+            "ORDER BY e.startDate ASC NULLS LAST, e.id ASC";
+
+    @Query("SELECT e FROM Event e WHERE " + AFTER_START_DESC)
+    List<Event> findPage(@Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT e FROM Event e WHERE e.endDate > :date AND " + AFTER_START_ASC)
+    List<Event> findUpcomingPage(@Param("date") LocalDate date, @Param("afterDate") LocalDate afterDate,
+                                 @Param("afterId") Long afterId, Limit limit);
+
+    // Vues liste publiques (modèle de lecture) : proposant réduit à son id et son nom
+    String VIEW = "SELECT new backend.dto.EventView(e.id, e.title, e.description, e.startDate, e.endDate, " +
+            "e.location, e.status, u.id, u.fullName) FROM Event e LEFT JOIN e.proposedBy u ";
+
+    @Query(VIEW + "WHERE e.status = :status AND e.endDate > :date AND " + AFTER_START_ASC)
+    List<EventView> findUpcomingViews(@Param("status") Status status, @Param("date") LocalDate date,
+                                      @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                      Limit limit);
+
+    @Query(VIEW + "WHERE e.id > :afterId ORDER BY e.id")
+    List<EventView> findViews(@Param("afterId") long afterId, Limit limit);
+
+    @Query(VIEW + "WHERE e.id IN :ids")
+    List<EventView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Empreinte comparée à celle d'un instantané du modèle de lecture (CatalogReadModel)
+    @Query("SELECT new backend.dto.ChangeMark(COUNT(e), COALESCE(MAX(e.id), 0), MAX(e.updatedAt)) FROM Event e")
+    ChangeMark findChangeMark();
+
+    @Query("SELECT e FROM Event e WHERE e.proposedBy = :user AND " + AFTER_START_DESC)
+    List<Event> findPageByProposedBy(@Param("user") backend.entities.User user, @Param("afterDate") LocalDate afterDate,
+                                     @Param("afterId") Long afterId, Limit limit);
+
+    // API GraphQL : événements sans le proposant
+    String NODE = "SELECT new backend.dto.graph.EventNode(e.id, e.title, e.description, e.startDate, e.endDate, " +
+            "e.location) FROM Event e ";
+
+    @Query(NODE + "WHERE e.status = :status AND e.endDate > :date AND e.id > :afterId ORDER BY e.id")
+    List<EventNode> findUpcomingNodes(@Param("status") Status status, @Param("date") LocalDate date,
+                                      @Param("afterId") long afterId, Limit limit);
+
+    @Query(NODE + "WHERE e.id IN :ids")
+    List<EventNode> findNodesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Autocomplétion (SuggestionIndex) : événements à venir ou en cours, sans popularité mesurée
+    String SUGGESTION = "SELECT new backend.dto.SuggestionRow(e.id, e.title, 0L, CAST(NULL AS Double)) FROM Event e ";
+
+    @Query(SUGGESTION + "WHERE e.status = :status AND e.endDate > :date AND e.id > :afterId ORDER BY e.id")
+    List<SuggestionRow> findSuggestions(@Param("status") Status status, @Param("date") LocalDate date,
+                                        @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUGGESTION + "WHERE e.status = :status AND e.endDate > :date AND e.id IN :ids")
+    List<SuggestionRow> findSuggestionsByIdIn(@Param("status") Status status, @Param("date") LocalDate date,
+                                              @Param("ids") Collection<Long> ids);
+
+    // Recherche unifiée (CatalogSearchIndex) : événements à venir ou en cours ; le lieu est du texte libre, cherché avec la description
+    String SEARCH_ROW = "SELECT new backend.dto.SearchRow(e.id, e.title, CONCAT(COALESCE(e.description, ''), ' ', COALESCE(e.location, '')), CAST(NULL AS String), CAST(NULL AS BigDecimal)) " +
+            "FROM Event e ";
+
+    @Query(SEARCH_ROW + "WHERE e.status = :status AND e.endDate > :date AND e.id > :afterId ORDER BY e.id")
+    List<SearchRow> findSearchRows(@Param("status") Status status, @Param("date") LocalDate date,
+                                   @Param("afterId") long afterId, Limit limit);
+
+    @Query(SEARCH_ROW + "WHERE e.status = :status AND e.endDate > :date AND e.id IN :ids")
+    List<SearchRow> findSearchRowsByIdIn(@Param("status") Status status, @Param("date") LocalDate date,
+                                         @Param("ids") Collection<Long> ids);
 }
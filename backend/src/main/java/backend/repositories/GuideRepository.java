@@ -1,10 +1,15 @@
 package backend.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import backend.dto.graph.GuideNode;
 import backend.entities.Guide;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import backend.entities.User;
 
@@ -12,4 +17,9 @@ public interface GuideRepository extends JpaRepository<Guide,Long> {
 
 Optional<Guide> findByUser(User user);
 Optional<Guide> findByUserId(Long userId);
+
+// API GraphQL : nom de l'utilisateur lu par jointure, sans ses identifiants
+@Query("SELECT new backend.dto.graph.GuideNode(g.id, u.fullName, g.bio, g.languages) " +
+        "FROM Guide g LEFT JOIN g.user u WHERE g.id IN :ids")
+List<GuideNode> findNodesByIdIn(@Param("ids") Collection<Long> ids);
 }
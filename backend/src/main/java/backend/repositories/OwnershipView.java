@@ -0,0 +1,12 @@
+package backend.repositories;
+
+/**
+ * Projection minimale utilisée pour les contrôles d'autorisation : l'identifiant de la ressource
+ * et celui de l'utilisateur propriétaire (null si la ressource n'a pas de propriétaire).
+ */
+public interface OwnershipView {
+
+    Long getId();
+
+    Long getOwnerId();
+}
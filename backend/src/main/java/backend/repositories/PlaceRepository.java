@@ -2,9 +2,23 @@ package backend.repositories;
 
 import backend.entities.Status;
 
+import backend.dto.ChangeMark;
+import backend.dto.PlacePoint;
+import backend.dto.PlaceSummary;
+import backend.dto.PlaceText;
+import backend.dto.SearchRow;
+import backend.dto.SuggestionRow;
+import backend.dto.graph.PlaceNode;
 import backend.entities.Place;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,4 +29,88 @@ public interface PlaceRepository extends JpaRepository<Place, Long> {
     List<Place> findByStatus(Status status);
 
     List<Place> findByStatusOrderByCreatedAtDesc(Status status);
+
+    // Lecture groupée (?ids=) : associations EAGER jointes dans la même requête, sans select par proposant
+    @Override
+    @EntityGraph(attributePaths = {"proposedBy", "proposedBy.guide"})
+    List<Place> findAllById(Iterable<Long> ids);
+
+    // Pagination par clé (id) : voir PageQuery
+    Window<Place> findAllByOrderByIdAsc(ScrollPosition position, Limit limit);
+
+    Window<Place> findByStatusOrderByIdAsc(Status status, ScrollPosition position, Limit limit);
+
+    // Vues liste : colonnes courtes + note moyenne, sans description ni proposant (voir PageQuery.afterId)
+    String SUMMARY = "SELECT new backend.dto.PlaceSummary(p.id, p.name, p.city, p.latitude, p.longitude, " +
+            "p.imageUrl, p.status, p.createdAt, (SELECT AVG(r.rating) FROM Review r WHERE r.place = p)) FROM Place p ";
+
+    @Query(SUMMARY + "WHERE p.status = :status AND p.id > :afterId ORDER BY p.id")
+    List<PlaceSummary> findSummariesByStatus(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "WHERE LOWER(p.city) LIKE LOWER(CONCAT('%', :city, '%')) AND p.id > :afterId ORDER BY p.id")
+    List<PlaceSummary> findSummariesByCity(@Param("city") String city, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "WHERE (LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
+            "OR LOWER(p.city) LIKE LOWER(CONCAT('%', :query, '%'))) AND p.id > :afterId ORDER BY p.id")
+    List<PlaceSummary> searchSummaries(@Param("query") String query, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "WHERE p.id > :afterId ORDER BY p.id")
+    List<PlaceSummary> findSummaries(@Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "WHERE p.id IN :ids")
+    List<PlaceSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Textes indexés par la recherche plein texte (PlaceSearchIndex)
+    String TEXT = "SELECT new backend.dto.PlaceText(p.id, p.name, p.city, p.description) FROM Place p ";
+
+    @Query(TEXT + "WHERE p.id > :afterId ORDER BY p.id")
+    List<PlaceText> findTexts(@Param("afterId") long afterId, Limit limit);
+
+    @Query(TEXT + "WHERE p.id IN :ids")
+    List<PlaceText> findTextsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // API GraphQL : colonnes propres du lieu, les associations sont chargées par lots
+    String NODE = "SELECT new backend.dto.graph.PlaceNode(p.id, p.name, p.description, p.city, p.latitude, " +
+            "p.longitude, p.imageUrl, p.createdAt) FROM Place p ";
+
+    @Query(NODE + "WHERE p.status = :status AND p.id > :afterId ORDER BY p.id")
+    List<PlaceNode> findNodesByStatus(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(NODE + "WHERE p.id IN :ids")
+    List<PlaceNode> findNodesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Empreinte comparée à celle d'un instantané du modèle de lecture (CatalogReadModel)
+    @Query("SELECT new backend.dto.ChangeMark(COUNT(p), COALESCE(MAX(p.id), 0), MAX(p.updatedAt)) FROM Place p")
+    ChangeMark findChangeMark();
+
+    // Autocomplétion (SuggestionIndex) : popularité = nombre d'avis
+    String SUGGESTION = "SELECT new backend.dto.SuggestionRow(p.id, p.name, " +
+            "(SELECT COUNT(r) FROM Review r WHERE r.place = p), (SELECT AVG(r.rating) FROM Review r WHERE r.place = p)) " +
+            "FROM Place p ";
+
+    @Query(SUGGESTION + "WHERE p.status = :status AND p.id > :afterId ORDER BY p.id")
+    List<SuggestionRow> findSuggestions(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUGGESTION + "WHERE p.status = :status AND p.id IN :ids")
+    List<SuggestionRow> findSuggestionsByIdIn(@Param("status") Status status, @Param("ids") Collection<Long> ids);
+
+    // Recherche unifiée (CatalogSearchIndex) : lieux publiés, sans prix
+    String SEARCH_ROW = "SELECT new backend.dto.SearchRow(p.id, p.name, p.description, p.city, CAST(NULL AS BigDecimal)) " +
+            "FROM Place p ";
+
+    @Query(SEARCH_ROW + "WHERE p.status = :status AND p.id > :afterId ORDER BY p.id")
+    List<SearchRow> findSearchRows(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SEARCH_ROW + "WHERE p.status = :status AND p.id IN :ids")
+    List<SearchRow> findSearchRowsByIdIn(@Param("status") Status status, @Param("ids") Collection<Long> ids);
+
+    // Index géographique (PlaceGeoIndex) : lieux publiés ayant des coordonnées
+    String POINT = "SELECT new backend.dto.PlacePoint(p.id, p.latitude, p.longitude) FROM Place p " +
+            "WHERE p.status = :status AND p.latitude IS NOT NULL AND p.longitude IS NOT NULL ";
+
+    @Query(POINT + "AND p.id > :afterId ORDER BY p.id")
+    List<PlacePoint> findPoints(@Param("status") Status status, @Param("afterId") long afterId, Limit limit);
+
+    @Query(POINT + "AND p.id IN :ids")
+    List<PlacePoint> findPointsByIdIn(@Param("status") Status status, @Param("ids") Collection<Long> ids);
 }
@@ -1,7 +1,13 @@
 package backend.repositories;
 
 import backend.entities.Report;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ReportRepository extends JpaRepository<Report, Long> {}
+public interface ReportRepository extends JpaRepository<Report, Long> {
+
+    Window<Report> findAllByOrderByIdAsc(ScrollPosition position, Limit limit);
+}
 
@@ -1,9 +1,16 @@
 package backend.repositories;
 
+import backend.dto.graph.ReservationNode;
 import backend.entities.Reservation;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import backend.entities.Guide;
 
 @Repository
@@ -15,4 +22,46 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findAllByOrderByReservationDateDesc();
     List<Reservation> findAllByActivityGuideOrCircuitGuideOrderByReservationDateDesc(Guide guide, Guide guide2);
 
+    // Pagination par clé (date, id) : la table grandit sans limite, jamais de tri complet ni d'OFFSET.
+    // La date est facultative : réservations sans date en dernier, l'id départage (voir PageQuery.lastKey)
+    String AFTER_DATE_DESC = "(:afterId IS NULL " +
+            "OR (:afterDate IS NULL AND r.reservationDate IS NULL AND r.id < :afterId) " +
+            "OR (:afterDate IS NOT NULL AND (r.reservationDate < :afterDate OR r.reservationDate IS NULL " +
+            "OR (r.reservationDate = :afterDate AND r.id < :afterId)))) " +
+            "ORDER BY r.reservationDate DESC NULLS LAST, r.id DESC";
+
+    @Query("SELECT r FROM Reservation r WHERE r.user.id = :userId AND " + AFTER_DATE_DESC)
+    List<Reservation> findPageByUserId(@Param("userId") Long userId, @Param("afterDate") LocalDate afterDate,
+                                       @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT r FROM Reservation r WHERE " + AFTER_DATE_DESC)
+    List<Reservation> findPage(@Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT r FROM Reservation r LEFT JOIN r.activity a LEFT JOIN r.circuit c " +
+            "WHERE (a.guide = :guide OR c.guide = :guide) AND " + AFTER_DATE_DESC)
+    List<Reservation> findPageByGuide(@Param("guide") Guide guide, @Param("afterDate") LocalDate afterDate,
+                                      @Param("afterId") Long afterId, Limit limit);
+
+    // Le statut accompagne le propriétaire : l'annulation en a besoin et il change, il n'est donc pas mis en cache
+    interface ReservationOwnershipView extends OwnershipView {
+        Reservation.Status getStatus();
+    }
+
+    @Query("SELECT r.id AS id, u.id AS ownerId, r.status AS status FROM Reservation r LEFT JOIN r.user u WHERE r.id = :id")
+    Optional<ReservationOwnershipView> findOwnershipById(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :status WHERE r.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") Reservation.Status status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Reservation r WHERE r.id = :id")
+    int deleteDirectlyById(@Param("id") Long id);
+
+    // API GraphQL : activité et circuit réduits à leur clé, résolus par lots
+    @Query("SELECT new backend.dto.graph.ReservationNode(r.id, r.reservationDate, r.status, a.id, c.id) " +
+           "FROM Reservation r LEFT JOIN r.activity a LEFT JOIN r.circuit c " +
+           "WHERE r.user.id = :userId ORDER BY r.reservationDate DESC, r.id DESC")
+    List<ReservationNode> findNodesByUserId(@Param("userId") Long userId, Limit limit);
+
 }
\ No newline at end of file
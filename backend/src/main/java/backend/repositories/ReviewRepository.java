@@ -1,10 +1,19 @@
 package backend.repositories;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param; // Important pour @Param
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import backend.dto.ChangeMark;
+import backend.dto.RatingCounts;
+import backend.dto.graph.ReviewNode;
 import backend.entities.Review;
 
 @Repository
@@ -22,4 +31,54 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // Moyenne des notes avec Coalesce
     @Query("SELECT COALESCE(AVG(r.rating), 0.0) FROM Review r WHERE r.place.id = :placeId")
     Double findAverageRatingByPlaceId(@Param("placeId") Long placeId);
-}
\ No newline at end of file
+
+    // Comptes par note, une ligne par lieu (une page coupe entre deux lieux, jamais au milieu d'un lieu)
+    String RATING_COUNTS = "SELECT new backend.dto.RatingCounts(r.place.id, " +
+            "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END)) FROM Review r ";
+
+    @Query(RATING_COUNTS + "WHERE r.place.id > :afterId GROUP BY r.place.id ORDER BY r.place.id")
+    List<RatingCounts> findRatingCounts(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(RATING_COUNTS + "WHERE r.place.id IN :placeIds GROUP BY r.place.id")
+    List<RatingCounts> findRatingCountsByPlaceIdIn(@Param("placeIds") Collection<Long> placeIds);
+
+    // API GraphQL : auteur réduit à son nom, avis de plusieurs lieux en une requête. Seuls les
+    // perPlace plus récents de chaque lieu sortent de la base (numérotés par lieu avec ROW_NUMBER)
+    @Query("SELECT new backend.dto.graph.ReviewNode(r.id, r.rating, r.comment, r.createdAt, p.id, u.fullName) " +
+           "FROM Review r JOIN r.place p LEFT JOIN r.user u WHERE r.id IN (" +
+           "SELECT ranked.id FROM (SELECT x.id AS id, ROW_NUMBER() OVER (PARTITION BY x.place.id " +
+           "ORDER BY x.createdAt DESC, x.id DESC) AS rowNumber FROM Review x WHERE x.place.id IN :placeIds) ranked " +
+           "WHERE ranked.rowNumber <= :perPlace) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewNode> findLatestNodesByPlaceIdIn(@Param("placeIds") Collection<Long> placeIds,
+                                                @Param("perPlace") int perPlace);
+
+    // Pagination par clé (date, id) : voir PageQuery
+    Window<Review> findByPlaceIdOrderByCreatedAtDescIdDesc(Long placeId, ScrollPosition position, Limit limit);
+
+    Window<Review> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, ScrollPosition position, Limit limit);
+
+    Window<Review> findAllByOrderByCreatedAtDescIdDesc(ScrollPosition position, Limit limit);
+
+    @Query("SELECT r.id AS id, u.id AS ownerId FROM Review r LEFT JOIN r.user u WHERE r.id = :id")
+    Optional<OwnershipView> findOwnershipById(@Param("id") Long id);
+
+    // Lieu de l'avis, publié avec l'événement de mutation (note moyenne de ce lieu seulement)
+    @Query("SELECT r.place.id FROM Review r WHERE r.id = :id")
+    Optional<Long> findPlaceIdById(@Param("id") Long id);
+
+    // Mise à jour directe : @PreUpdate n'est pas appelé, la date de modification est posée ici
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Review r SET r.rating = :rating, r.comment = :comment, r.updatedAt = LOCAL_DATETIME WHERE r.id = :id")
+    int updateContent(@Param("id") Long id, @Param("rating") int rating, @Param("comment") String comment);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Review r WHERE r.id = :id")
+    int deleteDirectlyById(@Param("id") Long id);
+
+    // Empreinte comparée à celle d'un instantané du modèle de lecture (CatalogReadModel)
+    @Query("SELECT new backend.dto.ChangeMark(COUNT(r), COALESCE(MAX(r.id), 0), MAX(r.updatedAt)) FROM Review r")
+    ChangeMark findChangeMark();
+}
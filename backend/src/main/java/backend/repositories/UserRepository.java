@@ -1,12 +1,20 @@
 package backend.repositories;
 
-
+import java.util.Collection;
 import java.util.List;
 
+import backend.dto.ChangeMark;
 import backend.entities.Role;
 import backend.entities.User;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -15,5 +23,32 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Vérification d'unicité ensembliste (import en masse) : une seule requête pour tout un lot
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
     List<User> findByRole(Role role);
-}
\ No newline at end of file
+
+    // Pagination par clé (id) des listes d'administration
+    Window<User> findAllByOrderByIdAsc(ScrollPosition position, Limit limit);
+
+    Window<User> findByRoleOrderByIdAsc(Role role, ScrollPosition position, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    // Seuls les utilisateurs dont au moins un jeton a été révoqué
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<TokenVersionView> findRevokedTokenVersions();
+
+    interface TokenVersionView {
+        Long getId();
+        int getTokenVersion();
+    }
+
+    // Empreinte comparée à celle d'un instantané du modèle de lecture (CatalogReadModel)
+    @Query("SELECT new backend.dto.ChangeMark(COUNT(u), COALESCE(MAX(u.id), 0), MAX(u.updatedAt)) FROM User u")
+    ChangeMark findChangeMark();
+}
@@ -1,5 +1,8 @@
 package backend.service;
 
+import backend.dto.ActivitySummary;
+import backend.exception.BusinessRuleException;
+import backend.exception.ResourceNotFoundException;
 import backend.entities.Activity;
 import backend.entities.Guide;
 import backend.entities.Place;
@@ -7,12 +10,19 @@ import backend.entities.Role;
 import backend.entities.Status;
 import backend.entities.User;
 import backend.repositories.ActivityRepository;
+import backend.service.facet.CatalogFacets;
+import backend.service.facet.FacetFilter;
+import backend.service.facet.FacetedPage;
+import backend.service.readmodel.CatalogReadModel;
 
 import lombok.RequiredArgsConstructor;
 import backend.repositories.GuideRepository;
+import org.springframework.data.domain.Window;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import backend.repositories.PlaceRepository;
 
@@ -26,34 +36,54 @@ public class ActivityService {
     private final ActivityRepository activityRepository;
     private final GuideRepository guideRepository;
    private final PlaceRepository placeRepository; // AJOUTEZ CECI
+    private final CatalogVersions catalogVersions;
+    private final CatalogReadModel readModel;
+    private final CatalogFacets facets;
 
     public ActivityService(ActivityRepository activityRepository, 
                            GuideRepository guideRepository, 
-                           PlaceRepository placeRepository) {
+                           PlaceRepository placeRepository,
+                           CatalogVersions catalogVersions,
+                           CatalogReadModel readModel,
+                           CatalogFacets facets) {
         this.activityRepository = activityRepository;
+        this.facets = facets;
+        this.catalogVersions = catalogVersions;
+        this.readModel = readModel;
         this.guideRepository = guideRepository;
         this.placeRepository = placeRepository;
     }
-    public List<Activity> getAllActivities() {
-        return activityRepository.findAll();
+    public Window<Activity> getAllActivities(PageQuery page) {
+        return activityRepository.findAllByOrderByIdAsc(page.position(), page.limit());
     }
 
     public Activity getActivityById(Long id) {
         return activityRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Activité non trouvée avec l'id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Activité non trouvée avec l'id: " + id));
     }
 
-   public List<Activity> getActivitiesByPlace(Long placeId) {
+    public List<ActivitySummary> getActivitiesByIds(Collection<Long> ids) {
+        return activityRepository.findSummariesByIdIn(ids);
+    }
+
+    // Résumés servis par le modèle en mémoire (CatalogReadModel) s'il est à jour, sinon par la base
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+   public Window<ActivitySummary> getActivitiesByPlace(Long placeId, PageQuery page) {
     // On ne montre que les activités validées pour ce lieu
-    return activityRepository.findByPlaceIdAndStatus(placeId, Status.ACTIVE);
+    return readModel.getActivitiesByPlace(placeId, page).orElseGet(() ->
+            page.window(activityRepository.findSummariesByPlace(placeId, Status.ACTIVE, page.afterId(), page.probe()),
+                    ActivitySummary::id));
 }
-    public List<Activity> getActivitiesByGuide(Long guideId) {
-        return activityRepository.findByGuideId(guideId);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Window<ActivitySummary> getActivitiesByGuide(Long guideId, PageQuery page) {
+        return readModel.getActivitiesByGuide(guideId, page).orElseGet(() ->
+                page.window(activityRepository.findSummariesByGuide(guideId, page.afterId(), page.probe()),
+                        ActivitySummary::id));
     }
 
-    public List<Activity> getActivitiesByUserId(Long userId) {
+    public Window<Activity> getActivitiesByUserId(Long userId, PageQuery page) {
     // Cette requête va chercher les activités où le guide possède le user_id fourni
-    return activityRepository.findByGuideUserId(userId);
+    return activityRepository.findByGuideUserIdOrderByIdAsc(userId, page.position(), page.limit());
 }
 
    // backend/service/ActivityService.java
@@ -62,7 +92,7 @@ public Activity createActivity(Activity activity, User currentUser) {
     // 1. Si c'est un GUIDE, on doit impérativement lui associer son profil Guide
     if (currentUser.getRole() == Role.GUIDE) {
         Guide guide = guideRepository.findByUserId(currentUser.getId())
-                .orElseThrow(() -> new RuntimeException("Erreur : Votre profil de guide n'est pas encore créé ou activé."));
+                .orElseThrow(() -> new BusinessRuleException("Erreur : Votre profil de guide n'est pas encore créé ou activé."));
         activity.setGuide(guide);
         activity.setStatus(Status.PENDING);
     } 
@@ -75,18 +105,35 @@ public Activity createActivity(Activity activity, User currentUser) {
     // 3. Récupération propre du lieu
     if (activity.getPlace() != null && activity.getPlace().getId() != null) {
         Place place = placeRepository.findById(activity.getPlace().getId())
-                .orElseThrow(() -> new RuntimeException("Lieu introuvable."));
+                .orElseThrow(() -> new BusinessRuleException("Lieu introuvable."));
         activity.setPlace(place);
     }
 
-    return activityRepository.save(activity);
+    Activity saved = activityRepository.save(activity);
+    catalogVersions.changed(CatalogCollection.ACTIVITIES, saved.getId());
+    return saved;
 }
 
-    public List<Activity> getAllActiveActivities() {
-    return activityRepository.findByStatus(Status.ACTIVE);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Window<ActivitySummary> getAllActiveActivities(PageQuery page) {
+    return readModel.getActiveActivities(page).orElseGet(() ->
+            page.window(activityRepository.findSummariesByStatus(Status.ACTIVE, page.afterId(), page.probe()),
+                    ActivitySummary::id));
+    }
+
+    // Filtres combinés (lieu, guide, ville, prix, durée, note) : index à facettes en mémoire
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public FacetedPage<ActivitySummary> filterActivities(FacetFilter filter, PageQuery page) {
+        return facets.filterActivities(filter, page);
+    }
+
+    // Tag de l'index à facettes pour l'ETag des filtres, null s'il ne répond pas encore
+    public String getFilterTag() {
+        return facets.tag();
     }
-    public List<Activity> getAllPendingActivities() {
-    return activityRepository.findByStatus(Status.PENDING);
+
+    public Window<Activity> getAllPendingActivities(PageQuery page) {
+    return activityRepository.findByStatusOrderByIdAsc(Status.PENDING, page.position(), page.limit());
     }
 
     @Transactional
@@ -101,6 +148,7 @@ public Activity createActivity(Activity activity, User currentUser) {
         activity.setPlace(activityDetails.getPlace());
         activity.setGuide(activityDetails.getGuide());
 
+        catalogVersions.changed(CatalogCollection.ACTIVITIES, id);
         return activityRepository.save(activity);
     }
 
@@ -108,12 +156,14 @@ public Activity createActivity(Activity activity, User currentUser) {
     public void deleteActivity(Long id) {
         Activity activity = getActivityById(id);
         activityRepository.delete(activity);
+        catalogVersions.changed(CatalogCollection.ACTIVITIES, id);
     }
 
     @Transactional
 public Activity validateActivity(Long id) {
     Activity activity = getActivityById(id);
     activity.setStatus(Status.ACTIVE);
+    catalogVersions.changed(CatalogCollection.ACTIVITIES, id);
     return activityRepository.save(activity);
 }
 }
\ No newline at end of file
@@ -4,9 +4,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import backend.exception.BusinessRuleException;
+import backend.exception.ResourceNotFoundException;
 import backend.entities.Role;
 import backend.entities.Status;
 import backend.entities.User;
@@ -16,38 +19,52 @@ import backend.repositories.UserRepository;
 public class AdminService {
     
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersions;
+    private final CatalogVersions catalogVersions;
 
-    public AdminService(UserRepository userRepository) {
+    public AdminService(UserRepository userRepository, PrincipalCache principalCache,
+                        TokenVersionRegistry tokenVersions, CatalogVersions catalogVersions) {
         this.userRepository = userRepository;
+        this.catalogVersions = catalogVersions;
+        this.principalCache = principalCache;
+        this.tokenVersions = tokenVersions;
     }
 
     // Récupérer tous les guides
     @Transactional(readOnly = true)
-    public List<User> getAllGuides() {
-        return userRepository.findByRole(Role.GUIDE);
+    public Window<User> getAllGuides(PageQuery page) {
+        return userRepository.findByRoleOrderByIdAsc(Role.GUIDE, page.position(), page.limit());
     }
       // Récupérer tous les TOURIST
     @Transactional(readOnly = true)
-    public List<User> getAllTourists() {
-        return userRepository.findByRole(Role.TOURIST);
+    public Window<User> getAllTourists(PageQuery page) {
+        return userRepository.findByRoleOrderByIdAsc(Role.TOURIST, page.position(), page.limit());
     }
     // Récupérer tous les useres
     @Transactional(readOnly = true)
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public Window<User> getAllUsers(PageQuery page) {
+        return userRepository.findAllByOrderByIdAsc(page.position(), page.limit());
     }
 
     // Changer le statut d'un guide (Activer/Suspendre)
     @Transactional
     public User updateGuideStatus(Long id, Status status) {
         User user = userRepository.findById(id).orElseThrow(()
-                -> new RuntimeException("Utilisateur non trouvé avec l'id: " + id));
+                -> new ResourceNotFoundException("Utilisateur non trouvé avec l'id: " + id));
         
         if (user.getRole() != Role.GUIDE) {
-            throw new RuntimeException("L'utilisateur avec l'id: " + id + " n'est pas un guide");
+            throw new BusinessRuleException("L'utilisateur avec l'id: " + id + " n'est pas un guide");
         }
         
         user.setStatus(status);
+        if (status != Status.ACTIVE) {
+            // Un guide suspendu perd immédiatement ses jetons en cours
+            tokenVersions.revoke(user);
+        }
+        principalCache.evict(user.getEmail());
+        // Le guide (et son statut) est recopié dans les réponses du catalogue
+        catalogVersions.sharedChanged();
         return userRepository.save(user);
     }
 
@@ -55,11 +72,14 @@ public class AdminService {
     @Transactional
     public void deleteGuide(Long id) {
         User user = userRepository.findById(id).orElseThrow(()
-                -> new RuntimeException("Utilisateur non trouvé avec l'id: " + id));
+                -> new ResourceNotFoundException("Utilisateur non trouvé avec l'id: " + id));
         
         if (user.getRole() != Role.GUIDE) {
-            throw new RuntimeException("L'utilisateur n'est pas un guide");
+            throw new BusinessRuleException("L'utilisateur n'est pas un guide");
         }
+        tokenVersions.revoke(user);
+        principalCache.evict(user.getEmail());
+        catalogVersions.sharedChanged();
         userRepository.deleteById(id);
     }
 
@@ -67,14 +87,21 @@ public class AdminService {
     @Transactional
     public void deleteUser(Long id) {
         User user = userRepository.findById(id).orElseThrow(()
-                -> new RuntimeException("Utilisateur non trouvé avec l'id: " + id));
+                -> new ResourceNotFoundException("Utilisateur non trouvé avec l'id: " + id));
         
         if (user.getRole() != Role.TOURIST) {
-            throw new RuntimeException("L'utilisateur n'est pas un touriste");
+            throw new BusinessRuleException("L'utilisateur n'est pas un touriste");
         }
+        tokenVersions.revoke(user);
+        principalCache.evict(user.getEmail());
         userRepository.deleteById(id);
     }
 
+    // Statistiques du cache des utilisateurs authentifiés (dimensionnement)
+    public Map<String, Long> getPrincipalCacheStatistics() {
+        return principalCache.getStatistics();
+    }
+
     // Statistiques globales pour l'Admin
     @Transactional(readOnly = true)
     public Map<String, Long> getUserStatistics() {
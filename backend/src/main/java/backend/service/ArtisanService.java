@@ -1,32 +1,53 @@
 package backend.service;
 
+import backend.dto.ArtisanSummary;
+import backend.exception.OperationNotAllowedException;
+import backend.exception.ResourceNotFoundException;
 import backend.entities.Artisan;
 import backend.entities.Role;
 import backend.entities.Status;
 import backend.entities.User;
 import backend.repositories.ArtisanRepository;
+import backend.service.readmodel.CatalogReadModel;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 
 @Service
 public class ArtisanService {
 
     private final ArtisanRepository artisanRepository;
+    private final OwnershipService ownershipService;
+    private final CatalogVersions catalogVersions;
+    private final CatalogReadModel readModel;
 
-    public ArtisanService(ArtisanRepository artisanRepository) {
+    public ArtisanService(ArtisanRepository artisanRepository, OwnershipService ownershipService,
+                          CatalogVersions catalogVersions, CatalogReadModel readModel) {
         this.artisanRepository = artisanRepository;
+        this.readModel = readModel;
+        this.catalogVersions = catalogVersions;
+        this.ownershipService = ownershipService;
     }
 
-    public List<Artisan> getAllArtisans() {
-    return artisanRepository.findAll();
+    public Window<Artisan> getAllArtisans(PageQuery page) {
+    return artisanRepository.findAllByOrderByIdAsc(page.position(), page.limit());
 }
-    public List<Artisan> getAllActiveArtisans() {
-        return artisanRepository.findByStatus(Status.ACTIVE);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Window<ArtisanSummary> getAllActiveArtisans(PageQuery page) {
+        return readModel.getActiveArtisans(page).orElseGet(() ->
+                page.window(artisanRepository.findSummariesByStatus(Status.ACTIVE, page.afterId(), page.probe()),
+                        ArtisanSummary::id));
     }
 
-    public List<Artisan> getPendingArtisans() {
-        return artisanRepository.findByStatus(Status.PENDING);
+    public Window<Artisan> getPendingArtisans(PageQuery page) {
+        return artisanRepository.findByStatusOrderByIdAsc(Status.PENDING, page.position(), page.limit());
+    }
+
+    public List<ArtisanSummary> getArtisansByIds(Collection<Long> ids) {
+        return artisanRepository.findSummariesByIdIn(ids);
     }
     public List<Artisan> getArtisansForDashboard(User currentUser) {
     if (currentUser.getRole() == Role.ADMIN) {
@@ -48,46 +69,45 @@ public Artisan createArtisan(Artisan artisan, User currentUser) {
     // AJOUT : Lier l'utilisateur connecté à l'artisan
     artisan.setProposedBy(currentUser); 
     
-    return artisanRepository.save(artisan);
+    Artisan saved = artisanRepository.save(artisan);
+    catalogVersions.changed(CatalogCollection.ARTISANS, saved.getId());
+    return saved;
 }
   // backend/service/ArtisanService.java
 @Transactional
 public Artisan updateArtisan(Long id, Artisan details, User currentUser) {
-    Artisan artisan = artisanRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Artisan non trouvé"));
-
     boolean isAdmin = currentUser.getRole() == Role.ADMIN;
-    // On ajoute une sécurité pour éviter le NullPointerException et autoriser l'admin
-    boolean isOwner = artisan.getProposedBy() != null && 
-                      artisan.getProposedBy().getId().equals(currentUser.getId());
-
-    if (!isAdmin && !isOwner) {
-        throw new RuntimeException("Non autorisé à modifier cet artisan");
+    // Un artisan sans proposant ne peut être modifié que par l'admin
+    if (!isAdmin && !ownershipService.ownsArtisan(id, currentUser.getId())) {
+        throw new OperationNotAllowedException("Non autorisé à modifier cet artisan");
     }
 
-    artisan.setName(details.getName());
-    artisan.setSpeciality(details.getSpeciality());
-    artisan.setPhone(details.getPhone());
-    artisan.setCity(details.getCity());
-
-    if (!isAdmin) {
-        artisan.setStatus(Status.PENDING);
+    // L'admin conserve le statut actuel, un guide repasse en validation
+    int updated = artisanRepository.updateDetails(id, details.getName(), details.getSpeciality(),
+            details.getPhone(), details.getCity(), isAdmin ? null : Status.PENDING);
+    if (updated == 0) {
+        throw new ResourceNotFoundException("Artisan non trouvé");
     }
+    catalogVersions.changed(CatalogCollection.ARTISANS, id);
 
-    return artisanRepository.save(artisan);
+    return artisanRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Artisan non trouvé"));
 }
 
     @Transactional
     public Artisan validateArtisan(Long id) {
         Artisan artisan = artisanRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Artisan non trouvé"));
+                .orElseThrow(() -> new ResourceNotFoundException("Artisan non trouvé"));
         artisan.setStatus(Status.ACTIVE);
+        catalogVersions.changed(CatalogCollection.ARTISANS, id);
         return artisanRepository.save(artisan);
     }
 
     @Transactional
     public void deleteArtisan(Long id) {
         artisanRepository.deleteById(id);
+        ownershipService.evictArtisan(id);
+        catalogVersions.changed(CatalogCollection.ARTISANS, id);
     }
     
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package backend.service;
 
 import static java.lang.Math.log;
 
+import backend.exception.InvalidCredentialsException;
+import backend.exception.ResourceNotFoundException;
 import backend.dto.AuthResponse;
 import backend.dto.LoginRequest;
 import backend.dto.RegisterRequest;
@@ -17,7 +19,9 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import backend.repositories.GuideRepository;
 
 import backend.exception.EmailAlreadyExistsException;
@@ -31,26 +35,40 @@ public class AuthService {
     private final JwtService jwtService;
     private final GuideRepository guideRepository;
     private final AuthenticationManager authenticationManager;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersions;
+    private final PasswordHashingService passwordHashing;
+    private final CatalogVersions catalogVersions;
+    private final TransactionTemplate transaction;
 
     public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, 
-                       JwtService jwtService, AuthenticationManager authenticationManager, GuideRepository guideRepository) {
+                       JwtService jwtService, AuthenticationManager authenticationManager, GuideRepository guideRepository,
+                       PrincipalCache principalCache, TokenVersionRegistry tokenVersions,
+                       PasswordHashingService passwordHashing, CatalogVersions catalogVersions,
+                       PlatformTransactionManager transactionManager) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.passwordHashing = passwordHashing;
+        this.catalogVersions = catalogVersions;
         this.guideRepository = guideRepository;
+        this.principalCache = principalCache;
+        this.tokenVersions = tokenVersions;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
     }
- @Transactional
+    // Comme login : hachage BCrypt hors transaction, la connexion n'est prise que pour les insertions
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
             throw new EmailAlreadyExistsException("Cet email est déjà utilisé");
         }
+        String encodedPassword = passwordHashing.encode(request.getPassword());
 
         // 1. D'ABORD : Créer et initialiser l'objet User
         User user = new User();
         user.setFullName(request.getFullName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(encodedPassword);
         user.setPhone(request.getPhone());
 
         Role role = Role.TOURIST;
@@ -69,20 +87,20 @@ public class AuthService {
             user.setStatus(Status.ACTIVE);
         }
 
-        // 2. ENSUITE : Sauvegarder l'utilisateur (maintenant 'user' existe)
-        User savedUser = userRepository.save(user);
-        
-        Guide savedGuide = null; 
-
-        if (savedUser.getRole() == Role.GUIDE) {
-            Guide guideProfile = new Guide();
-            guideProfile.setUser(savedUser);
-            // On utilise les valeurs du request si elles existent, sinon valeurs par défaut
-            guideProfile.setBio(request.getBio() != null ? request.getBio() : "Nouveau guide à Taroudant");
-            guideProfile.setLanguages(request.getLanguages() != null ? request.getLanguages() : "À préciser");
-            
-            savedGuide = guideRepository.save(guideProfile);
-        }
+        // 2. ENSUITE : Sauvegarder l'utilisateur (et son profil guide) dans une même transaction
+        User savedUser = transaction.execute(status -> {
+            User saved = userRepository.save(user);
+            if (saved.getRole() == Role.GUIDE) {
+                Guide guideProfile = new Guide();
+                guideProfile.setUser(saved);
+                // On utilise les valeurs du request si elles existent, sinon valeurs par défaut
+                guideProfile.setBio(request.getBio() != null ? request.getBio() : "Nouveau guide à Taroudant");
+                guideProfile.setLanguages(request.getLanguages() != null ? request.getLanguages() : "À préciser");
+                saved.setGuide(guideRepository.save(guideProfile));
+            }
+            return saved;
+        });
+        Guide savedGuide = savedUser.getGuide();
 
         String jwtToken = (savedUser.getStatus() == Status.ACTIVE) ? jwtService.generateToken(savedUser) : null;
 
@@ -106,12 +124,21 @@ public class AuthService {
             );
         }
     }
-@Transactional(readOnly = true)
+    // Pas de transaction englobante : aucune connexion n'est retenue pendant le hachage BCrypt
     public AuthResponse login(LoginRequest request) {
-        // ... (authentification inchangée) ...
-        
         User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Email ou mot de passe incorrect"));
+                .orElseThrow(() -> new InvalidCredentialsException("Email ou mot de passe incorrect"));
+
+        if (!passwordHashing.matches(request.getPassword(), user.getPassword())) {
+            throw new InvalidCredentialsException("Email ou mot de passe incorrect");
+        }
+
+        // Migration du facteur de coût : on re-hache avec le paramétrage courant
+        if (passwordHashing.needsRehash(user.getPassword())) {
+            String upgraded = passwordHashing.encode(request.getPassword());
+            userRepository.updatePassword(user.getId(), upgraded);
+            user.setPassword(upgraded);
+        }
 
         // ... (vérification status inchangée) ...
 
@@ -143,13 +170,13 @@ public class AuthService {
     @Transactional(readOnly = true)
     public User getCurrentUser(Long userId) {
         return userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
     }
 
     @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
     }
 
   // Dans backend/service/AuthService.java
@@ -157,6 +184,9 @@ public class AuthService {
   @Transactional
     public User updateProfile(Long userId, RegisterRequest request) {
         User user = getCurrentUser(userId);
+        principalCache.evict(user.getEmail());
+        // Nom, email et profil guide sont recopiés dans les réponses du catalogue (proposant, guide)
+        catalogVersions.sharedChanged();
 
         // 1. Mise à jour des infos communes (User)
         user.setFullName(request.getFullName());
@@ -165,13 +195,22 @@ public class AuthService {
         // Vérification email
         if (!user.getEmail().equals(request.getEmail()) &&
                 userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new RuntimeException("Cet email est déjà utilisé");
+            throw new EmailAlreadyExistsException("Cet email est déjà utilisé");
         }
+        // Le sujet des jetons en cours devient invalide
+        boolean credentialsChanged = !user.getEmail().equals(request.getEmail());
         user.setEmail(request.getEmail());
+        principalCache.evict(request.getEmail());
+
+        // Mot de passe (le formulaire renvoie toujours le mot de passe : on ne révoque que s'il change)
+        if (request.getPassword() != null && !request.getPassword().isEmpty()
+                && !passwordHashing.matches(request.getPassword(), user.getPassword())) {
+            user.setPassword(passwordHashing.encode(request.getPassword()));
+            credentialsChanged = true;
+        }
 
-        // Mot de passe
-        if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(request.getPassword()));
+        if (credentialsChanged) {
+            tokenVersions.revoke(user);
         }
 
         // 2. LOGIQUE GUIDE
@@ -0,0 +1,12 @@
+package backend.service;
+
+/**
+ * Publié par {@link CatalogVersions} une fois la mutation commitée. {@code id} désigne l'entité
+ * concernée quand il y en a une, null sinon (note moyenne, utilisateur recopié...).
+ */
+public record CatalogChangedEvent(CatalogCollection collection, Long id) {
+
+    public CatalogChangedEvent(CatalogCollection collection) {
+        this(collection, null);
+    }
+}
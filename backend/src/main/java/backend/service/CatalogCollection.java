@@ -0,0 +1,38 @@
+package backend.service;
+
+import java.util.List;
+
+/**
+ * Collections du catalogue public versionnées par {@link CatalogVersions}.
+ * Une collection dépend de celles dont elle recopie des champs dans ses réponses
+ * (les listes d'activités affichent le nom et la ville du lieu). Les listes « datées »
+ * sont filtrées sur la date du jour : leur contenu change à minuit sans mutation.
+ */
+public enum CatalogCollection {
+    PLACES(false),
+    ACTIVITIES(false, PLACES),
+    CIRCUITS(false),
+    EVENTS(true),
+    ARTISANS(false);
+
+    private final boolean dated;
+    private final List<CatalogCollection> dependencies;
+
+    CatalogCollection(boolean dated, CatalogCollection... dependencies) {
+        this.dated = dated;
+        this.dependencies = List.of(dependencies);
+    }
+
+    public boolean isDated() {
+        return dated;
+    }
+
+    public List<CatalogCollection> getDependencies() {
+        return dependencies;
+    }
+
+    /** Vrai si un changement de {@code changed} modifie les réponses de cette collection. */
+    public boolean isAffectedBy(CatalogCollection changed) {
+        return this == changed || dependencies.contains(changed);
+    }
+}
@@ -0,0 +1,162 @@
+package backend.service;
+
+import backend.dto.RatingCounts;
+import backend.dto.RatingStats;
+import backend.dto.graph.ActivityNode;
+import backend.dto.graph.CircuitNode;
+import backend.dto.graph.EventNode;
+import backend.dto.graph.GuideNode;
+import backend.dto.graph.PlaceNode;
+import backend.dto.graph.ReservationNode;
+import backend.dto.graph.ReviewNode;
+import backend.entities.Status;
+import backend.repositories.ActivityRepository;
+import backend.repositories.CircuitRepository;
+import backend.repositories.EventRepository;
+import backend.repositories.GuideRepository;
+import backend.repositories.PlaceRepository;
+import backend.repositories.ReservationRepository;
+import backend.repositories.ReviewRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Lectures de l'API GraphQL. Les listes de premier niveau sont paginées par id ; les champs
+ * associés sont chargés par lots : une requête IN (...) par type pour toutes les clés
+ * demandées au même niveau de la requête GraphQL.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CatalogGraphService {
+
+    private final PlaceRepository placeRepository;
+    private final ActivityRepository activityRepository;
+    private final CircuitRepository circuitRepository;
+    private final EventRepository eventRepository;
+    private final GuideRepository guideRepository;
+    private final ReviewRepository reviewRepository;
+    private final ReservationRepository reservationRepository;
+    private final int maxSize;
+    private final int reviewsPerPlace;
+
+    public CatalogGraphService(PlaceRepository placeRepository, ActivityRepository activityRepository,
+                               CircuitRepository circuitRepository, EventRepository eventRepository,
+                               GuideRepository guideRepository, ReviewRepository reviewRepository,
+                               ReservationRepository reservationRepository,
+                               @Value("${application.pagination.max-size:200}") int maxSize,
+                               @Value("${application.graphql.reviews-per-place:20}") int reviewsPerPlace) {
+        this.placeRepository = placeRepository;
+        this.activityRepository = activityRepository;
+        this.circuitRepository = circuitRepository;
+        this.eventRepository = eventRepository;
+        this.guideRepository = guideRepository;
+        this.reviewRepository = reviewRepository;
+        this.reservationRepository = reservationRepository;
+        this.maxSize = maxSize;
+        this.reviewsPerPlace = reviewsPerPlace;
+    }
+
+    // ==================== Listes (pagination par id) ====================
+
+    public List<PlaceNode> getPlaces(int first, Long after) {
+        return placeRepository.findNodesByStatus(Status.ACTIVE, afterId(after), limit(first));
+    }
+
+    public List<ActivityNode> getActivities(int first, Long after) {
+        return activityRepository.findNodesByStatus(Status.ACTIVE, afterId(after), limit(first));
+    }
+
+    public List<CircuitNode> getCircuits(int first, Long after) {
+        return circuitRepository.findNodesByStatus(Status.ACTIVE, afterId(after), limit(first));
+    }
+
+    public List<EventNode> getUpcomingEvents(int first, Long after) {
+        return eventRepository.findUpcomingNodes(Status.ACTIVE, LocalDate.now(), afterId(after), limit(first));
+    }
+
+    public List<ReservationNode> getReservationsOf(Long userId, int first) {
+        return reservationRepository.findNodesByUserId(userId, limit(first));
+    }
+
+    // ==================== Lots par clé ====================
+
+    public Map<Long, PlaceNode> getPlacesById(Collection<Long> ids) {
+        return byId(placeRepository.findNodesByIdIn(ids), PlaceNode::id);
+    }
+
+    public Map<Long, ActivityNode> getActivitiesById(Collection<Long> ids) {
+        return byId(activityRepository.findNodesByIdIn(ids), ActivityNode::id);
+    }
+
+    public Map<Long, CircuitNode> getCircuitsById(Collection<Long> ids) {
+        return byId(circuitRepository.findNodesByIdIn(ids), CircuitNode::id);
+    }
+
+    public Map<Long, EventNode> getEventsById(Collection<Long> ids) {
+        return byId(eventRepository.findNodesByIdIn(ids), EventNode::id);
+    }
+
+    public Map<Long, GuideNode> getGuidesById(Collection<Long> ids) {
+        return byId(guideRepository.findNodesByIdIn(ids), GuideNode::id);
+    }
+
+    // ==================== Lots un-à-plusieurs ====================
+
+    public Map<Long, List<ActivityNode>> getActivitiesByPlace(Set<Long> placeIds) {
+        return groupBy(placeIds, activityRepository.findNodesByPlaceIdIn(placeIds, Status.ACTIVE), ActivityNode::placeId);
+    }
+
+    public Map<Long, List<ActivityNode>> getActivitiesByGuide(Set<Long> guideIds) {
+        return groupBy(guideIds, activityRepository.findNodesByGuideIdIn(guideIds, Status.ACTIVE), ActivityNode::guideId);
+    }
+
+    public Map<Long, List<CircuitNode>> getCircuitsByGuide(Set<Long> guideIds) {
+        return groupBy(guideIds, circuitRepository.findNodesByGuideIdIn(guideIds, Status.ACTIVE), CircuitNode::guideId);
+    }
+
+    // Les plus récents d'abord, bornés par lieu dans la requête (un lot ne peut pas porter d'argument "first")
+    public Map<Long, List<ReviewNode>> getReviewsByPlace(Set<Long> placeIds) {
+        return groupBy(placeIds, reviewRepository.findLatestNodesByPlaceIdIn(placeIds, reviewsPerPlace), ReviewNode::placeId);
+    }
+
+    // Lieu sans avis : statistiques à zéro
+    public Map<Long, RatingStats> getRatingStatsByPlace(Set<Long> placeIds) {
+        Map<Long, RatingStats> stats = new HashMap<>();
+        placeIds.forEach(placeId -> stats.put(placeId, RatingStats.of(RatingCounts.none(placeId))));
+        reviewRepository.findRatingCountsByPlaceIdIn(placeIds)
+                .forEach(counts -> stats.put(counts.placeId(), RatingStats.of(counts)));
+        return stats;
+    }
+
+    private Limit limit(int first) {
+        return Limit.of(Math.max(1, Math.min(first, maxSize)));
+    }
+
+    private static long afterId(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    private static <T> Map<Long, T> byId(List<T> rows, Function<T, Long> idOf) {
+        return rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    // Chaque clé demandée reçoit une liste, vide si aucune ligne ne lui correspond
+    private static <T> Map<Long, List<T>> groupBy(Set<Long> keys, List<T> rows, Function<T, Long> keyOf) {
+        Map<Long, List<T>> grouped = new HashMap<>();
+        keys.forEach(key -> grouped.put(key, new ArrayList<>()));
+        rows.forEach(row -> grouped.get(keyOf.apply(row)).add(row));
+        return grouped;
+    }
+}
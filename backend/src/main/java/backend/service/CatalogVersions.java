@@ -0,0 +1,159 @@
+package backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compteurs de version du catalogue public, par collection et par entité, incrémentés par les
+ * méthodes de mutation des services. Les contrôleurs en dérivent des ETag : une lecture
+ * conditionnelle dont la version n'a pas bougé est servie en 304 sans requête SQL.
+ * <p>
+ * Les compteurs vivent en mémoire : l'époque de démarrage fait partie du tag, un redémarrage
+ * invalide donc tous les ETag distribués. L'incrément a lieu après le commit, jamais avant :
+ * un lecteur ne peut pas associer la nouvelle version à l'ancien état de la base. Chaque
+ * incrément est suivi d'un {@link CatalogChangedEvent}.
+ * <p>
+ * Les versions d'entité sont réparties sur un nombre fixe de compteurs par collection (id
+ * haché) : la mémoire ne grandit pas avec le nombre d'entités modifiées depuis le démarrage.
+ * Deux entités qui partagent un compteur gardent des tags distincts (l'id en fait partie) ;
+ * la modification de l'une change aussi le tag de l'autre, qui est alors relue une fois de trop,
+ * jamais servie périmée.
+ * <p>
+ * Entre l'incrément et la fin de la publication de l'événement, un index en mémoire peut avoir
+ * retenu le nouveau tag sans avoir encore vu l'id : {@link #stableMark()} permet de reconnaître
+ * une lecture qui a chevauché une publication.
+ */
+@Component
+public class CatalogVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    // Données recopiées dans toutes les collections (profils des contributeurs, guides)
+    private final AtomicLong shared = new AtomicLong();
+    private final Map<CatalogCollection, AtomicLong> collections = new EnumMap<>(CatalogCollection.class);
+    private final Map<CatalogCollection, AtomicLongArray> entities = new EnumMap<>(CatalogCollection.class);
+    private final int stripeMask;
+    // Publications en cours, et nombre de publications terminées
+    private final AtomicInteger publishing = new AtomicInteger();
+    private final AtomicLong published = new AtomicLong();
+
+    private final ApplicationEventPublisher events;
+
+    public CatalogVersions(ApplicationEventPublisher events,
+                           @Value("${application.catalog.entity-version-stripes:4096}") int stripes) {
+        this.events = events;
+        // Puissance de deux : l'indice est un masque du hachage de l'id
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripeMask = size - 1;
+        for (CatalogCollection collection : CatalogCollection.values()) {
+            collections.put(collection, new AtomicLong());
+            entities.put(collection, new AtomicLongArray(size));
+        }
+    }
+
+    /** Une entité a été créée, modifiée, validée ou supprimée. */
+    public void changed(CatalogCollection collection, Long id) {
+        afterCommit(() -> publish(() -> {
+            if (id != null) {
+                entities.get(collection).incrementAndGet(stripe(id));
+            }
+            collections.get(collection).incrementAndGet();
+            events.publishEvent(new CatalogChangedEvent(collection, id));
+        }));
+    }
+
+    /** Le contenu des listes a changé sans qu'une entité précise soit concernée (ex. note moyenne). */
+    public void changed(CatalogCollection collection) {
+        changed(collection, null);
+    }
+
+    /** Un utilisateur recopié dans les réponses du catalogue (proposant, guide) a changé. */
+    public void sharedChanged() {
+        afterCommit(() -> publish(() -> {
+            shared.incrementAndGet();
+            for (CatalogCollection collection : CatalogCollection.values()) {
+                events.publishEvent(new CatalogChangedEvent(collection));
+            }
+        }));
+    }
+
+    /**
+     * Nombre de publications terminées, ou -1 si une version est en train de changer. Une lecture
+     * encadrée par deux appels qui rendent la même valeur positive n'a chevauché aucune publication.
+     */
+    public long stableMark() {
+        long done = published.get();
+        return publishing.get() == 0 ? done : -1L;
+    }
+
+    private void publish(Runnable bump) {
+        publishing.incrementAndGet();
+        try {
+            bump.run();
+        } finally {
+            published.incrementAndGet();
+            publishing.decrementAndGet();
+        }
+    }
+
+    private String collectionTag(CatalogCollection collection) {
+        return tag(collection, collections.get(collection).get());
+    }
+
+    /** Tag d'une liste publique : les listes datées (événements à venir) changent aussi à minuit. */
+    public String listTag(CatalogCollection collection) {
+        String tag = collectionTag(collection);
+        return collection.isDated() ? tag + "-" + LocalDate.now() : tag;
+    }
+
+    public String entityTag(CatalogCollection collection, Long id) {
+        return tag(collection, entities.get(collection).get(stripe(id))) + "-" + id;
+    }
+
+    // Mélange des bits de l'id : des ids consécutifs tombent sur des compteurs différents
+    private int stripe(Long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & stripeMask;
+    }
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("shared", shared.get());
+        collections.forEach((collection, version) -> stats.put(collection.name().toLowerCase(), version.get()));
+        return stats;
+    }
+
+    private String tag(CatalogCollection collection, long version) {
+        StringBuilder tag = new StringBuilder(collection.name().toLowerCase())
+                .append('-').append(epoch)
+                .append('-').append(shared.get())
+                .append('-').append(version);
+        for (CatalogCollection dependency : collection.getDependencies()) {
+            tag.append('.').append(collections.get(dependency).get());
+        }
+        return tag.toString();
+    }
+
+    private static void afterCommit(Runnable bump) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump.run();
+                }
+            });
+        } else {
+            bump.run();
+        }
+    }
+}
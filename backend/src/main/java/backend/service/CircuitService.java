@@ -1,5 +1,9 @@
 package backend.service;
 
+import backend.dto.CircuitSummary;
+import backend.exception.BusinessRuleException;
+import backend.exception.OperationNotAllowedException;
+import backend.exception.ResourceNotFoundException;
 import backend.entities.Circuit;
 import backend.entities.Guide;
 import backend.entities.Role;
@@ -8,10 +12,17 @@ import backend.entities.Status;
 import backend.repositories.CircuitRepository;
 import backend.repositories.GuideRepository;
 import backend.repositories.UserRepository;
+import backend.service.facet.CatalogFacets;
+import backend.service.facet.FacetFilter;
+import backend.service.facet.FacetedPage;
+import backend.service.readmodel.CatalogReadModel;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,9 +32,19 @@ public class CircuitService {
 
     private final CircuitRepository circuitRepository;
     private final GuideRepository guideRepository; // To fetch Guide entity
-    public CircuitService(CircuitRepository circuitRepository, GuideRepository guideRepository) {
+    private final OwnershipService ownershipService;
+    private final CatalogVersions catalogVersions;
+    private final CatalogFacets facets;
+    private final CatalogReadModel readModel;
+    public CircuitService(CircuitRepository circuitRepository, GuideRepository guideRepository,
+                          OwnershipService ownershipService, CatalogVersions catalogVersions,
+                          CatalogFacets facets, CatalogReadModel readModel) {
         this.circuitRepository = circuitRepository;
+        this.facets = facets;
+        this.readModel = readModel;
+        this.catalogVersions = catalogVersions;
         this.guideRepository = guideRepository;
+        this.ownershipService = ownershipService;
     }
     @Transactional
     public Circuit createCircuit(Circuit circuit, User currentUser) {
@@ -31,24 +52,39 @@ public class CircuitService {
             circuit.setStatus(Status.ACTIVE);
         } else {
             Guide guide = guideRepository.findByUser(currentUser)
-                .orElseThrow(() -> new RuntimeException("Profil Guide non trouvé"));
+                .orElseThrow(() -> new BusinessRuleException("Profil Guide non trouvé"));
             circuit.setGuide(guide);
             circuit.setStatus(Status.PENDING);
         }
-        return circuitRepository.save(circuit);
+        Circuit saved = circuitRepository.save(circuit);
+        catalogVersions.changed(CatalogCollection.CIRCUITS, saved.getId());
+        return saved;
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Window<CircuitSummary> getActiveCircuits(PageQuery page) {
+        return readModel.getActiveCircuits(page).orElseGet(() ->
+                page.window(circuitRepository.findSummariesByStatus(Status.ACTIVE, page.afterId(), page.probe()),
+                        CircuitSummary::id));
     }
 
-    public List<Circuit> getActiveCircuits() {
-        return circuitRepository.findByStatus(Status.ACTIVE);
+    // Filtres combinés (guide, prix, durée) : index à facettes en mémoire
+    public FacetedPage<CircuitSummary> filterCircuits(FacetFilter filter, PageQuery page) {
+        return facets.filterCircuits(filter, page);
     }
 
-    public List<Circuit> getPendingCircuits() {
-        return circuitRepository.findByStatus(Status.PENDING);
+    // Tag de l'index à facettes pour l'ETag des filtres, null s'il ne répond pas encore
+    public String getFilterTag() {
+        return facets.tag();
+    }
+
+    public Window<Circuit> getPendingCircuits(PageQuery page) {
+        return circuitRepository.findByStatusOrderByIdAsc(Status.PENDING, page.position(), page.limit());
     }
 
     @Transactional(readOnly = true)
-    public List<Circuit> getAllCircuits() {
-        return circuitRepository.findAll();
+    public Window<Circuit> getAllCircuits(PageQuery page) {
+        return circuitRepository.findAllByOrderByIdAsc(page.position(), page.limit());
     }
 
     @Transactional(readOnly = true)
@@ -56,60 +92,57 @@ public class CircuitService {
         return circuitRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public List<CircuitSummary> getCircuitsByIds(Collection<Long> ids) {
+        return circuitRepository.findSummariesByIdIn(ids);
+    }
+
     @Transactional
     public Circuit validateCircuit(Long id) {
         Circuit circuit = circuitRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Circuit non trouvé"));
+                .orElseThrow(() -> new ResourceNotFoundException("Circuit non trouvé"));
         circuit.setStatus(Status.ACTIVE);
+        catalogVersions.changed(CatalogCollection.CIRCUITS, id);
         return circuitRepository.save(circuit);
     }
 
-   public List<Circuit> getCircuitsByGuide(User currentUser) {
+   public Window<Circuit> getCircuitsByGuide(User currentUser, PageQuery page) {
         Guide guide = guideRepository.findByUser(currentUser)
-                .orElseThrow(() -> new RuntimeException("Profil Guide non trouvé"));
-        return circuitRepository.findByGuide(guide);
+                .orElseThrow(() -> new BusinessRuleException("Profil Guide non trouvé"));
+        return circuitRepository.findByGuideOrderByIdAsc(guide, page.position(), page.limit());
     }
 
    @Transactional
     public Circuit updateCircuit(Long id, Circuit updatedCircuit, User currentUser) {
-        Circuit existingCircuit = circuitRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Circuit non trouvé"));
-
         boolean isAdmin = currentUser.getRole() == Role.ADMIN;
-        boolean isOwner = existingCircuit.getGuide() != null && 
-                          existingCircuit.getGuide().getUser().getId().equals(currentUser.getId());
-
-        if (!isAdmin && !isOwner) {
-            throw new RuntimeException("Vous n'êtes pas autorisé à modifier ce circuit");
+        // Contrôle de propriété sur (id, propriétaire) seulement, sans charger Circuit -> Guide -> User
+        if (!isAdmin && !ownershipService.ownsCircuit(id, currentUser.getId())) {
+            throw new OperationNotAllowedException("Vous n'êtes pas autorisé à modifier ce circuit");
         }
 
-        existingCircuit.setTitle(updatedCircuit.getTitle());
-        existingCircuit.setDescription(updatedCircuit.getDescription());
-        existingCircuit.setDuration(updatedCircuit.getDuration());
-        existingCircuit.setPrice(updatedCircuit.getPrice());
-        
-        if (!isAdmin) {
-            existingCircuit.setStatus(Status.PENDING);
-        }else{
-            existingCircuit.setStatus(Status.ACTIVE);
+        Status status = isAdmin ? Status.ACTIVE : Status.PENDING;
+        int updated = circuitRepository.updateDetails(id, updatedCircuit.getTitle(), updatedCircuit.getDescription(),
+                updatedCircuit.getDuration(), updatedCircuit.getPrice(), status);
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Circuit non trouvé");
         }
+        catalogVersions.changed(CatalogCollection.CIRCUITS, id);
 
-        return circuitRepository.save(existingCircuit);
+        return circuitRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Circuit non trouvé"));
     }
 
     @Transactional
     public void deleteCircuit(Long id, User currentUser) {
-        Circuit existingCircuit = circuitRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Circuit non trouvé"));
-
         boolean isAdmin = currentUser.getRole() == Role.ADMIN;
-        boolean isOwner = existingCircuit.getGuide() != null && 
-                          existingCircuit.getGuide().getUser().getId().equals(currentUser.getId());
-
-        if (!isAdmin && !isOwner) {
-            throw new RuntimeException("Vous n'êtes pas autorisé à supprimer ce circuit");
+        if (!isAdmin && !ownershipService.ownsCircuit(id, currentUser.getId())) {
+            throw new OperationNotAllowedException("Vous n'êtes pas autorisé à supprimer ce circuit");
         }
 
-        circuitRepository.deleteById(id);
+        if (circuitRepository.deleteDirectlyById(id) == 0) {
+            throw new ResourceNotFoundException("Circuit non trouvé");
+        }
+        ownershipService.evictCircuit(id);
+        catalogVersions.changed(CatalogCollection.CIRCUITS, id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package backend.service;
+
+import backend.exception.InvalidRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Curseur opaque : les valeurs de (clé de tri, id) du dernier élément d'une page, typées et
+ * encodées en Base64 URL. Le client ne fait que renvoyer la chaîne reçue.
+ * Le curseur est lié à la liste qui l'a produit (scope) : rejoué sur une autre liste, il est refusé.
+ */
+public final class CursorCodec {
+
+    private static final int VERSION = 1;
+    private static final int MAX_KEYS = 8;
+
+    private static final byte NULL = 'N';
+    private static final byte LONG = 'L';
+    private static final byte INTEGER = 'I';
+    private static final byte DOUBLE = 'F';
+    private static final byte STRING = 'S';
+    private static final byte DATE = 'D';
+    private static final byte DATE_TIME = 'T';
+
+    private CursorCodec() {
+    }
+
+    /** Portée d'une liste : son chemin, variables comprises (/reviews/place/1 != /reviews/place/2). */
+    public static int scopeOf(String path) {
+        return path.hashCode();
+    }
+
+    public static String encode(KeysetScrollPosition position, int scope) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(scope);
+            Map<String, ?> keys = position.getKeys();
+            out.writeByte(keys.size());
+            for (Map.Entry<String, ?> entry : keys.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /** Curseur absent = première page ; curseur illisible = 400. */
+    public static ScrollPosition decode(String cursor, int scope) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readUnsignedByte() != VERSION || in.readInt() != scope) {
+                throw invalid();
+            }
+            int count = in.readUnsignedByte();
+            if (count == 0 || count > MAX_KEYS) {
+                throw invalid();
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                keys.put(in.readUTF(), readValue(in));
+            }
+            if (in.available() > 0) {
+                throw invalid();
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IOException | IllegalArgumentException | java.time.DateTimeException e) {
+            throw invalid();
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeLong(l);
+        } else if (value instanceof Integer i) {
+            out.writeByte(INTEGER);
+            out.writeInt(i);
+        } else if (value instanceof Double d) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(d);
+        } else if (value instanceof String s) {
+            out.writeByte(STRING);
+            out.writeUTF(s);
+        } else if (value instanceof LocalDate date) {
+            out.writeByte(DATE);
+            out.writeLong(date.toEpochDay());
+        } else if (value instanceof LocalDateTime dateTime) {
+            out.writeByte(DATE_TIME);
+            out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(dateTime.getNano());
+        } else {
+            throw new IllegalArgumentException("Type de clé non supporté dans un curseur : " + value.getClass());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case NULL -> null;
+            case LONG -> in.readLong();
+            case INTEGER -> in.readInt();
+            case DOUBLE -> in.readDouble();
+            case STRING -> in.readUTF();
+            case DATE -> LocalDate.ofEpochDay(in.readLong());
+            case DATE_TIME -> LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            default -> throw invalid();
+        };
+    }
+
+    private static InvalidRequestException invalid() {
+        return new InvalidRequestException("Curseur de pagination invalide");
+    }
+}
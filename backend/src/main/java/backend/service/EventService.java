@@ -1,14 +1,20 @@
 package backend.service;
 
+import backend.dto.EventView;
+import backend.exception.ResourceNotFoundException;
 import backend.entities.Event;
 import backend.entities.Status;
 import backend.entities.User;
 import backend.entities.Role;
 import backend.repositories.EventRepository;
+import backend.service.readmodel.CatalogReadModel;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -16,29 +22,55 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class EventService {
 
+    // Clé de tri des listes paginées (avec l'id)
+    private static final String START_DATE = "startDate";
+
     private final EventRepository eventRepository;
-    public EventService(EventRepository eventRepository) {
+    private final CatalogVersions catalogVersions;
+    private final SingleFlight singleFlight;
+    private final CatalogReadModel readModel;
+    public EventService(EventRepository eventRepository, CatalogVersions catalogVersions, SingleFlight singleFlight,
+                        CatalogReadModel readModel) {
         this.eventRepository = eventRepository;
+        this.readModel = readModel;
+        this.catalogVersions = catalogVersions;
+        this.singleFlight = singleFlight;
     }
-    public List<Event> getAllEvents() {
-        return eventRepository.findAllByOrderByStartDateDesc();
+    public Window<Event> getAllEvents(PageQuery page) {
+        return page.window(eventRepository.findPage(page.lastKey(START_DATE, LocalDate.class), page.lastId(),
+                page.probe()), Event::getId, START_DATE, Event::getStartDate);
     }
 
-    public List<Event> getAllActiveEvents() {
-        return eventRepository.findByStatusAndEndDateAfterOrderByStartDateAsc(Status.ACTIVE, LocalDate.now());
+    // Page la plus demandée lors d'une annonce : servie par le modèle de lecture ; sinon les appels identiques
+    // simultanés partagent une seule requête, donc un résultat immuable (vues, pas entités).
+    // Pas de transaction ici : les appels en attente ne doivent pas retenir chacun une connexion.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Window<EventView> getAllActiveEvents(PageQuery page) {
+        LocalDate today = LocalDate.now();
+        return readModel.getUpcomingEvents(today, page).orElseGet(() -> {
+            String key = "events:" + catalogVersions.listTag(CatalogCollection.EVENTS) + ":" + page.key();
+            return singleFlight.execute(key, () -> page.window(eventRepository.findUpcomingViews(Status.ACTIVE,
+                    today, page.lastKey(START_DATE, LocalDate.class), page.lastId(), page.probe()),
+                    EventView::id, START_DATE, EventView::startDate));
+        });
     }
 
-    public List<Event> getPendingEvents() {
-        return eventRepository.findByStatus(Status.PENDING);
+    public Window<Event> getPendingEvents(PageQuery page) {
+        return eventRepository.findByStatusOrderByIdAsc(Status.PENDING, page.position(), page.limit());
     }
 
-    public List<Event> getUpcomingEvents() {
-        return eventRepository.findByEndDateAfterOrderByStartDateAsc(LocalDate.now());
+    public Window<Event> getUpcomingEvents(PageQuery page) {
+        return page.window(eventRepository.findUpcomingPage(LocalDate.now(), page.lastKey(START_DATE, LocalDate.class),
+                page.lastId(), page.probe()), Event::getId, START_DATE, Event::getStartDate);
     }
 
     public Event getEventById(Long id) {
         return eventRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Événement non trouvé avec l'id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Événement non trouvé avec l'id: " + id));
+    }
+
+    public List<EventView> getEventsByIds(Collection<Long> ids) {
+        return eventRepository.findViewsByIdIn(ids);
     }
 
    @Transactional
@@ -49,7 +81,9 @@ public class EventService {
             event.setStatus(Status.PENDING);
         }
         event.setProposedBy(currentUser);
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        catalogVersions.changed(CatalogCollection.EVENTS, saved.getId());
+        return saved;
     }
 
   
@@ -63,23 +97,27 @@ public class EventService {
         event.setEndDate(eventDetails.getEndDate());
         event.setLocation(eventDetails.getLocation());
 
+        catalogVersions.changed(CatalogCollection.EVENTS, id);
         return eventRepository.save(event);
     }
-      public List<Event> getEventsByProposer(User user) {
+      public Window<Event> getEventsByProposer(User user, PageQuery page) {
     // On récupère les événements proposés par cet utilisateur spécifique
-    return eventRepository.findByProposedByOrderByStartDateDesc(user);
+    return page.window(eventRepository.findPageByProposedBy(user, page.lastKey(START_DATE, LocalDate.class),
+            page.lastId(), page.probe()), Event::getId, START_DATE, Event::getStartDate);
 }
     @Transactional
     public void deleteEvent(Long id) {
         Event event = getEventById(id);
         eventRepository.delete(event);
+        catalogVersions.changed(CatalogCollection.EVENTS, id);
     }
 
     @Transactional
     public Event validateEvent(Long id) {
         Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Événement non trouvé"));
+                .orElseThrow(() -> new ResourceNotFoundException("Événement non trouvé"));
         event.setStatus(Status.ACTIVE);
+        catalogVersions.changed(CatalogCollection.EVENTS, id);
         return eventRepository.save(event);
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package backend.service;
 
+import backend.exception.OperationNotAllowedException;
+import backend.exception.ResourceNotFoundException;
 import backend.entities.Guide;
 import backend.entities.Role;
 import backend.entities.User;
@@ -18,17 +20,22 @@ public class GuideService {
     private final UserRepository userRepository;
     private final AuthService authService; // Inject AuthService
     private final GuideRepository guideRepository; // Inject GuideRepository
+    private final PrincipalCache principalCache;
+    private final CatalogVersions catalogVersions;
 
-    public GuideService(UserRepository userRepository, AuthService authService, GuideRepository guideRepository) {
+    public GuideService(UserRepository userRepository, AuthService authService, GuideRepository guideRepository,
+                        PrincipalCache principalCache, CatalogVersions catalogVersions) {
         this.userRepository = userRepository;
+        this.catalogVersions = catalogVersions;
         this.authService = authService;
         this.guideRepository = guideRepository;
+        this.principalCache = principalCache;
     }
  
 
 public User getGuideProfile(String email) {
     User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+            .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
  
     return user;
 }
@@ -42,18 +49,22 @@ public User updateTechnicalInfo(String email, Map<String, String> updates) {
     guide.setLanguages(updates.get("languages"));
     
     guideRepository.save(guide);
+    principalCache.evict(email);
+    catalogVersions.sharedChanged();
     return user;
 }
     @Transactional
     public User updateGuideProfile(String email, User updatedGuide) {
         User existingGuide = authService.getUserByEmail(email);
         if (existingGuide.getRole() != Role.GUIDE) {
-            throw new RuntimeException("User is not a guide");
+            throw new OperationNotAllowedException("User is not a guide");
         }
 
         // Only update allowed fields
         existingGuide.setFullName(updatedGuide.getFullName());
         existingGuide.setPhone(updatedGuide.getPhone());
+        principalCache.evict(email);
+        catalogVersions.sharedChanged();
         // Potentially add logic for updating other guide-specific fields if they exist in User or a separate Guide entity
 
         return userRepository.save(existingGuide);
@@ -0,0 +1,398 @@
+package backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Mécanique commune des index en mémoire du catalogue (modèle de lecture, recherche, filtres,
+ * carte, autocomplétion) : un thread par index, les ids marqués par les
+ * {@link CatalogChangedEvent}, la reconstruction complète, le chargement par lots et les compteurs.
+ * L'index ne fournit que la reconstruction de ses parties et la relecture des éléments marqués.
+ * <p>
+ * Un index est découpé en parties, une par collection maintenue. À chaque passage, une partie est
+ * reconstruite en entier (premier passage, demande explicite, échec précédent) ou relit les ids
+ * marqués depuis le passage précédent, regroupés par collection d'origine de l'événement. Un passage
+ * en échec redemande la reconstruction de la partie et se reprogramme de lui-même.
+ * <p>
+ * Fraîcheur, un seul contrat pour tous les index :
+ * <ul>
+ *     <li>{@link #tag()} identifie l'état publié de l'index et change à chaque passage qui l'a
+ *     modifié. Il sert d'ETag aux réponses tirées de l'index, qui restent servies pendant le
+ *     passage suivant : lu avant les données, il n'est jamais plus récent qu'elles.</li>
+ *     <li>{@link #isCurrent} dit si une partie reflète toutes les mutations couvertes par le tag
+ *     courant de sa collection ({@link CatalogVersions#listTag}) : tag retenu (lu après le retrait
+ *     des ids et avant les lignes) égal au tag courant, aucun id en attente ni en cours de relecture,
+ *     aucune version en cours de publication. Seul un index qui peut repasser par la base s'en sert.</li>
+ * </ul>
+ */
+@Slf4j
+public final class IncrementalIndex {
+
+    // Nouvel essai après un passage en échec (base indisponible...)
+    private static final long RETRY_DELAY_MILLIS = 10_000;
+
+    /** Reconstruction complète des parties données, sur le thread de l'index. */
+    @FunctionalInterface
+    public interface Rebuild {
+        void run(Set<CatalogCollection> parts) throws Exception;
+    }
+
+    /** Relecture des éléments marqués d'une partie, sur le thread de l'index. */
+    @FunctionalInterface
+    public interface Apply {
+        void run(CatalogCollection part, Changes changes) throws Exception;
+    }
+
+    /** Ids marqués, par collection d'origine des événements. */
+    public record Changes(Map<CatalogCollection, Set<Long>> ids) {
+
+        public Set<Long> of(CatalogCollection collection) {
+            return ids.getOrDefault(collection, Set.of());
+        }
+
+        public int size() {
+            return ids.values().stream().mapToInt(Set::size).sum();
+        }
+    }
+
+    /** Chargement complet par lots triés par id, puis des seuls éléments modifiés (absent = retiré). */
+    public record Source<T>(BiFunction<Long, Limit, List<T>> all, Function<Collection<Long>, List<T>> byIds,
+                            Function<T, Long> idOf) {
+    }
+
+    private final String name;
+    private final Set<CatalogCollection> parts;
+    private final Rebuild rebuild;
+    private final Apply apply;
+    private final CatalogVersions versions;
+    private final TransactionTemplate readOnly;
+    private final int batchSize;
+    private final boolean enabled;
+    private final long retryDelayMillis;
+    private final ScheduledExecutorService executor;
+
+    private final Map<CatalogCollection, Map<CatalogCollection, Set<Long>>> dirty = new EnumMap<>(CatalogCollection.class);
+    // Ids retirés de la file mais pas encore relus, ou reconstruction en cours : partie pas à jour
+    private final Map<CatalogCollection, AtomicInteger> busy = new EnumMap<>(CatalogCollection.class);
+    private final Set<CatalogCollection> rebuildRequested = ConcurrentHashMap.newKeySet();
+    // Tag de collection retenu par partie ; absent = jamais construite
+    private final Map<CatalogCollection, String> builtTags = new ConcurrentHashMap<>();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong revision = new AtomicLong();
+    private volatile String tag;
+
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile long lastRebuildMillis;
+
+    public IncrementalIndex(String name, Set<CatalogCollection> parts, Rebuild rebuild, Apply apply,
+                            CatalogVersions versions, PlatformTransactionManager transactionManager,
+                            int batchSize, boolean enabled) {
+        this(name, parts, rebuild, apply, versions, transactionManager, batchSize, enabled, RETRY_DELAY_MILLIS);
+    }
+
+    IncrementalIndex(String name, Set<CatalogCollection> parts, Rebuild rebuild, Apply apply,
+                     CatalogVersions versions, PlatformTransactionManager transactionManager,
+                     int batchSize, boolean enabled, long retryDelayMillis) {
+        this.name = name;
+        this.retryDelayMillis = retryDelayMillis;
+        this.parts = EnumSet.copyOf(parts);
+        this.rebuild = rebuild;
+        this.apply = apply;
+        this.versions = versions;
+        this.batchSize = batchSize;
+        this.enabled = enabled;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        for (CatalogCollection part : this.parts) {
+            dirty.put(part, new ConcurrentHashMap<>());
+            busy.put(part, new AtomicInteger());
+        }
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ==================== Demandes ====================
+
+    /** L'élément {@code id} de {@code source} a changé : la partie le relira au prochain passage. */
+    public void mark(CatalogCollection part, CatalogCollection source, Long id) {
+        dirty.get(part).computeIfAbsent(source, collection -> ConcurrentHashMap.newKeySet()).add(id);
+        schedule();
+    }
+
+    public void requestRebuild(CatalogCollection part) {
+        rebuildRequested.add(part);
+        schedule();
+    }
+
+    public void requestRebuild() {
+        rebuildRequested.addAll(parts);
+        schedule();
+    }
+
+    /** Tâche quelconque sur le thread de l'index (jamais en même temps qu'un passage). */
+    public boolean submit(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /** Partie construite hors d'un passage (relue depuis un instantané) sous le tag courant. */
+    public void restored(CatalogCollection part) {
+        builtTags.put(part, versions.listTag(part));
+        publish();
+    }
+
+    // ==================== Fraîcheur ====================
+
+    /** ETag de l'état publié de l'index, null tant que toutes ses parties n'ont pas été construites. */
+    public String tag() {
+        return enabled ? tag : null;
+    }
+
+    public boolean isBuilt(CatalogCollection part) {
+        return enabled && builtTags.containsKey(part);
+    }
+
+    /** Voir la description de la classe. */
+    public boolean isCurrent(CatalogCollection part) {
+        long mark = versions.stableMark();
+        String built = builtTags.get(part);
+        if (!enabled || mark < 0 || built == null) {
+            return false;
+        }
+        boolean idle = busy.get(part).get() == 0 && !rebuildRequested.contains(part)
+                && dirty.get(part).values().stream().allMatch(Set::isEmpty);
+        if (!built.equals(versions.listTag(part))) {
+            if (idle) {
+                // Version changée sans événement pour cette partie (liste datée après minuit) : tag à rattraper
+                schedule();
+            }
+            return false;
+        }
+        return idle && versions.stableMark() == mark;
+    }
+
+    // ==================== Passages ====================
+
+    private void schedule() {
+        schedule(0L);
+    }
+
+    private void schedule(long delayMillis) {
+        if (!enabled) {
+            return;
+        }
+        // Les demandes arrivées avant le début du passage en attente s'y greffent
+        if (!pending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.schedule(() -> {
+                pending.set(false);
+                refresh();
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            pending.set(false);
+        }
+    }
+
+    private void refresh() {
+        boolean modified = false;
+        boolean failed = false;
+
+        Set<CatalogCollection> full = EnumSet.noneOf(CatalogCollection.class);
+        for (CatalogCollection part : parts) {
+            if (rebuildRequested.remove(part) || !builtTags.containsKey(part)) {
+                full.add(part);
+            }
+        }
+        if (!full.isEmpty()) {
+            Map<CatalogCollection, String> tags = new EnumMap<>(CatalogCollection.class);
+            for (CatalogCollection part : full) {
+                busy.get(part).incrementAndGet();
+                // Ids marqués avant le chargement : mutations déjà commitées, relues par la reconstruction
+                dirty.get(part).values().forEach(Set::clear);
+                tags.put(part, versions.listTag(part));
+            }
+            long started = System.nanoTime();
+            try {
+                rebuild.run(full);
+                builtTags.putAll(tags);
+                rebuilds.add(full.size());
+                lastRebuildMillis = (System.nanoTime() - started) / 1_000_000;
+                modified = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failed = true;
+                failed(full, e);
+            } finally {
+                full.forEach(part -> busy.get(part).decrementAndGet());
+            }
+        }
+
+        for (CatalogCollection part : parts) {
+            if (full.contains(part) || !builtTags.containsKey(part)) {
+                continue;
+            }
+            AtomicInteger inFlight = busy.get(part);
+            Changes changes = drain(part, inFlight);
+            // Tag lu après le retrait des ids : une mutation qu'il couvre et pas encore relue est encore marquée
+            String current = versions.listTag(part);
+            try {
+                if (changes.size() > 0) {
+                    apply.run(part, changes);
+                    updates.add(changes.size());
+                    modified = true;
+                }
+                builtTags.put(part, current);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failed = true;
+                failed(Set.of(part), e);
+            } finally {
+                inFlight.addAndGet(-changes.size());
+            }
+        }
+
+        if (modified) {
+            publish();
+        }
+        if (failed) {
+            schedule(retryDelayMillis);
+        }
+    }
+
+    // Compté comme en cours avant d'être retiré de la file : la partie n'a jamais l'air à jour entre les deux
+    private Changes drain(CatalogCollection part, AtomicInteger inFlight) {
+        Map<CatalogCollection, Set<Long>> drained = new EnumMap<>(CatalogCollection.class);
+        dirty.get(part).forEach((source, marked) -> {
+            if (!marked.isEmpty()) {
+                Set<Long> ids = new HashSet<>(marked);
+                inFlight.addAndGet(ids.size());
+                marked.removeAll(ids);
+                drained.put(source, ids);
+            }
+        });
+        return new Changes(drained);
+    }
+
+    private void failed(Set<CatalogCollection> failedParts, Exception e) {
+        failures.increment();
+        rebuildRequested.addAll(failedParts);
+        log.warn("Mise à jour de l'index {} ({}) impossible, nouvel essai dans {} ms", name, failedParts,
+                retryDelayMillis, e);
+    }
+
+    private void publish() {
+        if (builtTags.keySet().containsAll(parts)) {
+            tag = name + "-" + epoch + "-" + revision.incrementAndGet();
+        }
+    }
+
+    // ==================== Chargement ====================
+
+    /** Travail en lecture seule dans une transaction (celle de l'appelant s'il en a une). */
+    public <T> T readOnly(Supplier<T> work) {
+        return readOnly.execute(status -> work.get());
+    }
+
+    /** Lecture complète par tranches triées par id, dans une seule transaction : vue cohérente. */
+    public <T> void loadAll(Source<T> source, Consumer<T> sink) {
+        readOnly.executeWithoutResult(status -> {
+            long afterId = 0L;
+            List<T> batch;
+            do {
+                batch = source.all().apply(afterId, Limit.of(batchSize));
+                batch.forEach(sink);
+                if (!batch.isEmpty()) {
+                    afterId = source.idOf().apply(batch.get(batch.size() - 1));
+                }
+            } while (batch.size() == batchSize);
+        });
+    }
+
+    /** Relecture des ids donnés par tranches ; un id absent de la réponse est passé à {@code removed}. */
+    public <T> void loadByIds(Source<T> source, Collection<Long> ids, Consumer<T> put, Consumer<Long> removed) {
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += batchSize) {
+            List<Long> chunk = all.subList(from, Math.min(from + batchSize, all.size()));
+            List<T> rows = readOnly.execute(status -> source.byIds().apply(chunk));
+            Set<Long> missing = new HashSet<>(chunk);
+            for (T row : rows) {
+                put.accept(row);
+                missing.remove(source.idOf().apply(row));
+            }
+            missing.forEach(removed);
+        }
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("updates", updates.sum());
+        stats.put("rebuilds", rebuilds.sum());
+        stats.put("failures", failures.sum());
+        stats.put("pending", dirty.values().stream()
+                .flatMap(bySource -> bySource.values().stream())
+                .mapToLong(Set::size)
+                .sum());
+        stats.put("revision", revision.get());
+        stats.put("lastRebuildMillis", lastRebuildMillis);
+        return stats;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Attend la fin du passage en cours après {@link #shutdown()}. */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+}
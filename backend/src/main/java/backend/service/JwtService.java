@@ -1,17 +1,21 @@
 package backend.service;
 
+import backend.entities.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
@@ -19,6 +23,29 @@ public class JwtService {
     
     // TODO: This should be loaded from application.properties or environment variable
     private static final String SECRET_KEY = "413F4428472B4B6250655368566D5970337336763979244226452948404D6351";
+
+    private static final long EXPIRATION_MS = 1000 * 60 * 60 * 24;
+
+    // Construits une seule fois au démarrage : la clé et le parseur sont immuables et thread-safe
+    private final SecretKey signInKey;
+    private final JwtParser jwtParser;
+
+    public JwtService() {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        this.jwtParser = Jwts.parser().verifyWith(signInKey).build();
+    }
+
+    /**
+     * Parse le jeton et vérifie sa signature et son expiration en une seule passe.
+     * Retourne un jeton vide si le JWT est invalide, falsifié ou expiré.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            return Optional.of(VerifiedToken.from(extractAllClaims(token)));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
     
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -30,7 +57,16 @@ public class JwtService {
     }
     
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        // Le jeton est auto-suffisant : le filtre n'a plus besoin de recharger l'utilisateur
+        if (userDetails instanceof User user) {
+            claims.put(VerifiedToken.USER_ID, user.getId());
+            claims.put(VerifiedToken.FULL_NAME, user.getFullName());
+            claims.put(VerifiedToken.ROLE, user.getRole().name());
+            claims.put(VerifiedToken.STATUS, user.getStatus().name());
+            claims.put(VerifiedToken.TOKEN_VERSION, user.getTokenVersion());
+        }
+        return generateToken(claims, userDetails);
     }
     
     public String generateToken(
@@ -42,35 +78,21 @@ public class JwtService {
                 .claims(extraClaims)  
                 .subject(userDetails.getUsername())  
                 .issuedAt(new Date(System.currentTimeMillis()))  
-                .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24))  
-                .signWith(getSignInKey())  
+                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_MS))  
+                .signWith(signInKey)  
                 .compact();
     }
     
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-    
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-    
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token)
+                .filter(verified -> verified.subject().equals(userDetails.getUsername()))
+                .filter(verified -> !verified.isExpired(Instant.now()))
+                .isPresent();
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()  // Changé de parserBuilder() à parser()
-                .verifyWith(getSignInKey())  // Changé de setSigningKey à verifyWith
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)  // Changé de parseClaimsJws à parseSignedClaims
                 .getPayload();  // Changé de getBody à getPayload
     }
-    
-    private SecretKey getSignInKey() {  // Changé de Key à SecretKey
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-}
\ No newline at end of file
+}
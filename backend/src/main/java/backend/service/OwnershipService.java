@@ -0,0 +1,98 @@
+package backend.service;
+
+import backend.exception.ResourceNotFoundException;
+import backend.repositories.ArtisanRepository;
+import backend.repositories.CircuitRepository;
+import backend.repositories.OwnershipView;
+import backend.repositories.ReservationRepository;
+import backend.repositories.ReviewRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Contrôles de propriété des ressources modifiables par leurs auteurs (circuits, artisans, avis,
+ * réservations). Chaque contrôle est une seule lecture indexée de (id, id du propriétaire) au lieu
+ * du chargement complet de l'entité et de ses associations.
+ * <p>
+ * Le propriétaire d'un circuit, d'un artisan ou d'un avis ne change jamais : il peut être mis en cache.
+ */
+@Service
+public class OwnershipService {
+
+    enum Resource { CIRCUIT, ARTISAN, REVIEW }
+
+    private record Key(Resource resource, Long id) {
+    }
+
+    private final CircuitRepository circuitRepository;
+    private final ArtisanRepository artisanRepository;
+    private final ReviewRepository reviewRepository;
+    private final ReservationRepository reservationRepository;
+    private final Cache<Key, Optional<Long>> owners;
+
+    public OwnershipService(CircuitRepository circuitRepository, ArtisanRepository artisanRepository,
+                            ReviewRepository reviewRepository, ReservationRepository reservationRepository,
+                            @Value("${application.security.ownership-cache.enabled:true}") boolean cacheEnabled,
+                            @Value("${application.security.ownership-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${application.security.ownership-cache.ttl:10m}") Duration ttl) {
+        this.circuitRepository = circuitRepository;
+        this.artisanRepository = artisanRepository;
+        this.reviewRepository = reviewRepository;
+        this.reservationRepository = reservationRepository;
+        this.owners = cacheEnabled
+                ? Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build()
+                : null;
+    }
+
+    public boolean ownsCircuit(Long circuitId, Long userId) {
+        return isOwner(Resource.CIRCUIT, circuitId, userId, circuitRepository::findOwnershipById, "Circuit non trouvé");
+    }
+
+    public boolean ownsArtisan(Long artisanId, Long userId) {
+        return isOwner(Resource.ARTISAN, artisanId, userId, artisanRepository::findOwnershipById, "Artisan non trouvé");
+    }
+
+    public boolean ownsReview(Long reviewId, Long userId) {
+        return isOwner(Resource.REVIEW, reviewId, userId, reviewRepository::findOwnershipById, "Avis non trouvé");
+    }
+
+    public ReservationRepository.ReservationOwnershipView getReservationOwnership(Long reservationId) {
+        return reservationRepository.findOwnershipById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Réservation non trouvée"));
+    }
+
+    public void evictCircuit(Long circuitId) {
+        evict(Resource.CIRCUIT, circuitId);
+    }
+
+    public void evictArtisan(Long artisanId) {
+        evict(Resource.ARTISAN, artisanId);
+    }
+
+    public void evictReview(Long reviewId) {
+        evict(Resource.REVIEW, reviewId);
+    }
+
+    private boolean isOwner(Resource resource, Long id, Long userId,
+                            Function<Long, Optional<OwnershipView>> lookup, String notFoundMessage) {
+        Function<Key, Optional<Long>> loader = key -> lookup.apply(key.id())
+                .map(view -> Optional.ofNullable(view.getOwnerId()))
+                .orElseThrow(() -> new ResourceNotFoundException(notFoundMessage));
+
+        Key key = new Key(resource, id);
+        Optional<Long> ownerId = owners != null ? owners.get(key, loader) : loader.apply(key);
+        return ownerId.isPresent() && ownerId.get().equals(userId);
+    }
+
+    private void evict(Resource resource, Long id) {
+        if (owners != null) {
+            owners.invalidate(new Key(resource, id));
+        }
+    }
+}
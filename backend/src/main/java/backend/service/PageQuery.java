@@ -0,0 +1,104 @@
+package backend.service;
+
+import backend.exception.InvalidRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Demande de page en pagination par clé (keyset) : position de départ et taille maximale.
+ * Les requêtes filtrent sur (clé de tri, id) au lieu de sauter N lignes : le coût d'une page
+ * ne dépend pas de sa profondeur.
+ */
+public record PageQuery(ScrollPosition position, Limit limit) {
+
+    private static final String ID = "id";
+
+    public static PageQuery first(int size) {
+        return new PageQuery(ScrollPosition.keyset(), Limit.of(size));
+    }
+
+    /**
+     * Dernier id déjà servi, pour les requêtes @Query triées par id ("where id > :afterId").
+     * Spring Data ne sait pas faire défiler une requête JPQL écrite à la main : on applique
+     * le même curseur que les requêtes dérivées, avec 0 pour la première page.
+     */
+    public long afterId() {
+        if (position instanceof KeysetScrollPosition keyset && keyset.getKeys().get(ID) instanceof Number id) {
+            return id.longValue();
+        }
+        return 0L;
+    }
+
+    /**
+     * Id de la dernière ligne servie, null pour la première page : requêtes @Query triées sur une
+     * clé facultative puis sur l'id (voir {@link #lastKey}).
+     */
+    public Long lastId() {
+        if (position instanceof KeysetScrollPosition keyset && keyset.getKeys().get(ID) instanceof Number id) {
+            return id.longValue();
+        }
+        return null;
+    }
+
+    /**
+     * Clé de tri de la dernière ligne servie, null si cette ligne n'en avait pas. Spring Data ne
+     * sait pas reprendre un défilement après une clé nulle ("date &lt; null" n'est jamais vrai) :
+     * ces listes sont écrites en JPQL avec la clé et l'id comme paramètres.
+     */
+    public <K> K lastKey(String key, Class<K> type) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.getKeys().isEmpty()) {
+            return null;
+        }
+        Object value = keyset.getKeys().get(key);
+        if (value != null && !type.isInstance(value)) {
+            throw new InvalidRequestException("Curseur de pagination invalide");
+        }
+        return type.cast(value);
+    }
+
+    /** Identifie la page demandée (position + taille), pour les clés de regroupement. */
+    public String key() {
+        return position + "/" + limit.max();
+    }
+
+    /** Limite demandée à la base : une ligne de plus pour savoir s'il reste une page. */
+    public Limit probe() {
+        return Limit.of(limit.max() + 1);
+    }
+
+    /** Position de la page suivante, ou null si la fenêtre est la dernière. */
+    public static KeysetScrollPosition nextPosition(Window<?> window) {
+        if (window.hasNext() && !window.isEmpty()
+                && window.positionAt(window.size() - 1) instanceof KeysetScrollPosition last) {
+            return last;
+        }
+        return null;
+    }
+
+    /** Construit la fenêtre à partir des lignes lues avec {@link #probe()}. */
+    public <T> Window<T> window(List<T> rows, Function<T, Long> idOf) {
+        boolean hasNext = rows.size() > limit.max();
+        List<T> content = hasNext ? rows.subList(0, limit.max()) : rows;
+        return Window.from(content, index -> ScrollPosition.forward(Map.of(ID, idOf.apply(content.get(index)))), hasNext);
+    }
+
+    /** Comme {@link #window(List, Function)}, la position portant aussi la clé de tri, éventuellement nulle. */
+    public <T> Window<T> window(List<T> rows, Function<T, Long> idOf, String key, Function<T, ?> keyOf) {
+        boolean hasNext = rows.size() > limit.max();
+        List<T> content = hasNext ? rows.subList(0, limit.max()) : rows;
+        return Window.from(content, index -> {
+            // Map.of refuse les valeurs nulles
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(key, keyOf.apply(content.get(index)));
+            keys.put(ID, idOf.apply(content.get(index)));
+            return ScrollPosition.forward(keys);
+        }, hasNext);
+    }
+}
@@ -0,0 +1,124 @@
+package backend.service;
+
+import backend.exception.PasswordHashingBusyException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécute le hachage BCrypt (coûteux en CPU) sur un pool dédié, dimensionné sur le nombre de cœurs
+ * et précédé d'une file bornée. Quand la file est pleine, la requête est refusée immédiatement
+ * au lieu d'affamer le pool Tomcat qui sert aussi le catalogue public.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final String BUSY_MESSAGE = "Service d'authentification surchargé, veuillez réessayer";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    // Imports en masse : pool séparé, partagé par les imports et créé une seule fois
+    private final ForkJoinPool bulkPool;
+    private final long retryAfterSeconds;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${application.security.password.hashing-threads:0}") int threads,
+                                  @Value("${application.security.password.queue-capacity:64}") int queueCapacity,
+                                  @Value("${application.security.password.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        AtomicInteger bulkCounter = new AtomicInteger();
+        this.bulkPool = new ForkJoinPool(poolSize, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("password-hashing-bulk-" + bulkCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    public String encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Hachage en masse (imports admin) réparti sur tous les cœurs. Passe par un pool distinct
+     * pour ne jamais remplir la file des connexions interactives ; deux imports simultanés se
+     * partagent ce pool au lieu d'en créer chacun un.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        try {
+            return bulkPool.submit(() -> rawPasswords.parallelStream()
+                    .map(passwordEncoder::encode)
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hachage interrompu", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /** Vrai si le hash a été produit avec un facteur de coût inférieur à celui configuré. */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException(BUSY_MESSAGE, retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingBusyException(BUSY_MESSAGE, retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        bulkPool.shutdownNow();
+    }
+}
@@ -0,0 +1,152 @@
+package backend.service;
+
+import backend.dto.ActivitySummary;
+import backend.dto.PlaceDetails;
+import backend.dto.PlaceView;
+import backend.dto.RatingStats;
+import backend.entities.Review;
+import backend.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Assemble la page lieu en parallèle sur des threads virtuels : le lieu, ses activités, la
+ * première page d'avis et les statistiques de notes sont lus en même temps, chacun dans sa
+ * propre transaction. Chaque branche a un délai compté depuis le début de la requête ; une
+ * branche secondaire en retard ou en erreur est omise au lieu de faire échouer la page.
+ * Seul le lieu est indispensable.
+ * <p>
+ * Une branche abandonnée est annulée sans interruption : la lecture du lieu peut être partagée
+ * avec d'autres requêtes (voir {@link SingleFlight}), l'interrompre les ferait toutes échouer.
+ * Elle se termine en arrière-plan et son résultat est ignoré.
+ */
+@Slf4j
+@Service
+public class PlaceDetailsService {
+
+    private final PlaceService placeService;
+    private final ActivityService activityService;
+    private final ReviewService reviewService;
+    private final Duration placeTimeout;
+    private final Duration branchTimeout;
+    private final int activitiesSize;
+    private final int reviewsSize;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PlaceDetailsService(PlaceService placeService, ActivityService activityService, ReviewService reviewService,
+                               @Value("${application.place-details.place-timeout:2s}") Duration placeTimeout,
+                               @Value("${application.place-details.branch-timeout:800ms}") Duration branchTimeout,
+                               @Value("${application.place-details.activities-size:20}") int activitiesSize,
+                               @Value("${application.place-details.reviews-size:10}") int reviewsSize) {
+        this.placeService = placeService;
+        this.activityService = activityService;
+        this.reviewService = reviewService;
+        this.placeTimeout = placeTimeout;
+        this.branchTimeout = branchTimeout;
+        this.activitiesSize = activitiesSize;
+        this.reviewsSize = reviewsSize;
+    }
+
+    /**
+     * @param includeReviews faux pour un visiteur anonyme : comme GET /api/reviews/place/{id},
+     *                       les avis exigent une session (les statistiques restent publiques)
+     */
+    public PlaceDetails getPlaceDetails(Long placeId, boolean includeReviews) {
+        long start = System.nanoTime();
+        Future<PlaceView> place = executor.submit(() -> placeService.getPlaceView(placeId));
+        Future<Window<ActivitySummary>> activities = executor.submit(
+                () -> activityService.getActivitiesByPlace(placeId, PageQuery.first(activitiesSize)));
+        Future<Window<Review>> reviews = includeReviews
+                ? executor.submit(() -> reviewService.getReviewsByPlace(placeId, PageQuery.first(reviewsSize)))
+                : null;
+        Future<RatingStats> rating = executor.submit(() -> reviewService.getRatingStatsForPlace(placeId));
+
+        PlaceView found;
+        try {
+            found = required(place, start);
+        } catch (RuntimeException e) {
+            activities.cancel(false);
+            if (reviews != null) {
+                reviews.cancel(false);
+            }
+            rating.cancel(false);
+            throw e;
+        }
+
+        List<String> unavailable = new ArrayList<>();
+        Window<ActivitySummary> activityWindow = optional("activities", activities, start, unavailable);
+        Window<Review> reviewWindow = reviews != null ? optional("reviews", reviews, start, unavailable) : null;
+        RatingStats stats = optional("rating", rating, start, unavailable);
+
+        String reviewsNextCursor = null;
+        KeysetScrollPosition next = reviewWindow != null ? PageQuery.nextPosition(reviewWindow) : null;
+        if (next != null) {
+            // Curseur directement rejouable sur GET /api/reviews/place/{placeId}
+            reviewsNextCursor = CursorCodec.encode(next, CursorCodec.scopeOf("/api/reviews/place/" + placeId));
+        }
+
+        return new PlaceDetails(found,
+                activityWindow != null ? activityWindow.getContent() : null,
+                reviewWindow != null ? reviewWindow.getContent() : null,
+                reviewsNextCursor,
+                stats,
+                unavailable);
+    }
+
+    private PlaceView required(Future<PlaceView> place, long start) {
+        try {
+            return place.get(remaining(start, placeTimeout), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            place.cancel(false);
+            throw new ServiceUnavailableException("Lieu momentanément indisponible, veuillez réessayer");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            place.cancel(false);
+            throw new ServiceUnavailableException("Lieu momentanément indisponible, veuillez réessayer");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> T optional(String branch, Future<T> future, long start, List<String> unavailable) {
+        try {
+            return future.get(remaining(start, branchTimeout), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Page lieu : '{}' sans réponse après {}, partie omise", branch, branchTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Page lieu : échec de '{}', partie omise", branch, e.getCause());
+        }
+        future.cancel(false);
+        unavailable.add(branch);
+        return null;
+    }
+
+    private static long remaining(long start, Duration timeout) {
+        return Math.max(0L, timeout.toNanos() - (System.nanoTime() - start));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
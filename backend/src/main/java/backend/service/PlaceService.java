@@ -1,13 +1,26 @@
 package backend.service;
+
 import java.util.stream.Collectors;
+import backend.dto.NearbyPlace;
+import backend.dto.PlaceCluster;
+import backend.dto.PlaceSummary;
+import backend.dto.PlaceView;
+import backend.exception.ResourceNotFoundException;
 import backend.entities.Status;
 import backend.entities.User;
 import backend.entities.Role;
 import backend.entities.Place;
 import backend.repositories.PlaceRepository;
+import backend.service.geo.PlaceClusterIndex;
+import backend.service.geo.PlaceGeoIndex;
+import backend.service.readmodel.CatalogReadModel;
+import backend.service.search.PlaceSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -16,37 +29,102 @@ import java.util.List;
 public class PlaceService {
 
     private final PlaceRepository placeRepository;
+    private final CatalogVersions catalogVersions;
+    private final SingleFlight singleFlight;
+    private final CatalogReadModel readModel;
+    private final PlaceSearchIndex searchIndex;
+    private final PlaceGeoIndex geoIndex;
+    private final PlaceClusterIndex clusterIndex;
     
-    public PlaceService(PlaceRepository placeRepository) {
+    public PlaceService(PlaceRepository placeRepository, CatalogVersions catalogVersions, SingleFlight singleFlight,
+                        CatalogReadModel readModel, PlaceSearchIndex searchIndex, PlaceGeoIndex geoIndex,
+                        PlaceClusterIndex clusterIndex) {
         this.placeRepository = placeRepository;
+        this.catalogVersions = catalogVersions;
+        this.singleFlight = singleFlight;
+        this.readModel = readModel;
+        this.searchIndex = searchIndex;
+        this.geoIndex = geoIndex;
+        this.clusterIndex = clusterIndex;
     }
 
-    public List<Place> getAllPlaces() {
-        return placeRepository.findAll();
+    public Window<Place> getAllPlaces(PageQuery page) {
+        return placeRepository.findAllByOrderByIdAsc(page.position(), page.limit());
     }
 
     public Place getPlaceById(Long id) {
         return placeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Lieu non trouvé avec l'id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Lieu non trouvé avec l'id: " + id));
     }
 
-    public List<Place> getPendingPlaces() {
-        return placeRepository.findByStatus(Status.PENDING);
+    // Lectures simultanées du même lieu regroupées (voir SingleFlight) : la même vue immuable est
+    // servie à tous les appelants. Dans une transaction, lecture directe
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PlaceView getPlaceView(Long id) {
+        return singleFlight.execute("place:" + catalogVersions.entityTag(CatalogCollection.PLACES, id),
+                () -> PlaceView.of(getPlaceById(id)));
+    }
+
+    // Lecture groupée : même vue publique que getPlaceView, l'ordre et les absents sont traités par l'appelant
+    @Transactional(readOnly = true)
+    public List<PlaceView> getPlacesByIds(Collection<Long> ids) {
+        return placeRepository.findAllById(ids).stream().map(PlaceView::of).toList();
+    }
+
+    public Window<Place> getPendingPlaces(PageQuery page) {
+        return placeRepository.findByStatusOrderByIdAsc(Status.PENDING, page.position(), page.limit());
+    }
+    // Listes de résumés : servies par le modèle en mémoire quand il est à jour, sinon par la base
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Window<PlaceSummary> searchPlaces(String query, PageQuery page) {
+        // Index plein texte (classé par pertinence) d'abord ; sinon recherche "contient" triée par id
+        return searchIndex.search(query, page).orElseGet(() -> readModel.searchPlaces(query, page).orElseGet(() -> {
+            if (query == null || query.trim().isEmpty()) {
+                return page.window(placeRepository.findSummaries(page.afterId(), page.probe()), PlaceSummary::id);
+            }
+
+            // Nom OU ville dans une seule requête : pas de doublons à retirer, pagination possible
+            return page.window(placeRepository.searchSummaries(query, page.afterId(), page.probe()), PlaceSummary::id);
+        }));
+    }
+
+    // Tag de l'index plein texte pour l'ETag de la recherche, null s'il ne répond pas encore
+    public String getSearchTag() {
+        return searchIndex.tag();
     }
-    public List<Place> searchPlaces(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            return getAllPlaces();
-        }
 
-        List<Place> placesByName = placeRepository.findByNameContainingIgnoreCase(query);
-        List<Place> placesByCity = placeRepository.findByCityContainingIgnoreCase(query);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Window<PlaceSummary> getPlacesByCity(String city, PageQuery page) {
+        return readModel.getPlacesByCity(city, page).orElseGet(() ->
+                page.window(placeRepository.findSummariesByCity(city, page.afterId(), page.probe()), PlaceSummary::id));
+    }
 
-        placesByName.addAll(placesByCity);
-        return placesByName.stream().distinct().collect(Collectors.toList());
+    // Carte : index géographique en mémoire (plus proches voisins, rectangle visible)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<NearbyPlace> getNearbyPlaces(Double latitude, Double longitude, Double radius, Integer limit) {
+        return geoIndex.nearby(latitude, longitude, radius, limit);
     }
 
-    public List<Place> getPlacesByCity(String city) {
-        return placeRepository.findByCityContainingIgnoreCase(city);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Window<PlaceSummary> getPlacesInBox(Double minLatitude, Double minLongitude, Double maxLatitude,
+                                               Double maxLongitude, PageQuery page) {
+        return geoIndex.within(minLatitude, minLongitude, maxLatitude, maxLongitude, page);
+    }
+
+    // Tag de la grille géographique pour l'ETag des recherches autour d'un point ou dans un rectangle
+    public String getGeoTag() {
+        return geoIndex.tag();
+    }
+
+    // Sans accès à la base : la hiérarchie de regroupement ne contient que des coordonnées et des ids
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<PlaceCluster> getPlaceClusters(List<Double> bbox, Integer zoom) {
+        return clusterIndex.clusters(bbox, zoom);
+    }
+
+    // Tag de la hiérarchie de regroupement : seul ETag des groupes, qui n'en lisent rien d'autre
+    public String getClusterTag() {
+        return clusterIndex.tag();
     }
 
     @Transactional
@@ -57,7 +135,9 @@ public class PlaceService {
             place.setStatus(Status.PENDING); // Le guide propose, l'admin devra valider
         }
         place.setProposedBy(currentUser);
-        return placeRepository.save(place);
+        Place saved = placeRepository.save(place);
+        catalogVersions.changed(CatalogCollection.PLACES, saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -71,6 +151,7 @@ public class PlaceService {
         place.setLongitude(placeDetails.getLongitude());
         place.setImageUrl(placeDetails.getImageUrl());
 
+        catalogVersions.changed(CatalogCollection.PLACES, id);
         return placeRepository.save(place);
     }
 
@@ -78,15 +159,20 @@ public class PlaceService {
     public void deletePlace(Long id) {
         Place place = getPlaceById(id);
         placeRepository.delete(place);
+        catalogVersions.changed(CatalogCollection.PLACES, id);
     }
-    public List<Place> getAllActivePlaces() {
-        return placeRepository.findByStatus(Status.ACTIVE);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Window<PlaceSummary> getAllActivePlaces(PageQuery page) {
+        return readModel.getActivePlaces(page).orElseGet(() ->
+                page.window(placeRepository.findSummariesByStatus(Status.ACTIVE, page.afterId(), page.probe()),
+                        PlaceSummary::id));
     }
 
     @Transactional
     public Place validatePlace(Long id) {
         Place place = getPlaceById(id);
         place.setStatus(Status.ACTIVE);
+        catalogVersions.changed(CatalogCollection.PLACES, id);
         return placeRepository.save(place);
     }
 
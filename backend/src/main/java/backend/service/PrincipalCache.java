@@ -0,0 +1,105 @@
+package backend.service;
+
+import backend.entities.Role;
+import backend.entities.Status;
+import backend.entities.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache borné (taille + TTL) des utilisateurs authentifiés, indexé par email.
+ * Évite un aller-retour MySQL (User + Guide en EAGER) à chaque requête authentifiée.
+ * <p>
+ * Le cache garde une copie immuable de l'identité, jamais l'entité JPA : chaque requête reçoit
+ * son propre {@link User} (comme {@link VerifiedToken#toPrincipal()}), qu'elle peut passer aux
+ * services sans qu'une autre requête voie ses modifications.
+ */
+@Component
+public class PrincipalCache {
+
+    /** Champs du principal lus par les contrôleurs et les services (ni mot de passe ni guide). */
+    private record Identity(Long id, String email, String fullName, Role role, Status status, int tokenVersion) {
+
+        static Identity of(UserDetails details) {
+            if (!(details instanceof User user)) {
+                throw new IllegalStateException("Principal inattendu : " + details.getClass().getName());
+            }
+            return new Identity(user.getId(), user.getEmail(), user.getFullName(), user.getRole(), user.getStatus(),
+                    user.getTokenVersion());
+        }
+
+        User toPrincipal() {
+            return User.builder()
+                    .id(id)
+                    .email(email)
+                    .fullName(fullName)
+                    .role(role)
+                    .status(status)
+                    .tokenVersion(tokenVersion)
+                    .build();
+        }
+    }
+
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, Identity> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    public PrincipalCache(UserDetailsService userDetailsService,
+                          @Value("${application.security.principal-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${application.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public UserDetails load(String email) {
+        return cache.get(email, key -> Identity.of(userDetailsService.loadUserByUsername(key))).toPrincipal();
+    }
+
+    /**
+     * Retire l'utilisateur du cache tout de suite, puis une seconde fois à la fin de la transaction
+     * en cours : une requête concurrente ne peut donc pas remettre en cache l'état d'avant le commit.
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        cache.invalidate(email);
+        invalidations.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+
+    public Map<String, Long> getStatistics() {
+        CacheStats stats = cache.stats();
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("invalidations", invalidations.sum());
+        result.put("loadFailures", stats.loadFailureCount());
+        return result;
+    }
+}
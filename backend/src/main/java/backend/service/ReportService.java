@@ -1,9 +1,11 @@
 package backend.service;
 
+import backend.exception.ResourceNotFoundException;
 import backend.entities.Report;
 import backend.entities.ReportStatus;
 import backend.entities.User;
 import backend.repositories.ReportRepository;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -26,14 +28,14 @@ public class ReportService {
     }
 
     // Uniquement pour l'Admin
-    public List<Report> getAllReports() {
-        return reportRepository.findAll();
+    public Window<Report> getAllReports(PageQuery page) {
+        return reportRepository.findAllByOrderByIdAsc(page.position(), page.limit());
     }
 
     @Transactional
     public Report updateReportStatus(Long id, ReportStatus status) {
         Report report = reportRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Rapport non trouvé"));
+                .orElseThrow(() -> new ResourceNotFoundException("Rapport non trouvé"));
         report.setStatus(status);
         return reportRepository.save(report);
     }
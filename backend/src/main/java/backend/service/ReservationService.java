@@ -1,8 +1,14 @@
 package backend.service;
 
+import backend.exception.BusinessRuleException;
+import backend.exception.ConflictException;
+import backend.exception.InvalidRequestException;
+import backend.exception.OperationNotAllowedException;
+import backend.exception.ResourceNotFoundException;
 import backend.entities.*;
 import backend.repositories.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
@@ -14,12 +20,18 @@ import backend.repositories.GuideRepository;
 @Transactional
 public class ReservationService {
 
+    // Clé de tri des listes paginées (avec l'id)
+    private static final String RESERVATION_DATE = "reservationDate";
+
     private final ReservationRepository reservationRepository;
     private final ActivityRepository activityRepository;
     private final CircuitRepository circuitRepository;
     private final UserRepository userRepository;
     private final GuideRepository guideRepository;
-    public ReservationService(ReservationRepository reservationRepository, ActivityRepository activityRepository, CircuitRepository circuitRepository, UserRepository userRepository, GuideRepository guideRepository) {
+    private final OwnershipService ownershipService;
+    public ReservationService(ReservationRepository reservationRepository, ActivityRepository activityRepository, CircuitRepository circuitRepository, UserRepository userRepository, GuideRepository guideRepository,
+                              OwnershipService ownershipService) {
+        this.ownershipService = ownershipService;
         this.reservationRepository = reservationRepository;
         this.activityRepository = activityRepository;
         this.circuitRepository = circuitRepository;
@@ -28,7 +40,7 @@ public class ReservationService {
     }
     public Reservation createReservation(Long userId, Reservation reservationRequest) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
 
         Reservation reservation = new Reservation();
         reservation.setUser(user);
@@ -40,7 +52,7 @@ public class ReservationService {
         if (reservationRequest.getActivity() != null) {
             Activity activity = activityRepository.findById(reservationRequest.getActivity().getId())
                     .filter(a -> a.getStatus() == Status.ACTIVE)
-                    .orElseThrow(() -> new RuntimeException("Activité non disponible ou non validée"));
+                    .orElseThrow(() -> new BusinessRuleException("Activité non disponible ou non validée"));
             reservation.setActivity(activity);
         }
 
@@ -48,22 +60,22 @@ public class ReservationService {
         if (reservationRequest.getCircuit() != null) {
             Circuit circuit = circuitRepository.findById(reservationRequest.getCircuit().getId())
                     .filter(c -> c.getStatus() == Status.ACTIVE)
-                    .orElseThrow(() -> new RuntimeException("Circuit non disponible ou non validé"));
+                    .orElseThrow(() -> new BusinessRuleException("Circuit non disponible ou non validé"));
             reservation.setCircuit(circuit);
         }
 
         // 5. Validation
         if (reservation.getActivity() == null && reservation.getCircuit() == null) {
-            throw new RuntimeException("Une activité ou un circuit doit être spécifié");
+            throw new InvalidRequestException("Une activité ou un circuit doit être spécifié");
         }
 
         // 6. Validation de la date
         if (reservation.getReservationDate() == null) {
-            throw new RuntimeException("La date de réservation est requise");
+            throw new InvalidRequestException("La date de réservation est requise");
         }
 
         if (reservation.getReservationDate().isBefore(LocalDate.now())) {
-            throw new RuntimeException("La date de réservation ne peut pas être dans le passé");
+            throw new BusinessRuleException("La date de réservation ne peut pas être dans le passé");
         }
 
         // 7. Sauvegarder
@@ -72,10 +84,10 @@ public class ReservationService {
 
     public Reservation createCircuitReservation(Long userId, Long circuitId, LocalDate reservationDate) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
 
         Circuit circuit = circuitRepository.findById(circuitId)
-                .orElseThrow(() -> new RuntimeException("Circuit non trouvé"));
+                .orElseThrow(() -> new ResourceNotFoundException("Circuit non trouvé"));
 
         Reservation reservation = new Reservation();
         reservation.setUser(user);
@@ -86,13 +98,15 @@ public class ReservationService {
         return reservationRepository.save(reservation);
     }
 
-    public List<Reservation> getMyReservations(Long userId) {
-        return reservationRepository.findByUserIdOrderByReservationDateDesc(userId);
+    public Window<Reservation> getMyReservations(Long userId, PageQuery page) {
+        return page.window(reservationRepository.findPageByUserId(userId,
+                page.lastKey(RESERVATION_DATE, LocalDate.class), page.lastId(), page.probe()),
+                Reservation::getId, RESERVATION_DATE, Reservation::getReservationDate);
     }
 
     public Reservation getReservationById(Long reservationId) {
         return reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new RuntimeException("Réservation non trouvée"));
+                .orElseThrow(() -> new ResourceNotFoundException("Réservation non trouvée"));
     }
 
     public List<Reservation> getReservationsByStatus(Long userId, Reservation.Status status) {
@@ -100,38 +114,35 @@ public class ReservationService {
     }
 
     public void cancelReservation(Long userId, Long reservationId) {
-        Reservation reservation = reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new RuntimeException("Réservation non trouvée"));
+        ReservationRepository.ReservationOwnershipView reservation = ownershipService.getReservationOwnership(reservationId);
 
-        if (!reservation.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Vous ne pouvez annuler que vos propres réservations");
+        if (!userId.equals(reservation.getOwnerId())) {
+            throw new OperationNotAllowedException("Vous ne pouvez annuler que vos propres réservations");
         }
 
         if (reservation.getStatus() == Reservation.Status.CANCELLED) {
-            throw new RuntimeException("Cette réservation est déjà annulée");
+            throw new ConflictException("Cette réservation est déjà annulée");
         }
 
-        reservation.setStatus(Reservation.Status.CANCELLED);
-        reservationRepository.save(reservation);
+        reservationRepository.updateStatus(reservationId, Reservation.Status.CANCELLED);
     }
 
     public Reservation updateReservationStatus(Long reservationId, Reservation.Status newStatus) {
         Reservation reservation = reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new RuntimeException("Réservation non trouvée"));
+                .orElseThrow(() -> new ResourceNotFoundException("Réservation non trouvée"));
 
         reservation.setStatus(newStatus);
         return reservationRepository.save(reservation);
     }
 
     public void deleteReservation(Long userId, Long reservationId) {
-        Reservation reservation = reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new RuntimeException("Réservation non trouvée"));
+        ReservationRepository.ReservationOwnershipView reservation = ownershipService.getReservationOwnership(reservationId);
 
-        if (!reservation.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Vous ne pouvez supprimer que vos propres réservations");
+        if (!userId.equals(reservation.getOwnerId())) {
+            throw new OperationNotAllowedException("Vous ne pouvez supprimer que vos propres réservations");
         }
 
-        reservationRepository.delete(reservation);
+        reservationRepository.deleteDirectlyById(reservationId);
     }
 
     public List<Reservation> getReservationsByActivity(Long activityId) {
@@ -143,17 +154,19 @@ public class ReservationService {
     }
 
     // Récupérer toutes les réservations pour l'Admin
-public List<Reservation> getAllReservations() {
-    return reservationRepository.findAllByOrderByReservationDateDesc();
+public Window<Reservation> getAllReservations(PageQuery page) {
+    return page.window(reservationRepository.findPage(page.lastKey(RESERVATION_DATE, LocalDate.class), page.lastId(),
+            page.probe()), Reservation::getId, RESERVATION_DATE, Reservation::getReservationDate);
 }
 
-public List<Reservation> getReservationsForGuide(Long userId) {
+public Window<Reservation> getReservationsForGuide(Long userId, PageQuery page) {
     // On récupère le profil guide de l'utilisateur connecté
     Guide guide = guideRepository.findByUserId(userId)
-            .orElseThrow(() -> new RuntimeException("Profil Guide non trouvé"));
+            .orElseThrow(() -> new BusinessRuleException("Profil Guide non trouvé"));
             
     // On cherche toutes les réservations liées à ce guide (via activité ou circuit)
-    return reservationRepository.findAllByActivityGuideOrCircuitGuideOrderByReservationDateDesc(guide, guide);
+    return page.window(reservationRepository.findPageByGuide(guide, page.lastKey(RESERVATION_DATE, LocalDate.class),
+            page.lastId(), page.probe()), Reservation::getId, RESERVATION_DATE, Reservation::getReservationDate);
 }
 
 }
\ No newline at end of file
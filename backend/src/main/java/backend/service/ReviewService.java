@@ -1,14 +1,20 @@
 package backend.service;
+import backend.dto.RatingStats;
+import backend.exception.BusinessRuleException;
+import backend.exception.OperationNotAllowedException;
+import backend.exception.ResourceNotFoundException;
 import backend.entities.Place;
 import backend.entities.Review;
 import backend.entities.User;
 import backend.repositories.PlaceRepository;
 import backend.repositories.ReviewRepository;
 import backend.repositories.UserRepository;
+import backend.service.readmodel.CatalogReadModel;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.List;
 import backend.entities.Status;
 
 
@@ -20,22 +26,32 @@ import backend.entities.Status;
         private final ReviewRepository reviewRepository;
         private final UserRepository userRepository;
         private final PlaceRepository placeRepository;
-        public ReviewService(ReviewRepository reviewRepository, UserRepository userRepository, PlaceRepository placeRepository) {
+        private final OwnershipService ownershipService;
+        private final CatalogVersions catalogVersions;
+        private final SingleFlight singleFlight;
+        private final CatalogReadModel readModel;
+        public ReviewService(ReviewRepository reviewRepository, UserRepository userRepository, PlaceRepository placeRepository,
+                             OwnershipService ownershipService, CatalogVersions catalogVersions, SingleFlight singleFlight,
+                             CatalogReadModel readModel) {
             this.reviewRepository = reviewRepository;
+            this.readModel = readModel;
+            this.singleFlight = singleFlight;
+            this.catalogVersions = catalogVersions;
             this.userRepository = userRepository;
             this.placeRepository = placeRepository;
+            this.ownershipService = ownershipService;
         }
 @Transactional
 public Review createReview(Long userId, Long placeId, int rating, String comment) {
     User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+            .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
 
     Place place = placeRepository.findById(placeId)
             .filter(p -> p.getStatus() == Status.ACTIVE)
-            .orElseThrow(() -> new RuntimeException("Lieu non trouvé ou non disponible pour les avis"));
+            .orElseThrow(() -> new BusinessRuleException("Lieu non trouvé ou non disponible pour les avis"));
 
     if (rating < 1 || rating > 5) {
-        throw new RuntimeException("La note doit être entre 1 et 5");
+        throw new BusinessRuleException("La note doit être entre 1 et 5");
     }
 
     Review review = new Review();
@@ -44,61 +60,80 @@ public Review createReview(Long userId, Long placeId, int rating, String comment
     review.setRating(rating);
     review.setComment(comment);
     
+    // Les listes de lieux affichent la note moyenne : seul ce lieu change
+    catalogVersions.changed(CatalogCollection.PLACES, placeId);
     return reviewRepository.save(review);
 }
 
         @Transactional(readOnly = true)
-        public List<Review> getReviewsByPlace(Long placeId) {
-            return reviewRepository.findByPlaceIdOrderByCreatedAtDesc(placeId);
+        public Window<Review> getReviewsByPlace(Long placeId, PageQuery page) {
+            return reviewRepository.findByPlaceIdOrderByCreatedAtDescIdDesc(placeId, page.position(), page.limit());
         }
 
         @Transactional(readOnly = true)
-        public List<Review> getReviewsByUser(Long userId) {
-            return reviewRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        public Window<Review> getReviewsByUser(Long userId, PageQuery page) {
+            return reviewRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, page.position(), page.limit());
         }
 
         @Transactional(readOnly = true)
         public Review getReviewById(Long id) {
             return reviewRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Avis non trouvé"));
+                    .orElseThrow(() -> new ResourceNotFoundException("Avis non trouvé"));
         }
         
 
         public Review updateReview(Long userId, Long reviewId, int rating, String comment) {
-            Review review = getReviewById(reviewId);
-
-            if (!review.getUser().getId().equals(userId)) {
-                throw new RuntimeException("Vous ne pouvez modifier que vos propres avis");
+            if (!ownershipService.ownsReview(reviewId, userId)) {
+                throw new OperationNotAllowedException("Vous ne pouvez modifier que vos propres avis");
             }
 
             if (rating < 1 || rating > 5) {
-                throw new RuntimeException("La note doit être entre 1 et 5");
+                throw new BusinessRuleException("La note doit être entre 1 et 5");
             }
 
-            review.setRating(rating);
-            review.setComment(comment);
+            Long placeId = placeOf(reviewId);
+            if (reviewRepository.updateContent(reviewId, rating, comment) == 0) {
+                throw new ResourceNotFoundException("Avis non trouvé");
+            }
+            catalogVersions.changed(CatalogCollection.PLACES, placeId);
 
-            return reviewRepository.save(review);
+            return getReviewById(reviewId);
         }
 
         public void deleteReview(Long userId, Long reviewId) {
-            Review review = getReviewById(reviewId);
+            if (!ownershipService.ownsReview(reviewId, userId)) {
+                throw new OperationNotAllowedException("Vous ne pouvez supprimer que vos propres avis");
+            }
 
-            if (!review.getUser().getId().equals(userId)) {
-                throw new RuntimeException("Vous ne pouvez supprimer que vos propres avis");
+            Long placeId = placeOf(reviewId);
+            if (reviewRepository.deleteDirectlyById(reviewId) == 0) {
+                throw new ResourceNotFoundException("Avis non trouvé");
             }
+            ownershipService.evictReview(reviewId);
+            catalogVersions.changed(CatalogCollection.PLACES, placeId);
+        }
 
-            reviewRepository.delete(review);
+        private Long placeOf(Long reviewId) {
+            return reviewRepository.findPlaceIdById(reviewId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Avis non trouvé"));
         }
 
         @Transactional(readOnly = true)
-        public List<Review> getAllReviews() {
-            return reviewRepository.findAllByOrderByCreatedAtDesc();
+        public Window<Review> getAllReviews(PageQuery page) {
+            return reviewRepository.findAllByOrderByCreatedAtDescIdDesc(page.position(), page.limit());
         }
 
-        @Transactional(readOnly = true)
+        // Chaque avis change la version des lieux : la clé ne survit pas à un nouvel avis
+        @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
         public Double getAverageRatingForPlace(Long placeId) {
-            return reviewRepository.findAverageRatingByPlaceId(placeId);
+            return singleFlight.execute("rating:" + catalogVersions.listTag(CatalogCollection.PLACES) + ":" + placeId,
+                    () -> reviewRepository.findAverageRatingByPlaceId(placeId));
+        }
+
+        // Comptes tenus par le modèle de lecture, sinon une requête d'agrégat
+        @Transactional(readOnly = true)
+        public RatingStats getRatingStatsForPlace(Long placeId) {
+            return RatingStats.of(readModel.getRatingCounts(placeId));
         }
     }
 
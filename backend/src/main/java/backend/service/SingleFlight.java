@@ -0,0 +1,115 @@
+package backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Regroupement des lectures identiques simultanées ("single-flight") : le premier appel pour une clé
+ * exécute la requête, les appels concurrents sur la même clé attendent et reçoivent le même résultat
+ * (ou la même exception). Le résultat peut en plus être réutilisé pendant une courte fenêtre.
+ * La même instance étant remise à tous les appelants, elle doit être immuable : vues et DTO,
+ * jamais d'entité JPA. Un appelant ne doit pas non plus interrompre le thread qui charge.
+ * <p>
+ * Les clés portent la version du catalogue (voir {@link CatalogVersions}) : une lecture commencée
+ * après un commit ne rejoint jamais un chargement commencé avant. À l'intérieur d'une transaction,
+ * l'appel n'est jamais partagé : ses entités appartiennent au contexte de persistance de l'appelant.
+ */
+@Component
+public class SingleFlight {
+
+    private final boolean enabled;
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, Object> recent;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    public SingleFlight(@Value("${application.single-flight.enabled:true}") boolean enabled,
+                        @Value("${application.single-flight.reuse-window:0ms}") Duration reuseWindow,
+                        @Value("${application.single-flight.reuse-maximum-size:1000}") long reuseMaximumSize) {
+        this.enabled = enabled;
+        this.recent = reuseWindow.isZero() || reuseWindow.isNegative()
+                ? null
+                : Caffeine.newBuilder().maximumSize(reuseMaximumSize).expireAfterWrite(reuseWindow).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        calls.increment();
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            bypassed.increment();
+            return loader.get();
+        }
+
+        if (recent != null) {
+            Object value = recent.getIfPresent(key);
+            if (value != null) {
+                reused.increment();
+                return (T) value;
+            }
+        }
+
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            coalesced.increment();
+            return (T) await(leader);
+        }
+
+        executions.increment();
+        try {
+            T value = loader.get();
+            // Publié avant de quitter inFlight : aucun appel ne tombe entre les deux et ne relance la requête
+            if (recent != null && value != null) {
+                recent.put(key, value);
+            }
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("calls", calls.sum());
+        stats.put("executions", executions.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("reused", reused.sum());
+        stats.put("bypassed", bypassed.sum());
+        stats.put("inFlight", (long) inFlight.size());
+        return stats;
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
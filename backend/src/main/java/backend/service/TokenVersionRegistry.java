@@ -0,0 +1,57 @@
+package backend.service;
+
+import backend.entities.User;
+import backend.repositories.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versions de jeton par utilisateur, gardées en mémoire pour valider un JWT sans accès à la base.
+ * Seuls les utilisateurs révoqués au moins une fois y figurent : la map reste petite.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        userRepository.findRevokedTokenVersions()
+                .forEach(view -> versions.put(view.getId(), view.getTokenVersion()));
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return tokenVersion >= versions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Invalide tous les jetons déjà émis pour cet utilisateur. La nouvelle version est persistée
+     * avec l'entité et publiée dans la map une fois la transaction validée.
+     */
+    public void revoke(User user) {
+        int newVersion = user.getTokenVersion() + 1;
+        user.setTokenVersion(newVersion);
+
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.merge(userId, newVersion, Math::max);
+                }
+            });
+        } else {
+            versions.merge(userId, newVersion, Math::max);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package backend.service;
+
+import backend.dto.RegisterRequest;
+import backend.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lecture en flux des fichiers d'import d'utilisateurs ({@link UserImportService}) : une ligne
+ * à la fois est passée à l'appelant, le fichier n'est jamais chargé en entier.
+ * <ul>
+ *     <li>JSON : tableau d'objets (fullName, email, password, phone, role, bio, languages, status) ;</li>
+ *     <li>CSV : ligne d'en-tête avec les mêmes noms de colonnes (casse ignorée), BOM UTF-8 toléré.</li>
+ * </ul>
+ */
+final class UserImportParser {
+
+    /** Une ligne du fichier, avec un statut optionnel (sinon même règle qu'à l'inscription). */
+    record Row(int line, RegisterRequest request, String status) {
+    }
+
+    private UserImportParser() {
+    }
+
+    static void readJson(ObjectMapper objectMapper, InputStream input, Consumer<Row> consumer) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidRequestException("Le fichier JSON doit contenir un tableau d'utilisateurs");
+            }
+            int line = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                line++;
+                JsonNode node = parser.readValueAsTree();
+                RegisterRequest request = new RegisterRequest(
+                        text(node, "fullName"), text(node, "email"), text(node, "password"),
+                        text(node, "phone"), text(node, "role"), text(node, "bio"), text(node, "languages"));
+                consumer.accept(new Row(line, request, text(node, "status")));
+            }
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    static void readCsv(InputStream input, Consumer<Row> consumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return;
+        }
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> headers = splitCsvLine(headerLine);
+        for (int i = 0; i < headers.size(); i++) {
+            columns.put(headers.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = splitCsvLine(line);
+            RegisterRequest request = new RegisterRequest(
+                    column(values, columns, "fullname"), column(values, columns, "email"),
+                    column(values, columns, "password"), column(values, columns, "phone"),
+                    column(values, columns, "role"), column(values, columns, "bio"),
+                    column(values, columns, "languages"));
+            consumer.accept(new Row(lineNumber, request, column(values, columns, "status")));
+        }
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Découpage CSV minimal : séparateur virgule, champs entre guillemets, "" pour un guillemet échappé
+    static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,267 @@
+package backend.service;
+
+import backend.dto.BulkImportReport;
+import backend.dto.BulkImportReport.Outcome;
+import backend.dto.BulkImportReport.RowResult;
+import backend.dto.RegisterRequest;
+import backend.entities.Role;
+import backend.entities.Status;
+import backend.exception.InvalidRequestException;
+import backend.repositories.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Import en masse de comptes (guides, partenaires...) depuis un fichier CSV ou JSON.
+ * Le fichier est lu en flux et traité par lots : une requête d'unicité par lot, hachage parallèle
+ * des mots de passe, puis insertion des users et guides en batch JDBC.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    public enum Format { CSV, JSON }
+
+    private static final int CHUNK_SIZE = 200;
+
+    private static final String INSERT_USER = "INSERT INTO users "
+            + "(full_name, email, password, phone, role, status, created_at, updated_at, token_version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_GUIDE = "INSERT INTO guides (user_id, bio, languages) VALUES (?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashing;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public UserImportService(UserRepository userRepository, PasswordHashingService passwordHashing,
+                             JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper, Validator validator) {
+        this.userRepository = userRepository;
+        this.passwordHashing = passwordHashing;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    // Ligne validée, prête à être insérée
+    private record PendingUser(UserImportParser.Row row, Role role, Status status) {
+    }
+
+    // Fichier illisible : 400. Les lots traités avant l'erreur restent enregistrés, leurs emails
+    // seront signalés comme existants si le fichier corrigé est renvoyé
+    public BulkImportReport importUsers(InputStream input, Format format) {
+        List<RowResult> results = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<UserImportParser.Row> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        Consumer<UserImportParser.Row> consumer = row -> {
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                processChunk(chunk, seenEmails, results);
+                chunk.clear();
+            }
+        };
+        try {
+            if (format == Format.JSON) {
+                UserImportParser.readJson(objectMapper, input, consumer);
+            } else {
+                UserImportParser.readCsv(input, consumer);
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("Fichier JSON mal formé : " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new InvalidRequestException("Fichier " + format + " illisible : " + e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, seenEmails, results);
+        }
+        return BulkImportReport.of(results);
+    }
+
+    private void processChunk(List<UserImportParser.Row> chunk, Set<String> seenEmails, List<RowResult> results) {
+        // 1. Validation ligne par ligne et doublons à l'intérieur du fichier
+        List<PendingUser> valid = new ArrayList<>();
+        for (UserImportParser.Row row : chunk) {
+            String error = validate(row);
+            if (error != null) {
+                results.add(failed(row, error));
+            } else if (!seenEmails.add(normalize(row.request().getEmail()))) {
+                results.add(new RowResult(row.line(), row.request().getEmail(), Outcome.SKIPPED, null,
+                        "Email en double dans le fichier"));
+            } else {
+                Role role = parseRole(row.request().getRole());
+                valid.add(new PendingUser(row, role, parseStatus(row.status(), role)));
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        // 2. Unicité en base : une seule requête IN (...) pour tout le lot
+        Set<String> existing = userRepository.findExistingEmails(
+                        valid.stream().map(p -> p.row().request().getEmail()).toList())
+                .stream().map(UserImportService::normalize).collect(Collectors.toSet());
+        List<PendingUser> toInsert = new ArrayList<>();
+        for (PendingUser pending : valid) {
+            if (existing.contains(normalize(pending.row().request().getEmail()))) {
+                results.add(new RowResult(pending.row().line(), pending.row().request().getEmail(),
+                        Outcome.SKIPPED, null, "Cet email est déjà utilisé"));
+            } else {
+                toInsert.add(pending);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        // 3. Hachage parallèle, hors transaction
+        List<String> hashes = passwordHashing.encodeAll(
+                toInsert.stream().map(p -> p.row().request().getPassword()).toList());
+
+        // 4. Insertion en batch JDBC, une transaction par lot
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> insertChunk(toInsert, hashes));
+            for (int i = 0; i < toInsert.size(); i++) {
+                UserImportParser.Row row = toInsert.get(i).row();
+                results.add(new RowResult(row.line(), row.request().getEmail(), Outcome.CREATED, ids.get(i), null));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Échec de l'insertion d'un lot de {} utilisateurs", toInsert.size(), e);
+            String message = "Échec de l'insertion du lot : " + e.getMostSpecificCause().getMessage();
+            toInsert.forEach(pending -> results.add(failed(pending.row(), message)));
+        }
+    }
+
+    private List<Long> insertChunk(List<PendingUser> users, List<String> hashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PendingUser pending = users.get(i);
+                        RegisterRequest request = pending.row().request();
+                        ps.setString(1, request.getFullName());
+                        ps.setString(2, request.getEmail());
+                        ps.setString(3, hashes.get(i));
+                        ps.setString(4, request.getPhone());
+                        ps.setString(5, pending.role().name());
+                        ps.setString(6, pending.status().name());
+                        ps.setTimestamp(7, now);
+                        ps.setTimestamp(8, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users.size();
+                    }
+                },
+                keyHolder);
+
+        List<Long> ids = keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+        if (ids.size() != users.size()) {
+            throw new IllegalStateException("Clés générées manquantes pour le lot importé");
+        }
+
+        List<Object[]> guides = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            PendingUser pending = users.get(i);
+            if (pending.role() == Role.GUIDE) {
+                RegisterRequest request = pending.row().request();
+                guides.add(new Object[]{
+                        ids.get(i),
+                        request.getBio() != null ? request.getBio() : "Nouveau guide à Taroudant",
+                        request.getLanguages() != null ? request.getLanguages() : "À préciser"
+                });
+            }
+        }
+        if (!guides.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_GUIDE, guides);
+        }
+        return ids;
+    }
+
+    private String validate(UserImportParser.Row row) {
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(row.request());
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (row.request().getRole() != null && !row.request().getRole().isBlank()) {
+            Role role;
+            try {
+                role = Role.valueOf(row.request().getRole().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return "Rôle inconnu : " + row.request().getRole();
+            }
+            // Les administrateurs sont nommés un par un, jamais créés par fichier
+            if (role == Role.ADMIN) {
+                return "Rôle non autorisé à l'import : " + role;
+            }
+        }
+        if (row.status() != null && !row.status().isBlank()) {
+            try {
+                Status.valueOf(row.status().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return "Statut inconnu : " + row.status();
+            }
+        }
+        return null;
+    }
+
+    private static Role parseRole(String role) {
+        if (role == null || role.isBlank()) {
+            return Role.TOURIST;
+        }
+        return Role.valueOf(role.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static Status parseStatus(String status, Role role) {
+        if (status != null && !status.isBlank()) {
+            return Status.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        }
+        return role == Role.GUIDE ? Status.PENDING : Status.ACTIVE;
+    }
+
+    private static RowResult failed(UserImportParser.Row row, String message) {
+        return new RowResult(row.line(), row.request().getEmail(), Outcome.FAILED, null, message);
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,69 @@
+package backend.service;
+
+import backend.entities.Role;
+import backend.entities.Status;
+import backend.entities.User;
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * Jeton JWT déjà parsé et dont la signature a été vérifiée.
+ * Immuable : il peut être partagé sans risque pendant toute la durée de la requête.
+ */
+public record VerifiedToken(String subject,
+                            Instant issuedAt,
+                            Instant expiresAt,
+                            Long userId,
+                            String fullName,
+                            Role role,
+                            Status status,
+                            Integer tokenVersion) {
+
+    static final String USER_ID = "uid";
+    static final String FULL_NAME = "name";
+    static final String ROLE = "role";
+    static final String STATUS = "status";
+    static final String TOKEN_VERSION = "tver";
+
+    static VerifiedToken from(Claims claims) {
+        String role = claims.get(ROLE, String.class);
+        String status = claims.get(STATUS, String.class);
+        Number userId = claims.get(USER_ID, Number.class);
+        Number tokenVersion = claims.get(TOKEN_VERSION, Number.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                userId != null ? userId.longValue() : null,
+                claims.get(FULL_NAME, String.class),
+                role != null ? Role.valueOf(role) : null,
+                status != null ? Status.valueOf(status) : null,
+                tokenVersion != null ? tokenVersion.intValue() : null
+        );
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && expiresAt.isBefore(now);
+    }
+
+    /**
+     * Les jetons émis avant l'ajout des claims d'identité ne portent que le sujet :
+     * pour ceux-là, l'utilisateur doit encore être rechargé depuis la base.
+     */
+    public boolean isSelfContained() {
+        return userId != null && role != null && status != null && tokenVersion != null;
+    }
+
+    /** Principal construit uniquement à partir des claims, sans accès à la base. */
+    public User toPrincipal() {
+        return User.builder()
+                .id(userId)
+                .email(subject)
+                .fullName(fullName)
+                .role(role)
+                .status(status)
+                .tokenVersion(tokenVersion)
+                .build();
+    }
+}
@@ -0,0 +1,203 @@
+package backend.service.facet;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index à facettes en mémoire : pour chaque valeur de chaque facette, le bitmap compressé
+ * (Roaring) des ids qui la portent. Un filtre est un OU entre les valeurs choisies d'une même
+ * facette puis un ET entre facettes ; le compte d'une valeur est la cardinalité de son bitmap
+ * croisé avec le filtre des <em>autres</em> facettes, pour que l'interface puisse élargir une
+ * sélection sans perdre les autres valeurs.
+ * <p>
+ * Les facettes à tranches (prix, durée, note) ont des valeurs fixes, toujours renvoyées dans
+ * leur ordre ; les autres renvoient leurs valeurs les plus fréquentes d'abord.
+ * <p>
+ * Un élément n'a qu'une valeur par facette (absente si inconnue). Ajout et retrait ne touchent
+ * que ses bitmaps ; lectures et écritures sont protégées par un verrou lecture/écriture.
+ */
+final class BitmapFacetIndex {
+
+    /** Page d'ids correspondant au filtre, nombre total et comptes par facette. */
+    record Result(List<Long> ids, boolean hasNext, long total, Map<String, Map<String, Long>> facets) {
+    }
+
+    private final List<String> facetNames;
+    private final Map<String, List<String>> fixedValues;
+    private final Map<String, Map<String, RoaringBitmap>> bitmaps = new HashMap<>();
+    private final Map<Integer, Map<String, String>> valuesOf = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    BitmapFacetIndex(List<String> facetNames, Map<String, List<String>> fixedValues) {
+        this.facetNames = List.copyOf(facetNames);
+        this.fixedValues = Map.copyOf(fixedValues);
+        for (String facet : facetNames) {
+            bitmaps.put(facet, new HashMap<>());
+        }
+    }
+
+    /** Ajoute ou remplace l'élément ; {@code values} : facette -> valeur (facette absente = inconnue). */
+    void put(int id, Map<String, String> values) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            all.add(id);
+            valuesOf.put(id, Map.copyOf(values));
+            values.forEach((facet, value) ->
+                    bitmaps.get(facet).computeIfAbsent(value, key -> new RoaringBitmap()).add(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(int id) {
+        Map<String, String> previous = valuesOf.remove(id);
+        if (previous == null) {
+            return;
+        }
+        all.remove(id);
+        previous.forEach((facet, value) -> {
+            Map<String, RoaringBitmap> values = bitmaps.get(facet);
+            RoaringBitmap bitmap = values.get(value);
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                values.remove(value);
+            }
+        });
+    }
+
+    /**
+     * Ids correspondant à {@code selections} (facette -> valeurs acceptées), par id croissant
+     * après {@code afterId}, au plus {@code limit} ; comptes limités aux {@code maxValues}
+     * valeurs les plus fréquentes de chaque facette, plus les valeurs sélectionnées.
+     */
+    Result filter(Map<String, Set<String>> selections, long afterId, int limit, int maxValues) {
+        lock.readLock().lock();
+        try {
+            Map<String, RoaringBitmap> perFacet = new HashMap<>();
+            for (Map.Entry<String, Set<String>> selection : selections.entrySet()) {
+                Map<String, RoaringBitmap> values = bitmaps.get(selection.getKey());
+                if (values == null || selection.getValue().isEmpty()) {
+                    continue;
+                }
+                RoaringBitmap union = new RoaringBitmap();
+                for (String value : selection.getValue()) {
+                    RoaringBitmap bitmap = values.get(value);
+                    if (bitmap != null) {
+                        union.or(bitmap);
+                    }
+                }
+                perFacet.put(selection.getKey(), union);
+            }
+            RoaringBitmap matching = intersect(perFacet.values());
+
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            for (String facet : facetNames) {
+                // Filtre sans la facette elle-même
+                RoaringBitmap others = perFacet.containsKey(facet)
+                        ? intersect(perFacet.entrySet().stream()
+                                .filter(entry -> !entry.getKey().equals(facet))
+                                .map(Map.Entry::getValue).toList())
+                        : matching;
+                facets.put(facet, counts(facet, others, selections.getOrDefault(facet, Set.of()), maxValues));
+            }
+
+            List<Long> ids = new ArrayList<>(Math.min(limit + 1, 64));
+            PeekableIntIterator iterator = matching.getIntIterator();
+            if (afterId >= 0 && afterId < Integer.MAX_VALUE) {
+                iterator.advanceIfNeeded((int) afterId + 1);
+            } else if (afterId >= Integer.MAX_VALUE) {
+                iterator = new RoaringBitmap().getIntIterator();
+            }
+            while (iterator.hasNext() && ids.size() <= limit) {
+                ids.add((long) iterator.next());
+            }
+            boolean hasNext = ids.size() > limit;
+            return new Result(hasNext ? ids.subList(0, limit) : ids, hasNext, matching.getLongCardinality(), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Sans sélection : tous les éléments
+    private RoaringBitmap intersect(Collection<RoaringBitmap> filters) {
+        RoaringBitmap result = null;
+        for (RoaringBitmap filter : filters) {
+            result = result == null ? filter.clone() : RoaringBitmap.and(result, filter);
+        }
+        return result != null ? result : all;
+    }
+
+    private Map<String, Long> counts(String facet, RoaringBitmap filter, Set<String> selected, int maxValues) {
+        List<String> fixed = fixedValues.get(facet);
+        if (fixed != null) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (String value : fixed) {
+                RoaringBitmap bitmap = bitmaps.get(facet).get(value);
+                counts.put(value, bitmap != null ? RoaringBitmap.andCardinality(bitmap, filter) : 0L);
+            }
+            return counts;
+        }
+        List<Map.Entry<String, Long>> counts = new ArrayList<>();
+        bitmaps.get(facet).forEach((value, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(bitmap, filter);
+            if (count > 0 || selected.contains(value)) {
+                counts.add(Map.entry(value, count));
+            }
+        });
+        counts.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> count : counts) {
+            if (top.size() < maxValues || selected.contains(count.getKey())) {
+                top.put(count.getKey(), count.getValue());
+            }
+        }
+        return top;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return valuesOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Nombre de bitmaps et octets occupés une fois sérialisés (ordre de grandeur de la mémoire). */
+    long[] footprint() {
+        lock.readLock().lock();
+        try {
+            long count = 0;
+            long bytes = all.serializedSizeInBytes();
+            for (Map<String, RoaringBitmap> values : bitmaps.values()) {
+                for (RoaringBitmap bitmap : values.values()) {
+                    count++;
+                    bytes += bitmap.serializedSizeInBytes();
+                }
+            }
+            return new long[]{count, bytes};
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
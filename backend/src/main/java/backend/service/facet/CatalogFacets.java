@@ -0,0 +1,329 @@
+package backend.service.facet;
+
+import backend.dto.ActivitySummary;
+import backend.dto.CircuitSummary;
+import backend.dto.FacetRow;
+import backend.entities.Status;
+import backend.exception.InvalidRequestException;
+import backend.exception.ServiceUnavailableException;
+import backend.repositories.ActivityRepository;
+import backend.repositories.CircuitRepository;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.IncrementalIndex;
+import backend.service.PageQuery;
+import backend.service.readmodel.CatalogReadModel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Filtrage à facettes des activités et des circuits publiés (/api/activities/filter,
+ * /api/circuits/filter) : un {@link BitmapFacetIndex} par collection, filtres et comptes
+ * calculés dans le même appel par ET / OU de bitmaps, sans requête SQL. Seule la page
+ * retenue est ensuite lue dans le modèle de lecture.
+ * <p>
+ * Facettes : lieu, guide, ville du lieu, tranche de prix, tranche de durée (texte libre
+ * converti en minutes par {@link DurationParser}) et note moyenne du lieu arrondie à l'entier
+ * inférieur. Les bitmaps sont tenus à jour par un {@link IncrementalIndex} : un lieu modifié,
+ * fiche ou avis, fait relire ses seules activités (ville, note).
+ */
+@Slf4j
+@Component
+public class CatalogFacets {
+
+    public static final String PLACE = "place";
+    public static final String GUIDE = "guide";
+    public static final String CITY = "city";
+    public static final String PRICE = "price";
+    public static final String DURATION = "duration";
+    public static final String RATING = "rating";
+
+    private static final List<String> RATINGS = List.of("1", "2", "3", "4", "5");
+
+    /** Facettes d'une collection et lecture de leurs valeurs. */
+    private record Part(List<String> facets, IncrementalIndex.Source<FacetRow> source) {
+    }
+
+    private final Map<CatalogCollection, Part> parts = new EnumMap<>(CatalogCollection.class);
+    private final Map<CatalogCollection, BitmapFacetIndex> indexes = new ConcurrentHashMap<>();
+
+    private final ActivityRepository activityRepository;
+    private final CatalogReadModel readModel;
+    private final Bands priceBands;
+    private final Bands durationBands;
+    private final int maxFacetValues;
+    private final IncrementalIndex index;
+
+    private final LongAdder requests = new LongAdder();
+
+    public CatalogFacets(ActivityRepository activityRepository, CircuitRepository circuitRepository,
+                         CatalogReadModel readModel, CatalogVersions versions,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${application.facets.price-bands:100,300,600}") double[] priceBounds,
+                         @Value("${application.facets.duration-bands:60,120,240,480,1440}") double[] durationBounds,
+                         @Value("${application.facets.batch-size:1000}") int batchSize,
+                         @Value("${application.facets.max-values:20}") int maxFacetValues,
+                         @Value("${application.facets.enabled:true}") boolean enabled) {
+        this.activityRepository = activityRepository;
+        this.readModel = readModel;
+        this.priceBands = new Bands(priceBounds);
+        this.durationBands = new Bands(durationBounds);
+        this.maxFacetValues = maxFacetValues;
+
+        Status active = Status.ACTIVE;
+        parts.put(CatalogCollection.ACTIVITIES, new Part(List.of(PLACE, GUIDE, CITY, PRICE, DURATION, RATING),
+                new IncrementalIndex.Source<>((afterId, limit) -> activityRepository.findFacetRows(active, afterId, limit),
+                        ids -> activityRepository.findFacetRowsByIdIn(active, ids), FacetRow::id)));
+        parts.put(CatalogCollection.CIRCUITS, new Part(List.of(GUIDE, PRICE, DURATION),
+                new IncrementalIndex.Source<>((afterId, limit) -> circuitRepository.findFacetRows(active, afterId, limit),
+                        ids -> circuitRepository.findFacetRowsByIdIn(active, ids), FacetRow::id)));
+
+        this.index = new IncrementalIndex("catalog-facets", parts.keySet(), this::rebuild, this::apply,
+                versions, transactionManager, batchSize, enabled);
+    }
+
+    // ==================== Filtrage ====================
+
+    public FacetedPage<ActivitySummary> filterActivities(FacetFilter filter, PageQuery page) {
+        Map<String, Set<String>> selections = selections(filter);
+        selections.put(PLACE, strings(filter.places()));
+        selections.put(CITY, filter.cities());
+        if (filter.minRating() != null) {
+            if (filter.minRating() < 1 || filter.minRating() > 5) {
+                throw new InvalidRequestException("Note minimale entre 1 et 5");
+            }
+            selections.put(RATING, RATINGS.stream()
+                    .filter(rating -> Integer.parseInt(rating) >= filter.minRating())
+                    .collect(Collectors.toSet()));
+        }
+        return filter(CatalogCollection.ACTIVITIES, selections, page, ids -> {
+            List<ActivitySummary> rows = readModel.getActivitySummaries(ids);
+            // Activité dépubliée entre la mise à jour de la base et celle de l'index
+            rows.removeIf(row -> row.status() != Status.ACTIVE);
+            return rows;
+        }, ActivitySummary::id);
+    }
+
+    public FacetedPage<CircuitSummary> filterCircuits(FacetFilter filter, PageQuery page) {
+        return filter(CatalogCollection.CIRCUITS, selections(filter), page, ids -> {
+            List<CircuitSummary> rows = readModel.getCircuitSummaries(ids);
+            rows.removeIf(row -> row.status() != Status.ACTIVE);
+            return rows;
+        }, CircuitSummary::id);
+    }
+
+    /** ETag des filtres (avec celui de la collection), null tant que l'index n'est pas construit. */
+    public String tag() {
+        return index.tag();
+    }
+
+    // Critères communs aux deux collections
+    private Map<String, Set<String>> selections(FacetFilter filter) {
+        Map<String, Set<String>> selections = new HashMap<>();
+        selections.put(GUIDE, strings(filter.guides()));
+        selections.put(PRICE, priceBands.validate(filter.prices(), "prix"));
+        selections.put(DURATION, durationBands.validate(filter.durations(), "durée"));
+        return selections;
+    }
+
+    private <T> FacetedPage<T> filter(CatalogCollection collection, Map<String, Set<String>> selections,
+                                      PageQuery page, Function<List<Long>, List<T>> load, Function<T, Long> idOf) {
+        BitmapFacetIndex facets = indexes.get(collection);
+        if (index.tag() == null || facets == null) {
+            throw new ServiceUnavailableException("Index des filtres en cours de construction");
+        }
+        requests.increment();
+        int limit = page.limit().max();
+        BitmapFacetIndex.Result first = facets.filter(selections, page.afterId(), limit, maxFacetValues);
+        BitmapFacetIndex.Result result = first;
+        List<T> rows = load.apply(result.ids());
+        // Page entière retirée de la base avant de l'être de l'index : le filtre continue au-delà
+        while (rows.isEmpty() && result.hasNext()) {
+            long afterId = result.ids().get(result.ids().size() - 1);
+            result = facets.filter(selections, afterId, limit, maxFacetValues);
+            rows = load.apply(result.ids());
+        }
+        List<T> content = rows;
+        Window<T> window = Window.from(content,
+                i -> ScrollPosition.forward(Map.of("id", idOf.apply(content.get(i)))), result.hasNext());
+        return new FacetedPage<>(window, first.total(), first.facets());
+    }
+
+    private static Set<String> strings(Set<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.toSet());
+    }
+
+    // ==================== Mise à jour ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        index.requestRebuild();
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // Sans id (utilisateur recopié, instantané du modèle de lecture) : aucune valeur de facette ne bouge
+        if (event.id() == null) {
+            return;
+        }
+        if (event.collection() == CatalogCollection.PLACES) {
+            // Fiche (ville) ou avis (note moyenne) : les activités de ce lieu
+            index.mark(CatalogCollection.ACTIVITIES, CatalogCollection.PLACES, event.id());
+        } else if (parts.containsKey(event.collection())) {
+            index.mark(event.collection(), event.collection(), event.id());
+        }
+    }
+
+    private void rebuild(Set<CatalogCollection> collections) {
+        for (CatalogCollection collection : collections) {
+            Part part = parts.get(collection);
+            BitmapFacetIndex built = new BitmapFacetIndex(part.facets(), fixedValues(part.facets()));
+            index.loadAll(part.source(), row -> put(built, part, row));
+            indexes.put(collection, built);
+        }
+    }
+
+    private Map<String, List<String>> fixedValues(List<String> facets) {
+        Map<String, List<String>> fixed = new HashMap<>();
+        fixed.put(PRICE, priceBands.labels());
+        fixed.put(DURATION, durationBands.labels());
+        if (facets.contains(RATING)) {
+            fixed.put(RATING, RATINGS);
+        }
+        return fixed;
+    }
+
+    private void apply(CatalogCollection collection, IncrementalIndex.Changes changes) {
+        Part part = parts.get(collection);
+        BitmapFacetIndex facets = indexes.get(collection);
+        // Absent : supprimé ou pas (plus) publié
+        index.loadByIds(part.source(), changes.of(collection), row -> put(facets, part, row), id -> {
+            if (id <= Integer.MAX_VALUE) {
+                facets.remove(id.intValue());
+            }
+        });
+        Set<Long> places = changes.of(CatalogCollection.PLACES);
+        if (!places.isEmpty()) {
+            index.readOnly(() -> activityRepository.findFacetRowsByPlaceIdIn(Status.ACTIVE, places))
+                    .forEach(row -> put(facets, part, row));
+        }
+    }
+
+    private void put(BitmapFacetIndex facets, Part part, FacetRow row) {
+        if (row.id() > Integer.MAX_VALUE) {
+            // Bitmaps d'entiers 32 bits : un tel id n'est pas filtrable
+            log.warn("Id {} hors de portée de l'index des filtres", row.id());
+            return;
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        if (row.placeId() != null) {
+            values.put(PLACE, row.placeId().toString());
+        }
+        if (row.guideId() != null) {
+            values.put(GUIDE, row.guideId().toString());
+        }
+        if (row.city() != null && !row.city().isBlank()) {
+            values.put(CITY, row.city().strip());
+        }
+        if (row.price() != null) {
+            values.put(PRICE, priceBands.label(row.price().doubleValue()));
+        }
+        Integer minutes = DurationParser.minutes(row.duration());
+        if (minutes != null) {
+            values.put(DURATION, durationBands.label(minutes));
+        }
+        if (row.rating() != null) {
+            values.put(RATING, Integer.toString(Math.max(1, Math.min(5, (int) Math.floor(row.rating())))));
+        }
+        values.keySet().retainAll(part.facets());
+        facets.put(row.id().intValue(), values);
+    }
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("requests", requests.sum());
+        stats.putAll(index.getStatistics());
+        for (CatalogCollection collection : parts.keySet()) {
+            BitmapFacetIndex facets = indexes.get(collection);
+            String name = collection.name().toLowerCase();
+            long[] footprint = facets != null ? facets.footprint() : new long[2];
+            stats.put(name + ".entries", facets != null ? (long) facets.size() : 0L);
+            stats.put(name + ".bitmaps", footprint[0]);
+            stats.put(name + ".bytes", footprint[1]);
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        index.shutdown();
+    }
+
+    /**
+     * Tranches [borne, borne suivante) ; la dernière est ouverte ("600+"). Les libellés sont aussi
+     * ceux des tranches de prix de la recherche unifiée : une valeur reçue de l'une vaut pour l'autre.
+     */
+    public static final class Bands {
+
+        private final double[] bounds;
+        private final List<String> labels = new ArrayList<>();
+
+        public Bands(double[] bounds) {
+            this.bounds = bounds.clone();
+            double low = 0.0;
+            for (double bound : bounds) {
+                labels.add(format(low) + "-" + format(bound));
+                low = bound;
+            }
+            labels.add(format(low) + "+");
+        }
+
+        String label(double value) {
+            int band = 0;
+            while (band < bounds.length && value >= bounds[band]) {
+                band++;
+            }
+            return labels.get(band);
+        }
+
+        public List<String> labels() {
+            return labels;
+        }
+
+        Set<String> validate(Set<String> selected, String facet) {
+            for (String value : selected) {
+                if (!labels.contains(value)) {
+                    throw new InvalidRequestException("Tranche de " + facet + " inconnue : " + value
+                            + " (valeurs possibles : " + String.join(", ", labels) + ")");
+                }
+            }
+            return selected;
+        }
+
+        /** Borne affichée : entière sans décimales ("600"), sinon en notation simple ("12.5"). */
+        public static String format(double bound) {
+            return bound == Math.rint(bound) ? Long.toString((long) bound) : BigDecimal.valueOf(bound).toPlainString();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package backend.service.facet;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Durée saisie librement par les guides ("1h30", "2 heures", "45 min", "2-3h", "3 jours / 2 nuits",
+ * "demi-journée") ramenée à un nombre de minutes, pour les tranches de la facette durée.
+ * Un jour compte 24 h (circuits de plusieurs jours) ; une journée d'activité compte 8 h.
+ * Texte sans durée reconnaissable : null, l'élément n'a alors pas de tranche.
+ */
+final class DurationParser {
+
+    private static final int DAY = 24 * 60;
+    private static final int WORKING_DAY = 8 * 60;
+
+    // Nombre, unité facultative ; "1h30" donne (1, h) puis (30, sans unité)
+    private static final Pattern COMPONENT = Pattern.compile(
+            "(\\d+(?:\\.\\d+)?)\\s*(jours?|j|days?|d|heures?|hours?|hrs?|h|minutes?|mins?|mn|m)?");
+    // "2-3h", "2 à 3 heures", "2 to 3 hours" : plage
+    private static final Pattern RANGE_SEPARATOR = Pattern.compile("\\s*(-|a|to|ou|/)\\s*");
+
+    private DurationParser() {
+    }
+
+    static Integer minutes(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replace(',', '.');
+        if (normalized.contains("demi-journee") || normalized.contains("demi journee")
+                || normalized.contains("half day") || normalized.contains("half-day")) {
+            return WORKING_DAY / 2;
+        }
+
+        Matcher matcher = COMPONENT.matcher(normalized);
+        double days = 0;
+        double minutes = 0;
+        boolean found = false;
+        String lastUnit = null;
+        Double pending = null;
+        int previousEnd = 0;
+        while (matcher.find()) {
+            double value = Double.parseDouble(matcher.group(1));
+            String unit = matcher.group(2);
+            if (unit == null) {
+                if ("h".equals(lastUnit) && matcher.start() == previousEnd) {
+                    // Minutes collées aux heures ("1h30")
+                    minutes += value;
+                    found = true;
+                } else {
+                    pending = value;
+                }
+            } else {
+                String kind = kind(unit);
+                if (pending != null && RANGE_SEPARATOR.matcher(
+                        normalized.substring(previousEnd, matcher.start())).matches()) {
+                    // Plage : son milieu
+                    value = (pending + value) / 2;
+                }
+                pending = null;
+                switch (kind) {
+                    case "d" -> {
+                        // "3 jours / 2 nuits" : seuls les jours comptent, la première mention suffit
+                        if (days == 0) {
+                            days = value;
+                        }
+                    }
+                    case "h" -> minutes += value * 60;
+                    default -> minutes += value;
+                }
+                lastUnit = kind;
+                found = true;
+            }
+            previousEnd = matcher.end();
+        }
+        if (!found) {
+            // "journée", "full day" sans nombre
+            return normalized.contains("journee") || normalized.contains("full day") ? WORKING_DAY : null;
+        }
+        return (int) Math.round(days > 0 ? days * DAY : minutes);
+    }
+
+    private static String kind(String unit) {
+        return switch (unit.charAt(0)) {
+            case 'j', 'd' -> "d";
+            case 'h' -> "h";
+            default -> "m";
+        };
+    }
+}
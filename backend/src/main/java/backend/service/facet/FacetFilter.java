@@ -0,0 +1,21 @@
+package backend.service.facet;
+
+import java.util.Set;
+
+/**
+ * Critères d'un filtrage à facettes. Dans un même critère les valeurs sont alternatives
+ * (lieu 1 ou lieu 2), les critères se cumulent ; un critère vide ne filtre pas.
+ * Prix et durée sont des libellés de tranche ("100-300", "600+"), tels que renvoyés
+ * dans les comptes de facettes.
+ */
+public record FacetFilter(Set<Long> places, Set<Long> guides, Set<String> cities, Set<String> prices,
+                          Set<String> durations, Integer minRating) {
+
+    public FacetFilter {
+        places = places != null ? Set.copyOf(places) : Set.of();
+        guides = guides != null ? Set.copyOf(guides) : Set.of();
+        cities = cities != null ? Set.copyOf(cities) : Set.of();
+        prices = prices != null ? Set.copyOf(prices) : Set.of();
+        durations = durations != null ? Set.copyOf(durations) : Set.of();
+    }
+}
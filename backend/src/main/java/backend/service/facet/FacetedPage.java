@@ -0,0 +1,9 @@
+package backend.service.facet;
+
+import org.springframework.data.domain.Window;
+
+import java.util.Map;
+
+/** Page filtrée (curseur par id), nombre total d'éléments retenus et comptes par facette. */
+public record FacetedPage<T>(Window<T> window, long total, Map<String, Map<String, Long>> facets) {
+}
@@ -0,0 +1,330 @@
+package backend.service.geo;
+
+import backend.dto.PlaceCluster;
+import backend.dto.PlacePoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hiérarchie de regroupement des points pour la carte, à la manière de Supercluster : un niveau
+ * par zoom, du plus détaillé ({@code maxZoom + 1} : les points eux-mêmes) au plus large
+ * ({@code minZoom}). Chaque niveau regroupe ceux du niveau au-dessous situés à moins de
+ * {@code radius} pixels (tuiles de {@code extent} pixels) d'un élément pris comme germe, dans
+ * l'ordre des ids, au barycentre pondéré par le nombre de points (projection Web Mercator).
+ * <p>
+ * Chaque niveau range ses groupes par tuile de son zoom, avec une empreinte du contenu de
+ * chaque tuile : deux hiérarchies successives permettent ainsi de savoir quelles tuiles ont
+ * changé. Une hiérarchie est immuable ; elle est reconstruite en entier quand des points
+ * bougent (le regroupement glouton ne se met pas à jour localement).
+ */
+final class ClusterHierarchy {
+
+    /** Tuile (zoom, colonne, ligne) du découpage Web Mercator. */
+    record TileKey(int zoom, int x, int y) {
+    }
+
+    private static final class Level {
+
+        final double[] x;
+        final double[] y;
+        final int[] count;
+        final long[][] representatives;
+        // Niveau des points seulement : id de chaque point, par id croissant
+        final long[] ids;
+        // Groupes par tuile, et empreinte du contenu de chaque tuile (par case de la table)
+        final CellTable tiles;
+        final long[] fingerprints;
+
+        Level(int zoom, double[] x, double[] y, int[] count, long[][] representatives, long[] ids) {
+            this.ids = ids;
+            this.x = x;
+            this.y = y;
+            this.count = count;
+            this.representatives = representatives;
+            int side = 1 << zoom;
+            this.tiles = new CellTable(x.length);
+            for (int i = x.length - 1; i >= 0; i--) {
+                tiles.add(tileKey(cell(x[i], side), cell(y[i], side)), i);
+            }
+            this.fingerprints = new long[tiles.capacity()];
+            for (int slot = 0; slot < fingerprints.length; slot++) {
+                if (tiles.head(slot) < 0) {
+                    continue;
+                }
+                long fingerprint = 1L;
+                for (int i = tiles.head(slot); i >= 0; i = tiles.next[i]) {
+                    fingerprint = fingerprint * 1_000_003L + Double.doubleToLongBits(x[i]);
+                    fingerprint = fingerprint * 1_000_003L + Double.doubleToLongBits(y[i]);
+                    fingerprint = fingerprint * 1_000_003L + count[i];
+                    fingerprint = fingerprint * 1_000_003L + Arrays.hashCode(representatives[i]);
+                }
+                // 0 est réservé aux tuiles vides
+                fingerprints[slot] = fingerprint != 0L ? fingerprint : 1L;
+            }
+        }
+
+        int size() {
+            return x.length;
+        }
+    }
+
+    private final int minZoom;
+    private final int maxZoom;
+    private final Level[] levels;
+
+    /**
+     * {@code points} : par id croissant, coordonnées valides. {@code keep} : nombre d'ids gardés
+     * par groupe, les plus proches de son centre.
+     */
+    ClusterHierarchy(List<PlacePoint> points, int minZoom, int maxZoom, double radius, double extent, int keep) {
+        this.minZoom = minZoom;
+        this.maxZoom = maxZoom;
+        this.levels = new Level[maxZoom + 2];
+
+        int n = points.size();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        int[] count = new int[n];
+        long[][] representatives = new long[n][];
+        long[] ids = new long[n];
+        for (int i = 0; i < n; i++) {
+            PlacePoint point = points.get(i);
+            x[i] = mercatorX(point.longitude());
+            y[i] = mercatorY(point.latitude());
+            count[i] = 1;
+            ids[i] = point.id();
+            representatives[i] = new long[]{point.id()};
+        }
+        Level leaves = new Level(maxZoom + 1, x, y, count, representatives, ids);
+        levels[maxZoom + 1] = leaves;
+        Level level = leaves;
+        for (int zoom = maxZoom; zoom >= minZoom; zoom--) {
+            level = merge(level, leaves, zoom, radius / (extent * (1L << zoom)), keep);
+            levels[zoom] = level;
+        }
+    }
+
+    private static Level merge(Level below, Level leaves, int zoom, double radius, int keep) {
+        int n = below.size();
+        // Grille de pas égal au rayon : les voisins d'un germe sont dans les 3 x 3 cellules autour de la sienne
+        CellTable grid = new CellTable(n);
+        for (int i = n - 1; i >= 0; i--) {
+            grid.add(tileKey((int) Math.floor(below.x[i] / radius), (int) Math.floor(below.y[i] / radius)), i);
+        }
+        double radiusSquared = radius * radius;
+        boolean[] merged = new boolean[n];
+        double[] x = new double[n];
+        double[] y = new double[n];
+        int[] count = new int[n];
+        long[][] representatives = new long[n][];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            if (merged[i]) {
+                continue;
+            }
+            merged[i] = true;
+            double sumX = below.x[i] * below.count[i];
+            double sumY = below.y[i] * below.count[i];
+            int total = below.count[i];
+            List<long[]> candidates = null;
+            int cx = (int) Math.floor(below.x[i] / radius);
+            int cy = (int) Math.floor(below.y[i] / radius);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int j = grid.head(grid.slot(tileKey(cx + dx, cy + dy))); j >= 0; j = grid.next[j]) {
+                        double ddx = below.x[j] - below.x[i];
+                        double ddy = below.y[j] - below.y[i];
+                        if (merged[j] || ddx * ddx + ddy * ddy > radiusSquared) {
+                            continue;
+                        }
+                        merged[j] = true;
+                        sumX += below.x[j] * below.count[j];
+                        sumY += below.y[j] * below.count[j];
+                        total += below.count[j];
+                        if (candidates == null) {
+                            candidates = new ArrayList<>();
+                            candidates.add(below.representatives[i]);
+                        }
+                        candidates.add(below.representatives[j]);
+                    }
+                }
+            }
+            if (candidates == null) {
+                // Isolé à ce zoom : repris tel quel
+                x[size] = below.x[i];
+                y[size] = below.y[i];
+                count[size] = below.count[i];
+                representatives[size] = below.representatives[i];
+            } else {
+                x[size] = sumX / total;
+                y[size] = sumY / total;
+                count[size] = total;
+                representatives[size] = closest(candidates, leaves, x[size], y[size], keep);
+            }
+            size++;
+        }
+        return new Level(zoom, Arrays.copyOf(x, size), Arrays.copyOf(y, size), Arrays.copyOf(count, size),
+                Arrays.copyOf(representatives, size), null);
+    }
+
+    // Ids les plus proches du nouveau centre parmi ceux des éléments regroupés, du plus proche au plus lointain
+    private static long[] closest(List<long[]> candidates, Level leaves, double x, double y, int keep) {
+        int total = 0;
+        for (long[] ids : candidates) {
+            total += ids.length;
+        }
+        long[] ids = new long[total];
+        double[] distances = new double[total];
+        int n = 0;
+        for (long[] group : candidates) {
+            for (long id : group) {
+                // Feuilles par id croissant
+                int leaf = Arrays.binarySearch(leaves.ids, id);
+                double dx = leaves.x[leaf] - x;
+                double dy = leaves.y[leaf] - y;
+                ids[n] = id;
+                distances[n] = dx * dx + dy * dy;
+                n++;
+            }
+        }
+        int size = Math.min(keep, total);
+        long[] kept = new long[size];
+        // Sélection des plus proches : peu de représentants, quelques dizaines de candidats au plus
+        for (int k = 0; k < size; k++) {
+            int best = k;
+            for (int m = k + 1; m < total; m++) {
+                if (distances[m] < distances[best] || (distances[m] == distances[best] && ids[m] < ids[best])) {
+                    best = m;
+                }
+            }
+            double distance = distances[k];
+            distances[k] = distances[best];
+            distances[best] = distance;
+            long id = ids[k];
+            ids[k] = ids[best];
+            ids[best] = id;
+            kept[k] = ids[k];
+        }
+        return kept;
+    }
+
+    /** Groupes d'une tuile, au zoom demandé ramené à la plage de la hiérarchie. */
+    List<PlaceCluster> tile(TileKey key) {
+        Level level = levels[key.zoom()];
+        List<PlaceCluster> clusters = new ArrayList<>();
+        for (int i = level.tiles.head(level.tiles.slot(tileKey(key.x(), key.y()))); i >= 0; i = level.tiles.next[i]) {
+            List<Long> ids = new ArrayList<>(level.representatives[i].length);
+            for (long id : level.representatives[i]) {
+                ids.add(id);
+            }
+            clusters.add(new PlaceCluster(latitude(level.y[i]), longitude(level.x[i]), level.count[i], ids));
+        }
+        return clusters;
+    }
+
+    /** Empreinte du contenu de la tuile (0 : tuile vide). */
+    long fingerprint(TileKey key) {
+        if (key.zoom() < minZoom || key.zoom() > maxZoom + 1) {
+            return 0L;
+        }
+        Level level = levels[key.zoom()];
+        return level.fingerprints[level.tiles.slot(tileKey(key.x(), key.y()))];
+    }
+
+    /** Zoom demandé ramené à la plage de la hiérarchie (au-delà du plus détaillé : les points). */
+    int level(int zoom) {
+        return Math.max(minZoom, Math.min(maxZoom + 1, zoom));
+    }
+
+    int points() {
+        return levels[maxZoom + 1].size();
+    }
+
+    /** Nombre total de groupes, tous niveaux confondus. */
+    long clusters() {
+        long total = 0;
+        for (int zoom = minZoom; zoom <= maxZoom; zoom++) {
+            total += levels[zoom].size();
+        }
+        return total;
+    }
+
+    static double mercatorX(double longitude) {
+        return longitude / 360.0 + 0.5;
+    }
+
+    static double mercatorY(double latitude) {
+        double sin = Math.sin(Math.toRadians(latitude));
+        double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+        return y < 0 ? 0 : Math.min(1, y);
+    }
+
+    private static double longitude(double x) {
+        return (x - 0.5) * 360.0;
+    }
+
+    private static double latitude(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+    }
+
+    static int cell(double coordinate, int side) {
+        return Math.max(0, Math.min(side - 1, (int) Math.floor(coordinate * side)));
+    }
+
+    // Mélange bijectif (finaliseur de MurmurHash3) : sans lui, Long.hashCode (x ^ y) ferait
+    // collisionner des diagonales entières de cellules dans la table de hachage
+    private static long tileKey(int x, int y) {
+        long key = ((long) x << 32) | (y & 0xffffffffL);
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return key ^ (key >>> 33);
+    }
+
+    /**
+     * Table de hachage ouverte clé de cellule -> premier élément de la cellule, les suivants
+     * chaînés par {@code next} : ni objet par cellule ni clé encapsulée. Éléments ajoutés du
+     * dernier au premier pour être parcourus dans l'ordre croissant.
+     */
+    private static final class CellTable {
+
+        final int[] next;
+        private final long[] keys;
+        private final int[] heads;
+        private final int mask;
+
+        CellTable(int elements) {
+            int capacity = Integer.highestOneBit(Math.max(2, elements) * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            this.heads = new int[capacity];
+            this.mask = capacity - 1;
+            this.next = new int[elements];
+            Arrays.fill(heads, -1);
+        }
+
+        void add(long key, int element) {
+            int slot = slot(key);
+            keys[slot] = key;
+            next[element] = heads[slot];
+            heads[slot] = element;
+        }
+
+        /** Case de la clé, ou case libre où elle irait (tête -1). */
+        int slot(long key) {
+            int slot = (int) key & mask;
+            while (heads[slot] >= 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        int head(int slot) {
+            return heads[slot];
+        }
+
+        int capacity() {
+            return heads.length;
+        }
+    }
+}
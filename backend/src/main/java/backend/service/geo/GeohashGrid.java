@@ -0,0 +1,388 @@
+package backend.service.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index spatial en mémoire : une grille de cellules geohash de précision fixe (clé d'une cellule
+ * = bits de son geohash, longitude et latitude entrelacées), chaque cellule gardant ses points en
+ * tableaux parallèles (radians et cosinus de la latitude précalculés).
+ * <p>
+ * Les plus proches voisins sont cherchés par anneaux de cellules autour de celle du point de
+ * requête, du plus proche au plus lointain, jusqu'à ce que la distance minimale aux cellules non
+ * encore visitées dépasse celle du k-ième voisin trouvé ; chaque candidat est départagé par la
+ * distance exacte de grand cercle (haversine). Les comparaisons se font sur le terme
+ * intermédiaire de l'haversine, croissant avec la distance, converti en mètres à la fin seulement.
+ * <p>
+ * Ajout et retrait ne touchent qu'une cellule ; lectures et écritures sont protégées par un
+ * verrou lecture/écriture.
+ */
+final class GeohashGrid {
+
+    /** Rayon moyen de la Terre, en mètres. */
+    static final double EARTH_RADIUS = 6_371_008.8;
+
+    /** Point trouvé et sa distance en mètres. */
+    record Hit(long id, double distance) {
+    }
+
+    /** Ids d'une page, par id croissant, et présence d'une page suivante. */
+    record Page(List<Long> ids, boolean hasNext) {
+    }
+
+    private record Candidate(long id, double haversine) {
+    }
+
+    private static final class Cell {
+
+        final int x;
+        final int y;
+        long[] ids = new long[4];
+        double[] latitudes = new double[4];
+        double[] longitudes = new double[4];
+        double[] cosLatitudes = new double[4];
+        int size;
+
+        Cell(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        void add(long id, double latitude, double longitude) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+                cosLatitudes = Arrays.copyOf(cosLatitudes, capacity);
+            }
+            ids[size] = id;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            cosLatitudes[size] = Math.cos(latitude);
+            size++;
+        }
+
+        // Le dernier point prend la place du point retiré
+        void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    latitudes[i] = latitudes[size];
+                    longitudes[i] = longitudes[size];
+                    cosLatitudes[i] = cosLatitudes[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final int lonBits;
+    private final int latBits;
+    private final int columns;
+    private final int rows;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Long, Long> cellOf = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** {@code precision} : nombre de caractères du geohash des cellules (5 : environ 4,9 x 4,9 km). */
+    GeohashGrid(int precision) {
+        if (precision < 1 || precision > 12) {
+            throw new IllegalArgumentException("Précision geohash entre 1 et 12 : " + precision);
+        }
+        int bits = precision * 5;
+        this.lonBits = (bits + 1) / 2;
+        this.latBits = bits / 2;
+        this.columns = 1 << lonBits;
+        this.rows = 1 << latBits;
+        this.cellWidth = 360.0 / columns;
+        this.cellHeight = 180.0 / rows;
+    }
+
+    static boolean isValid(double latitude, double longitude) {
+        return latitude >= -90.0 && latitude <= 90.0 && longitude >= -180.0 && longitude <= 180.0;
+    }
+
+    /** Ajoute ou déplace le point (coordonnées en degrés, valides). */
+    void put(long id, double latitude, double longitude) {
+        int x = column(longitude);
+        int y = row(latitude);
+        long key = key(x, y);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            cells.computeIfAbsent(key, k -> new Cell(x, y))
+                    .add(id, Math.toRadians(latitude), Math.toRadians(longitude));
+            cellOf.put(id, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Long key = cellOf.remove(id);
+        if (key == null) {
+            return;
+        }
+        Cell cell = cells.get(key);
+        cell.remove(id);
+        if (cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    /** Au plus {@code limit} points à moins de {@code radius} mètres, du plus proche au plus lointain. */
+    List<Hit> nearest(double latitude, double longitude, double radius, int limit) {
+        double latitudeRad = Math.toRadians(latitude);
+        double longitudeRad = Math.toRadians(longitude);
+        double cosLatitude = Math.cos(latitudeRad);
+        double angle = Math.min(radius / EARTH_RADIUS, Math.PI);
+        double maxHaversine = haversineOf(angle);
+        int cx = column(longitude);
+        int cy = row(latitude);
+
+        // Cellules pouvant contenir un point du disque : au-delà, inutile de chercher
+        double angleDeg = Math.toDegrees(angle);
+        int half = columns / 2;
+        int maxDy = (int) Math.ceil(angleDeg / cellHeight) + 1;
+        int maxDx;
+        if (Math.abs(latitude) + angleDeg >= 90.0) {
+            // Le disque contient un pôle : toutes les longitudes
+            maxDx = half;
+        } else {
+            double spread = Math.toDegrees(Math.asin(Math.min(1.0, Math.sin(angle) / cosLatitude)));
+            maxDx = Math.min(half, (int) Math.ceil(spread / cellWidth) + 1);
+        }
+        // Côté ouest : une colonne de moins quand la grille fait le tour complet, pour ne pas la voir deux fois
+        int maxWest = Math.min(maxDx, half - 1);
+
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Candidate::haversine).reversed());
+        lock.readLock().lock();
+        try {
+            for (int ring = 0; ring <= Math.max(maxDx, maxDy); ring++) {
+                int dyLimit = Math.min(ring, maxDy);
+                for (int dy = -dyLimit; dy <= dyLimit; dy++) {
+                    int y = cy + dy;
+                    if (y < 0 || y >= rows) {
+                        continue;
+                    }
+                    if (Math.abs(dy) == ring) {
+                        for (int dx = -Math.min(ring, maxWest); dx <= Math.min(ring, maxDx); dx++) {
+                            scan(cx + dx, y, latitudeRad, longitudeRad, cosLatitude, maxHaversine, limit, best);
+                        }
+                    } else {
+                        if (ring <= maxWest) {
+                            scan(cx - ring, y, latitudeRad, longitudeRad, cosLatitude, maxHaversine, limit, best);
+                        }
+                        if (ring <= maxDx) {
+                            scan(cx + ring, y, latitudeRad, longitudeRad, cosLatitude, maxHaversine, limit, best);
+                        }
+                    }
+                }
+                if (best.size() == limit && best.peek().haversine() <= unvisitedBound(ring, cx, cy, latitude,
+                        longitude, cosLatitude, ring < maxWest, ring < maxDx, ring < maxDy)) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Candidate candidate = best.poll();
+            hits.add(new Hit(candidate.id(), 2 * EARTH_RADIUS * Math.asin(Math.sqrt(candidate.haversine()))));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private void scan(int x, int y, double latitude, double longitude, double cosLatitude, double maxHaversine,
+                      int limit, PriorityQueue<Candidate> best) {
+        Cell cell = cells.get(key(Math.floorMod(x, columns), y));
+        if (cell == null) {
+            return;
+        }
+        for (int i = 0; i < cell.size; i++) {
+            double sinLat = Math.sin((cell.latitudes[i] - latitude) / 2);
+            double sinLon = Math.sin((cell.longitudes[i] - longitude) / 2);
+            double haversine = Math.min(1.0, sinLat * sinLat + cosLatitude * cell.cosLatitudes[i] * sinLon * sinLon);
+            if (haversine > maxHaversine) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Candidate(cell.ids[i], haversine));
+            } else if (haversine < best.peek().haversine()) {
+                best.poll();
+                best.add(new Candidate(cell.ids[i], haversine));
+            }
+        }
+    }
+
+    /**
+     * Minorant (terme de l'haversine) de la distance du point de requête aux points des cellules
+     * pas encore visitées après l'anneau {@code ring} : distance aux bords du carré déjà couvert.
+     * Au nord et au sud, la distance le long du méridien ; à l'est et à l'ouest, la distance au
+     * grand cercle du méridien de bord. Un côté entièrement couvert ne compte plus.
+     */
+    private double unvisitedBound(int ring, int cx, int cy, double latitude, double longitude,
+                                  double cosLatitude, boolean westPending, boolean eastPending, boolean latitudePending) {
+        double bound = Double.POSITIVE_INFINITY;
+        if (latitudePending) {
+            double south = (cy - ring) * cellHeight - 90.0;
+            double north = (cy + ring + 1) * cellHeight - 90.0;
+            if (south > -90.0) {
+                bound = Math.min(bound, Math.toRadians(latitude - south));
+            }
+            if (north < 90.0) {
+                bound = Math.min(bound, Math.toRadians(north - latitude));
+            }
+        }
+        if (westPending) {
+            bound = Math.min(bound, meridianAngle(cosLatitude, longitude - ((cx - ring) * cellWidth - 180.0)));
+        }
+        if (eastPending) {
+            bound = Math.min(bound, meridianAngle(cosLatitude, (cx + ring + 1) * cellWidth - 180.0 - longitude));
+        }
+        return bound == Double.POSITIVE_INFINITY ? 1.0 : haversineOf(Math.max(0.0, bound));
+    }
+
+    private static double meridianAngle(double cosLatitude, double deltaDegrees) {
+        if (deltaDegrees >= 90.0) {
+            return 0.0;
+        }
+        return Math.asin(Math.min(1.0, cosLatitude * Math.sin(Math.toRadians(deltaDegrees))));
+    }
+
+    private static double haversineOf(double angle) {
+        double sin = Math.sin(angle / 2);
+        return sin * sin;
+    }
+
+    /**
+     * Points du rectangle (degrés ; {@code minLongitude > maxLongitude} : rectangle à cheval sur
+     * l'antiméridien), par id croissant après {@code afterId}, au plus {@code limit}.
+     */
+    Page within(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                long afterId, int limit) {
+        boolean wraps = minLongitude > maxLongitude;
+        double south = Math.toRadians(minLatitude);
+        double north = Math.toRadians(maxLatitude);
+        double west = Math.toRadians(minLongitude);
+        double east = Math.toRadians(maxLongitude);
+        int y0 = row(minLatitude);
+        int y1 = row(maxLatitude);
+        int x0 = column(minLongitude);
+        int x1 = column(maxLongitude);
+        int width = wraps ? Math.min(columns, columns - x0 + x1 + 1) : x1 - x0 + 1;
+
+        // Plus petits ids retenus (limit + 1 pour savoir s'il reste une page)
+        PriorityQueue<Long> kept = new PriorityQueue<>(limit + 2, Comparator.reverseOrder());
+        lock.readLock().lock();
+        try {
+            if ((long) width * (y1 - y0 + 1) <= cells.size()) {
+                for (int y = y0; y <= y1; y++) {
+                    for (int i = 0; i < width; i++) {
+                        Cell cell = cells.get(key((x0 + i) % columns, y));
+                        if (cell != null) {
+                            collect(cell, south, north, west, east, wraps, afterId, limit, kept);
+                        }
+                    }
+                }
+            } else {
+                // Rectangle plus grand que la partie occupée de la grille : parcours des seules cellules non vides
+                for (Cell cell : cells.values()) {
+                    boolean column = wraps ? cell.x >= x0 || cell.x <= x1 : cell.x >= x0 && cell.x <= x1;
+                    if (column && cell.y >= y0 && cell.y <= y1) {
+                        collect(cell, south, north, west, east, wraps, afterId, limit, kept);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ids = new ArrayList<>(kept);
+        ids.sort(null);
+        boolean hasNext = ids.size() > limit;
+        return new Page(hasNext ? ids.subList(0, limit) : ids, hasNext);
+    }
+
+    private static void collect(Cell cell, double south, double north, double west, double east, boolean wraps,
+                                long afterId, int limit, PriorityQueue<Long> kept) {
+        for (int i = 0; i < cell.size; i++) {
+            double latitude = cell.latitudes[i];
+            double longitude = cell.longitudes[i];
+            boolean inside = latitude >= south && latitude <= north
+                    && (wraps ? longitude >= west || longitude <= east : longitude >= west && longitude <= east);
+            long id = cell.ids[i];
+            if (!inside || id <= afterId) {
+                continue;
+            }
+            if (kept.size() <= limit) {
+                kept.add(id);
+            } else if (id < kept.peek()) {
+                kept.poll();
+                kept.add(id);
+            }
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return cellOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int cellCount() {
+        lock.readLock().lock();
+        try {
+            return cells.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int column(double longitude) {
+        return Math.min(columns - 1, (int) Math.floor((longitude + 180.0) / cellWidth));
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, (int) Math.floor((latitude + 90.0) / cellHeight));
+    }
+
+    // Bits du geohash de la cellule : longitude d'abord, puis alternance avec la latitude
+    private long key(int x, int y) {
+        long key = 0L;
+        for (int bit = lonBits - 1; bit >= 0; bit--) {
+            key = (key << 1) | ((x >>> bit) & 1);
+            if (bit < latBits) {
+                key = (key << 1) | ((y >>> bit) & 1);
+            }
+        }
+        return key;
+    }
+}
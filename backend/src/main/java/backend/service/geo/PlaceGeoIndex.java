@@ -0,0 +1,218 @@
+package backend.service.geo;
+
+import backend.dto.NearbyPlace;
+import backend.dto.PlacePoint;
+import backend.dto.PlaceSummary;
+import backend.entities.Status;
+import backend.exception.InvalidRequestException;
+import backend.exception.ServiceUnavailableException;
+import backend.repositories.PlaceRepository;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.IncrementalIndex;
+import backend.service.PageQuery;
+import backend.service.readmodel.CatalogReadModel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recherche géographique des lieux publiés (/api/places/nearby, /api/places/bbox) : un
+ * {@link GeohashGrid} sur leurs coordonnées, sans requête SQL ; seuls les lieux retenus sont
+ * ensuite lus dans le modèle de lecture.
+ * <p>
+ * La grille est tenue à jour lieu par lieu par un {@link IncrementalIndex}. Les événements sans
+ * id (utilisateur recopié, instantané du modèle de lecture) ne déplacent aucun lieu et sont ignorés.
+ */
+@Slf4j
+@Component
+public class PlaceGeoIndex {
+
+    private final CatalogReadModel readModel;
+    private final IncrementalIndex.Source<PlacePoint> points;
+    private final int precision;
+    private final double defaultRadius;
+    private final double maxRadius;
+    private final int defaultResults;
+    private final int maxResults;
+    private final IncrementalIndex index;
+
+    private volatile GeohashGrid grid;
+
+    private final LongAdder requests = new LongAdder();
+
+    public PlaceGeoIndex(PlaceRepository placeRepository, CatalogReadModel readModel, CatalogVersions versions,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${application.geo.precision:5}") int precision,
+                         @Value("${application.geo.batch-size:1000}") int batchSize,
+                         @Value("${application.geo.default-radius:5000}") double defaultRadius,
+                         @Value("${application.geo.max-radius:100000}") double maxRadius,
+                         @Value("${application.geo.default-results:20}") int defaultResults,
+                         @Value("${application.geo.max-results:100}") int maxResults,
+                         @Value("${application.geo.enabled:true}") boolean enabled) {
+        this.readModel = readModel;
+        this.precision = precision;
+        this.defaultRadius = defaultRadius;
+        this.maxRadius = maxRadius;
+        this.defaultResults = defaultResults;
+        this.maxResults = maxResults;
+        // Précision invalide : refusée dès le démarrage
+        new GeohashGrid(precision);
+
+        Status active = Status.ACTIVE;
+        this.points = new IncrementalIndex.Source<>(
+                (afterId, limit) -> placeRepository.findPoints(active, afterId, limit),
+                ids -> placeRepository.findPointsByIdIn(active, ids), PlacePoint::id);
+        this.index = new IncrementalIndex("place-geo-index", Set.of(CatalogCollection.PLACES),
+                parts -> rebuild(), (part, changes) -> apply(changes.of(CatalogCollection.PLACES)),
+                versions, transactionManager, batchSize, enabled);
+    }
+
+    // ==================== Recherche ====================
+
+    /**
+     * Lieux publiés les plus proches du point, à moins de {@code radius} mètres (défaut et
+     * maximum configurables), du plus proche au plus lointain.
+     */
+    public List<NearbyPlace> nearby(Double latitude, Double longitude, Double radius, Integer limit) {
+        checkPoint(latitude, longitude);
+        double distance = radius != null ? radius : defaultRadius;
+        if (!(distance > 0) || distance > maxRadius) {
+            throw new InvalidRequestException("Rayon entre 0 et " + (long) maxRadius + " mètres");
+        }
+        int size = limit != null ? Math.max(1, Math.min(limit, maxResults)) : defaultResults;
+        List<GeohashGrid.Hit> hits = grid().nearest(latitude, longitude, distance, size);
+
+        List<Long> ids = hits.stream().map(GeohashGrid.Hit::id).toList();
+        Map<Long, PlaceSummary> summaries = new HashMap<>();
+        for (PlaceSummary summary : readModel.getPlaceSummaries(ids)) {
+            summaries.put(summary.id(), summary);
+        }
+        List<NearbyPlace> places = new ArrayList<>(hits.size());
+        for (GeohashGrid.Hit hit : hits) {
+            PlaceSummary summary = summaries.get(hit.id());
+            // Lieu dépublié ou supprimé entre la mise à jour de la base et celle de l'index
+            if (summary != null && summary.status() == Status.ACTIVE) {
+                places.add(new NearbyPlace(summary, Math.round(hit.distance() * 10) / 10.0));
+            }
+        }
+        return places;
+    }
+
+    /**
+     * Lieux publiés du rectangle, par id croissant (curseur comme les autres listes).
+     * {@code minLongitude > maxLongitude} : rectangle à cheval sur l'antiméridien.
+     */
+    public Window<PlaceSummary> within(Double minLatitude, Double minLongitude, Double maxLatitude,
+                                       Double maxLongitude, PageQuery page) {
+        checkPoint(minLatitude, minLongitude);
+        checkPoint(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude) {
+            throw new InvalidRequestException("minLat doit être inférieure ou égale à maxLat");
+        }
+        GeohashGrid current = grid();
+        int limit = page.limit().max();
+        GeohashGrid.Page found = current.within(minLatitude, minLongitude, maxLatitude, maxLongitude,
+                page.afterId(), limit);
+        List<PlaceSummary> rows = published(found.ids());
+        // Page entière dépubliée avant que la grille ne le sache : le rectangle continue au-delà
+        while (rows.isEmpty() && found.hasNext()) {
+            long afterId = found.ids().get(found.ids().size() - 1);
+            found = current.within(minLatitude, minLongitude, maxLatitude, maxLongitude, afterId, limit);
+            rows = published(found.ids());
+        }
+        List<PlaceSummary> content = rows;
+        return Window.from(content, i -> ScrollPosition.forward(Map.of("id", content.get(i).id())), found.hasNext());
+    }
+
+    private List<PlaceSummary> published(List<Long> ids) {
+        List<PlaceSummary> rows = readModel.getPlaceSummaries(ids);
+        rows.removeIf(row -> row.status() != Status.ACTIVE);
+        return rows;
+    }
+
+    /** ETag des réponses de la carte (avec celui des lieux), null tant que la grille n'est pas construite. */
+    public String tag() {
+        return index.tag();
+    }
+
+    private GeohashGrid grid() {
+        GeohashGrid current = grid;
+        if (index.tag() == null || current == null) {
+            throw new ServiceUnavailableException("Index géographique en cours de construction");
+        }
+        requests.increment();
+        return current;
+    }
+
+    private static void checkPoint(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null || !GeohashGrid.isValid(latitude, longitude)) {
+            throw new InvalidRequestException("Coordonnées invalides (latitude entre -90 et 90, longitude entre -180 et 180)");
+        }
+    }
+
+    // ==================== Mise à jour ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        index.requestRebuild();
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.collection() == CatalogCollection.PLACES && event.id() != null) {
+            index.mark(CatalogCollection.PLACES, CatalogCollection.PLACES, event.id());
+        }
+    }
+
+    private void rebuild() {
+        GeohashGrid built = new GeohashGrid(precision);
+        index.loadAll(points, point -> put(built, point));
+        grid = built;
+    }
+
+    private void apply(Set<Long> ids) {
+        GeohashGrid current = grid;
+        // Absent : supprimé, pas (ou plus) publié, ou coordonnées effacées
+        index.loadByIds(points, ids, point -> put(current, point), current::remove);
+    }
+
+    private static void put(GeohashGrid grid, PlacePoint point) {
+        if (!GeohashGrid.isValid(point.latitude(), point.longitude())) {
+            log.warn("Coordonnées invalides pour le lieu {} : {}, {}", point.id(), point.latitude(), point.longitude());
+            grid.remove(point.id());
+            return;
+        }
+        grid.put(point.id(), point.latitude(), point.longitude());
+    }
+
+    public Map<String, Long> getStatistics() {
+        GeohashGrid current = grid;
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("requests", requests.sum());
+        stats.putAll(index.getStatistics());
+        stats.put("entries", current != null ? (long) current.size() : 0L);
+        stats.put("cells", current != null ? (long) current.cellCount() : 0L);
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        index.shutdown();
+    }
+}
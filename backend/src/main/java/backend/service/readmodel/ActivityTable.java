@@ -0,0 +1,309 @@
+package backend.service.readmodel;
+
+import backend.dto.ActivitySummary;
+import backend.dto.ChangeMark;
+import backend.dto.ActivitySummary.GuideRef;
+import backend.dto.ActivitySummary.PlaceRef;
+import backend.entities.Status;
+import backend.service.PageQuery;
+import org.springframework.data.domain.Window;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Activités du catalogue rangées en colonnes, comme {@link PlaceTable}. Le lieu et le guide
+ * sont des indices dans deux petits dictionnaires (un PlaceRef / GuideRef par lieu ou guide
+ * distinct) ; les activités d'un lieu ou d'un guide sont retrouvées par un index inversé
+ * (positions triées, regroupées par clé) au lieu d'un parcours complet.
+ */
+final class ActivityTable implements CatalogReadModel.Table<ActivitySummary> {
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final List<ChangeMark> watermark;
+    private final LongBuffer ids;
+    private final String[] titles;
+    private final Columns.Decimals prices;
+    private final String[] durations;
+    private final ByteBuffer statuses;
+    private final IntBuffer placeOf;
+    private final IntBuffer guideOf;
+    private final Dictionary<PlaceRef> places;
+    private final Dictionary<GuideRef> guides;
+    private final long estimatedBytes;
+
+    private ActivityTable(List<ChangeMark> watermark, LongBuffer ids, String[] titles, Columns.Decimals prices,
+                          String[] durations, ByteBuffer statuses, IntBuffer placeOf, IntBuffer guideOf,
+                          Dictionary<PlaceRef> places, Dictionary<GuideRef> guides) {
+        this.watermark = watermark;
+        this.ids = ids;
+        this.titles = titles;
+        this.prices = prices;
+        this.durations = durations;
+        this.statuses = statuses;
+        this.placeOf = placeOf;
+        this.guideOf = guideOf;
+        this.places = places;
+        this.guides = guides;
+        places.index(placeOf);
+        guides.index(guideOf);
+        this.estimatedBytes = Columns.heapBytes(ids, 8, 8, 1, 1, 4, 4)
+                + Footprint.arrays(titles.length, 4, 4)
+                + new Footprint().addAll(titles).addAll(durations).bytes()
+                + places.estimatedBytes() + guides.estimatedBytes();
+    }
+
+    /** Construit la table à partir des lignes lues par ordre d'id croissant. */
+    static ActivityTable build(List<ChangeMark> watermark, List<ActivitySummary> rows) {
+        Dictionary<PlaceRef> places = Dictionary.of(rows, ActivitySummary::place, PlaceRef::id);
+        Dictionary<GuideRef> guides = Dictionary.of(rows, ActivitySummary::guide, GuideRef::id);
+        int size = rows.size();
+        String[] titles = new String[size];
+        String[] durations = new String[size];
+        byte[] statuses = new byte[size];
+        int[] placeOf = new int[size];
+        int[] guideOf = new int[size];
+        StringPool pool = new StringPool();
+        for (int i = 0; i < size; i++) {
+            ActivitySummary row = rows.get(i);
+            titles[i] = row.title();
+            durations[i] = pool.intern(row.duration());
+            statuses[i] = (byte) row.status().ordinal();
+            placeOf[i] = row.place() != null ? places.indexOf(row.place().id()) : -1;
+            guideOf[i] = row.guide() != null ? guides.indexOf(row.guide().id()) : -1;
+        }
+        return new ActivityTable(watermark, Columns.ids(rows, ActivitySummary::id), titles,
+                Columns.Decimals.of(rows, ActivitySummary::price), durations, ByteBuffer.wrap(statuses),
+                IntBuffer.wrap(placeOf), IntBuffer.wrap(guideOf), places, guides);
+    }
+
+    /** Relit une table écrite par {@link #writeTo}. */
+    static ActivityTable readFrom(SnapshotFile.Input in) {
+        List<ChangeMark> watermark = in.readMarks();
+        LongBuffer ids = in.readLongs();
+        String[] titles = in.readStrings();
+        Columns.Decimals prices = new Columns.Decimals(in.readLongs(), in.readBytes());
+        String[] durations = in.readStrings();
+        ByteBuffer statuses = in.readBytes();
+        IntBuffer placeOf = in.readInts();
+        IntBuffer guideOf = in.readInts();
+
+        // Dictionnaires (une entrée par lieu ou guide distinct) : recopiés, ils restent petits
+        long[] placeKeys = keys(in.readLongs());
+        PlaceRef[] placeRefs = new PlaceRef[placeKeys.length];
+        for (int k = 0; k < placeKeys.length; k++) {
+            placeRefs[k] = new PlaceRef(placeKeys[k], in.readString(), in.readString());
+        }
+        long[] guideKeys = keys(in.readLongs());
+        GuideRef[] guideRefs = new GuideRef[guideKeys.length];
+        for (int k = 0; k < guideKeys.length; k++) {
+            guideRefs[k] = new GuideRef(guideKeys[k], in.readString());
+        }
+        return new ActivityTable(watermark, ids, titles, prices, durations, statuses,
+                placeOf, guideOf, new Dictionary<>(placeKeys, placeRefs), new Dictionary<>(guideKeys, guideRefs));
+    }
+
+    @Override
+    public void writeTo(SnapshotFile.Output out) throws IOException {
+        out.writeMarks(watermark);
+        out.writeLongs(ids);
+        out.writeStrings(titles);
+        out.writeLongs(prices.unscaled());
+        out.writeBytes(prices.scales());
+        out.writeStrings(durations);
+        out.writeBytes(statuses);
+        out.writeInts(placeOf);
+        out.writeInts(guideOf);
+        // Dictionnaires : les clés, puis les libellés de chaque entrée dans le même ordre
+        out.writeLongs(LongBuffer.wrap(places.keys));
+        for (int k = 0; k < places.keys.length; k++) {
+            out.writeString(places.get(k).name());
+            out.writeString(places.get(k).city());
+        }
+        out.writeLongs(LongBuffer.wrap(guides.keys));
+        for (int k = 0; k < guides.keys.length; k++) {
+            out.writeString(guides.get(k).fullName());
+        }
+    }
+
+    @Override
+    public List<ChangeMark> watermark() {
+        return watermark;
+    }
+
+    @Override
+    public int size() {
+        return ids.limit();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    @Override
+    public List<ActivitySummary> rows() {
+        return Columns.rows(size(), this::summary);
+    }
+
+    /** Ids des activités des lieux donnés, quel que soit leur statut. */
+    Set<Long> idsOfPlaces(Collection<Long> placeIds) {
+        Set<Long> found = new HashSet<>();
+        for (Long placeId : placeIds) {
+            int entry = places.indexOf(placeId);
+            if (entry >= 0) {
+                for (int m = places.start[entry]; m < places.start[entry + 1]; m++) {
+                    found.add(ids.get(places.members[m]));
+                }
+            }
+        }
+        return found;
+    }
+
+    Window<ActivitySummary> active(PageQuery page) {
+        int wanted = page.limit().max() + 1;
+        List<ActivitySummary> rows = new ArrayList<>(Math.min(wanted, 64));
+        for (int i = Columns.firstAfter(ids, page.afterId()); i < size() && rows.size() < wanted; i++) {
+            if (statuses.get(i) == Status.ACTIVE.ordinal()) {
+                rows.add(summary(i));
+            }
+        }
+        return page.window(rows, ActivitySummary::id);
+    }
+
+    /** Activités validées d'un lieu. */
+    Window<ActivitySummary> byPlace(long placeId, PageQuery page) {
+        return members(places, placeId, page, true);
+    }
+
+    /** Toutes les activités d'un guide, quel que soit leur statut (comme la requête SQL). */
+    Window<ActivitySummary> byGuide(long guideId, PageQuery page) {
+        return members(guides, guideId, page, false);
+    }
+
+    /** Vues liste des activités demandées, dans l'ordre des ids ; id inconnu omis. */
+    List<ActivitySummary> byIds(List<Long> wanted) {
+        return Columns.byIds(ids, wanted, this::summary);
+    }
+
+    private Window<ActivitySummary> members(Dictionary<?> dictionary, long key, PageQuery page, boolean activeOnly) {
+        int wanted = page.limit().max() + 1;
+        List<ActivitySummary> rows = new ArrayList<>(Math.min(wanted, 64));
+        int entry = dictionary.indexOf(key);
+        if (entry >= 0) {
+            int end = dictionary.start[entry + 1];
+            for (int m = firstMemberAfter(dictionary, entry, page.afterId()); m < end && rows.size() < wanted; m++) {
+                int i = dictionary.members[m];
+                if (!activeOnly || statuses.get(i) == Status.ACTIVE.ordinal()) {
+                    rows.add(summary(i));
+                }
+            }
+        }
+        return page.window(rows, ActivitySummary::id);
+    }
+
+    // Les positions d'un même groupe sont croissantes, donc leurs ids aussi : recherche dichotomique
+    private int firstMemberAfter(Dictionary<?> dictionary, int entry, long afterId) {
+        int low = dictionary.start[entry];
+        int high = dictionary.start[entry + 1];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ids.get(dictionary.members[middle]) <= afterId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private ActivitySummary summary(int i) {
+        int place = placeOf.get(i);
+        int guide = guideOf.get(i);
+        return new ActivitySummary(ids.get(i), titles[i], prices.get(i), durations[i], STATUSES[statuses.get(i)],
+                place >= 0 ? places.get(place) : null, guide >= 0 ? guides.get(guide) : null);
+    }
+
+    private static long[] keys(LongBuffer keys) {
+        long[] copy = new long[keys.limit()];
+        keys.get(0, copy);
+        return copy;
+    }
+
+    /**
+     * Valeurs distinctes d'une association, triées par id, avec pour chacune la liste des positions
+     * d'activités qui la référencent : members[start[k] .. start[k + 1]) pour l'entrée k.
+     */
+    private static final class Dictionary<V> {
+
+        private final long[] keys;
+        private final Object[] values;
+        private int[] start;
+        private int[] members;
+
+        private Dictionary(long[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        static <V> Dictionary<V> of(List<ActivitySummary> rows, Function<ActivitySummary, V> valueOf,
+                                    Function<V, Long> idOf) {
+            Map<Long, V> distinct = new TreeMap<>();
+            for (ActivitySummary row : rows) {
+                V value = valueOf.apply(row);
+                if (value != null) {
+                    distinct.putIfAbsent(idOf.apply(value), value);
+                }
+            }
+            long[] keys = distinct.keySet().stream().mapToLong(Long::longValue).toArray();
+            return new Dictionary<>(keys, distinct.values().toArray());
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(int index) {
+            return (V) values[index];
+        }
+
+        int indexOf(long key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? index : -1;
+        }
+
+        /** Index inversé par tri comptage : un passage pour compter, un pour placer. */
+        void index(IntBuffer references) {
+            start = new int[keys.length + 1];
+            for (int i = 0; i < references.limit(); i++) {
+                if (references.get(i) >= 0) {
+                    start[references.get(i) + 1]++;
+                }
+            }
+            for (int k = 0; k < keys.length; k++) {
+                start[k + 1] += start[k];
+            }
+            members = new int[start[keys.length]];
+            int[] next = Arrays.copyOf(start, keys.length);
+            for (int i = 0; i < references.limit(); i++) {
+                if (references.get(i) >= 0) {
+                    members[next[references.get(i)]++] = i;
+                }
+            }
+        }
+
+        long estimatedBytes() {
+            // Un objet PlaceRef / GuideRef et ses chaînes par entrée, estimés grossièrement
+            return Footprint.arrays(keys.length, 8, 4, 4) + Footprint.arrays(members.length, 4) + keys.length * 64L;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package backend.service.readmodel;
+
+import backend.dto.ArtisanSummary;
+import backend.dto.ChangeMark;
+import backend.entities.Status;
+import backend.service.PageQuery;
+import org.springframework.data.domain.Window;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Artisans du catalogue rangés en colonnes, comme {@link PlaceTable} : spécialités et villes
+ * partagées entre les lignes.
+ */
+final class ArtisanTable implements CatalogReadModel.Table<ArtisanSummary> {
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final List<ChangeMark> watermark;
+    private final LongBuffer ids;
+    private final String[] names;
+    private final String[] specialities;
+    private final String[] phones;
+    private final String[] cities;
+    private final ByteBuffer statuses;
+    private final Columns.Timestamps created;
+    private final long estimatedBytes;
+
+    private ArtisanTable(List<ChangeMark> watermark, LongBuffer ids, String[] names, String[] specialities,
+                         String[] phones, String[] cities, ByteBuffer statuses, Columns.Timestamps created) {
+        this.watermark = watermark;
+        this.ids = ids;
+        this.names = names;
+        this.specialities = specialities;
+        this.phones = phones;
+        this.cities = cities;
+        this.statuses = statuses;
+        this.created = created;
+        this.estimatedBytes = Columns.heapBytes(ids, 8, 1, 8, 4)
+                + Footprint.arrays(names.length, 4, 4, 4, 4)
+                + new Footprint().addAll(names).addAll(specialities).addAll(phones).addAll(cities).bytes();
+    }
+
+    /** Construit la table à partir des lignes lues par ordre d'id croissant. */
+    static ArtisanTable build(List<ChangeMark> watermark, List<ArtisanSummary> rows) {
+        int size = rows.size();
+        String[] names = new String[size];
+        String[] specialities = new String[size];
+        String[] phones = new String[size];
+        String[] cities = new String[size];
+        byte[] statuses = new byte[size];
+        StringPool pool = new StringPool();
+        for (int i = 0; i < size; i++) {
+            ArtisanSummary row = rows.get(i);
+            names[i] = row.name();
+            specialities[i] = pool.intern(row.speciality());
+            phones[i] = row.phone();
+            cities[i] = pool.intern(row.city());
+            statuses[i] = (byte) row.status().ordinal();
+        }
+        return new ArtisanTable(watermark, Columns.ids(rows, ArtisanSummary::id), names, specialities, phones, cities,
+                ByteBuffer.wrap(statuses), Columns.Timestamps.of(rows, ArtisanSummary::createdAt));
+    }
+
+    /** Relit une table écrite par {@link #writeTo}. */
+    static ArtisanTable readFrom(SnapshotFile.Input in) {
+        return new ArtisanTable(in.readMarks(), in.readLongs(), in.readStrings(), in.readStrings(), in.readStrings(),
+                in.readStrings(), in.readBytes(), new Columns.Timestamps(in.readLongs(), in.readInts()));
+    }
+
+    @Override
+    public void writeTo(SnapshotFile.Output out) throws IOException {
+        out.writeMarks(watermark);
+        out.writeLongs(ids);
+        out.writeStrings(names);
+        out.writeStrings(specialities);
+        out.writeStrings(phones);
+        out.writeStrings(cities);
+        out.writeBytes(statuses);
+        out.writeLongs(created.seconds());
+        out.writeInts(created.nanos());
+    }
+
+    @Override
+    public List<ChangeMark> watermark() {
+        return watermark;
+    }
+
+    @Override
+    public int size() {
+        return ids.limit();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    @Override
+    public List<ArtisanSummary> rows() {
+        return Columns.rows(size(), this::summary);
+    }
+
+    Window<ArtisanSummary> active(PageQuery page) {
+        int wanted = page.limit().max() + 1;
+        List<ArtisanSummary> rows = new ArrayList<>(Math.min(wanted, 64));
+        for (int i = Columns.firstAfter(ids, page.afterId()); i < size() && rows.size() < wanted; i++) {
+            if (statuses.get(i) == Status.ACTIVE.ordinal()) {
+                rows.add(summary(i));
+            }
+        }
+        return page.window(rows, ArtisanSummary::id);
+    }
+
+    private ArtisanSummary summary(int i) {
+        return new ArtisanSummary(ids.get(i), names[i], specialities[i], phones[i], cities[i],
+                STATUSES[statuses.get(i)], created.get(i));
+    }
+}
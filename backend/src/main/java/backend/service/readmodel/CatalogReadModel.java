@@ -0,0 +1,510 @@
+package backend.service.readmodel;
+
+import backend.dto.ActivitySummary;
+import backend.dto.ArtisanSummary;
+import backend.dto.ChangeMark;
+import backend.dto.CircuitSummary;
+import backend.dto.EventView;
+import backend.dto.PlaceSummary;
+import backend.dto.RatingCounts;
+import backend.repositories.ActivityRepository;
+import backend.repositories.ArtisanRepository;
+import backend.repositories.CircuitRepository;
+import backend.repositories.EventRepository;
+import backend.repositories.PlaceRepository;
+import backend.repositories.ReviewRepository;
+import backend.repositories.UserRepository;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.IncrementalIndex;
+import backend.service.PageQuery;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Window;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Modèle de lecture en mémoire des listes publiques du catalogue (côté lecture d'un découpage
+ * CQRS) : lieux, activités, circuits, événements et artisans sont servis depuis des tables en
+ * colonnes ({@link PlaceTable}, {@link ActivityTable}, ...) sans passer par JPA.
+ * <p>
+ * Les tables sont tenues à jour par un {@link IncrementalIndex} : une mutation ne relit que les
+ * lignes marquées et les fusionne dans une nouvelle table (copie des colonnes, sans requête
+ * complète) ; un événement sans id (changement partagé) reconstruit la table entière. Une table
+ * n'est servie que si elle est à jour ({@link IncrementalIndex#isCurrent}) : entre un commit et
+ * la fin de la mise à jour qu'il déclenche, les lectures repassent par la base, donc une réponse
+ * n'est jamais plus ancienne que l'ETag de collection qui l'accompagne.
+ * <p>
+ * Toutes les tables, comptes d'avis par lieu compris, sont aussi écrites sur disque
+ * ({@link SnapshotFile}), périodiquement et à l'arrêt. Au démarrage suivant, elles sont relues
+ * avant l'ouverture du port et servies tout de suite, colonnes numériques lues directement dans
+ * la projection mémoire du fichier ; une fois l'application prête, l'empreinte de la base
+ * ({@link ChangeMark}) est comparée à celle enregistrée avec la table. Si elle a bougé, la version
+ * de la collection est incrémentée : la table relue n'est plus servie et elle est reconstruite.
+ * La première mutation remplace de toute façon la table relue par une table sur le tas.
+ */
+@Slf4j
+@Component
+public class CatalogReadModel {
+
+    /** Table immuable, triée par id, écrite sur disque entre deux démarrages. */
+    interface Table<T> {
+        int size();
+
+        /** Octets tenus sur le tas (colonnes d'une table relue comptées dans la projection, pas ici). */
+        long estimatedBytes();
+
+        /** Toutes les lignes par id croissant : base de la fusion avec les lignes relues. */
+        List<T> rows();
+
+        /** Empreinte de la base lue dans la même transaction que les lignes de la table. */
+        List<ChangeMark> watermark();
+
+        void writeTo(SnapshotFile.Output out) throws IOException;
+    }
+
+    private volatile PlaceTable places;
+    private volatile ActivityTable activities;
+    private volatile CircuitTable circuits;
+    private volatile EventTable events;
+    private volatile ArtisanTable artisans;
+    // Dernière table écrite sur disque par collection : rien à réécrire tant qu'elle est courante
+    private final Map<CatalogCollection, Table<?>> written = new ConcurrentHashMap<>();
+
+    private final PlaceRepository placeRepository;
+    private final ActivityRepository activityRepository;
+    private final CircuitRepository circuitRepository;
+    private final EventRepository eventRepository;
+    private final ArtisanRepository artisanRepository;
+    private final ReviewRepository reviewRepository;
+    private final UserRepository userRepository;
+    private final CatalogVersions versions;
+    private final IncrementalIndex index;
+    private final Path snapshotDirectory;
+
+    private final IncrementalIndex.Source<PlaceSummary> placeSource;
+    private final IncrementalIndex.Source<ActivitySummary> activitySource;
+    private final IncrementalIndex.Source<CircuitSummary> circuitSource;
+    private final IncrementalIndex.Source<EventView> eventSource;
+    private final IncrementalIndex.Source<ArtisanSummary> artisanSource;
+    private final IncrementalIndex.Source<RatingCounts> ratingSource;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder restored = new LongAdder();
+    private final LongAdder restoredStale = new LongAdder();
+    private final LongAdder snapshotWrites = new LongAdder();
+    private final LongAdder snapshotFailures = new LongAdder();
+
+    public CatalogReadModel(PlaceRepository placeRepository, ActivityRepository activityRepository,
+                            CircuitRepository circuitRepository, EventRepository eventRepository,
+                            ArtisanRepository artisanRepository, ReviewRepository reviewRepository,
+                            UserRepository userRepository, CatalogVersions versions,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${application.catalog.read-model.batch-size:1000}") int batchSize,
+                            @Value("${application.catalog.read-model.enabled:true}") boolean enabled,
+                            @Value("${application.catalog.read-model.snapshot.directory:}") String snapshotDirectory) {
+        this.placeRepository = placeRepository;
+        this.activityRepository = activityRepository;
+        this.circuitRepository = circuitRepository;
+        this.eventRepository = eventRepository;
+        this.artisanRepository = artisanRepository;
+        this.reviewRepository = reviewRepository;
+        this.userRepository = userRepository;
+        this.versions = versions;
+        this.snapshotDirectory = enabled && !snapshotDirectory.isBlank() ? Path.of(snapshotDirectory) : null;
+        this.index = new IncrementalIndex("catalog-read-model", EnumSet.allOf(CatalogCollection.class),
+                this::rebuild, this::apply, versions, transactionManager, batchSize, enabled);
+
+        this.placeSource = new IncrementalIndex.Source<>(placeRepository::findSummaries,
+                placeRepository::findSummariesByIdIn, PlaceSummary::id);
+        this.activitySource = new IncrementalIndex.Source<>(activityRepository::findSummaries,
+                activityRepository::findSummariesByIdIn, ActivitySummary::id);
+        this.circuitSource = new IncrementalIndex.Source<>(circuitRepository::findSummaries,
+                circuitRepository::findSummariesByIdIn, CircuitSummary::id);
+        this.eventSource = new IncrementalIndex.Source<>(eventRepository::findViews,
+                eventRepository::findViewsByIdIn, EventView::id);
+        this.artisanSource = new IncrementalIndex.Source<>(artisanRepository::findSummaries,
+                artisanRepository::findSummariesByIdIn, ArtisanSummary::id);
+        this.ratingSource = new IncrementalIndex.Source<>(reviewRepository::findRatingCounts,
+                reviewRepository::findRatingCountsByPlaceIdIn, RatingCounts::placeId);
+    }
+
+    // ==================== Lectures ====================
+    // Optional vide : table absente ou en retard sur la base, l'appelant passe par le repository
+
+    public Optional<Window<PlaceSummary>> getActivePlaces(PageQuery page) {
+        return read(CatalogCollection.PLACES, () -> places, table -> table.active(page));
+    }
+
+    public Optional<Window<PlaceSummary>> searchPlaces(String query, PageQuery page) {
+        return read(CatalogCollection.PLACES, () -> places,
+                table -> query == null || query.isBlank() ? table.all(page) : table.search(query, page));
+    }
+
+    public Optional<Window<PlaceSummary>> getPlacesByCity(String city, PageQuery page) {
+        return read(CatalogCollection.PLACES, () -> places, table -> table.byCity(city, page));
+    }
+
+    /** Comptes d'avis d'un lieu par note ; lus en base si la table n'est pas à jour. */
+    public RatingCounts getRatingCounts(Long placeId) {
+        return read(CatalogCollection.PLACES, () -> places, table -> table.ratingsOf(placeId))
+                .orElseGet(() -> reviewRepository.findRatingCountsByPlaceIdIn(List.of(placeId)).stream()
+                        .findFirst()
+                        .orElse(RatingCounts.none(placeId)));
+    }
+
+    public Optional<Window<ActivitySummary>> getActiveActivities(PageQuery page) {
+        return read(CatalogCollection.ACTIVITIES, () -> activities, table -> table.active(page));
+    }
+
+    public Optional<Window<ActivitySummary>> getActivitiesByPlace(Long placeId, PageQuery page) {
+        return read(CatalogCollection.ACTIVITIES, () -> activities, table -> table.byPlace(placeId, page));
+    }
+
+    public Optional<Window<ActivitySummary>> getActivitiesByGuide(Long guideId, PageQuery page) {
+        return read(CatalogCollection.ACTIVITIES, () -> activities, table -> table.byGuide(guideId, page));
+    }
+
+    public Optional<Window<CircuitSummary>> getActiveCircuits(PageQuery page) {
+        return read(CatalogCollection.CIRCUITS, () -> circuits, table -> table.active(page));
+    }
+
+    public Optional<Window<EventView>> getUpcomingEvents(LocalDate today, PageQuery page) {
+        return read(CatalogCollection.EVENTS, () -> events, table -> table.upcoming(today, page));
+    }
+
+    public Optional<Window<ArtisanSummary>> getActiveArtisans(PageQuery page) {
+        return read(CatalogCollection.ARTISANS, () -> artisans, table -> table.active(page));
+    }
+
+    // Vues liste des éléments trouvés par un index (recherche, carte, filtres), dans l'ordre de ses ids.
+    // Un élément supprimé entre la base et l'index est omis ; liste modifiable.
+
+    public List<PlaceSummary> getPlaceSummaries(List<Long> ids) {
+        return summaries(CatalogCollection.PLACES, () -> places, ids, PlaceTable::byIds, placeSource);
+    }
+
+    public List<ActivitySummary> getActivitySummaries(List<Long> ids) {
+        return summaries(CatalogCollection.ACTIVITIES, () -> activities, ids, ActivityTable::byIds, activitySource);
+    }
+
+    public List<CircuitSummary> getCircuitSummaries(List<Long> ids) {
+        return summaries(CatalogCollection.CIRCUITS, () -> circuits, ids, CircuitTable::byIds, circuitSource);
+    }
+
+    private <T, R> Optional<R> read(CatalogCollection part, Supplier<T> table, Function<T, R> query) {
+        // Fraîcheur vérifiée avant de lire la table : une table remplacée entre-temps est plus récente, pas plus ancienne
+        T current = index.isCurrent(part) ? table.get() : null;
+        if (current == null) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(query.apply(current));
+    }
+
+    private <T, R> List<R> summaries(CatalogCollection part, Supplier<T> table, List<Long> ids,
+                                     TableLookup<T, R> lookup, IncrementalIndex.Source<R> source) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return read(part, table, current -> lookup.byIds(current, ids)).orElseGet(() -> {
+            Map<Long, R> byId = new HashMap<>();
+            for (R row : source.byIds().apply(ids)) {
+                byId.put(source.idOf().apply(row), row);
+            }
+            List<R> rows = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                R row = byId.get(id);
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+            return rows;
+        });
+    }
+
+    @FunctionalInterface
+    private interface TableLookup<T, R> {
+        List<R> byIds(T table, List<Long> ids);
+    }
+
+    // ==================== Mise à jour ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        for (CatalogCollection part : CatalogCollection.values()) {
+            Table<?> table = table(part);
+            if (table != null && index.isBuilt(part)) {
+                index.submit(() -> reconcile(part, table));
+            } else {
+                index.requestRebuild(part);
+            }
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        for (CatalogCollection part : CatalogCollection.values()) {
+            if (!part.isAffectedBy(event.collection())) {
+                continue;
+            }
+            if (event.id() == null) {
+                index.requestRebuild(part);
+            } else {
+                // Lieu modifié pour les activités : relecture des activités de ce lieu
+                index.mark(part, event.collection(), event.id());
+            }
+        }
+    }
+
+    private void rebuild(Set<CatalogCollection> parts) {
+        for (CatalogCollection part : parts) {
+            switch (part) {
+                case PLACES -> places = index.readOnly(() ->
+                        PlaceTable.build(watermark(part), loadAll(placeSource), loadAll(ratingSource)));
+                case ACTIVITIES -> activities = index.readOnly(() ->
+                        ActivityTable.build(watermark(part), loadAll(activitySource)));
+                case CIRCUITS -> circuits = index.readOnly(() ->
+                        CircuitTable.build(watermark(part), loadAll(circuitSource)));
+                case EVENTS -> events = index.readOnly(() ->
+                        EventTable.build(watermark(part), loadAll(eventSource)));
+                case ARTISANS -> artisans = index.readOnly(() ->
+                        ArtisanTable.build(watermark(part), loadAll(artisanSource)));
+            }
+        }
+    }
+
+    private void apply(CatalogCollection part, IncrementalIndex.Changes changes) {
+        Set<Long> ids = changes.of(part);
+        switch (part) {
+            case PLACES -> places = index.readOnly(() -> {
+                // Un avis publie l'id de son lieu : ligne et comptes de ce lieu relus ensemble
+                PlaceTable current = places;
+                return PlaceTable.build(watermark(part),
+                        merge(current.rows(), ids, reload(placeSource, ids), PlaceSummary::id),
+                        merge(current.ratings(), ids, reload(ratingSource, ids), RatingCounts::placeId));
+            });
+            case ACTIVITIES -> activities = index.readOnly(() -> {
+                ActivityTable current = activities;
+                Set<Long> placeIds = changes.of(CatalogCollection.PLACES);
+                // Activités des lieux modifiés : celles de la table (retirées si absentes) et celles de la base
+                Set<Long> affected = new HashSet<>(ids);
+                affected.addAll(current.idsOfPlaces(placeIds));
+                List<ActivitySummary> reloaded = reload(activitySource, ids);
+                if (!placeIds.isEmpty()) {
+                    for (ActivitySummary row : activityRepository.findSummariesByPlaceIdIn(placeIds)) {
+                        affected.add(row.id());
+                        reloaded.add(row);
+                    }
+                }
+                return ActivityTable.build(watermark(part), merge(current.rows(), affected, reloaded,
+                        ActivitySummary::id));
+            });
+            case CIRCUITS -> circuits = index.readOnly(() -> CircuitTable.build(watermark(part),
+                    merge(circuits.rows(), ids, reload(circuitSource, ids), CircuitSummary::id)));
+            case EVENTS -> events = index.readOnly(() -> EventTable.build(watermark(part),
+                    merge(events.rows(), ids, reload(eventSource, ids), EventView::id)));
+            case ARTISANS -> artisans = index.readOnly(() -> ArtisanTable.build(watermark(part),
+                    merge(artisans.rows(), ids, reload(artisanSource, ids), ArtisanSummary::id)));
+        }
+    }
+
+    private <T> List<T> loadAll(IncrementalIndex.Source<T> source) {
+        List<T> rows = new ArrayList<>();
+        index.loadAll(source, rows::add);
+        return rows;
+    }
+
+    private <T> List<T> reload(IncrementalIndex.Source<T> source, Collection<Long> ids) {
+        List<T> rows = new ArrayList<>();
+        index.loadByIds(source, ids, rows::add, id -> {
+        });
+        return rows;
+    }
+
+    /**
+     * Lignes de la table, moins les ids relus, plus les lignes relues (un id relu absent de la base
+     * est retiré), par id croissant.
+     */
+    static <T> List<T> merge(List<T> current, Set<Long> affected, List<T> reloaded, Function<T, Long> idOf) {
+        // Un même id peut être relu deux fois (activité modifiée dans un lieu modifié)
+        TreeMap<Long, T> byId = new TreeMap<>();
+        for (T row : reloaded) {
+            byId.put(idOf.apply(row), row);
+        }
+        List<T> changed = new ArrayList<>(byId.values());
+        List<T> merged = new ArrayList<>(current.size() + changed.size());
+        int next = 0;
+        for (T row : current) {
+            long id = idOf.apply(row);
+            while (next < changed.size() && idOf.apply(changed.get(next)) < id) {
+                merged.add(changed.get(next++));
+            }
+            if (!affected.contains(id) && !byId.containsKey(id)) {
+                merged.add(row);
+            }
+        }
+        merged.addAll(changed.subList(next, changed.size()));
+        return merged;
+    }
+
+    /** Empreinte d'une table : sa collection, plus celles dont elle recopie des colonnes (avis, lieux, noms). */
+    private List<ChangeMark> watermark(CatalogCollection part) {
+        return switch (part) {
+            case PLACES -> List.of(placeRepository.findChangeMark(), reviewRepository.findChangeMark());
+            case ACTIVITIES -> List.of(activityRepository.findChangeMark(), placeRepository.findChangeMark(),
+                    userRepository.findChangeMark());
+            case CIRCUITS -> List.of(circuitRepository.findChangeMark());
+            case EVENTS -> List.of(eventRepository.findChangeMark(), userRepository.findChangeMark());
+            case ARTISANS -> List.of(artisanRepository.findChangeMark());
+        };
+    }
+
+    private void reconcile(CatalogCollection part, Table<?> table) {
+        try {
+            List<ChangeMark> current = index.readOnly(() -> watermark(part));
+            if (!table.watermark().equals(current)) {
+                restoredStale.increment();
+                log.info("Instantané {} en retard sur la base, reconstruction", part);
+                // Nouveau tag : la table relue cesse d'être servie et l'événement sans id la reconstruit
+                versions.changed(part);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Vérification de l'instantané {} impossible, reconstruction", part, e);
+            versions.changed(part);
+        }
+    }
+
+    // ==================== Instantanés sur disque ====================
+
+    @PostConstruct
+    void restore() {
+        if (snapshotDirectory == null) {
+            return;
+        }
+        for (CatalogCollection part : CatalogCollection.values()) {
+            Path path = snapshotPath(part);
+            if (!Files.exists(path)) {
+                continue;
+            }
+            try {
+                SnapshotFile.Input in = SnapshotFile.read(path);
+                Table<?> table = switch (part) {
+                    case PLACES -> PlaceTable.readFrom(in);
+                    case ACTIVITIES -> ActivityTable.readFrom(in);
+                    case CIRCUITS -> CircuitTable.readFrom(in);
+                    case EVENTS -> EventTable.readFrom(in);
+                    case ARTISANS -> ArtisanTable.readFrom(in);
+                };
+                if (!in.isFullyRead()) {
+                    throw new IOException("Contenu inattendu en fin de fichier : " + path);
+                }
+                switch (part) {
+                    case PLACES -> places = (PlaceTable) table;
+                    case ACTIVITIES -> activities = (ActivityTable) table;
+                    case CIRCUITS -> circuits = (CircuitTable) table;
+                    case EVENTS -> events = (EventTable) table;
+                    case ARTISANS -> artisans = (ArtisanTable) table;
+                }
+                index.restored(part);
+                written.put(part, table);
+                restored.increment();
+                log.info("Instantané {} relu : {} lignes", part, table.size());
+            } catch (IOException | RuntimeException e) {
+                snapshotFailures.increment();
+                log.warn("Instantané {} illisible, ignoré", part, e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.catalog.read-model.snapshot.write-interval-ms:60000}",
+            initialDelayString = "${application.catalog.read-model.snapshot.write-interval-ms:60000}")
+    public void writeSnapshots() {
+        if (snapshotDirectory == null) {
+            return;
+        }
+        for (CatalogCollection part : CatalogCollection.values()) {
+            // Seule une table à jour est écrite : son empreinte décrit exactement son contenu
+            Table<?> table = index.isCurrent(part) ? table(part) : null;
+            if (table == null || written.get(part) == table) {
+                continue;
+            }
+            try {
+                SnapshotFile.write(snapshotPath(part), table::writeTo);
+                written.put(part, table);
+                snapshotWrites.increment();
+            } catch (IOException | RuntimeException e) {
+                snapshotFailures.increment();
+                log.warn("Écriture de l'instantané {} impossible", part, e);
+            }
+        }
+    }
+
+    private Path snapshotPath(CatalogCollection part) {
+        return snapshotDirectory.resolve(part.name().toLowerCase() + ".snapshot");
+    }
+
+    private Table<?> table(CatalogCollection part) {
+        return switch (part) {
+            case PLACES -> places;
+            case ACTIVITIES -> activities;
+            case CIRCUITS -> circuits;
+            case EVENTS -> events;
+            case ARTISANS -> artisans;
+        };
+    }
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("fallbacks", fallbacks.sum());
+        stats.putAll(index.getStatistics());
+        stats.put("restored", restored.sum());
+        stats.put("restoredStale", restoredStale.sum());
+        stats.put("snapshotWrites", snapshotWrites.sum());
+        stats.put("snapshotFailures", snapshotFailures.sum());
+        for (CatalogCollection part : CatalogCollection.values()) {
+            Table<?> table = table(part);
+            String name = part.name().toLowerCase();
+            stats.put(name + ".rows", table != null ? (long) table.size() : 0L);
+            stats.put(name + ".estimatedBytes", table != null ? table.estimatedBytes() : 0L);
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        index.shutdown();
+        // Le prochain démarrage repart de l'état le plus récent
+        writeSnapshots();
+    }
+}
@@ -0,0 +1,129 @@
+package backend.service.readmodel;
+
+import backend.dto.ChangeMark;
+import backend.dto.CircuitSummary;
+import backend.entities.Status;
+import backend.service.PageQuery;
+import org.springframework.data.domain.Window;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Circuits du catalogue rangés en colonnes, comme {@link PlaceTable} ; le guide n'est gardé que
+ * par son id ({@link Columns#NULL} sans guide).
+ */
+final class CircuitTable implements CatalogReadModel.Table<CircuitSummary> {
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final List<ChangeMark> watermark;
+    private final LongBuffer ids;
+    private final String[] titles;
+    private final String[] descriptions;
+    private final String[] durations;
+    private final Columns.Decimals prices;
+    private final ByteBuffer statuses;
+    private final LongBuffer guideIds;
+    private final long estimatedBytes;
+
+    private CircuitTable(List<ChangeMark> watermark, LongBuffer ids, String[] titles, String[] descriptions,
+                         String[] durations, Columns.Decimals prices, ByteBuffer statuses, LongBuffer guideIds) {
+        this.watermark = watermark;
+        this.ids = ids;
+        this.titles = titles;
+        this.descriptions = descriptions;
+        this.durations = durations;
+        this.prices = prices;
+        this.statuses = statuses;
+        this.guideIds = guideIds;
+        this.estimatedBytes = Columns.heapBytes(ids, 8, 8, 1, 1, 8)
+                + Footprint.arrays(titles.length, 4, 4, 4)
+                + new Footprint().addAll(titles).addAll(descriptions).addAll(durations).bytes();
+    }
+
+    /** Construit la table à partir des lignes lues par ordre d'id croissant. */
+    static CircuitTable build(List<ChangeMark> watermark, List<CircuitSummary> rows) {
+        int size = rows.size();
+        String[] titles = new String[size];
+        String[] descriptions = new String[size];
+        String[] durations = new String[size];
+        byte[] statuses = new byte[size];
+        long[] guideIds = new long[size];
+        StringPool pool = new StringPool();
+        for (int i = 0; i < size; i++) {
+            CircuitSummary row = rows.get(i);
+            titles[i] = row.title();
+            descriptions[i] = row.description();
+            durations[i] = pool.intern(row.duration());
+            statuses[i] = (byte) row.status().ordinal();
+            guideIds[i] = row.guideId() != null ? row.guideId() : Columns.NULL;
+        }
+        return new CircuitTable(watermark, Columns.ids(rows, CircuitSummary::id), titles, descriptions, durations,
+                Columns.Decimals.of(rows, CircuitSummary::price), ByteBuffer.wrap(statuses), LongBuffer.wrap(guideIds));
+    }
+
+    /** Relit une table écrite par {@link #writeTo}. */
+    static CircuitTable readFrom(SnapshotFile.Input in) {
+        return new CircuitTable(in.readMarks(), in.readLongs(), in.readStrings(), in.readStrings(), in.readStrings(),
+                new Columns.Decimals(in.readLongs(), in.readBytes()), in.readBytes(), in.readLongs());
+    }
+
+    @Override
+    public void writeTo(SnapshotFile.Output out) throws IOException {
+        out.writeMarks(watermark);
+        out.writeLongs(ids);
+        out.writeStrings(titles);
+        out.writeStrings(descriptions);
+        out.writeStrings(durations);
+        out.writeLongs(prices.unscaled());
+        out.writeBytes(prices.scales());
+        out.writeBytes(statuses);
+        out.writeLongs(guideIds);
+    }
+
+    @Override
+    public List<ChangeMark> watermark() {
+        return watermark;
+    }
+
+    @Override
+    public int size() {
+        return ids.limit();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    @Override
+    public List<CircuitSummary> rows() {
+        return Columns.rows(size(), this::summary);
+    }
+
+    Window<CircuitSummary> active(PageQuery page) {
+        int wanted = page.limit().max() + 1;
+        List<CircuitSummary> rows = new ArrayList<>(Math.min(wanted, 64));
+        for (int i = Columns.firstAfter(ids, page.afterId()); i < size() && rows.size() < wanted; i++) {
+            if (statuses.get(i) == Status.ACTIVE.ordinal()) {
+                rows.add(summary(i));
+            }
+        }
+        return page.window(rows, CircuitSummary::id);
+    }
+
+    /** Circuits demandés dans l'ordre donné ; un id absent de la table est ignoré. */
+    List<CircuitSummary> byIds(List<Long> wanted) {
+        return Columns.byIds(ids, wanted, this::summary);
+    }
+
+    private CircuitSummary summary(int i) {
+        long guideId = guideIds.get(i);
+        return new CircuitSummary(ids.get(i), titles[i], descriptions[i], durations[i], prices.get(i),
+                STATUSES[statuses.get(i)], guideId == Columns.NULL ? null : guideId);
+    }
+}
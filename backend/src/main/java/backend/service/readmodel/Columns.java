@@ -0,0 +1,129 @@
+package backend.service.readmodel;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Colonnes et parcours communs aux tables du modèle de lecture : ids triés, montants exacts
+ * et horodatages stockés en primitifs.
+ * <p>
+ * Les colonnes numériques sont des tampons NIO : tableaux enveloppés pour une table construite
+ * depuis la base, vues sur la projection mémoire du fichier pour une table relue
+ * ({@link SnapshotFile}). Elles ne sont lues que par accès absolu ({@code get(i)}), jamais par
+ * la position du tampon : une même colonne est lue par plusieurs threads sans copie.
+ */
+final class Columns {
+
+    static final long NULL = Long.MIN_VALUE;
+
+    private Columns() {
+    }
+
+    /** Première position dont l'id est strictement supérieur à afterId. */
+    static int firstAfter(LongBuffer ids, long afterId) {
+        int low = 0;
+        int high = ids.limit();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ids.get(middle) <= afterId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /** Position de l'id, ou -1 s'il est absent. */
+    static int indexOf(LongBuffer ids, long id) {
+        int i = firstAfter(ids, id - 1);
+        return i < ids.limit() && ids.get(i) == id ? i : -1;
+    }
+
+    /** Lignes demandées dans l'ordre donné ; un id absent de la table est ignoré. */
+    static <T> List<T> byIds(LongBuffer ids, List<Long> wanted, IntFunction<T> row) {
+        List<T> rows = new ArrayList<>(wanted.size());
+        for (Long id : wanted) {
+            int i = indexOf(ids, id);
+            if (i >= 0) {
+                rows.add(row.apply(i));
+            }
+        }
+        return rows;
+    }
+
+    static <T> List<T> rows(int size, IntFunction<T> row) {
+        return IntStream.range(0, size).mapToObj(row).toList();
+    }
+
+    static <T> LongBuffer ids(List<T> rows, Function<T, Long> idOf) {
+        long[] ids = new long[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idOf.apply(rows.get(i));
+        }
+        return LongBuffer.wrap(ids);
+    }
+
+    /** Octets tenus sur le tas par des colonnes de {@code size} lignes : rien pour une projection. */
+    static long heapBytes(LongBuffer ids, int... widths) {
+        return ids.isDirect() ? 0L : Footprint.arrays(ids.limit(), widths);
+    }
+
+    /** Montants exacts : valeur non mise à l'échelle + échelle (10.50 -> 1050, 2), {@link #NULL} pour null. */
+    record Decimals(LongBuffer unscaled, ByteBuffer scales) {
+
+        static <T> Decimals of(List<T> rows, Function<T, BigDecimal> valueOf) {
+            long[] unscaled = new long[rows.size()];
+            byte[] scales = new byte[rows.size()];
+            for (int i = 0; i < unscaled.length; i++) {
+                BigDecimal value = valueOf.apply(rows.get(i));
+                if (value == null) {
+                    unscaled[i] = NULL;
+                } else {
+                    // Hors de la plage d'un long : la construction échoue et les lectures restent sur la base
+                    unscaled[i] = value.unscaledValue().longValueExact();
+                    scales[i] = (byte) value.scale();
+                }
+            }
+            return new Decimals(LongBuffer.wrap(unscaled), ByteBuffer.wrap(scales));
+        }
+
+        BigDecimal get(int i) {
+            long value = unscaled.get(i);
+            return value == NULL ? null : BigDecimal.valueOf(value, scales.get(i));
+        }
+    }
+
+    /** Date et heure en secondes UTC + nanosecondes, {@link #NULL} pour null. */
+    record Timestamps(LongBuffer seconds, IntBuffer nanos) {
+
+        static <T> Timestamps of(List<T> rows, Function<T, LocalDateTime> valueOf) {
+            long[] seconds = new long[rows.size()];
+            int[] nanos = new int[rows.size()];
+            for (int i = 0; i < seconds.length; i++) {
+                LocalDateTime value = valueOf.apply(rows.get(i));
+                if (value == null) {
+                    seconds[i] = NULL;
+                } else {
+                    seconds[i] = value.toEpochSecond(ZoneOffset.UTC);
+                    nanos[i] = value.getNano();
+                }
+            }
+            return new Timestamps(LongBuffer.wrap(seconds), IntBuffer.wrap(nanos));
+        }
+
+        LocalDateTime get(int i) {
+            long value = seconds.get(i);
+            return value == NULL ? null : LocalDateTime.ofEpochSecond(value, nanos.get(i), ZoneOffset.UTC);
+        }
+    }
+}
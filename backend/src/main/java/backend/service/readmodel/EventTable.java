@@ -0,0 +1,197 @@
+package backend.service.readmodel;
+
+import backend.dto.ChangeMark;
+import backend.dto.EventView;
+import backend.entities.Status;
+import backend.service.PageQuery;
+import org.springframework.data.domain.Window;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Événements du catalogue rangés en colonnes, comme {@link PlaceTable}. Les dates sont des numéros
+ * de jour ({@link Columns#NULL} pour null) ; {@link #byStart} range les positions dans l'ordre de
+ * la liste publique (date de début, nulles en dernier, puis id) pour la parcourir par clé.
+ */
+final class EventTable implements CatalogReadModel.Table<EventView> {
+
+    // Clé de tri des listes paginées (avec l'id), la même que EventService
+    static final String START_DATE = "startDate";
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final List<ChangeMark> watermark;
+    private final LongBuffer ids;
+    private final String[] titles;
+    private final String[] descriptions;
+    private final LongBuffer startDays;
+    private final LongBuffer endDays;
+    private final String[] locations;
+    private final ByteBuffer statuses;
+    private final LongBuffer proposerIds;
+    private final String[] proposerNames;
+    private final IntBuffer byStart;
+    private final long estimatedBytes;
+
+    private EventTable(List<ChangeMark> watermark, LongBuffer ids, String[] titles, String[] descriptions,
+                       LongBuffer startDays, LongBuffer endDays, String[] locations, ByteBuffer statuses,
+                       LongBuffer proposerIds, String[] proposerNames, IntBuffer byStart) {
+        this.watermark = watermark;
+        this.ids = ids;
+        this.titles = titles;
+        this.descriptions = descriptions;
+        this.startDays = startDays;
+        this.endDays = endDays;
+        this.locations = locations;
+        this.statuses = statuses;
+        this.proposerIds = proposerIds;
+        this.proposerNames = proposerNames;
+        this.byStart = byStart;
+        this.estimatedBytes = Columns.heapBytes(ids, 8, 8, 8, 1, 8, 4)
+                + Footprint.arrays(titles.length, 4, 4, 4, 4)
+                + new Footprint().addAll(titles).addAll(descriptions).addAll(locations).addAll(proposerNames).bytes();
+    }
+
+    /** Construit la table à partir des lignes lues par ordre d'id croissant. */
+    static EventTable build(List<ChangeMark> watermark, List<EventView> rows) {
+        int size = rows.size();
+        String[] titles = new String[size];
+        String[] descriptions = new String[size];
+        long[] startDays = new long[size];
+        long[] endDays = new long[size];
+        String[] locations = new String[size];
+        byte[] statuses = new byte[size];
+        long[] proposerIds = new long[size];
+        String[] proposerNames = new String[size];
+        StringPool pool = new StringPool();
+        for (int i = 0; i < size; i++) {
+            EventView row = rows.get(i);
+            titles[i] = row.title();
+            descriptions[i] = row.description();
+            startDays[i] = day(row.startDate());
+            endDays[i] = day(row.endDate());
+            locations[i] = pool.intern(row.location());
+            statuses[i] = (byte) row.status().ordinal();
+            proposerIds[i] = row.proposedBy() != null ? row.proposedBy().id() : Columns.NULL;
+            proposerNames[i] = row.proposedBy() != null ? pool.intern(row.proposedBy().fullName()) : null;
+        }
+        LongBuffer ids = Columns.ids(rows, EventView::id);
+        int[] byStart = IntStream.range(0, size).boxed()
+                .sorted(Comparator.<Integer>comparingLong(i -> startKey(startDays[i])).thenComparingLong(ids::get))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        return new EventTable(watermark, ids, titles, descriptions, LongBuffer.wrap(startDays),
+                LongBuffer.wrap(endDays), locations, ByteBuffer.wrap(statuses), LongBuffer.wrap(proposerIds),
+                proposerNames, IntBuffer.wrap(byStart));
+    }
+
+    /** Relit une table écrite par {@link #writeTo}, ordre de parcours compris (rien à retrier). */
+    static EventTable readFrom(SnapshotFile.Input in) {
+        return new EventTable(in.readMarks(), in.readLongs(), in.readStrings(), in.readStrings(), in.readLongs(),
+                in.readLongs(), in.readStrings(), in.readBytes(), in.readLongs(), in.readStrings(), in.readInts());
+    }
+
+    @Override
+    public void writeTo(SnapshotFile.Output out) throws IOException {
+        out.writeMarks(watermark);
+        out.writeLongs(ids);
+        out.writeStrings(titles);
+        out.writeStrings(descriptions);
+        out.writeLongs(startDays);
+        out.writeLongs(endDays);
+        out.writeStrings(locations);
+        out.writeBytes(statuses);
+        out.writeLongs(proposerIds);
+        out.writeStrings(proposerNames);
+        out.writeInts(byStart);
+    }
+
+    @Override
+    public List<ChangeMark> watermark() {
+        return watermark;
+    }
+
+    @Override
+    public int size() {
+        return ids.limit();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    @Override
+    public List<EventView> rows() {
+        return Columns.rows(size(), this::view);
+    }
+
+    /**
+     * Même règle que la requête SQL de la liste publique : événements validés dont la date de fin
+     * est postérieure à {@code today}, par date de début puis id.
+     */
+    Window<EventView> upcoming(LocalDate today, PageQuery page) {
+        long todayDay = today.toEpochDay();
+        int wanted = page.limit().max() + 1;
+        List<EventView> rows = new ArrayList<>(Math.min(wanted, 64));
+        for (int p = firstAfter(page); p < byStart.limit() && rows.size() < wanted; p++) {
+            int i = byStart.get(p);
+            long endDay = endDays.get(i);
+            if (statuses.get(i) == Status.ACTIVE.ordinal() && endDay != Columns.NULL && endDay > todayDay) {
+                rows.add(view(i));
+            }
+        }
+        return page.window(rows, EventView::id, START_DATE, EventView::startDate);
+    }
+
+    // Première position de byStart strictement après le curseur (date de début, id)
+    private int firstAfter(PageQuery page) {
+        Long afterId = page.lastId();
+        if (afterId == null) {
+            return 0;
+        }
+        LocalDate afterDate = page.lastKey(START_DATE, LocalDate.class);
+        long afterKey = afterDate != null ? afterDate.toEpochDay() : Long.MAX_VALUE;
+        int low = 0;
+        int high = byStart.limit();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int i = byStart.get(middle);
+            long key = startKey(startDays.get(i));
+            if (key < afterKey || (key == afterKey && ids.get(i) <= afterId)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private EventView view(int i) {
+        long proposerId = proposerIds.get(i);
+        return new EventView(ids.get(i), titles[i], descriptions[i], date(startDays.get(i)), date(endDays.get(i)),
+                locations[i], STATUSES[statuses.get(i)], proposerId == Columns.NULL ? null : proposerId,
+                proposerNames[i]);
+    }
+
+    // Dates nulles en dernier
+    private static long startKey(long day) {
+        return day == Columns.NULL ? Long.MAX_VALUE : day;
+    }
+
+    private static long day(LocalDate date) {
+        return date != null ? date.toEpochDay() : Columns.NULL;
+    }
+
+    private static LocalDate date(long day) {
+        return day == Columns.NULL ? null : LocalDate.ofEpochDay(day);
+    }
+}
@@ -0,0 +1,46 @@
+package backend.service.readmodel;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Estimation de la place occupée par une table (JVM 64 bits, références compressées) :
+ * en-tête + contenu des tableaux, et chaque instance de chaîne comptée une seule fois.
+ */
+final class Footprint {
+
+    private static final int ARRAY_HEADER = 16;
+    private static final int STRING_HEADER = 24;
+
+    private final Set<String> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long bytes;
+
+    /** Tableaux de {@code size} éléments, un par largeur d'élément donnée (en octets). */
+    static long arrays(int size, int... widths) {
+        long total = 0;
+        for (int width : widths) {
+            total += ARRAY_HEADER + (long) size * width;
+        }
+        return total;
+    }
+
+    Footprint addAll(String[] values) {
+        for (String value : values) {
+            add(value);
+        }
+        return this;
+    }
+
+    private void add(String value) {
+        if (value != null && seen.add(value)) {
+            // Chaînes compactes : un octet par caractère en Latin-1, deux au-delà
+            boolean latin1 = value.chars().allMatch(c -> c < 256);
+            bytes += STRING_HEADER + ARRAY_HEADER + (long) value.length() * (latin1 ? 1 : 2);
+        }
+    }
+
+    long bytes() {
+        return bytes;
+    }
+}
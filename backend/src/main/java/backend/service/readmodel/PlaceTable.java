@@ -0,0 +1,231 @@
+package backend.service.readmodel;
+
+import backend.dto.ChangeMark;
+import backend.dto.PlaceSummary;
+import backend.dto.RatingCounts;
+import backend.entities.Status;
+import backend.service.PageQuery;
+import org.springframework.data.domain.Window;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Lieux du catalogue rangés en colonnes : un tableau par champ, indexé par la position du lieu
+ * dans {@link #ids} (triés). Les nombres restent primitifs (NaN / Long.MIN_VALUE pour null),
+ * les villes sont partagées entre les lignes. Les avis y sont agrégés en comptes par note
+ * (cinq entiers par lieu), d'où la note moyenne des vues liste et les statistiques d'un lieu.
+ * Immuable une fois construite.
+ */
+final class PlaceTable implements CatalogReadModel.Table<PlaceSummary> {
+
+    private static final Status[] STATUSES = Status.values();
+    private static final int RATINGS = 5;
+
+    private final List<ChangeMark> watermark;
+    private final LongBuffer ids;
+    private final String[] names;
+    private final String[] cities;
+    private final DoubleBuffer latitudes;
+    private final DoubleBuffer longitudes;
+    private final String[] imageUrls;
+    private final ByteBuffer statuses;
+    private final Columns.Timestamps created;
+    // Nombre d'avis par note : ratingCounts[i * 5 + note - 1]
+    private final IntBuffer ratingCounts;
+    private final long estimatedBytes;
+
+    private PlaceTable(List<ChangeMark> watermark, LongBuffer ids, String[] names, String[] cities,
+                       DoubleBuffer latitudes, DoubleBuffer longitudes, String[] imageUrls, ByteBuffer statuses,
+                       Columns.Timestamps created, IntBuffer ratingCounts) {
+        this.watermark = watermark;
+        this.ids = ids;
+        this.names = names;
+        this.cities = cities;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.imageUrls = imageUrls;
+        this.statuses = statuses;
+        this.created = created;
+        this.ratingCounts = ratingCounts;
+        this.estimatedBytes = Columns.heapBytes(ids, 8, 8, 8, 1, 8, 4, 4 * RATINGS)
+                + Footprint.arrays(names.length, 4, 4, 4)
+                + new Footprint().addAll(names).addAll(cities).addAll(imageUrls).bytes();
+    }
+
+    /**
+     * Construit la table à partir des lignes lues par ordre d'id croissant et des comptes d'avis
+     * par lieu, eux aussi par id de lieu croissant (un lieu absent n'a pas d'avis).
+     */
+    static PlaceTable build(List<ChangeMark> watermark, List<PlaceSummary> rows, List<RatingCounts> ratings) {
+        int size = rows.size();
+        String[] names = new String[size];
+        String[] cities = new String[size];
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        String[] imageUrls = new String[size];
+        byte[] statuses = new byte[size];
+        int[] ratingCounts = new int[size * RATINGS];
+        StringPool pool = new StringPool();
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            PlaceSummary row = rows.get(i);
+            names[i] = row.name();
+            cities[i] = pool.intern(row.city());
+            latitudes[i] = row.latitude() != null ? row.latitude() : Double.NaN;
+            longitudes[i] = row.longitude() != null ? row.longitude() : Double.NaN;
+            imageUrls[i] = row.imageUrl();
+            statuses[i] = (byte) row.status().ordinal();
+            // Comptes des lieux absents de la table (supprimés entre les deux lectures) ignorés
+            while (next < ratings.size() && ratings.get(next).placeId() < row.id()) {
+                next++;
+            }
+            if (next < ratings.size() && ratings.get(next).placeId().equals(row.id())) {
+                for (int rating = 1; rating <= RATINGS; rating++) {
+                    ratingCounts[i * RATINGS + rating - 1] = Math.toIntExact(ratings.get(next).of(rating));
+                }
+            }
+        }
+        return new PlaceTable(watermark, Columns.ids(rows, PlaceSummary::id), names, cities,
+                DoubleBuffer.wrap(latitudes), DoubleBuffer.wrap(longitudes), imageUrls, ByteBuffer.wrap(statuses),
+                Columns.Timestamps.of(rows, PlaceSummary::createdAt), IntBuffer.wrap(ratingCounts));
+    }
+
+    /** Relit une table écrite par {@link #writeTo}. */
+    static PlaceTable readFrom(SnapshotFile.Input in) {
+        return new PlaceTable(in.readMarks(), in.readLongs(), in.readStrings(), in.readStrings(),
+                in.readDoubles(), in.readDoubles(), in.readStrings(), in.readBytes(),
+                new Columns.Timestamps(in.readLongs(), in.readInts()), in.readInts());
+    }
+
+    @Override
+    public void writeTo(SnapshotFile.Output out) throws IOException {
+        out.writeMarks(watermark);
+        out.writeLongs(ids);
+        out.writeStrings(names);
+        out.writeStrings(cities);
+        out.writeDoubles(latitudes);
+        out.writeDoubles(longitudes);
+        out.writeStrings(imageUrls);
+        out.writeBytes(statuses);
+        out.writeLongs(created.seconds());
+        out.writeInts(created.nanos());
+        out.writeInts(ratingCounts);
+    }
+
+    @Override
+    public List<ChangeMark> watermark() {
+        return watermark;
+    }
+
+    @Override
+    public int size() {
+        return ids.limit();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    @Override
+    public List<PlaceSummary> rows() {
+        return Columns.rows(size(), this::summary);
+    }
+
+    /** Comptes d'avis des lieux qui en ont, par id croissant : base de la fusion avec les comptes relus. */
+    List<RatingCounts> ratings() {
+        List<RatingCounts> rows = new ArrayList<>();
+        for (int i = 0; i < size(); i++) {
+            if (averageRating(i) != null) {
+                rows.add(ratingsAt(i));
+            }
+        }
+        return rows;
+    }
+
+    /** Comptes d'avis d'un lieu ; aucun avis pour un lieu absent de la table, comme en base. */
+    RatingCounts ratingsOf(long placeId) {
+        int i = Columns.indexOf(ids, placeId);
+        return i >= 0 ? ratingsAt(i) : RatingCounts.none(placeId);
+    }
+
+    Window<PlaceSummary> active(PageQuery page) {
+        return scan(page, i -> statuses.get(i) == Status.ACTIVE.ordinal());
+    }
+
+    /** Même règle que la requête SQL : nom ou ville contenant le texte, sans tenir compte de la casse. */
+    Window<PlaceSummary> search(String query, PageQuery page) {
+        return scan(page, i -> containsIgnoreCase(names[i], query) || containsIgnoreCase(cities[i], query));
+    }
+
+    Window<PlaceSummary> byCity(String city, PageQuery page) {
+        return scan(page, i -> containsIgnoreCase(cities[i], city));
+    }
+
+    Window<PlaceSummary> all(PageQuery page) {
+        return scan(page, i -> true);
+    }
+
+    /** Lieux demandés dans l'ordre donné ; un id absent de la table est ignoré. */
+    List<PlaceSummary> byIds(List<Long> wanted) {
+        return Columns.byIds(ids, wanted, this::summary);
+    }
+
+    private Window<PlaceSummary> scan(PageQuery page, IntPredicate match) {
+        int wanted = page.limit().max() + 1;
+        List<PlaceSummary> rows = new ArrayList<>(Math.min(wanted, 64));
+        for (int i = Columns.firstAfter(ids, page.afterId()); i < size() && rows.size() < wanted; i++) {
+            if (match.test(i)) {
+                rows.add(summary(i));
+            }
+        }
+        return page.window(rows, PlaceSummary::id);
+    }
+
+    private PlaceSummary summary(int i) {
+        return new PlaceSummary(ids.get(i), names[i], cities[i], boxed(latitudes.get(i)), boxed(longitudes.get(i)),
+                imageUrls[i], STATUSES[statuses.get(i)], created.get(i), averageRating(i));
+    }
+
+    private RatingCounts ratingsAt(int i) {
+        int at = i * RATINGS;
+        return new RatingCounts(ids.get(i), ratingCounts.get(at), ratingCounts.get(at + 1), ratingCounts.get(at + 2),
+                ratingCounts.get(at + 3), ratingCounts.get(at + 4));
+    }
+
+    // Même valeur que AVG(rating) en base ; null sans avis
+    private Double averageRating(int i) {
+        long count = 0;
+        long sum = 0;
+        for (int rating = 1; rating <= RATINGS; rating++) {
+            int total = ratingCounts.get(i * RATINGS + rating - 1);
+            count += total;
+            sum += (long) rating * total;
+        }
+        return count == 0 ? null : (double) sum / count;
+    }
+
+    // Sans copie en minuscules : ni par ligne dans la table, ni par ligne à chaque recherche
+    private static boolean containsIgnoreCase(String value, String part) {
+        if (value == null) {
+            return false;
+        }
+        for (int from = 0; from <= value.length() - part.length(); from++) {
+            if (value.regionMatches(true, from, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
@@ -0,0 +1,239 @@
+package backend.service.readmodel;
+
+import backend.dto.ChangeMark;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Fichier binaire d'une table du modèle de lecture :
+ * <pre>
+ * "ETRM" | version du format | contenu écrit par la table | CRC32 de tout ce qui précède
+ * </pre>
+ * Les tableaux sont écrits d'un bloc (taille puis valeurs, gros-boutiste), les chaînes une seule
+ * fois chacune : une chaîne déjà écrite n'est plus qu'un numéro, ce qui garde aussi le partage
+ * des villes à la relecture. Le fichier est relu par projection mémoire (mmap) et vérifié avant
+ * tout décodage ; l'écriture passe par un fichier temporaire renommé, jamais à moitié visible.
+ * <p>
+ * À la relecture, les tableaux ne sont pas copiés : {@link Input#readLongs()} et les autres
+ * rendent des vues sur la projection, servies telles quelles par la table relue (le système
+ * charge les pages à la demande et peut les rendre sous pression mémoire). Seules les chaînes
+ * sont décodées sur le tas. Un fichier n'étant jamais réécrit sur place, une projection reste
+ * valide après le renommage d'une version plus récente ; elle est libérée avec la table.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x4554524D; // "ETRM"
+    private static final int FORMAT = 2;
+    private static final int NULL = -1;
+
+    private SnapshotFile() {
+    }
+
+    interface Body {
+        void write(Output out) throws IOException;
+    }
+
+    static void write(Path path, Body body) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temporary)) {
+            DataOutputStream checked = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc)));
+            checked.writeInt(MAGIC);
+            checked.writeInt(FORMAT);
+            body.write(new Output(checked));
+            checked.flush();
+            // Le CRC lui-même est hors du calcul
+            new DataOutputStream(file).writeLong(crc.getValue());
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Fichier projeté en mémoire et vérifié, ou IOException s'il est absent, d'un autre format ou abîmé. */
+    static Input read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < 16) {
+            throw new IOException("Fichier tronqué : " + path);
+        }
+        int end = buffer.capacity() - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, end));
+        if (crc.getValue() != buffer.getLong(end)) {
+            throw new IOException("Somme de contrôle invalide : " + path);
+        }
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+            throw new IOException("Format de fichier inconnu : " + path);
+        }
+        return new Input(buffer.limit(end));
+    }
+
+    static final class Output {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private Output(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeLongs(LongBuffer values) throws IOException {
+            out.writeInt(values.limit());
+            for (int i = 0; i < values.limit(); i++) {
+                out.writeLong(values.get(i));
+            }
+        }
+
+        void writeInts(IntBuffer values) throws IOException {
+            out.writeInt(values.limit());
+            for (int i = 0; i < values.limit(); i++) {
+                out.writeInt(values.get(i));
+            }
+        }
+
+        void writeDoubles(DoubleBuffer values) throws IOException {
+            out.writeInt(values.limit());
+            for (int i = 0; i < values.limit(); i++) {
+                out.writeDouble(values.get(i));
+            }
+        }
+
+        void writeBytes(ByteBuffer values) throws IOException {
+            out.writeInt(values.limit());
+            for (int i = 0; i < values.limit(); i++) {
+                out.writeByte(values.get(i));
+            }
+        }
+
+        // Numéro déjà attribué, ou numéro suivant immédiatement suivi du texte en UTF-8
+        void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(NULL);
+                return;
+            }
+            Integer known = strings.get(value);
+            if (known != null) {
+                out.writeInt(known);
+                return;
+            }
+            int number = strings.size();
+            strings.put(value, number);
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(number);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+
+        void writeMarks(List<ChangeMark> marks) throws IOException {
+            out.writeInt(marks.size());
+            for (ChangeMark mark : marks) {
+                out.writeLong(mark.rows());
+                out.writeLong(mark.maxId());
+                out.writeLong(mark.revision());
+            }
+        }
+
+        void writeStrings(String[] values) throws IOException {
+            out.writeInt(values.length);
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+    }
+
+    static final class Input {
+
+        private final ByteBuffer buffer;
+        private final List<String> strings = new ArrayList<>();
+
+        private Input(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        LongBuffer readLongs() {
+            return slice(Long.BYTES).asLongBuffer();
+        }
+
+        IntBuffer readInts() {
+            return slice(Integer.BYTES).asIntBuffer();
+        }
+
+        DoubleBuffer readDoubles() {
+            return slice(Double.BYTES).asDoubleBuffer();
+        }
+
+        ByteBuffer readBytes() {
+            return slice(Byte.BYTES);
+        }
+
+        // Vue sur le tableau suivant (taille puis valeurs), sans copie ; même ordre d'octets qu'à l'écriture
+        private ByteBuffer slice(int width) {
+            int length = buffer.getInt();
+            if (length < 0 || (long) length * width > buffer.remaining()) {
+                throw new IllegalStateException("Tableau hors du fichier : " + length + " éléments");
+            }
+            ByteBuffer values = buffer.slice(buffer.position(), length * width).order(ByteOrder.BIG_ENDIAN);
+            buffer.position(buffer.position() + length * width);
+            return values;
+        }
+
+        String readString() {
+            int number = buffer.getInt();
+            if (number == NULL) {
+                return null;
+            }
+            if (number < strings.size()) {
+                return strings.get(number);
+            }
+            byte[] utf8 = new byte[buffer.getInt()];
+            buffer.get(utf8);
+            String value = new String(utf8, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        String[] readStrings() {
+            String[] values = new String[buffer.getInt()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readString();
+            }
+            return values;
+        }
+
+        List<ChangeMark> readMarks() {
+            List<ChangeMark> marks = new ArrayList<>();
+            for (int count = buffer.getInt(); count > 0; count--) {
+                marks.add(new ChangeMark(buffer.getLong(), buffer.getLong(), buffer.getLong()));
+            }
+            return List.copyOf(marks);
+        }
+
+        /** Vrai si tout le contenu a été lu : une table qui lit trop peu ou trop est refusée. */
+        boolean isFullyRead() {
+            return !buffer.hasRemaining();
+        }
+    }
+}
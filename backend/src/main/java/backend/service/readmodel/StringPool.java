@@ -0,0 +1,18 @@
+package backend.service.readmodel;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dédoublonnage des chaînes très répétées (villes, durées) le temps d'une construction :
+ * toutes les lignes d'une même ville partagent une seule instance. Contrairement à
+ * String.intern(), le pool disparaît avec la table qu'il a servi à construire.
+ */
+final class StringPool {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    String intern(String value) {
+        return value == null ? null : values.computeIfAbsent(value, v -> v);
+    }
+}
@@ -0,0 +1,62 @@
+package backend.service.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.fr.FrenchLightStemFilter;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.util.CharTokenizer;
+
+import java.io.IOException;
+
+/**
+ * Analyse des textes de l'index Lucene du catalogue, identique pour les documents et la requête :
+ * découpage en mots comme {@link TextNormalizer#words}, retrait des mots vides français ("la",
+ * "de", "l'"), repli par {@link TextNormalizer} (accents, arabe, graphies), puis racinisation
+ * légère ("poteries" et "poterie" donnent le même terme).
+ */
+final class CatalogAnalyzer extends Analyzer {
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        Tokenizer source = CharTokenizer.fromTokenCharPredicate(CatalogAnalyzer::isWordChar);
+        TokenStream stream = new LowerCaseFilter(source);
+        stream = new StopFilter(stream, FrenchAnalyzer.getDefaultStopSet());
+        stream = new FoldingFilter(stream);
+        stream = new FrenchLightStemFilter(stream);
+        return new TokenStreamComponents(source, stream);
+    }
+
+    // Marques combinantes gardées dans le mot : le repli les retire sans couper le mot en deux
+    private static boolean isWordChar(int c) {
+        int type = Character.getType(c);
+        return Character.isLetterOrDigit(c) || type == Character.NON_SPACING_MARK
+                || type == Character.COMBINING_SPACING_MARK || type == Character.ENCLOSING_MARK;
+    }
+
+    /** Remplace chaque mot par sa forme repliée ; un mot sans lettre après repli est écarté. */
+    private static final class FoldingFilter extends TokenFilter {
+
+        private final CharTermAttribute term = addAttribute(CharTermAttribute.class);
+
+        FoldingFilter(TokenStream input) {
+            super(input);
+        }
+
+        @Override
+        public boolean incrementToken() throws IOException {
+            while (input.incrementToken()) {
+                String folded = TextNormalizer.fold(term.toString());
+                if (!folded.isEmpty()) {
+                    term.setEmpty().append(folded);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
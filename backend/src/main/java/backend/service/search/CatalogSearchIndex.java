@@ -0,0 +1,562 @@
+package backend.service.search;
+
+import backend.dto.SearchHit;
+import backend.dto.SearchRow;
+import backend.entities.Status;
+import backend.exception.ServiceUnavailableException;
+import backend.repositories.ActivityRepository;
+import backend.repositories.ArtisanRepository;
+import backend.repositories.CircuitRepository;
+import backend.repositories.EventRepository;
+import backend.repositories.PlaceRepository;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.IncrementalIndex;
+import backend.service.PageQuery;
+import backend.service.facet.CatalogFacets;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoubleDocValuesField;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.range.DoubleRange;
+import org.apache.lucene.facet.range.DoubleRangeFacetCounts;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recherche unifiée du catalogue (/api/search) : lieux, activités, circuits, événements et
+ * artisans publiés dans un seul index Lucene sur disque, classés ensemble par pertinence (BM25,
+ * titre avant ville avant description) avec des facettes type / ville / tranche de prix.
+ * <p>
+ * Les mutations des services publient un {@link CatalogChangedEvent} après commit ; un
+ * {@link IncrementalIndex} (une partie par collection) relit les seuls éléments modifiés, puis le
+ * lecteur est rouvert (near-real-time) sans attendre un commit Lucene. Une reconstruction relit
+ * la base collection par collection en parallèle : au démarrage, à la demande d'un
+ * administrateur, et chaque nuit pour les événements terminés. Elle réécrit chaque document de
+ * ses collections avec un numéro de génération et retire ensuite ceux des générations précédentes
+ * (éléments supprimés ou dépubliés) ; les recherches voient l'ancien état jusqu'à la fin.
+ */
+@Slf4j
+@Component
+public class CatalogSearchIndex {
+
+    // Champs des documents
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String TEXT = "text";
+    private static final String CITY = "city";
+    private static final String CITY_KEY = "cityKey";
+    private static final String PRICE = "price";
+    private static final String GENERATION = "generation";
+    // Facettes
+    private static final String TYPE_FACET = "type";
+    private static final String CITY_FACET = "city";
+    private static final String PRICE_FACET = "price";
+    // Clés du curseur
+    private static final String SCORE = "score";
+
+    private static final Sort RELEVANCE = new Sort(SortField.FIELD_SCORE, new SortField(KEY, SortField.Type.STRING));
+    // Circuits et artisans ne sont listés qu'aux utilisateurs connectés
+    private static final Set<CatalogCollection> PUBLIC_TYPES =
+            EnumSet.of(CatalogCollection.PLACES, CatalogCollection.ACTIVITIES, CatalogCollection.EVENTS);
+
+    /** Page de résultats, total et comptes par facette. */
+    public record Result(Window<SearchHit> hits, long total, Map<String, Map<String, Long>> facets) {
+    }
+
+    // Compteurs par facette propres à un lecteur : recalculés à chaque réouverture
+    private record FacetState(IndexReader reader, SortedSetDocValuesReaderState state) {
+    }
+
+    private final Map<CatalogCollection, IncrementalIndex.Source<SearchRow>> sources =
+            new EnumMap<>(CatalogCollection.class);
+    // Ville repliée -> première graphie rencontrée : valeur de la facette, d'accord avec le filtre replié
+    private final Map<String, String> cityLabels = new ConcurrentHashMap<>();
+
+    private final ActivityRepository activityRepository;
+    private final Analyzer analyzer = new CatalogAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final List<DoubleRange> priceRanges;
+    private final int maxFacetValues;
+    private final IncrementalIndex index;
+    private final ExecutorService rebuildExecutor;
+
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile long generation;
+    private volatile FacetState facetState;
+
+    private final LongAdder requests = new LongAdder();
+
+    public CatalogSearchIndex(PlaceRepository placeRepository, ActivityRepository activityRepository,
+                              CircuitRepository circuitRepository, EventRepository eventRepository,
+                              ArtisanRepository artisanRepository, CatalogVersions versions,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${application.search.catalog.directory:data/search-index}") String directory,
+                              @Value("${application.search.catalog.batch-size:1000}") int batchSize,
+                              @Value("${application.search.catalog.rebuild-threads:4}") int rebuildThreads,
+                              @Value("${application.search.catalog.price-ranges:100,300,600}") double[] priceBounds,
+                              @Value("${application.search.catalog.max-facet-values:10}") int maxFacetValues,
+                              @Value("${application.search.catalog.enabled:true}") boolean enabled) {
+        this.activityRepository = activityRepository;
+        this.maxFacetValues = maxFacetValues;
+        this.priceRanges = priceRanges(priceBounds);
+
+        Status active = Status.ACTIVE;
+        sources.put(CatalogCollection.PLACES, new IncrementalIndex.Source<>(
+                (afterId, limit) -> placeRepository.findSearchRows(active, afterId, limit),
+                ids -> placeRepository.findSearchRowsByIdIn(active, ids), SearchRow::id));
+        sources.put(CatalogCollection.ACTIVITIES, new IncrementalIndex.Source<>(
+                (afterId, limit) -> activityRepository.findSearchRows(active, afterId, limit),
+                ids -> activityRepository.findSearchRowsByIdIn(active, ids), SearchRow::id));
+        sources.put(CatalogCollection.CIRCUITS, new IncrementalIndex.Source<>(
+                (afterId, limit) -> circuitRepository.findSearchRows(active, afterId, limit),
+                ids -> circuitRepository.findSearchRowsByIdIn(active, ids), SearchRow::id));
+        // Même règle que la liste des événements à venir
+        sources.put(CatalogCollection.EVENTS, new IncrementalIndex.Source<>(
+                (afterId, limit) -> eventRepository.findSearchRows(active, LocalDate.now(), afterId, limit),
+                ids -> eventRepository.findSearchRowsByIdIn(active, LocalDate.now(), ids), SearchRow::id));
+        sources.put(CatalogCollection.ARTISANS, new IncrementalIndex.Source<>(
+                (afterId, limit) -> artisanRepository.findSearchRows(active, afterId, limit),
+                ids -> artisanRepository.findSearchRowsByIdIn(active, ids), SearchRow::id));
+
+        AtomicInteger threads = new AtomicInteger();
+        this.rebuildExecutor = Executors.newFixedThreadPool(Math.max(1, rebuildThreads), runnable -> {
+            Thread thread = new Thread(runnable, "catalog-search-rebuild-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Index inutilisable (répertoire verrouillé par une autre instance...) : la recherche répond 503
+        boolean opened = enabled && open(directory);
+        this.index = new IncrementalIndex("catalog-search-index", sources.keySet(), this::rebuild, this::apply,
+                versions, transactionManager, batchSize, opened);
+        if (opened && generation > 0) {
+            // Index du précédent démarrage servi jusqu'à la fin de la reconstruction
+            sources.keySet().forEach(index::restored);
+        }
+    }
+
+    private boolean open(String directory) {
+        try {
+            Directory store = directory == null || directory.isBlank()
+                    ? new ByteBuffersDirectory()
+                    : FSDirectory.open(Files.createDirectories(Path.of(directory)));
+            writer = new IndexWriter(store, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+            if (commitData != null) {
+                for (Map.Entry<String, String> entry : commitData) {
+                    if (GENERATION.equals(entry.getKey())) {
+                        generation = Long.parseLong(entry.getValue());
+                    }
+                }
+            }
+            searcherManager = new SearcherManager(writer, null);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Ouverture de l'index de recherche du catalogue impossible ({})", directory, e);
+            return false;
+        }
+    }
+
+    // Mêmes libellés que les tranches de prix des filtres (CatalogFacets)
+    private static List<DoubleRange> priceRanges(double[] bounds) {
+        List<String> labels = new CatalogFacets.Bands(bounds).labels();
+        List<DoubleRange> ranges = new ArrayList<>();
+        double low = 0.0;
+        for (int i = 0; i < bounds.length; i++) {
+            ranges.add(new DoubleRange(labels.get(i), low, true, bounds[i], false));
+            low = bounds[i];
+        }
+        ranges.add(new DoubleRange(labels.get(bounds.length), low, true, Double.POSITIVE_INFINITY, true));
+        return ranges;
+    }
+
+    // ==================== Recherche ====================
+
+    /** ETag des réponses de la recherche, null tant que l'index n'est pas construit. */
+    public String tag() {
+        return index.tag();
+    }
+
+    /**
+     * Éléments contenant tous les mots de la requête, les plus pertinents d'abord ; sans mot,
+     * tous les éléments (navigation par facettes). {@code types} vide = toutes les collections
+     * visibles. Les facettes portent sur tous les résultats, pas seulement sur la page.
+     */
+    public Result search(String query, Set<CatalogCollection> types, String city, BigDecimal minPrice,
+                         BigDecimal maxPrice, PageQuery page, boolean authenticated) {
+        if (index.tag() == null) {
+            throw new ServiceUnavailableException("Index de recherche en cours de construction");
+        }
+        requests.increment();
+        Set<CatalogCollection> allowed = EnumSet.copyOf(types.isEmpty() ? sources.keySet() : types);
+        if (!authenticated) {
+            allowed.retainAll(PUBLIC_TYPES);
+        }
+        if (allowed.isEmpty()) {
+            return new Result(Window.from(List.of(), i -> ScrollPosition.keyset()), 0L, Map.of());
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return search(searcher, query(query, allowed, city, minPrice, maxPrice), page);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Result search(IndexSearcher searcher, Query query, PageQuery page) throws IOException {
+        if (searcher.getIndexReader().numDocs() == 0) {
+            return new Result(Window.from(List.of(), i -> ScrollPosition.keyset()), 0L, Map.of());
+        }
+        int limit = page.limit().max();
+        FacetsCollector facetsCollector = new FacetsCollector();
+        TopDocs top = FacetsCollector.searchAfter(searcher, after(page, searcher), query, limit + 1, RELEVANCE,
+                true, facetsCollector);
+
+        List<SearchHit> hits = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        StoredFields stored = searcher.storedFields();
+        for (ScoreDoc scoreDoc : top.scoreDocs) {
+            if (hits.size() == limit) {
+                break;
+            }
+            Document document = stored.document(scoreDoc.doc);
+            Number price = document.getField(PRICE) != null ? document.getField(PRICE).numericValue() : null;
+            hits.add(new SearchHit(CatalogCollection.valueOf(document.get(TYPE)),
+                    document.getField(ID).numericValue().longValue(), document.get(TITLE), document.get(CITY),
+                    price != null ? BigDecimal.valueOf(price.doubleValue()) : null, scoreDoc.score));
+            keys.add(document.get(KEY));
+        }
+        boolean hasNext = top.scoreDocs.length > limit;
+        Window<SearchHit> window = Window.from(hits, i -> ScrollPosition.forward(
+                Map.of(SCORE, hits.get(i).score(), KEY, keys.get(i))), hasNext);
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        Facets counts = new SortedSetDocValuesFacetCounts(readerState(searcher.getIndexReader()), facetsCollector);
+        Map<String, Long> byType = counts(counts.getTopChildren(sources.size(), TYPE_FACET));
+        facets.put(TYPE_FACET, byType);
+        facets.put(CITY_FACET, counts(counts.getTopChildren(maxFacetValues, CITY_FACET)));
+        Facets prices = new DoubleRangeFacetCounts(PRICE, facetsCollector, priceRanges.toArray(new DoubleRange[0]));
+        facets.put(PRICE_FACET, counts(prices.getAllChildren(PRICE)));
+        // Un seul type par document : la facette type compte exactement les résultats
+        long total = byType.values().stream().mapToLong(Long::longValue).sum();
+        return new Result(window, total, facets);
+    }
+
+    // Libellé -> nombre de résultats, dans l'ordre de la facette (décroissant, ou tranches de prix croissantes)
+    private static Map<String, Long> counts(FacetResult result) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        if (result != null) {
+            for (LabelAndValue child : result.labelValues) {
+                counts.put(child.label, child.value.longValue());
+            }
+        }
+        return counts;
+    }
+
+    private SortedSetDocValuesReaderState readerState(IndexReader reader) throws IOException {
+        FacetState current = facetState;
+        if (current == null || current.reader() != reader) {
+            current = new FacetState(reader, new DefaultSortedSetDocValuesReaderState(reader, facetsConfig));
+            facetState = current;
+        }
+        return current.state();
+    }
+
+    // Curseur (score, clé) de la dernière ligne servie ; un curseur d'une autre forme repart du début.
+    // À valeurs égales Lucene départage par numéro de document : le plus grand exclut la ligne du curseur.
+    private static FieldDoc after(PageQuery page, IndexSearcher searcher) {
+        if (page.position() instanceof KeysetScrollPosition keyset
+                && keyset.getKeys().get(SCORE) instanceof Double score
+                && keyset.getKeys().get(KEY) instanceof String key) {
+            float value = score.floatValue();
+            return new FieldDoc(searcher.getIndexReader().maxDoc() - 1, value, new Object[]{value, new BytesRef(key)});
+        }
+        return null;
+    }
+
+    // Chaque mot doit apparaître dans le titre, la ville ou la description ; les filtres ne comptent pas dans le score
+    private Query query(String text, Set<CatalogCollection> types, String city, BigDecimal minPrice,
+                        BigDecimal maxPrice) throws IOException {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        Set<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            query.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        for (String term : terms) {
+            query.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(TITLE, term)), 3.0f), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new TermQuery(new Term(CITY, term)), 2.0f), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(TEXT, term)), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+        if (types.size() < sources.size()) {
+            List<BytesRef> names = types.stream().map(type -> new BytesRef(type.name())).toList();
+            query.add(new TermInSetQuery(TYPE, names), BooleanClause.Occur.FILTER);
+        }
+        String cityKey = TextNormalizer.fold(city);
+        if (!cityKey.isEmpty()) {
+            query.add(new TermQuery(new Term(CITY_KEY, cityKey)), BooleanClause.Occur.FILTER);
+        }
+        if (minPrice != null || maxPrice != null) {
+            double min = minPrice != null ? minPrice.doubleValue() : Double.NEGATIVE_INFINITY;
+            double max = maxPrice != null ? maxPrice.doubleValue() : Double.POSITIVE_INFINITY;
+            query.add(DoublePoint.newRangeQuery(PRICE, min, max), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private Set<String> analyze(String text) throws IOException {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(TEXT, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return terms;
+    }
+
+    // ==================== Mise à jour ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        index.requestRebuild();
+    }
+
+    /** Reconstruction complète depuis la base, en arrière-plan. */
+    public void reindex() {
+        buildAll();
+    }
+
+    // Un événement sort de la recherche le lendemain de sa fin, sans mutation qui le signale
+    @Scheduled(cron = "${application.search.catalog.events-refresh-cron:0 5 0 * * *}")
+    public void dropEndedEvents() {
+        index.requestRebuild(CatalogCollection.EVENTS);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // Sans id (utilisateur recopié...) : aucun champ indexé n'a changé
+        if (sources.containsKey(event.collection()) && event.id() != null) {
+            index.mark(event.collection(), event.collection(), event.id());
+        }
+    }
+
+    // Une tâche par collection ; IndexWriter accepte les écritures concurrentes
+    private void rebuild(Set<CatalogCollection> parts) throws IOException, ExecutionException, InterruptedException {
+        long next = generation + 1;
+        List<Future<?>> tasks = new ArrayList<>();
+        for (CatalogCollection part : parts) {
+            tasks.add(rebuildExecutor.submit(() -> index.loadAll(sources.get(part), row -> put(part, row, next))));
+        }
+        try {
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            // Documents déjà réécrits gardés : ils sont à jour, les autres restent ceux d'avant
+            tasks.forEach(task -> task.cancel(true));
+            throw e;
+        } finally {
+            searcherManager.maybeRefresh();
+        }
+        // Anciennes générations des seules collections relues : les autres n'ont pas été réécrites
+        List<BytesRef> types = parts.stream().map(part -> new BytesRef(part.name())).toList();
+        writer.deleteDocuments(new BooleanQuery.Builder()
+                .add(new TermInSetQuery(TYPE, types), BooleanClause.Occur.FILTER)
+                .add(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, next - 1), BooleanClause.Occur.FILTER)
+                .build());
+        writer.setLiveCommitData(Map.of(GENERATION, Long.toString(next)).entrySet());
+        writer.commit();
+        generation = next;
+        searcherManager.maybeRefresh();
+    }
+
+    private void apply(CatalogCollection part, IncrementalIndex.Changes changes) throws IOException {
+        Set<Long> ids = changes.of(part);
+        try {
+            // Supprimé, pas (plus) publié, ou événement terminé
+            index.loadByIds(sources.get(part), ids, row -> put(part, row, generation), id -> delete(part, id));
+            if (part == CatalogCollection.PLACES) {
+                // La ville d'une activité est celle de son lieu
+                List<SearchRow> activities = index.readOnly(() ->
+                        activityRepository.findSearchRowsByPlaceIdIn(Status.ACTIVE, ids));
+                activities.forEach(row -> put(CatalogCollection.ACTIVITIES, row, generation));
+            }
+        } finally {
+            searcherManager.maybeRefresh();
+        }
+    }
+
+    private void put(CatalogCollection collection, SearchRow row, long generation) {
+        String key = key(collection, row.id());
+        Document document = new Document();
+        document.add(new StringField(KEY, key, Field.Store.YES));
+        document.add(new SortedDocValuesField(KEY, new BytesRef(key)));
+        document.add(new StringField(TYPE, collection.name(), Field.Store.YES));
+        document.add(new SortedSetDocValuesFacetField(TYPE_FACET, collection.name()));
+        document.add(new StoredField(ID, row.id()));
+        document.add(new LongPoint(GENERATION, generation));
+        document.add(new TextField(TITLE, row.title() != null ? row.title() : "", Field.Store.YES));
+        if (row.text() != null) {
+            document.add(new TextField(TEXT, row.text(), Field.Store.NO));
+        }
+        String city = row.city() != null ? row.city().strip() : "";
+        String cityKey = TextNormalizer.fold(city);
+        if (!cityKey.isEmpty()) {
+            document.add(new TextField(CITY, city, Field.Store.YES));
+            document.add(new StringField(CITY_KEY, cityKey, Field.Store.NO));
+            // "Taroudant", "taroudant " et "Tarudant" : une seule valeur de facette, celle que le filtre retrouve
+            document.add(new SortedSetDocValuesFacetField(CITY_FACET, cityLabels.computeIfAbsent(cityKey, folded -> city)));
+        }
+        if (row.price() != null) {
+            double price = row.price().doubleValue();
+            document.add(new DoublePoint(PRICE, price));
+            document.add(new DoubleDocValuesField(PRICE, price));
+            document.add(new StoredField(PRICE, price));
+        }
+        try {
+            writer.updateDocument(new Term(KEY, key), facetsConfig.build(document));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void delete(CatalogCollection collection, Long id) {
+        try {
+            writer.deleteDocuments(new Term(KEY, key(collection, id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String key(CatalogCollection collection, Long id) {
+        return collection.name() + ":" + id;
+    }
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("requests", requests.sum());
+        stats.putAll(index.getStatistics());
+        stats.put("generation", generation);
+        if (index.isEnabled()) {
+            try {
+                IndexSearcher searcher = searcherManager.acquire();
+                try {
+                    stats.put("documents", (long) searcher.getIndexReader().numDocs());
+                } finally {
+                    searcherManager.release(searcher);
+                }
+            } catch (IOException e) {
+                log.debug("Lecture du nombre de documents impossible", e);
+            }
+        }
+        return stats;
+    }
+
+    // Fermeture du writer = commit des mises à jour incrémentales, relues au prochain démarrage
+    @PreDestroy
+    void shutdown() {
+        index.shutdown();
+        rebuildExecutor.shutdownNow();
+        if (writer != null) {
+            try {
+                index.awaitTermination(5, TimeUnit.SECONDS);
+                rebuildExecutor.awaitTermination(5, TimeUnit.SECONDS);
+                searcherManager.close();
+                writer.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Fermeture de l'index de recherche du catalogue impossible", e);
+            }
+        }
+    }
+}
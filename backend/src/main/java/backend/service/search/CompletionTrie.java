@@ -0,0 +1,267 @@
+package backend.service.search;
+
+import backend.dto.Suggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Arbre de préfixes compressé (radix) pour l'autocomplétion : chaque arête porte une chaîne,
+ * un nœud n'existe que là où deux clés divergent ou se terminent. Chaque nœud garde les
+ * {@code capacity} meilleures entrées de son sous-arbre, triées : une requête ne fait que
+ * descendre le long du préfixe et recopier cette liste, quel que soit le nombre d'éléments
+ * qui commencent par lui.
+ * <p>
+ * Une entrée a plusieurs clés (son libellé replié à partir de chaque mot). Ajout et retrait
+ * recalculent les listes des seuls nœuds traversés, en remontant. Lectures et écritures sont
+ * protégées par un verrou lecture/écriture.
+ */
+final class CompletionTrie {
+
+    /** Proposition et poids (popularité, note) ; le poids décide de l'ordre. */
+    record Entry(Suggestion suggestion, double weight) {
+    }
+
+    // Plus lourd d'abord ; à poids égal le libellé le plus court (le plus proche de la saisie)
+    static final Comparator<Entry> BEST_FIRST = Comparator.comparingDouble(Entry::weight).reversed()
+            .thenComparingInt(entry -> entry.suggestion().label().length())
+            .thenComparing(entry -> entry.suggestion().id());
+
+    private static final Entry[] NONE = new Entry[0];
+
+    private final int capacity;
+    private final Node root = new Node("");
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, List<String>> keysOf = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int nodes = 1;
+
+    CompletionTrie(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /** Ajoute ou remplace l'entrée de même id. */
+    void put(Entry entry, List<String> keys) {
+        long id = entry.suggestion().id();
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            entries.put(id, entry);
+            keysOf.put(id, keys);
+            for (String key : keys) {
+                insert(root, key, 0, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        List<String> keys = keysOf.remove(id);
+        if (keys != null) {
+            entries.remove(id);
+            for (String key : keys) {
+                delete(root, key, 0, id);
+            }
+        }
+    }
+
+    /** Meilleures entrées dont une clé commence par {@code prefix}, au plus {@code limit}. */
+    List<Entry> top(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int position = 0;
+            while (position < prefix.length()) {
+                Node child = node.child(prefix.charAt(position));
+                if (child == null) {
+                    return List.of();
+                }
+                int remaining = prefix.length() - position;
+                if (remaining <= child.edge.length()) {
+                    // Le préfixe s'arrête au milieu de l'arête : tout le sous-arbre convient
+                    return child.edge.startsWith(prefix.substring(position)) ? child.top(limit) : List.of();
+                }
+                if (!prefix.startsWith(child.edge, position)) {
+                    return List.of();
+                }
+                position += child.edge.length();
+                node = child;
+            }
+            return node.top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int nodes() {
+        lock.readLock().lock();
+        try {
+            return nodes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Modification ====================
+
+    private void insert(Node node, String key, int position, Entry entry) {
+        if (position == key.length()) {
+            node.terminals.add(entry);
+        } else {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                Node leaf = new Node(key.substring(position));
+                leaf.terminals.add(entry);
+                leaf.recompute(capacity);
+                node.attach(leaf);
+                nodes++;
+            } else {
+                int common = commonPrefix(child.edge, key, position);
+                if (common < child.edge.length()) {
+                    // La clé diverge au milieu de l'arête : nœud intermédiaire
+                    Node middle = new Node(child.edge.substring(0, common));
+                    child.edge = child.edge.substring(common);
+                    node.replace(middle);
+                    middle.attach(child);
+                    middle.top = child.top;
+                    nodes++;
+                    child = middle;
+                }
+                insert(child, key, position + common, entry);
+            }
+        }
+        node.recompute(capacity);
+    }
+
+    private void delete(Node node, String key, int position, long id) {
+        if (position == key.length()) {
+            node.terminals.removeIf(entry -> entry.suggestion().id() == id);
+        } else {
+            Node child = node.child(key.charAt(position));
+            if (child == null || !key.startsWith(child.edge, position)) {
+                return;
+            }
+            delete(child, key, position + child.edge.length(), id);
+            if (child.terminals.isEmpty() && child.children.length == 0) {
+                node.detach(child);
+                nodes--;
+            } else if (child.terminals.isEmpty() && child.children.length == 1) {
+                // Nœud devenu inutile : fusionné avec son unique enfant
+                Node only = child.children[0];
+                only.edge = child.edge + only.edge;
+                node.replace(only);
+                nodes--;
+            }
+        }
+        node.recompute(capacity);
+    }
+
+    private static int commonPrefix(String edge, String key, int position) {
+        int length = Math.min(edge.length(), key.length() - position);
+        int i = 0;
+        while (i < length && edge.charAt(i) == key.charAt(position + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        private String edge;
+        private char[] firsts = new char[0];
+        private Node[] children = new Node[0];
+        private final List<Entry> terminals = new ArrayList<>(1);
+        private Entry[] top = NONE;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        Node child(char first) {
+            int index = Arrays.binarySearch(firsts, first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        // Enfants triés par première lettre, recherche par dichotomie
+        void attach(Node child) {
+            int index = -Arrays.binarySearch(firsts, child.edge.charAt(0)) - 1;
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newFirsts[index] = child.edge.charAt(0);
+            newChildren[index] = child;
+            System.arraycopy(firsts, index, newFirsts, index + 1, firsts.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        void detach(Node child) {
+            int index = Arrays.binarySearch(firsts, child.edge.charAt(0));
+            char[] newFirsts = new char[firsts.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(firsts, index + 1, newFirsts, index, firsts.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        // Même première lettre que l'enfant remplacé
+        void replace(Node child) {
+            children[Arrays.binarySearch(firsts, child.edge.charAt(0))] = child;
+        }
+
+        // Entrées terminales et listes des enfants, sans doublon (une entrée a plusieurs clés)
+        void recompute(int capacity) {
+            List<Entry> candidates = new ArrayList<>(terminals);
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(BEST_FIRST);
+            List<Entry> best = new ArrayList<>(Math.min(capacity, candidates.size()));
+            Set<Long> seen = new HashSet<>();
+            for (Entry entry : candidates) {
+                if (best.size() == capacity) {
+                    break;
+                }
+                if (seen.add(entry.suggestion().id())) {
+                    best.add(entry);
+                }
+            }
+            top = best.toArray(NONE);
+        }
+
+        List<Entry> top(int limit) {
+            return List.of(top).subList(0, Math.min(limit, top.length));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package backend.service.search;
+
+import backend.dto.PlaceSummary;
+import backend.dto.PlaceText;
+import backend.exception.InvalidRequestException;
+import backend.repositories.PlaceRepository;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.IncrementalIndex;
+import backend.service.PageQuery;
+import backend.service.readmodel.CatalogReadModel;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recherche plein texte des lieux (nom, ville, description) servie par un index de trigrammes
+ * en mémoire ({@link TrigramIndex}) au lieu de deux LIKE '%...%' parcourant toute la table.
+ * Les textes sont repliés par {@link TextNormalizer} : "tarudant", "TAROUDANT" et "تارودانت"
+ * trouvent le même lieu. Les résultats sont classés par pertinence (BM25), le curseur porte
+ * donc le couple (score, id).
+ * <p>
+ * L'index est construit au démarrage puis tenu à jour lieu par lieu par un
+ * {@link IncrementalIndex}. Une fois construit, il est toujours servi, y compris pendant qu'il
+ * relit les lieux modifiés : l'ETag de la recherche porte son {@link #tag()}, jamais plus récent
+ * que ses résultats. La base n'est interrogée qu'avant la première construction.
+ */
+@Component
+public class PlaceSearchIndex {
+
+    private static final String SCORE = "score";
+    // Reconstruction complète quand les cases mortes dépassent ce nombre et le quart des vivantes
+    private static final int COMPACTION_THRESHOLD = 1000;
+
+    private volatile TrigramIndex trigrams;
+
+    private final CatalogReadModel readModel;
+    private final IncrementalIndex index;
+    private final IncrementalIndex.Source<PlaceText> source;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public PlaceSearchIndex(PlaceRepository placeRepository, CatalogReadModel readModel, CatalogVersions versions,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${application.search.places.batch-size:1000}") int batchSize,
+                            @Value("${application.search.places.enabled:true}") boolean enabled) {
+        this.readModel = readModel;
+        this.source = new IncrementalIndex.Source<>(placeRepository::findTexts, placeRepository::findTextsByIdIn,
+                PlaceText::id);
+        this.index = new IncrementalIndex("place-search-index", EnumSet.of(CatalogCollection.PLACES),
+                parts -> rebuild(), (part, changes) -> apply(changes.of(CatalogCollection.PLACES)),
+                versions, transactionManager, batchSize, enabled);
+    }
+
+    // ==================== Recherche ====================
+
+    /** ETag des réponses de l'index, null tant qu'il n'est pas construit (la base répond alors). */
+    public String tag() {
+        return index.tag();
+    }
+
+    /**
+     * Page de lieux contenant tous les mots de la requête, les plus pertinents d'abord.
+     * Optional vide si l'index ne peut pas répondre : requête sans mot (tous les lieux), index
+     * pas encore construit, ou curseur émis par la requête SQL (trié par id, on y reste).
+     * Un curseur de l'index présenté alors que l'index ne répond pas est refusé : la requête SQL
+     * le lirait comme un simple id.
+     */
+    public Optional<Window<PlaceSummary>> search(String query, PageQuery page) {
+        Set<String> words = TextNormalizer.queryWords(query);
+        Map<String, Object> keys = page.position() instanceof KeysetScrollPosition keyset ? keyset.getKeys() : Map.of();
+        TrigramIndex current = index.tag() != null ? trigrams : null;
+        boolean ranked = keys.containsKey(SCORE);
+        if (ranked && (!(keys.get(SCORE) instanceof Double) || current == null || words.isEmpty())) {
+            throw new InvalidRequestException("Curseur de pagination invalide");
+        }
+        if (current == null || words.isEmpty() || (!keys.isEmpty() && !ranked)) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+
+        double afterScore = ranked ? (Double) keys.get(SCORE) : Double.POSITIVE_INFINITY;
+        int limit = page.limit().max();
+        List<TrigramIndex.Hit> found = current.search(words, afterScore, page.afterId(), limit + 1);
+        boolean hasNext = found.size() > limit;
+
+        Map<Long, Double> scores = new HashMap<>();
+        List<Long> ids = new ArrayList<>();
+        for (TrigramIndex.Hit hit : found.subList(0, Math.min(limit, found.size()))) {
+            scores.put(hit.id(), hit.score());
+            ids.add(hit.id());
+        }
+        List<PlaceSummary> rows = readModel.getPlaceSummaries(ids);
+        return Optional.of(Window.from(rows, i -> ScrollPosition.forward(
+                Map.of(SCORE, scores.get(rows.get(i).id()), "id", rows.get(i).id())), hasNext));
+    }
+
+    // ==================== Mise à jour ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        index.requestRebuild();
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // Notes et utilisateurs ne changent pas les textes
+        if (event.collection() != CatalogCollection.PLACES) {
+            return;
+        }
+        if (event.id() != null) {
+            index.mark(CatalogCollection.PLACES, CatalogCollection.PLACES, event.id());
+        } else {
+            index.requestRebuild(CatalogCollection.PLACES);
+        }
+    }
+
+    private void rebuild() {
+        TrigramIndex built = new TrigramIndex();
+        index.loadAll(source, text -> put(built, text));
+        trigrams = built;
+    }
+
+    // Un avis publie aussi l'id de son lieu : le texte relu est identique, la case est simplement remplacée
+    private void apply(Set<Long> ids) {
+        TrigramIndex current = trigrams;
+        index.loadByIds(source, ids, text -> put(current, text), current::remove);
+        int dead = current.deadDocuments();
+        if (dead > COMPACTION_THRESHOLD && dead > current.size() / 4) {
+            index.requestRebuild(CatalogCollection.PLACES);
+        }
+    }
+
+    private static void put(TrigramIndex target, PlaceText text) {
+        target.put(text.id(), TextNormalizer.words(text.name()), TextNormalizer.words(text.city()),
+                TextNormalizer.words(text.description()));
+    }
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("fallbacks", fallbacks.sum());
+        stats.putAll(index.getStatistics());
+        TrigramIndex current = trigrams;
+        if (current != null) {
+            stats.putAll(current.getStatistics());
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        index.shutdown();
+    }
+}
@@ -0,0 +1,191 @@
+package backend.service.search;
+
+import backend.dto.Suggestion;
+import backend.dto.SuggestionRow;
+import backend.entities.Reservation;
+import backend.entities.Status;
+import backend.repositories.ActivityRepository;
+import backend.repositories.CircuitRepository;
+import backend.repositories.EventRepository;
+import backend.repositories.PlaceRepository;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.IncrementalIndex;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Autocomplétion du champ de recherche : titres des lieux, activités, circuits et événements
+ * publiés, dans un {@link CompletionTrie} par collection. Un libellé est indexé à partir de
+ * chacun de ses mots ("tarou" propose aussi "Kasbah de Taroudant"), après repli par
+ * {@link TextNormalizer}.
+ * <p>
+ * Le poids d'une proposition combine sa popularité (avis pour un lieu, réservations confirmées
+ * pour une activité ou un circuit) et sa note moyenne. Les mutations portant un id sont
+ * appliquées élément par élément par un {@link IncrementalIndex} (un avis publie l'id de son
+ * lieu, dont le poids est relu) ; les réservations, qui bougent sans mutation du catalogue, et
+ * les événements terminés sont rattrapés par une reconstruction périodique.
+ */
+@Component
+public class SuggestionIndex {
+
+    // Clés d'un libellé : à partir de chacun de ses premiers mots
+    private static final int MAX_KEY_WORDS = 6;
+
+    private final Map<CatalogCollection, IncrementalIndex.Source<SuggestionRow>> sources =
+            new EnumMap<>(CatalogCollection.class);
+    private final Map<CatalogCollection, CompletionTrie> tries = new ConcurrentHashMap<>();
+
+    private final IncrementalIndex index;
+    private final int maxResults;
+
+    private final LongAdder requests = new LongAdder();
+
+    public SuggestionIndex(PlaceRepository placeRepository, ActivityRepository activityRepository,
+                           CircuitRepository circuitRepository, EventRepository eventRepository,
+                           CatalogVersions versions, PlatformTransactionManager transactionManager,
+                           @Value("${application.suggest.batch-size:1000}") int batchSize,
+                           @Value("${application.suggest.max-results:10}") int maxResults,
+                           @Value("${application.suggest.enabled:true}") boolean enabled) {
+        this.maxResults = maxResults;
+
+        Reservation.Status confirmed = Reservation.Status.CONFIRMED;
+        sources.put(CatalogCollection.PLACES, new IncrementalIndex.Source<>(
+                (afterId, limit) -> placeRepository.findSuggestions(Status.ACTIVE, afterId, limit),
+                ids -> placeRepository.findSuggestionsByIdIn(Status.ACTIVE, ids), SuggestionRow::id));
+        sources.put(CatalogCollection.ACTIVITIES, new IncrementalIndex.Source<>(
+                (afterId, limit) -> activityRepository.findSuggestions(Status.ACTIVE, confirmed, afterId, limit),
+                ids -> activityRepository.findSuggestionsByIdIn(Status.ACTIVE, confirmed, ids), SuggestionRow::id));
+        sources.put(CatalogCollection.CIRCUITS, new IncrementalIndex.Source<>(
+                (afterId, limit) -> circuitRepository.findSuggestions(Status.ACTIVE, confirmed, afterId, limit),
+                ids -> circuitRepository.findSuggestionsByIdIn(Status.ACTIVE, confirmed, ids), SuggestionRow::id));
+        // Même règle que la liste des événements à venir
+        sources.put(CatalogCollection.EVENTS, new IncrementalIndex.Source<>(
+                (afterId, limit) -> eventRepository.findSuggestions(Status.ACTIVE, LocalDate.now(), afterId, limit),
+                ids -> eventRepository.findSuggestionsByIdIn(Status.ACTIVE, LocalDate.now(), ids), SuggestionRow::id));
+
+        this.index = new IncrementalIndex("suggestion-index", sources.keySet(), this::rebuild,
+                (part, changes) -> apply(part, changes.of(part)), versions, transactionManager, batchSize, enabled);
+    }
+
+    /**
+     * Meilleures propositions pour une saisie en cours, toutes collections confondues.
+     * Les circuits ne sont proposés qu'aux utilisateurs connectés, comme leur liste.
+     * Une collection n'est proposée qu'une fois construite ; les suivantes restent servies
+     * pendant leurs mises à jour.
+     */
+    public List<Suggestion> suggest(String prefix, int limit, boolean authenticated) {
+        Set<String> forms = TextNormalizer.prefixForms(prefix);
+        if (forms.isEmpty()) {
+            return List.of();
+        }
+        requests.increment();
+        int size = Math.max(1, Math.min(limit, maxResults));
+        List<CompletionTrie.Entry> found = new ArrayList<>();
+        tries.forEach((collection, trie) -> {
+            if (collection != CatalogCollection.CIRCUITS || authenticated) {
+                for (String form : forms) {
+                    found.addAll(trie.top(form, size));
+                }
+            }
+        });
+        found.sort(CompletionTrie.BEST_FIRST);
+        Set<Suggestion> suggestions = new LinkedHashSet<>();
+        for (CompletionTrie.Entry entry : found) {
+            if (suggestions.size() == size) {
+                break;
+            }
+            suggestions.add(entry.suggestion());
+        }
+        return List.copyOf(suggestions);
+    }
+
+    // ==================== Mise à jour ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        index.requestRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${application.suggest.refresh-interval-ms:600000}",
+            initialDelayString = "${application.suggest.refresh-interval-ms:600000}")
+    public void refreshWeights() {
+        buildAll();
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // Sans id (utilisateur recopié...) : les libellés n'ont pas changé, le poids attendra
+        if (sources.containsKey(event.collection()) && event.id() != null) {
+            index.mark(event.collection(), event.collection(), event.id());
+        }
+    }
+
+    private void rebuild(Set<CatalogCollection> parts) {
+        for (CatalogCollection part : parts) {
+            CompletionTrie trie = new CompletionTrie(maxResults);
+            index.loadAll(sources.get(part), row -> put(trie, part, row));
+            tries.put(part, trie);
+        }
+    }
+
+    // Absent de la réponse : supprimé, pas (ou plus) publié, ou événement terminé
+    private void apply(CatalogCollection part, Set<Long> ids) {
+        CompletionTrie trie = tries.get(part);
+        index.loadByIds(sources.get(part), ids, row -> put(trie, part, row), trie::remove);
+    }
+
+    private static void put(CompletionTrie trie, CatalogCollection collection, SuggestionRow row) {
+        List<String> words = TextNormalizer.words(row.label());
+        if (words.isEmpty()) {
+            trie.remove(row.id());
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < Math.min(words.size(), MAX_KEY_WORDS); i++) {
+            keys.add(String.join(" ", words.subList(i, words.size())));
+        }
+        trie.put(new CompletionTrie.Entry(new Suggestion(collection, row.id(), row.label()), weight(row)), keys);
+    }
+
+    // Un point de note vaut une popularité multipliée par e ; sans avis ni réservation, le poids vaut 1
+    private static double weight(SuggestionRow row) {
+        double popularity = row.popularity() != null ? Math.log1p(row.popularity()) : 0.0;
+        return 1.0 + popularity + (row.rating() != null ? row.rating() : 0.0);
+    }
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("requests", requests.sum());
+        stats.putAll(index.getStatistics());
+        for (CatalogCollection collection : sources.keySet()) {
+            CompletionTrie trie = tries.get(collection);
+            String name = collection.name().toLowerCase();
+            stats.put(name + ".entries", trie != null ? (long) trie.size() : 0L);
+            stats.put(name + ".nodes", trie != null ? (long) trie.nodes() : 0L);
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        index.shutdown();
+    }
+}
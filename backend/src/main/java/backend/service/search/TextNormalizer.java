@@ -0,0 +1,128 @@
+package backend.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Forme de comparaison d'un texte pour la recherche : minuscules sans accents, écriture arabe
+ * translittérée en lettres latines, et variantes d'orthographe courantes des noms marocains
+ * ramenées à une seule forme (Taroudant / Tarudant / تارودانت, Marrakech / Marrakesh,
+ * Souq / Souk, Djemaa / Jemaa). Le même traitement est appliqué au texte indexé et à la
+ * requête : seule la forme repliée est comparée, jamais affichée.
+ */
+public final class TextNormalizer {
+
+    // Lettres arabes sans voyelles brèves ; hamza et madda sont retirées avant (marques combinantes)
+    private static final Map<Character, String> ARABIC = Map.ofEntries(
+            Map.entry('ا', "a"), Map.entry('ب', "b"), Map.entry('ت', "t"), Map.entry('ث', "t"),
+            Map.entry('ج', "j"), Map.entry('ح', "h"), Map.entry('خ', "kh"), Map.entry('د', "d"),
+            Map.entry('ذ', "d"), Map.entry('ر', "r"), Map.entry('ز', "z"), Map.entry('س', "s"),
+            Map.entry('ش', "sh"), Map.entry('ص', "s"), Map.entry('ض', "d"), Map.entry('ط', "t"),
+            Map.entry('ظ', "z"), Map.entry('ع', ""), Map.entry('غ', "gh"), Map.entry('ف', "f"),
+            Map.entry('ق', "k"), Map.entry('ك', "k"), Map.entry('ل', "l"), Map.entry('م', "m"),
+            Map.entry('ن', "n"), Map.entry('ه', "h"), Map.entry('و', "u"), Map.entry('ي', "i"),
+            Map.entry('ى', "i"), Map.entry('ة', "a"), Map.entry('ء', ""), Map.entry('ـ', ""),
+            Map.entry('ڤ', "v"), Map.entry('ڭ', "g"), Map.entry('پ', "p"));
+
+    // Appliquées dans cet ordre à chaque mot, puis les lettres doublées sont réduites
+    private static final String[][] SPELLINGS = {
+            {"ch", "sh"}, {"ou", "u"}, {"dj", "j"}, {"q", "k"}, {"w", "u"}};
+
+    private TextNormalizer() {
+    }
+
+    /** Texte replié : mots séparés par une seule espace, "" si rien ne reste. */
+    public static String fold(String text) {
+        return String.join(" ", words(text));
+    }
+
+    /** Mots repliés du texte, dans l'ordre, doublons compris. */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return words;
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            int type = Character.getType(c);
+            if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                    || type == Character.ENCLOSING_MARK) {
+                continue;
+            }
+            String arabic = ARABIC.get(c);
+            if (arabic != null) {
+                word.append(arabic);
+            } else if (c == 'œ') {
+                word.append("oe");
+            } else if (c == 'æ') {
+                word.append("ae");
+            } else if (c == 'ß') {
+                word.append("ss");
+            } else if (Character.isDigit(c)) {
+                word.append((char) ('0' + Character.digit(c, 10)));
+            } else if (Character.isLetter(c)) {
+                word.append(c);
+            } else {
+                addWord(words, word);
+            }
+        }
+        addWord(words, word);
+        return words;
+    }
+
+    /** Mots distincts de la requête, dans l'ordre de saisie. */
+    public static Set<String> queryWords(String query) {
+        return new LinkedHashSet<>(words(query));
+    }
+
+    /**
+     * Formes repliées possibles d'une saisie en cours. La dernière lettre tapée peut commencer
+     * une graphie qui sera ramenée à une autre : "taro" doit déjà proposer "taroudant" (replié
+     * en "tarudant"), "marrakec" proposer "marrakech" ("marakesh").
+     */
+    public static Set<String> prefixForms(String text) {
+        Set<String> forms = new LinkedHashSet<>();
+        String folded = fold(text);
+        if (folded.isEmpty()) {
+            return forms;
+        }
+        forms.add(folded);
+        String head = folded.substring(0, folded.length() - 1);
+        switch (folded.charAt(folded.length() - 1)) {
+            case 'o' -> forms.add(head + "u");
+            case 'c' -> forms.add(head + "s");
+            case 'd' -> forms.add(head + "j");
+            default -> {
+            }
+        }
+        return forms;
+    }
+
+    private static void addWord(List<String> words, StringBuilder word) {
+        if (!word.isEmpty()) {
+            words.add(spelling(word.toString()));
+            word.setLength(0);
+        }
+    }
+
+    private static String spelling(String word) {
+        for (String[] rule : SPELLINGS) {
+            word = word.replace(rule[0], rule[1]);
+        }
+        StringBuilder single = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (i == 0 || c != word.charAt(i - 1) || Character.isDigit(c)) {
+                single.append(c);
+            }
+        }
+        return single.toString();
+    }
+}
@@ -0,0 +1,410 @@
+package backend.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index de recherche sur des documents à trois champs (nom, ville, description), déjà repliés
+ * par {@link TextNormalizer}, en deux étages :
+ * <ul>
+ *   <li>un index inversé classique mot → documents, avec la fréquence du mot par champ ;</li>
+ *   <li>un index de trigrammes sur le vocabulaire (quelques milliers de mots, pas les documents) :
+ *       un mot de requête est étendu aux mots indexés qui le contiennent, "kasba" trouve
+ *       "kasbah". Les mots de une ou deux lettres ne cherchent qu'en début de mot.</li>
+ * </ul>
+ * Un mot de requête ne coûte donc qu'une liste de documents à croiser, quelle que soit sa
+ * longueur, et les candidats donnés par les trigrammes sont vérifiés sur le mot entier.
+ * <p>
+ * Un document occupe une case (slot) ; les listes de cases restent triées car les cases ne sont
+ * attribuées qu'en fin de tableau. Une mise à jour marque l'ancienne case comme morte et en
+ * ajoute une nouvelle : les cases mortes sont ignorées à la lecture et disparaissent à la
+ * reconstruction suivante. Lectures et écritures sont protégées par un verrou lecture/écriture.
+ */
+final class TrigramIndex {
+
+    static final int NAME = 0;
+    static final int CITY = 1;
+    static final int DESCRIPTION = 2;
+
+    // Un mot trouvé dans le nom compte plus qu'en ville, et bien plus que dans la description
+    private static final int[] WEIGHTS = {3, 2, 1};
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Document trouvé et son score BM25. */
+    record Hit(long id, double score) {
+    }
+
+    private static final Comparator<Hit> BEST_FIRST =
+            Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::id);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Vocabulaire : numéro de mot → mot et documents qui le contiennent
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<Postings> postings = new ArrayList<>();
+    // Trigramme ou début de mot → numéros des mots qui le contiennent (croissants)
+    private final Map<Long, Postings> grams = new HashMap<>();
+
+    private final Map<Long, Integer> slotOf = new HashMap<>();
+    private final BitSet dead = new BitSet();
+    private long[] ids = new long[256];
+    private int[] lengths = new int[256];
+    private int slots;
+    private long totalLength;
+    private long entries;
+
+    /** Ajoute ou remplace le document {@code id} ; chaque champ est une liste de mots repliés. */
+    void put(long id, List<String> name, List<String> city, List<String> description) {
+        Map<String, int[]> frequencies = new LinkedHashMap<>();
+        int length = count(frequencies, name, NAME) + count(frequencies, city, CITY)
+                + count(frequencies, description, DESCRIPTION);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (slots == ids.length) {
+                ids = Arrays.copyOf(ids, slots * 2);
+                lengths = Arrays.copyOf(lengths, slots * 2);
+            }
+            int slot = slots++;
+            ids[slot] = id;
+            lengths[slot] = length;
+            totalLength += length;
+            slotOf.put(id, slot);
+            frequencies.forEach((term, tf) -> postings.get(termId(term)).add(slot, pack(tf)));
+            entries += frequencies.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Integer slot = slotOf.remove(id);
+        if (slot != null) {
+            dead.set(slot);
+            totalLength -= lengths[slot];
+        }
+    }
+
+    private int termId(String term) {
+        Integer known = termIds.get(term);
+        if (known != null) {
+            return known;
+        }
+        int number = terms.size();
+        termIds.put(term, number);
+        terms.add(term);
+        postings.add(new Postings());
+        for (long key : termKeys(term)) {
+            grams.computeIfAbsent(key, k -> new Postings()).add(number, 0);
+        }
+        return number;
+    }
+
+    /**
+     * Documents contenant tous les mots, triés par score décroissant puis id croissant, situés
+     * strictement après (afterScore, afterId) dans cet ordre ; au plus {@code limit} résultats.
+     */
+    List<Hit> search(Collection<String> words, double afterScore, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(words.size());
+            for (String word : words) {
+                Postings list = matching(word);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            if (lists.isEmpty()) {
+                return List.of();
+            }
+            return rank(lists, afterScore, afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documents des mots indexés contenant le mot de requête (réunis s'il y en a plusieurs), null si aucun
+    private Postings matching(String word) {
+        List<Postings> candidates = new ArrayList<>();
+        for (long key : queryKeys(word)) {
+            Postings list = grams.get(key);
+            if (list == null) {
+                return null;
+            }
+            candidates.add(list);
+        }
+        candidates.sort(Comparator.comparingInt(list -> list.size));
+        Postings shortest = candidates.get(0);
+        List<Postings> found = new ArrayList<>();
+        for (int p = 0; p < shortest.size; p++) {
+            int term = shortest.docs[p];
+            if (containsAll(candidates, term) && matches(terms.get(term), word)) {
+                found.add(postings.get(term));
+            }
+        }
+        if (found.isEmpty()) {
+            return null;
+        }
+        // Fusion deux à deux, les plus courtes d'abord
+        found.sort(Comparator.comparingInt(list -> list.size));
+        while (found.size() > 1) {
+            found.add(Postings.union(found.remove(0), found.remove(0)));
+        }
+        return found.get(0);
+    }
+
+    private static boolean containsAll(List<Postings> lists, int term) {
+        for (int l = 1; l < lists.size(); l++) {
+            Postings list = lists.get(l);
+            if (Arrays.binarySearch(list.docs, 0, list.size, term) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String term, String word) {
+        return word.length() < 3 ? term.startsWith(word) : term.contains(word);
+    }
+
+    private List<Hit> rank(List<Postings> lists, double afterScore, long afterId, int limit) {
+        // La liste la plus courte fixe les candidats, les autres ne font que les confirmer
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int live = slotOf.size();
+        double averageLength = live > 0 ? Math.max(1.0, (double) totalLength / live) : 1.0;
+
+        Postings first = lists.get(0);
+        int[] candidates = new int[first.size];
+        double[] scores = new double[first.size];
+        int count = 0;
+        double firstIdf = idf(first.size, live);
+        for (int p = 0; p < first.size; p++) {
+            int slot = first.docs[p];
+            if (!dead.get(slot)) {
+                candidates[count] = slot;
+                scores[count] = firstIdf * saturate(first.packed[p], lengths[slot], averageLength);
+                count++;
+            }
+        }
+        for (int l = 1; l < lists.size() && count > 0; l++) {
+            Postings list = lists.get(l);
+            double idf = idf(list.size, live);
+            int kept = 0;
+            int from = 0;
+            for (int c = 0; c < count; c++) {
+                int position = gallop(list.docs, from, list.size, candidates[c]);
+                if (position >= 0) {
+                    candidates[kept] = candidates[c];
+                    scores[kept] = scores[c] + idf * saturate(list.packed[position], lengths[candidates[c]], averageLength);
+                    kept++;
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+            }
+            count = kept;
+        }
+
+        // Sélection des meilleurs sans trier tous les candidats : tas borné, pire résultat en tête
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        for (int c = 0; c < count; c++) {
+            double score = scores[c];
+            long id = ids[candidates[c]];
+            if (score > afterScore || (score == afterScore && id <= afterId)) {
+                continue;
+            }
+            if (best.size() == limit) {
+                Hit worst = best.peek();
+                if (score < worst.score() || (score == worst.score() && id > worst.id())) {
+                    continue;
+                }
+            }
+            best.add(new Hit(id, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(BEST_FIRST);
+        return hits;
+    }
+
+    /**
+     * Position de {@code slot} dans {@code docs[from, to)}, ou -(point d'insertion) - 1 comme
+     * Arrays.binarySearch. Les candidats arrivent triés : on avance par pas doublés depuis la
+     * position précédente avant de chercher par dichotomie, le résultat est souvent tout proche.
+     */
+    private static int gallop(int[] docs, int from, int to, int slot) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < to && docs[high] < slot) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        return Arrays.binarySearch(docs, low, Math.min(high + 1, to), slot);
+    }
+
+    private static double idf(int documentFrequency, int live) {
+        return Math.log(1.0 + (live - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double saturate(int packed, int length, double averageLength) {
+        double tf = WEIGHTS[NAME] * (packed >>> 24) + WEIGHTS[CITY] * ((packed >>> 16) & 0xFF)
+                + WEIGHTS[DESCRIPTION] * (packed & 0xFFFF);
+        return tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+    }
+
+    /** Nombre de cases mortes, pour décider d'une reconstruction. */
+    int deadDocuments() {
+        lock.readLock().lock();
+        try {
+            return slots - slotOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Nombre de documents vivants. */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Map<String, Long> getStatistics() {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("documents", (long) slotOf.size());
+            stats.put("deadDocuments", (long) (slots - slotOf.size()));
+            stats.put("terms", (long) terms.size());
+            stats.put("grams", (long) grams.size());
+            stats.put("postings", entries);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Mots et clés ====================
+
+    // Fréquences par mot et par champ ; renvoie la longueur pondérée du champ
+    private static int count(Map<String, int[]> frequencies, List<String> words, int field) {
+        for (String word : words) {
+            frequencies.computeIfAbsent(word, w -> new int[3])[field]++;
+        }
+        return words.size() * WEIGHTS[field];
+    }
+
+    private static List<Long> termKeys(String term) {
+        List<Long> keys = new ArrayList<>(term.length() + 2);
+        keys.add(prefix(term, 1));
+        if (term.length() >= 2) {
+            keys.add(prefix(term, 2));
+        }
+        addTrigrams(keys, term);
+        return keys;
+    }
+
+    // Un mot court ne peut être cherché que comme début de mot ; un mot long, n'importe où
+    private static List<Long> queryKeys(String word) {
+        List<Long> keys = new ArrayList<>();
+        if (word.length() < 3) {
+            keys.add(prefix(word, word.length()));
+        } else {
+            addTrigrams(keys, word);
+        }
+        return keys;
+    }
+
+    // Un même trigramme répété dans un mot n'est gardé qu'une fois : les listes restent sans doublon
+    private static void addTrigrams(List<Long> keys, String word) {
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            long key = ((long) word.charAt(i) << 32) | ((long) word.charAt(i + 1) << 16) | word.charAt(i + 2);
+            if (!keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+    }
+
+    // Bit 48 : distingue un début de mot d'un trigramme
+    private static long prefix(String word, int length) {
+        long key = 1L << 48;
+        for (int i = 0; i < length; i++) {
+            key |= (long) word.charAt(i) << (16 * (1 - i));
+        }
+        return key;
+    }
+
+    // Fréquences par champ dans un int : nom (8 bits), ville (8 bits), description (16 bits), saturées
+    private static int pack(int[] tf) {
+        return Math.min(tf[NAME], 0xFF) << 24 | Math.min(tf[CITY], 0xFF) << 16 | Math.min(tf[DESCRIPTION], 0xFFFF);
+    }
+
+    private static int combine(int a, int b) {
+        return pack(new int[]{(a >>> 24) + (b >>> 24), ((a >>> 16) & 0xFF) + ((b >>> 16) & 0xFF),
+                (a & 0xFFFF) + (b & 0xFFFF)});
+    }
+
+    /** Liste triée de numéros (cases de documents, ou mots pour les trigrammes) et fréquences associées. */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] packed = new int[4];
+        private int size;
+
+        void add(int doc, int frequencies) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                packed = Arrays.copyOf(packed, size * 2);
+            }
+            docs[size] = doc;
+            packed[size] = frequencies;
+            size++;
+        }
+
+        // Un document présent dans les deux listes (deux mots indexés étendus d'un même mot de requête) cumule ses fréquences
+        static Postings union(Postings a, Postings b) {
+            Postings merged = new Postings();
+            merged.docs = new int[a.size + b.size];
+            merged.packed = new int[a.size + b.size];
+            int i = 0;
+            int j = 0;
+            while (i < a.size || j < b.size) {
+                if (j == b.size || (i < a.size && a.docs[i] < b.docs[j])) {
+                    merged.add(a.docs[i], a.packed[i++]);
+                } else if (i == a.size || b.docs[j] < a.docs[i]) {
+                    merged.add(b.docs[j], b.packed[j++]);
+                } else {
+                    merged.add(a.docs[i], combine(a.packed[i++], b.packed[j++]));
+                }
+            }
+            return merged;
+        }
+    }
+}
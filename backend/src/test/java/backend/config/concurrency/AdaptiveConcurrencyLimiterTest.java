@@ -0,0 +1,39 @@
+package backend.config.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new ConcurrencyLimitProperties(true, 8, 4, 200, 2.0, 0.2, Duration.ZERO, 1, null));
+
+    @Test
+    void lowPriorityIsShedFirstAndCounted() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire(RequestPriority.ADMIN_BULK_READ)).isTrue();
+        }
+        // Moitié de la limite atteinte pour les listes d'administration, pas pour les réservations
+        assertThat(limiter.tryAcquire(RequestPriority.ADMIN_BULK_READ)).isFalse();
+        assertThat(limiter.tryAcquire(RequestPriority.RESERVATION_WRITE)).isTrue();
+
+        assertThat(limiter.getStatistics()).containsEntry("limit", 8L).containsEntry("inFlight", 5L)
+                .containsEntry("ADMIN_BULK_READ.allowed", 4L)
+                .containsEntry("ADMIN_BULK_READ.accepted", 4L)
+                .containsEntry("ADMIN_BULK_READ.shed", 1L)
+                .containsEntry("RESERVATION_WRITE.accepted", 1L)
+                .containsEntry("RESERVATION_WRITE.shed", 0L);
+    }
+
+    @Test
+    void serverErrorLowersTheLimit() {
+        limiter.tryAcquire(RequestPriority.READ);
+        limiter.release(Duration.ofMillis(20).toNanos(), true);
+
+        assertThat(limiter.getStatistics()).containsEntry("limit", 7L).containsEntry("inFlight", 0L)
+                .containsEntry("longRttMicros", 20_000L);
+    }
+}
@@ -0,0 +1,56 @@
+package backend.config.graphql;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.parser.Parser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PersistedQueryStoreTest {
+
+    private static final String QUERY = "{ places { id } }";
+
+    private final PersistedQueryStore store = new PersistedQueryStore(10);
+    private final List<String> parsed = new ArrayList<>();
+
+    @Test
+    void parsesOnceThenServesFromCache() throws Exception {
+        String hash = PersistedQueryStore.sha256(QUERY);
+
+        PreparsedDocumentEntry first = store.getPersistedQueryDocumentAsync(hash, input(QUERY), this::parse).join();
+        PreparsedDocumentEntry second = store.getPersistedQueryDocumentAsync(hash,
+                input(PersistedQuerySupport.PERSISTED_QUERY_MARKER), this::parse).join();
+
+        assertThat(second).isSameAs(first);
+        assertThat(parsed).containsExactly(QUERY);
+        assertThat(store.getStatistics()).containsEntry("hits", 1L).containsEntry("misses", 1L)
+                .containsEntry("size", 1L);
+    }
+
+    @Test
+    void unknownHashWithoutTextIsNotFound() {
+        assertThatThrownBy(() -> store.getPersistedQueryDocumentAsync("0000",
+                input(PersistedQuerySupport.PERSISTED_QUERY_MARKER), this::parse))
+                .isInstanceOf(PersistedQueryNotFound.class);
+        assertThat(parsed).isEmpty();
+        // Le client renverra le texte : compté comme un défaut de cache, rien n'est gardé
+        assertThat(store.getStatistics()).containsEntry("misses", 1L).containsEntry("hits", 0L)
+                .containsEntry("size", 0L);
+    }
+
+    private PreparsedDocumentEntry parse(String query) {
+        parsed.add(query);
+        return new PreparsedDocumentEntry(Parser.parse(query));
+    }
+
+    private static ExecutionInput input(String query) {
+        return ExecutionInput.newExecutionInput(query).build();
+    }
+}
@@ -0,0 +1,38 @@
+package backend.config.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    @Test
+    void countsAllowedAndThrottledRequestsPerGroup() {
+        RateLimiter limiter = new RateLimiter(new RateLimitProperties(true, Duration.ofMinutes(10),
+                Map.of("auth", new RateLimitProperties.Limit(2, 1, Duration.ofHours(1)))));
+
+        assertThat(limiter.tryAcquire("auth", "10.0.0.1").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("auth", "10.0.0.1").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("auth", "10.0.0.1").allowed()).isFalse();
+        // Autre client : son propre seau
+        assertThat(limiter.tryAcquire("auth", "10.0.0.2").allowed()).isTrue();
+
+        assertThat(limiter.getStatistics()).containsEntry("activeBuckets", 2L).containsEntry("evictedBuckets", 0L)
+                .containsEntry("auth.allowed", 3L).containsEntry("auth.throttled", 1L);
+    }
+
+    @Test
+    void idleBucketsAreEvictedAndCounted() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(new RateLimitProperties(true, Duration.ZERO,
+                Map.of("public", new RateLimitProperties.Limit(5, 1, Duration.ofMillis(1)))));
+        limiter.tryAcquire("public", "10.0.0.1");
+
+        Thread.sleep(5);
+        limiter.evictIdleBuckets();
+
+        assertThat(limiter.getStatistics()).containsEntry("activeBuckets", 0L).containsEntry("evictedBuckets", 1L);
+    }
+}
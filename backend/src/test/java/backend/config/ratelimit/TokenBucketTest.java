@@ -0,0 +1,97 @@
+package backend.config.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstUpToCapacityThenThrottled() {
+        TokenBucket bucket = new TokenBucket(3, SECOND);
+        long now = 1_000 * SECOND;
+
+        assertThat(bucket.tryConsume(now)).isEqualTo(2);
+        assertThat(bucket.tryConsume(now)).isEqualTo(1);
+        assertThat(bucket.tryConsume(now)).isZero();
+        // Quatrième jeton : disponible dans une seconde
+        assertThat(bucket.tryConsume(now)).isEqualTo(-SECOND);
+    }
+
+    @Test
+    void refusedRequestDoesNotConsume() {
+        TokenBucket bucket = new TokenBucket(1, SECOND);
+        long now = 1_000 * SECOND;
+
+        bucket.tryConsume(now);
+        assertThat(bucket.tryConsume(now + SECOND / 4)).isEqualTo(-(3 * SECOND / 4));
+        assertThat(bucket.tryConsume(now + SECOND / 2)).isEqualTo(-(SECOND / 2));
+        assertThat(bucket.tryConsume(now + SECOND)).isZero();
+    }
+
+    @Test
+    void refillsOneTokenPerIntervalUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(2, SECOND);
+        long now = 1_000 * SECOND;
+
+        bucket.tryConsume(now);
+        bucket.tryConsume(now);
+        assertThat(bucket.tryConsume(now + SECOND)).isZero();
+        // Longue inactivité : le seau ne dépasse pas sa capacité
+        assertThat(bucket.tryConsume(now + 60 * SECOND)).isEqualTo(1);
+    }
+
+    @Test
+    void idleOnceFullForLongerThanTimeout() {
+        TokenBucket bucket = new TokenBucket(2, SECOND);
+        long now = 1_000 * SECOND;
+        assertThat(bucket.isIdle(now, SECOND)).isTrue();
+
+        bucket.tryConsume(now);
+        assertThat(bucket.isIdle(now + SECOND, SECOND)).isFalse();
+        assertThat(bucket.isIdle(now + 3 * SECOND, SECOND)).isTrue();
+    }
+
+    @Test
+    void concurrentRequestsNeverGetMoreThanCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(50, SECOND);
+        long now = 1_000 * SECOND;
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> granted = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                granted.add(threads.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (bucket.tryConsume(now) >= 0) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> count : granted) {
+                total += count.get(10, TimeUnit.SECONDS);
+            }
+
+            // CAS perdus rejoués : exactement la capacité, ni jeton perdu ni jeton en trop
+            assertThat(total).isEqualTo(50);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}
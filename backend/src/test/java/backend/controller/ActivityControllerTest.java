@@ -0,0 +1,86 @@
+package backend.controller;
+
+import backend.dto.ActivitySummary;
+import backend.entities.Status;
+import backend.exception.ServiceUnavailableException;
+import backend.service.ActivityService;
+import backend.service.PageQuery;
+import backend.service.facet.FacetedPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest
+@ContextConfiguration(classes = {WebSliceConfig.class, ActivityController.class, BatchLookup.class})
+class ActivityControllerTest {
+
+    private static final ActivitySummary QUAD = new ActivitySummary(4L, "Quad", new BigDecimal("250.00"), "2h",
+            Status.ACTIVE, new ActivitySummary.PlaceRef(1L, "Kasbah", "Taroudant"), null);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private ActivityService activityService;
+
+    @Test
+    void filterETagFollowsTheFacetIndex() throws Exception {
+        when(activityService.filterActivities(any(), any())).thenReturn(new FacetedPage<>(
+                PageQuery.first(10).window(List.of(QUAD), ActivitySummary::id), 1,
+                Map.of("rating", Map.of("4", 1L))));
+        when(activityService.getFilterTag()).thenReturn("catalog-facets-a-1");
+
+        MvcResult first = mvc.perform(get("/api/activities/filter").param("city", "Taroudant").param("minRating", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.results[0].place.city").value("Taroudant"))
+                .andExpect(jsonPath("$.facets.rating.4").value(1))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).contains("catalog-facets-a-1");
+
+        mvc.perform(get("/api/activities/filter").param("city", "Taroudant").param("minRating", "4")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        // Avis sur le lieu : la note de ses activités a bougé sans nouvelle version des activités
+        when(activityService.getFilterTag()).thenReturn("catalog-facets-a-2");
+        mvc.perform(get("/api/activities/filter").param("city", "Taroudant").param("minRating", "4")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void filterAnswers503UntilTheIndexIsBuilt() throws Exception {
+        when(activityService.filterActivities(any(), any()))
+                .thenThrow(new ServiceUnavailableException("Index des filtres en cours de construction"));
+
+        mvc.perform(get("/api/activities/filter"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void multiGetKeepsTheRequestedOrderAndListsMissingIds() throws Exception {
+        when(activityService.getActivitiesByIds(List.of(7L, 4L))).thenReturn(List.of(QUAD));
+
+        mvc.perform(get("/api/activities").param("ids", "7,4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Quad"))
+                .andExpect(jsonPath("$.missing[0]").value(7));
+    }
+}
@@ -0,0 +1,160 @@
+package backend.controller;
+
+import backend.config.graphql.PersistedQueryStore;
+import backend.dto.BulkImportReport;
+import backend.entities.Role;
+import backend.repositories.UserRepository;
+import backend.service.AdminService;
+import backend.service.PasswordHashingService;
+import backend.service.SingleFlight;
+import backend.service.UserImportService;
+import backend.service.facet.CatalogFacets;
+import backend.service.geo.PlaceClusterIndex;
+import backend.service.geo.PlaceGeoIndex;
+import backend.service.readmodel.CatalogReadModel;
+import backend.service.search.CatalogSearchIndex;
+import backend.service.search.PlaceSearchIndex;
+import backend.service.search.SuggestionIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest
+@ContextConfiguration(classes = {WebSliceConfig.class, AdminController.class})
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private AdminService adminService;
+    @MockBean
+    private UserImportService userImportService;
+    @MockBean
+    private CatalogSnapshots catalogSnapshots;
+    @MockBean
+    private PersistedQueryStore persistedQueries;
+    @MockBean
+    private SingleFlight singleFlight;
+    @MockBean
+    private CatalogReadModel readModel;
+    @MockBean
+    private PlaceSearchIndex placeSearchIndex;
+    @MockBean
+    private SuggestionIndex suggestionIndex;
+    @MockBean
+    private CatalogSearchIndex catalogSearchIndex;
+    @MockBean
+    private CatalogFacets catalogFacets;
+    @MockBean
+    private PlaceGeoIndex placeGeoIndex;
+    @MockBean
+    private PlaceClusterIndex placeClusterIndex;
+
+    private static final MockMultipartFile CSV = new MockMultipartFile("file", "guides.csv", "text/csv",
+            "fullName,email,password,role\nGuide,guide@taroudant.ma,secret123,GUIDE\n".getBytes());
+
+    @Test
+    void importsAFileAsAdmin() throws Exception {
+        when(userImportService.importUsers(any(), eq(UserImportService.Format.CSV)))
+                .thenReturn(BulkImportReport.of(List.of(new BulkImportReport.RowResult(2, "guide@taroudant.ma",
+                        BulkImportReport.Outcome.CREATED, 10L, null))));
+
+        mvc.perform(multipart("/api/admin/users/import").file(CSV)
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1));
+    }
+
+    @Test
+    void detectsJsonFiles() throws Exception {
+        MockMultipartFile json = new MockMultipartFile("file", "users.json", MediaType.APPLICATION_JSON_VALUE,
+                "[]".getBytes());
+        when(userImportService.importUsers(any(), eq(UserImportService.Format.JSON)))
+                .thenReturn(BulkImportReport.of(List.of()));
+
+        mvc.perform(multipart("/api/admin/users/import").file(json)
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.ADMIN)))
+                .andExpect(status().isOk());
+        verify(userImportService).importUsers(any(), eq(UserImportService.Format.JSON));
+    }
+
+    @Test
+    void jsonThatIsNotAnArrayIsABadRequest() throws Exception {
+        MockMultipartFile json = new MockMultipartFile("file", "users.json", MediaType.APPLICATION_JSON_VALUE,
+                "{\"email\": \"guide@taroudant.ma\"}".getBytes());
+        // Le vrai service lit le fichier : seule la base est simulée
+        UserImportService service = new UserImportService(mock(UserRepository.class), mock(PasswordHashingService.class),
+                mock(JdbcTemplate.class), mock(PlatformTransactionManager.class), new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        when(userImportService.importUsers(any(), any()))
+                .thenAnswer(call -> service.importUsers(call.getArgument(0), call.getArgument(1)));
+
+        mvc.perform(multipart("/api/admin/users/import").file(json)
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.ADMIN)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Le fichier JSON doit contenir un tableau d'utilisateurs"));
+    }
+
+    @Test
+    void refusesNonAdmins() throws Exception {
+        mvc.perform(multipart("/api/admin/users/import").file(CSV)
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.GUIDE)))
+                .andExpect(status().isForbidden());
+        mvc.perform(multipart("/api/admin/users/import").file(CSV))
+                .andExpect(status().isForbidden());
+        verify(userImportService, never()).importUsers(any(), any());
+    }
+
+    @Test
+    void searchReindexIsAcceptedForAdminsOnly() throws Exception {
+        mvc.perform(post("/api/admin/search/reindex").header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.GUIDE)))
+                .andExpect(status().isForbidden());
+        mvc.perform(post("/api/admin/search/reindex").header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.ADMIN)))
+                .andExpect(status().isAccepted());
+        verify(catalogSearchIndex).reindex();
+    }
+
+    // Compteurs d'exploitation : réservés à l'admin. Leur contenu est vérifié par le test de chaque composant
+    @ParameterizedTest
+    @ValueSource(strings = {"users", "principal-cache", "rate-limit", "concurrency", "catalog-versions",
+            "catalog-snapshots", "graphql-persisted-queries", "single-flight", "read-model", "place-search",
+            "suggest", "search", "facets", "geo", "clusters"})
+    void statisticsAreForAdminsOnly(String name) throws Exception {
+        mvc.perform(get("/api/admin/stats/" + name))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/api/admin/stats/" + name)
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.GUIDE)))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/api/admin/stats/" + name)
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isMap());
+    }
+}
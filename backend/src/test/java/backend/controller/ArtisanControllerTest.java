@@ -0,0 +1,80 @@
+package backend.controller;
+
+import backend.dto.ArtisanSummary;
+import backend.entities.Role;
+import backend.entities.Status;
+import backend.repositories.ArtisanRepository;
+import backend.service.ArtisanService;
+import backend.service.PageQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest
+@ContextConfiguration(classes = {WebSliceConfig.class, ArtisanController.class, BatchLookup.class})
+class ArtisanControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private ArtisanService artisanService;
+    @MockBean
+    private ArtisanRepository artisanRepository;
+
+    @Test
+    void listsSummariesWithoutTheProposer() throws Exception {
+        ArtisanSummary potter = new ArtisanSummary(4L, "Atelier Amazigh", "Poterie", "0600000000", "Taroudant",
+                Status.ACTIVE, LocalDateTime.of(2026, 5, 1, 10, 30));
+        when(artisanService.getAllActiveArtisans(any()))
+                .thenReturn(PageQuery.first(10).window(List.of(potter), ArtisanSummary::id));
+
+        mvc.perform(get("/api/artisans").header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.TOURIST)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(CursorPagination.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[0].speciality").value("Poterie"))
+                .andExpect(jsonPath("$[0].createdAt").exists())
+                .andExpect(jsonPath("$[0].proposedBy").doesNotExist());
+        mvc.perform(get("/api/artisans")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void fullListIsForAdminsAndGuides() throws Exception {
+        mvc.perform(get("/api/artisans/all")
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.TOURIST)))
+                .andExpect(status().isForbidden());
+        verify(artisanService, never()).getAllArtisans(any());
+    }
+
+    @Test
+    void multiGetKeepsTheRequestedOrderAndListsMissingIds() throws Exception {
+        ArtisanSummary potter = new ArtisanSummary(4L, "Atelier Amazigh", "Poterie", "0600000000", "Taroudant",
+                Status.ACTIVE, null);
+        when(artisanService.getArtisansByIds(List.of(5L, 4L))).thenReturn(List.of(potter));
+
+        mvc.perform(get("/api/artisans").param("ids", "5,4")
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.TOURIST)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.items[0].name").value("Atelier Amazigh"))
+                .andExpect(jsonPath("$.items[0].proposedBy").doesNotExist())
+                .andExpect(jsonPath("$.missing[0]").value(5));
+    }
+}
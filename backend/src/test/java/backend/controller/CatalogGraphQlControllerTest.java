@@ -0,0 +1,72 @@
+package backend.controller;
+
+import backend.config.graphql.GraphQlConfig;
+import backend.dto.graph.CircuitNode;
+import backend.dto.graph.GuideNode;
+import backend.service.CatalogGraphService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@GraphQlTest
+@ContextConfiguration(classes = {CatalogGraphQlControllerTest.MethodSecurity.class, GraphQlConfig.class,
+        CatalogGraphQlController.class})
+class CatalogGraphQlControllerTest {
+
+    @EnableMethodSecurity
+    static class MethodSecurity {
+    }
+
+    private static final String GUIDE_CIRCUITS = "{ guide(id: 3) { fullName circuits { title } } }";
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockBean
+    private CatalogGraphService graphService;
+
+    @Test
+    void anonymousVisitorGetsGuideWithoutCircuits() {
+        when(graphService.getGuidesById(anyCollection())).thenReturn(Map.of(3L, guide()));
+
+        graphQlTester.document(GUIDE_CIRCUITS)
+                .execute()
+                .errors().expect(error -> error.getPath().equals("guide.circuits"))
+                .verify()
+                .path("guide.fullName").entity(String.class).isEqualTo("Guide Taroudant")
+                .path("guide.circuits").valueIsNull();
+        verify(graphService, never()).getCircuitsByGuide(any());
+    }
+
+    @Test
+    @WithMockUser
+    void authenticatedUserGetsGuideCircuits() {
+        when(graphService.getGuidesById(anyCollection())).thenReturn(Map.of(3L, guide()));
+        when(graphService.getCircuitsByGuide(Set.of(3L))).thenReturn(Map.of(3L, List.of(
+                new CircuitNode(8L, "Vallée du Souss", null, "1 jour", BigDecimal.TEN, 3L))));
+
+        graphQlTester.document(GUIDE_CIRCUITS)
+                .execute()
+                .path("guide.circuits[0].title").entity(String.class).isEqualTo("Vallée du Souss");
+    }
+
+    private static GuideNode guide() {
+        return new GuideNode(3L, "Guide Taroudant", null, "fr, ar");
+    }
+}
@@ -0,0 +1,74 @@
+package backend.controller;
+
+import backend.dto.CircuitSummary;
+import backend.dto.EventView;
+import backend.dto.PlaceSummary;
+import backend.entities.Status;
+import backend.service.ActivityService;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.CircuitService;
+import backend.service.EventService;
+import backend.service.PageQuery;
+import backend.service.PlaceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogSnapshotsTest {
+
+    private final PlaceService placeService = mock(PlaceService.class);
+    private final ActivityService activityService = mock(ActivityService.class);
+    private final CircuitService circuitService = mock(CircuitService.class);
+    private final EventService eventService = mock(EventService.class);
+    private CatalogSnapshots snapshots;
+
+    @BeforeEach
+    void start() {
+        when(placeService.getAllActivePlaces(any())).thenReturn(PageQuery.first(10).window(List.of(
+                new PlaceSummary(1L, "Kasbah", "Taroudant", 30.47, -8.87, null, Status.ACTIVE, null, 4.5)),
+                PlaceSummary::id));
+        when(circuitService.getActiveCircuits(any()))
+                .thenReturn(PageQuery.first(10).window(List.<CircuitSummary>of(), CircuitSummary::id));
+        when(eventService.getAllActiveEvents(any()))
+                .thenReturn(PageQuery.first(10).window(List.<EventView>of(), EventView::id));
+        when(activityService.getAllActiveActivities(any())).thenThrow(new IllegalStateException("base indisponible"));
+
+        snapshots = new CatalogSnapshots(placeService, activityService, circuitService, eventService,
+                new CatalogVersions(event -> {
+                }, 64), new ObjectMapper(), mock(PlatformTransactionManager.class), 10, true);
+    }
+
+    @AfterEach
+    void stop() {
+        snapshots.shutdown();
+    }
+
+    @Test
+    void countsRebuildsFailuresAndServedSnapshots() {
+        snapshots.buildAll();
+        await().until(() -> snapshots.getStatistics().get("rebuilds") + snapshots.getStatistics().get("failures") == 4);
+
+        assertThat(snapshots.current(CatalogCollection.PLACES)).isNotNull();
+        assertThat(snapshots.current(CatalogCollection.PLACES)).isNotNull();
+        // Échec de construction : pas d'instantané, la requête passe par le contrôleur sans compter de hit
+        assertThat(snapshots.current(CatalogCollection.ACTIVITIES)).isNull();
+
+        Map<String, Long> stats = snapshots.getStatistics();
+        assertThat(stats).containsEntry("rebuilds", 3L).containsEntry("failures", 1L).containsEntry("hits", 2L)
+                .containsEntry("activities.jsonBytes", 0L);
+        assertThat(stats.get("places.jsonBytes")).isPositive();
+        assertThat(stats.get("places.gzipBytes")).isPositive();
+    }
+}
@@ -0,0 +1,101 @@
+package backend.controller;
+
+import backend.dto.CircuitSummary;
+import backend.entities.Role;
+import backend.entities.Status;
+import backend.service.CircuitService;
+import backend.service.PageQuery;
+import backend.service.facet.FacetedPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest
+@ContextConfiguration(classes = {WebSliceConfig.class, CircuitController.class, BatchLookup.class})
+class CircuitControllerTest {
+
+    private static final CircuitSummary OASIS = new CircuitSummary(3L, "Oasis", "Palmeraie", "2 jours",
+            new BigDecimal("450.00"), Status.ACTIVE, 9L);
+    private static final CircuitSummary REMPARTS = new CircuitSummary(5L, "Remparts", null, "3 heures",
+            null, Status.ACTIVE, null);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private CircuitService circuitService;
+
+    @Test
+    void listsSummariesWithETagAndCursor() throws Exception {
+        when(circuitService.getActiveCircuits(any()))
+                .thenReturn(PageQuery.first(1).window(List.of(OASIS, REMPARTS), CircuitSummary::id));
+
+        mvc.perform(get("/api/circuits").param("size", "1")
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.TOURIST)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(CursorPagination.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].guideId").value(9))
+                .andExpect(jsonPath("$[0].price").value(450.0))
+                .andExpect(jsonPath("$[0].guide").doesNotExist());
+    }
+
+    @Test
+    void filtersWithFacetCounts() throws Exception {
+        when(circuitService.filterCircuits(any(), any())).thenReturn(new FacetedPage<>(
+                PageQuery.first(10).window(List.of(REMPARTS), CircuitSummary::id), 1,
+                Map.of("duration", Map.of("lt4h", 1L))));
+        when(circuitService.getFilterTag()).thenReturn("catalog-facets-a-1");
+
+        mvc.perform(get("/api/circuits/filter").param("duration", "lt4h")
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.TOURIST)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, containsString("catalog-facets-a-1")))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(5))
+                .andExpect(jsonPath("$.facets.duration.lt4h").value(1));
+        // Circuits réservés aux utilisateurs connectés
+        mvc.perform(get("/api/circuits/filter")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void moderationIsForAdminsOnly() throws Exception {
+        mvc.perform(put("/api/circuits/3/validate")
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.GUIDE)))
+                .andExpect(status().isForbidden());
+        mvc.perform(put("/api/circuits/3/validate"))
+                .andExpect(status().isForbidden());
+        verify(circuitService, never()).validateCircuit(any());
+    }
+
+    @Test
+    void multiGetKeepsTheRequestedOrderAndListsMissingIds() throws Exception {
+        when(circuitService.getCircuitsByIds(List.of(3L, 8L))).thenReturn(List.of(OASIS));
+
+        mvc.perform(get("/api/circuits").param("ids", "3,8")
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.TOURIST)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Oasis"))
+                .andExpect(jsonPath("$.missing[0]").value(8));
+    }
+}
@@ -0,0 +1,85 @@
+package backend.controller;
+
+import backend.dto.EventView;
+import backend.entities.Event;
+import backend.entities.User;
+import backend.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest
+@ContextConfiguration(classes = {WebSliceConfig.class, EventController.class, BatchLookup.class})
+class EventControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private EventService eventService;
+
+    @Test
+    void multiGetKeepsTheRequestedOrderAndAnswers304WhileEventsAreUnchanged() throws Exception {
+        when(eventService.getEventsByIds(List.of(6L, 2L, 3L)))
+                .thenReturn(List.of(EventView.of(event(2L, "Moussem")), EventView.of(event(6L, "Festival"))));
+
+        MvcResult first = mvc.perform(get("/api/events").param("ids", "6,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Festival"))
+                .andExpect(jsonPath("$.items[1].title").value("Moussem"))
+                .andExpect(jsonPath("$.missing[0]").value(3))
+                .andReturn();
+
+        mvc.perform(get("/api/events").param("ids", "6,2,3")
+                        .header(HttpHeaders.IF_NONE_MATCH, first.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void multiGetShowsTheProposerByNameOnly() throws Exception {
+        when(eventService.getEventsByIds(List.of(2L))).thenReturn(List.of(EventView.of(event(2L, "Moussem"))));
+
+        String body = mvc.perform(get("/api/events").param("ids", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].proposedBy.fullName").value("Amina Guide"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body).doesNotContain("password", "email", "phone", "secret-hash", "amina@example.com");
+    }
+
+    @Test
+    void emptyIdsAreABadRequest() throws Exception {
+        mvc.perform(get("/api/events").param("ids", ","))
+                .andExpect(status().isBadRequest());
+        verify(eventService, never()).getEventsByIds(any());
+    }
+
+    private static Event event(Long id, String title) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitle(title);
+        User proposer = new User();
+        proposer.setId(7L);
+        proposer.setFullName("Amina Guide");
+        proposer.setEmail("amina@example.com");
+        proposer.setPassword("secret-hash");
+        proposer.setPhone("0600000000");
+        event.setProposedBy(proposer);
+        return event;
+    }
+}
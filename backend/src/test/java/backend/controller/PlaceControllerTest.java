@@ -0,0 +1,231 @@
+package backend.controller;
+
+import backend.dto.NearbyPlace;
+import backend.dto.PlaceCluster;
+import backend.dto.PlaceDetails;
+import backend.dto.PlaceSummary;
+import backend.dto.PlaceView;
+import backend.entities.Place;
+import backend.entities.Role;
+import backend.entities.Status;
+import backend.entities.User;
+import backend.exception.InvalidRequestException;
+import backend.exception.ServiceUnavailableException;
+import backend.service.PageQuery;
+import backend.service.PlaceDetailsService;
+import backend.service.PlaceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest
+@ContextConfiguration(classes = {WebSliceConfig.class, PlaceController.class, BatchLookup.class})
+class PlaceControllerTest {
+
+    private static final PlaceSummary KASBAH = new PlaceSummary(1L, "Kasbah", "Taroudant", 30.47, -8.87,
+            null, Status.ACTIVE, null, 4.5);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private PlaceService placeService;
+
+    @MockBean
+    private PlaceDetailsService placeDetailsService;
+
+    @Test
+    void searchETagFollowsTheIndexTag() throws Exception {
+        when(placeService.searchPlaces(eq("kasbah"), any()))
+                .thenReturn(PageQuery.first(10).window(List.of(KASBAH), PlaceSummary::id));
+        when(placeService.getSearchTag()).thenReturn("place-search-index-a-1");
+
+        MvcResult first = mvc.perform(get("/api/places/search").param("query", "kasbah"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Kasbah"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).contains("place-search-index-a-1");
+
+        mvc.perform(get("/api/places/search").param("query", "kasbah").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        // L'index a relu un lieu : même version de la collection, réponse différente
+        when(placeService.getSearchTag()).thenReturn("place-search-index-a-2");
+        mvc.perform(get("/api/places/search").param("query", "kasbah").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void nearbyETagFollowsTheGridTag() throws Exception {
+        when(placeService.getNearbyPlaces(30.47, -8.87, 2000.0, null)).thenReturn(List.of(new NearbyPlace(KASBAH, 120.5)));
+        when(placeService.getGeoTag()).thenReturn("place-geo-index-a-1");
+
+        MvcResult first = mvc.perform(get("/api/places/nearby")
+                        .param("lat", "30.47").param("lon", "-8.87").param("radius", "2000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].place.name").value("Kasbah"))
+                .andExpect(jsonPath("$[0].distance").value(120.5))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).contains("place-geo-index-a-1");
+
+        // Lieu déplacé : la grille a changé sans que la réponse le dise par la version des lieux seule
+        when(placeService.getGeoTag()).thenReturn("place-geo-index-a-2");
+        mvc.perform(get("/api/places/nearby").param("lat", "30.47").param("lon", "-8.87").param("radius", "2000")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void boxPagesCarryTheGridTagAndACursor() throws Exception {
+        when(placeService.getPlacesInBox(eq(30.0), eq(-9.0), eq(31.0), eq(-8.0), any()))
+                .thenReturn(PageQuery.first(1).window(List.of(KASBAH, KASBAH), PlaceSummary::id));
+        when(placeService.getGeoTag()).thenReturn("place-geo-index-a-1");
+
+        MvcResult first = mvc.perform(get("/api/places/bbox").param("minLat", "30").param("minLon", "-9")
+                        .param("maxLat", "31").param("maxLon", "-8").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(CursorPagination.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).contains("place-geo-index-a-1");
+
+        mvc.perform(get("/api/places/bbox").param("minLat", "30").param("minLon", "-9")
+                        .param("maxLat", "31").param("maxLon", "-8").param("size", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void mapAnswers503UntilTheGridIsBuilt() throws Exception {
+        when(placeService.getNearbyPlaces(any(), any(), any(), any()))
+                .thenThrow(new ServiceUnavailableException("Index géographique en cours de construction"));
+
+        mvc.perform(get("/api/places/nearby").param("lat", "30.47").param("lon", "-8.87"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.detail").value("Index géographique en cours de construction"));
+    }
+
+    @Test
+    void clustersETagIsTheHierarchyTagAlone() throws Exception {
+        when(placeService.getPlaceClusters(List.of(-10.0, 30.0, -8.0, 31.0), 8))
+                .thenReturn(List.of(new PlaceCluster(30.47, -8.87, 2, List.of(1L, 2L))));
+        when(placeService.getClusterTag()).thenReturn("place-clusters-a-1");
+
+        MvcResult first = mvc.perform(get("/api/places/clusters").param("bbox", "-10,30,-8,31").param("zoom", "8"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].placeIds[1]").value(2))
+                .andReturn();
+        assertThat(first.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("\"place-clusters-a-1\"");
+
+        mvc.perform(get("/api/places/clusters").param("bbox", "-10,30,-8,31").param("zoom", "8")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"place-clusters-a-1\""))
+                .andExpect(status().isNotModified());
+        when(placeService.getClusterTag()).thenReturn("place-clusters-a-2");
+        mvc.perform(get("/api/places/clusters").param("bbox", "-10,30,-8,31").param("zoom", "8")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"place-clusters-a-1\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void fullPageShowsReviewsToSignedInUsersOnly() throws Exception {
+        PlaceView place = new PlaceView(1L, "Kasbah", null, "Taroudant", 30.47, -8.87, Status.ACTIVE, null, null, null);
+        when(placeDetailsService.getPlaceDetails(1L, false))
+                .thenReturn(new PlaceDetails(place, List.of(), null, null, null, List.of()));
+        when(placeDetailsService.getPlaceDetails(1L, true))
+                .thenReturn(new PlaceDetails(place, List.of(), List.of(), null, null, List.of("rating")));
+
+        mvc.perform(get("/api/places/1/full"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.place.name").value("Kasbah"))
+                .andExpect(jsonPath("$.reviews").doesNotExist());
+        mvc.perform(get("/api/places/1/full").header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.TOURIST)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviews").isArray())
+                .andExpect(jsonPath("$.unavailable[0]").value("rating"));
+    }
+
+    @Test
+    void foreignSearchCursorIsABadRequest() throws Exception {
+        when(placeService.searchPlaces(any(), any()))
+                .thenThrow(new InvalidRequestException("Curseur de pagination invalide"));
+
+        mvc.perform(get("/api/places/search").param("query", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Curseur de pagination invalide"));
+    }
+
+    @Test
+    void multiGetKeepsTheRequestedOrderAndListsMissingIds() throws Exception {
+        when(placeService.getPlacesByIds(List.of(2L, 1L, 9L)))
+                .thenReturn(List.of(PlaceView.of(place(1L, "Kasbah")), PlaceView.of(place(2L, "Souk"))));
+
+        mvc.perform(get("/api/places").param("ids", "2,1,2,9"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.items[0].name").value("Souk"))
+                .andExpect(jsonPath("$.items[1].name").value("Kasbah"))
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(9));
+    }
+
+    @Test
+    void multiGetShowsTheProposerByNameOnly() throws Exception {
+        when(placeService.getPlacesByIds(List.of(1L))).thenReturn(List.of(PlaceView.of(place(1L, "Kasbah"))));
+
+        String body = mvc.perform(get("/api/places").param("ids", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].proposedBy.fullName").value("Amina Guide"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body).doesNotContain("password", "email", "phone", "secret-hash", "amina@example.com");
+    }
+
+    @Test
+    void multiGetRefusesTooManyIds() throws Exception {
+        String ids = String.join(",", LongStream.rangeClosed(1, 101).mapToObj(Long::toString).toList());
+
+        mvc.perform(get("/api/places").param("ids", ids))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Au plus 100 ids par requête (101 reçus)"));
+        verify(placeService, never()).getPlacesByIds(any());
+    }
+
+    private static Place place(Long id, String name) {
+        Place place = new Place();
+        place.setId(id);
+        place.setName(name);
+        place.setProposedBy(proposer());
+        return place;
+    }
+
+    private static User proposer() {
+        User user = new User();
+        user.setId(7L);
+        user.setFullName("Amina Guide");
+        user.setEmail("amina@example.com");
+        user.setPassword("secret-hash");
+        user.setPhone("0600000000");
+        return user;
+    }
+}
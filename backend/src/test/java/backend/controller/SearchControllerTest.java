@@ -0,0 +1,75 @@
+package backend.controller;
+
+import backend.dto.SearchHit;
+import backend.entities.Role;
+import backend.exception.ServiceUnavailableException;
+import backend.service.CatalogCollection;
+import backend.service.PageQuery;
+import backend.service.search.CatalogSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest
+@ContextConfiguration(classes = {WebSliceConfig.class, SearchController.class})
+class SearchControllerTest {
+
+    private static final SearchHit KASBAH = new SearchHit(CatalogCollection.PLACES, 1L, "Kasbah", "Taroudant",
+            null, 2.5);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private CatalogSearchIndex searchIndex;
+
+    @Test
+    void resultsCarryFacetsAndTheIndexTag() throws Exception {
+        when(searchIndex.tag()).thenReturn("catalog-search-index-a-4");
+        when(searchIndex.search(eq("kasbah"), any(), any(), any(), any(), any(), anyBoolean()))
+                .thenReturn(new CatalogSearchIndex.Result(PageQuery.first(10).window(List.of(KASBAH), SearchHit::id),
+                        1L, Map.of("city", Map.of("Taroudant", 1L))));
+
+        mvc.perform(get("/api/search").param("q", "kasbah").param("city", "Taroudant"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"catalog-search-index-a-4\""))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.results[0].type").value("PLACES"))
+                .andExpect(jsonPath("$.facets.city.Taroudant").value(1));
+
+        mvc.perform(get("/api/search").param("q", "kasbah").param("city", "Taroudant")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"catalog-search-index-a-4\""))
+                .andExpect(status().isNotModified());
+        // Connecté, la réponse inclut circuits et artisans : autre ETag
+        mvc.perform(get("/api/search").param("q", "kasbah")
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.TOURIST))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"catalog-search-index-a-4\""))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"catalog-search-index-a-4-auth\""));
+    }
+
+    @Test
+    void indexNotBuiltYetIsServiceUnavailable() throws Exception {
+        when(searchIndex.search(any(), any(), any(), any(), any(), any(), anyBoolean()))
+                .thenThrow(new ServiceUnavailableException("Index de recherche en cours de construction"));
+
+        mvc.perform(get("/api/search").param("q", "kasbah"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+}
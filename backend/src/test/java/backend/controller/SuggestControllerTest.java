@@ -0,0 +1,54 @@
+package backend.controller;
+
+import backend.dto.Suggestion;
+import backend.entities.Role;
+import backend.service.CatalogCollection;
+import backend.service.search.SuggestionIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(properties = "application.suggest.default-size=5")
+@ContextConfiguration(classes = {WebSliceConfig.class, SuggestController.class})
+class SuggestControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private SuggestionIndex suggestionIndex;
+
+    @Test
+    void anonymousCallerGetsDefaultSizeWithoutCircuits() throws Exception {
+        when(suggestionIndex.suggest("tarou", 5, false))
+                .thenReturn(List.of(new Suggestion(CatalogCollection.PLACES, 1L, "Kasbah de Taroudant")));
+
+        mvc.perform(get("/api/suggest").param("prefix", "tarou"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("PLACES"))
+                .andExpect(jsonPath("$[0].label").value("Kasbah de Taroudant"));
+    }
+
+    @Test
+    void signedInCallerAlsoGetsCircuits() throws Exception {
+        when(suggestionIndex.suggest(eq("oasis"), eq(3), eq(true)))
+                .thenReturn(List.of(new Suggestion(CatalogCollection.CIRCUITS, 4L, "Oasis de Tiout")));
+
+        mvc.perform(get("/api/suggest").param("prefix", "oasis").param("size", "3")
+                        .header(HttpHeaders.AUTHORIZATION, WebSliceConfig.bearer(Role.TOURIST)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(4));
+    }
+}
@@ -0,0 +1,62 @@
+package backend.controller;
+
+import backend.config.SecurityConfig;
+import backend.config.concurrency.AdaptiveConcurrencyLimiter;
+import backend.config.concurrency.ConcurrencyLimitFilter;
+import backend.config.jwt.JwtAuthFilter;
+import backend.config.ratelimit.RateLimitFilter;
+import backend.config.ratelimit.RateLimiter;
+import backend.entities.Role;
+import backend.entities.Status;
+import backend.entities.User;
+import backend.exception.GlobalExceptionHandler;
+import backend.repositories.UserRepository;
+import backend.service.CatalogVersions;
+import backend.service.JwtService;
+import backend.service.PrincipalCache;
+import backend.service.TokenVersionRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Contexte commun des tests de contrôleurs ({@code @WebMvcTest} +
+ * {@code @ContextConfiguration(classes = {WebSliceConfig.class, XController.class})}) : la vraie
+ * chaîne de sécurité (JWT, limitation de débit, délestage), les ETag du catalogue, la pagination
+ * et la traduction des erreurs, sans base de données. L'application elle-même n'est pas chargée :
+ * son {@code @ComponentScan} embarquerait tous les beans.
+ */
+@Import({SecurityConfig.class, JwtAuthFilter.class, JwtService.class, PrincipalCache.class,
+        TokenVersionRegistry.class, RateLimitFilter.class, RateLimiter.class, ConcurrencyLimitFilter.class,
+        AdaptiveConcurrencyLimiter.class, CatalogETags.class, CatalogVersions.class, CursorPagination.class,
+        GlobalExceptionHandler.class})
+public class WebSliceConfig {
+
+    @Bean
+    UserDetailsService userDetailsService() {
+        return email -> {
+            throw new UsernameNotFoundException(email);
+        };
+    }
+
+    @Bean
+    UserRepository userRepository() {
+        return mock(UserRepository.class);
+    }
+
+    /** En-tête Authorization d'un utilisateur du rôle donné, avec un jeton auto-suffisant. */
+    static String bearer(Role role) {
+        User user = User.builder()
+                .id(1L)
+                .email(role.name().toLowerCase() + "@taroudant.ma")
+                .fullName(role.name())
+                .role(role)
+                .status(Status.ACTIVE)
+                .tokenVersion(0)
+                .build();
+        return "Bearer " + new JwtService().generateToken(user);
+    }
+}
@@ -0,0 +1,32 @@
+package backend.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void domainExceptionBecomesProblemWithItsStatus() {
+        ResponseEntity<ProblemDetail> response =
+                handler.handleDomainException(new ResourceNotFoundException("Lieu non trouvé"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        assertThat(response.getBody().getStatus()).isEqualTo(404);
+        assertThat(response.getBody().getDetail()).isEqualTo("Lieu non trouvé");
+    }
+
+    @Test
+    void domainExceptionsCaptureNoStackTrace() {
+        assertThat(new ConflictException("Déjà réservé").getStackTrace()).isEmpty();
+        assertThat(new InvalidCredentialsException("Identifiants invalides").getStatus())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+}
@@ -0,0 +1,50 @@
+package backend.repositories;
+
+import backend.dto.SearchRow;
+import backend.entities.Event;
+import backend.entities.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {JpaSliceConfig.H2, JpaSliceConfig.NO_SQL_INIT})
+@ContextConfiguration(classes = JpaSliceConfig.class)
+class EventRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 1);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    void searchRowsFollowTheUpcomingRule() {
+        Event running = event("Moussem", TODAY.plusDays(2));
+        Event endsToday = event("Festival", TODAY);
+        Event ended = event("Foire", TODAY.minusDays(3));
+
+        List<Long> all = eventRepository.findSearchRows(Status.ACTIVE, TODAY, 0L, Limit.of(10)).stream()
+                .map(SearchRow::id).toList();
+        List<Long> byIds = eventRepository.findSearchRowsByIdIn(Status.ACTIVE, TODAY,
+                List.of(running.getId(), endsToday.getId(), ended.getId())).stream().map(SearchRow::id).toList();
+
+        // Même règle que la liste des événements à venir : fin strictement après aujourd'hui
+        assertThat(all).containsExactly(running.getId());
+        assertThat(byIds).containsExactly(running.getId());
+    }
+
+    private Event event(String title, LocalDate endDate) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setStartDate(TODAY.minusDays(10));
+        event.setEndDate(endDate);
+        event.setStatus(Status.ACTIVE);
+        return eventRepository.save(event);
+    }
+}
@@ -0,0 +1,17 @@
+package backend.repositories;
+
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Configuration des tests de dépôts (@DataJpaTest) : entités et dépôts seuls, sans passer par
+ * ExploreTaroudantApplication dont le @ComponentScan chargerait toute l'application. Les tests
+ * tournent sur H2, sans data.sql (syntaxe MySQL).
+ */
+@EntityScan(basePackages = "backend.entities")
+@EnableJpaRepositories(basePackageClasses = JpaSliceConfig.class)
+class JpaSliceConfig {
+
+    static final String H2 = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect";
+    static final String NO_SQL_INIT = "spring.sql.init.mode=never";
+}
@@ -0,0 +1,116 @@
+package backend.repositories;
+
+import backend.dto.EventView;
+import backend.entities.Event;
+import backend.entities.Reservation;
+import backend.entities.Status;
+import backend.service.PageQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pagination par clé sur une date facultative : chaque ligne est servie une et une seule fois,
+ * y compris après une page qui se termine sur une ligne sans date.
+ */
+@DataJpaTest(properties = {JpaSliceConfig.H2, JpaSliceConfig.NO_SQL_INIT})
+@ContextConfiguration(classes = JpaSliceConfig.class)
+class KeysetPageRepositoryTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Test
+    void eventsPageThroughNullStartDatesLast() {
+        LocalDate today = LocalDate.of(2026, 6, 1);
+        List<Long> expected = new ArrayList<>();
+        // Ordre attendu : date décroissante, sans date en dernier, id décroissant à date égale
+        Event late = event(today.plusDays(2));
+        Event sameDayFirst = event(today);
+        Event sameDaySecond = event(today);
+        Event undatedFirst = event(null);
+        Event undatedSecond = event(null);
+        Event undatedThird = event(null);
+        expected.addAll(List.of(late.getId(), sameDaySecond.getId(), sameDayFirst.getId(),
+                undatedThird.getId(), undatedSecond.getId(), undatedFirst.getId()));
+
+        List<Long> served = drain(2, page -> page.window(
+                eventRepository.findPage(page.lastKey("startDate", LocalDate.class), page.lastId(), page.probe()),
+                Event::getId, "startDate", Event::getStartDate), Event::getId);
+
+        assertThat(served).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void upcomingEventsAscendingWithUndatedLast() {
+        LocalDate today = LocalDate.of(2026, 6, 1);
+        Event undated = event(null);
+        Event later = event(today.plusDays(3));
+        Event sooner = event(today.plusDays(1));
+        Event ended = event(today.minusDays(5));
+        ended.setEndDate(today.minusDays(4));
+        eventRepository.save(ended);
+
+        List<Long> served = drain(1, page -> page.window(
+                eventRepository.findUpcomingViews(Status.ACTIVE, today, page.lastKey("startDate", LocalDate.class),
+                        page.lastId(), page.probe()),
+                EventView::id, "startDate", EventView::startDate), EventView::id);
+
+        assertThat(served).containsExactly(sooner.getId(), later.getId(), undated.getId());
+    }
+
+    @Test
+    void reservationsPageThroughNullDates() {
+        Reservation dated = reservation(LocalDate.of(2026, 6, 1));
+        Reservation undatedFirst = reservation(null);
+        Reservation undatedSecond = reservation(null);
+
+        List<Long> served = drain(1, page -> page.window(
+                reservationRepository.findPage(page.lastKey("reservationDate", LocalDate.class), page.lastId(),
+                        page.probe()),
+                Reservation::getId, "reservationDate", Reservation::getReservationDate), Reservation::getId);
+
+        assertThat(served).containsExactly(dated.getId(), undatedSecond.getId(), undatedFirst.getId());
+    }
+
+    private static <T> List<Long> drain(int size, Function<PageQuery, Window<T>> loader, Function<T, Long> idOf) {
+        List<Long> ids = new ArrayList<>();
+        PageQuery page = PageQuery.first(size);
+        while (true) {
+            Window<T> window = loader.apply(page);
+            window.forEach(row -> ids.add(idOf.apply(row)));
+            if (PageQuery.nextPosition(window) == null) {
+                return ids;
+            }
+            page = new PageQuery(PageQuery.nextPosition(window), page.limit());
+        }
+    }
+
+    private Event event(LocalDate startDate) {
+        Event event = new Event();
+        event.setTitle("Moussem");
+        event.setStartDate(startDate);
+        event.setEndDate(LocalDate.of(2027, 1, 1));
+        event.setStatus(Status.ACTIVE);
+        return eventRepository.save(event);
+    }
+
+    private Reservation reservation(LocalDate date) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationDate(date);
+        return reservationRepository.save(reservation);
+    }
+}
@@ -0,0 +1,94 @@
+package backend.repositories;
+
+import backend.dto.ChangeMark;
+import backend.dto.RatingCounts;
+import backend.dto.graph.ReviewNode;
+import backend.entities.Place;
+import backend.entities.Review;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {JpaSliceConfig.H2, JpaSliceConfig.NO_SQL_INIT})
+@ContextConfiguration(classes = JpaSliceConfig.class)
+class ReviewRepositoryTest {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private PlaceRepository placeRepository;
+
+    @Test
+    void latestNodesAreLimitedPerPlaceInTheQuery() {
+        LocalDateTime now = LocalDateTime.of(2026, 6, 1, 12, 0);
+        Place busy = place("Kasbah");
+        Place quiet = place("Souk");
+        Review oldest = review(busy, now.minusDays(3));
+        Review middle = review(busy, now.minusDays(2));
+        Review newest = review(busy, now.minusDays(1));
+        // Même date : l'id le plus grand passe devant
+        Review tie = review(busy, now.minusDays(1));
+        Review only = review(quiet, now.minusDays(10));
+
+        List<ReviewNode> nodes = reviewRepository.findLatestNodesByPlaceIdIn(Set.of(busy.getId(), quiet.getId()), 2);
+
+        assertThat(nodes).extracting(ReviewNode::id).containsExactly(tie.getId(), newest.getId(), only.getId());
+        assertThat(nodes).extracting(ReviewNode::id).doesNotContain(oldest.getId(), middle.getId());
+    }
+
+    @Test
+    void ratingCountsArePagedOnePlacePerRow() {
+        LocalDateTime now = LocalDateTime.of(2026, 6, 1, 12, 0);
+        Place kasbah = place("Kasbah");
+        Place souk = place("Souk");
+        review(kasbah, 5, now);
+        review(kasbah, 5, now);
+        review(kasbah, 3, now);
+        review(souk, 1, now);
+
+        assertThat(reviewRepository.findRatingCounts(0L, Limit.of(1)))
+                .containsExactly(new RatingCounts(kasbah.getId(), 0L, 0L, 1L, 0L, 2L));
+        assertThat(reviewRepository.findRatingCounts(kasbah.getId(), Limit.of(1)))
+                .containsExactly(new RatingCounts(souk.getId(), 1L, 0L, 0L, 0L, 0L));
+        assertThat(reviewRepository.findRatingCountsByPlaceIdIn(List.of(souk.getId())))
+                .extracting(RatingCounts::placeId).containsExactly(souk.getId());
+    }
+
+    @Test
+    void changeMarkMovesWhenAReviewIsEditedInPlace() {
+        Review review = review(place("Kasbah"), 4, LocalDateTime.of(2026, 6, 1, 12, 0));
+        ChangeMark before = reviewRepository.findChangeMark();
+
+        // Même note : nombre, id max et somme des notes inchangés, seule la date de modification bouge
+        reviewRepository.updateContent(review.getId(), 4, "Commentaire corrigé");
+
+        assertThat(reviewRepository.findChangeMark()).isNotEqualTo(before);
+    }
+
+    private Place place(String name) {
+        Place place = new Place();
+        place.setName(name);
+        return placeRepository.save(place);
+    }
+
+    private Review review(Place place, LocalDateTime createdAt) {
+        return review(place, 4, createdAt);
+    }
+
+    private Review review(Place place, int rating, LocalDateTime createdAt) {
+        Review review = new Review();
+        review.setPlace(place);
+        review.setRating(rating);
+        review.setCreatedAt(createdAt);
+        return reviewRepository.save(review);
+    }
+}
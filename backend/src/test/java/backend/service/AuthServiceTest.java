@@ -0,0 +1,63 @@
+package backend.service;
+
+import backend.dto.AuthResponse;
+import backend.dto.RegisterRequest;
+import backend.entities.Guide;
+import backend.entities.User;
+import backend.repositories.GuideRepository;
+import backend.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final GuideRepository guideRepository = mock(GuideRepository.class);
+    private final PasswordHashingService passwordHashing = mock(PasswordHashingService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final AuthService authService = new AuthService(userRepository, mock(PasswordEncoder.class),
+            new JwtService(), mock(AuthenticationManager.class), guideRepository, mock(PrincipalCache.class),
+            mock(TokenVersionRegistry.class), passwordHashing, mock(CatalogVersions.class), transactionManager);
+
+    @Test
+    void hashesThePasswordBeforeOpeningTheTransaction() {
+        RegisterRequest request = new RegisterRequest();
+        request.setFullName("Nouveau guide");
+        request.setEmail("guide@taroudant.ma");
+        request.setPassword("secret123");
+        request.setRole("guide");
+        when(userRepository.findByEmail("guide@taroudant.ma")).thenReturn(Optional.empty());
+        when(passwordHashing.encode("secret123")).thenReturn("$2a$10$hash");
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            user.setId(12L);
+            return user;
+        });
+        when(guideRepository.save(any(Guide.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AuthResponse response = authService.register(request);
+
+        InOrder order = inOrder(passwordHashing, transactionManager, userRepository, guideRepository);
+        order.verify(passwordHashing).encode("secret123");
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(userRepository).save(any(User.class));
+        order.verify(guideRepository).save(any(Guide.class));
+        order.verify(transactionManager).commit(any());
+        assertThat(response.getGuide()).isNotNull();
+        // Guide en attente de validation : pas de jeton
+        assertThat(response.getToken()).isNull();
+    }
+}
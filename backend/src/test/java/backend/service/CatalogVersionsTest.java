@@ -0,0 +1,75 @@
+package backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionsTest {
+
+    private final List<Object> published = new ArrayList<>();
+    private final ApplicationEventPublisher publisher = published::add;
+
+    @Test
+    void entityChangeMovesItsTagAndTheListTag() {
+        CatalogVersions versions = new CatalogVersions(publisher, 64);
+        String entity = versions.entityTag(CatalogCollection.PLACES, 7L);
+        String list = versions.listTag(CatalogCollection.PLACES);
+
+        versions.changed(CatalogCollection.PLACES, 7L);
+
+        assertThat(versions.entityTag(CatalogCollection.PLACES, 7L)).isNotEqualTo(entity);
+        assertThat(versions.listTag(CatalogCollection.PLACES)).isNotEqualTo(list);
+        assertThat(published).containsExactly(new CatalogChangedEvent(CatalogCollection.PLACES, 7L));
+    }
+
+    @Test
+    void entitiesSharingACounterKeepDistinctTags() {
+        // Un seul compteur : toutes les entités le partagent
+        CatalogVersions versions = new CatalogVersions(publisher, 1);
+
+        assertThat(versions.entityTag(CatalogCollection.EVENTS, 1L))
+                .isNotEqualTo(versions.entityTag(CatalogCollection.EVENTS, 2L));
+        String other = versions.entityTag(CatalogCollection.EVENTS, 2L);
+        versions.changed(CatalogCollection.EVENTS, 1L);
+        // Relu une fois de trop, jamais servi périmé
+        assertThat(versions.entityTag(CatalogCollection.EVENTS, 2L)).isNotEqualTo(other);
+    }
+
+    @Test
+    void otherCollectionsAndUnrelatedStripesAreUntouched() {
+        CatalogVersions versions = new CatalogVersions(publisher, 4096);
+        String artisan = versions.entityTag(CatalogCollection.ARTISANS, 7L);
+        String neighbour = versions.entityTag(CatalogCollection.PLACES, 8L);
+
+        versions.changed(CatalogCollection.PLACES, 7L);
+
+        assertThat(versions.entityTag(CatalogCollection.ARTISANS, 7L)).isEqualTo(artisan);
+        assertThat(versions.entityTag(CatalogCollection.PLACES, 8L)).isEqualTo(neighbour);
+    }
+
+    @Test
+    void dependentCollectionFollowsItsDependency() {
+        CatalogVersions versions = new CatalogVersions(publisher, 64);
+        String activities = versions.listTag(CatalogCollection.ACTIVITIES);
+
+        versions.changed(CatalogCollection.PLACES);
+
+        assertThat(versions.listTag(CatalogCollection.ACTIVITIES)).isNotEqualTo(activities);
+    }
+
+    @Test
+    void statisticsCountChangesPerCollectionAndSharedChanges() {
+        CatalogVersions versions = new CatalogVersions(publisher, 64);
+
+        versions.changed(CatalogCollection.PLACES, 7L);
+        versions.changed(CatalogCollection.PLACES);
+        versions.sharedChanged();
+
+        assertThat(versions.getStatistics()).containsEntry("shared", 1L).containsEntry("places", 2L)
+                .containsEntry("events", 0L);
+    }
+}
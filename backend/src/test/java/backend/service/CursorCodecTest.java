@@ -0,0 +1,90 @@
+package backend.service;
+
+import backend.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    private static final int SCOPE = CursorCodec.scopeOf("/api/events/all");
+
+    @Test
+    void roundTripsEveryKeyTypeInOrder() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("startDate", LocalDate.of(2026, 6, 1));
+        keys.put("createdAt", LocalDateTime.of(2026, 6, 1, 10, 30, 15, 123_000_000));
+        keys.put("score", 2.5d);
+        keys.put("rank", 7);
+        keys.put("name", "Kasbah Tiout");
+        keys.put("id", 42L);
+
+        String cursor = CursorCodec.encode(ScrollPosition.forward(keys), SCOPE);
+        ScrollPosition decoded = CursorCodec.decode(cursor, SCOPE);
+
+        assertThat(decoded).isInstanceOf(KeysetScrollPosition.class);
+        assertThat(((KeysetScrollPosition) decoded).getKeys()).containsExactlyEntriesOf(keys);
+    }
+
+    @Test
+    void keepsNullSortKey() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("startDate", null);
+        keys.put("id", 9L);
+
+        ScrollPosition decoded = CursorCodec.decode(CursorCodec.encode(ScrollPosition.forward(keys), SCOPE), SCOPE);
+        PageQuery page = new PageQuery(decoded, Limit.of(10));
+
+        assertThat(page.lastKey("startDate", LocalDate.class)).isNull();
+        assertThat(page.lastId()).isEqualTo(9L);
+    }
+
+    @Test
+    void missingCursorIsFirstPage() {
+        PageQuery page = new PageQuery(CursorCodec.decode(null, SCOPE), Limit.of(10));
+
+        assertThat(page.lastId()).isNull();
+        assertThat(page.afterId()).isZero();
+        assertThat(CursorCodec.decode(" ", SCOPE)).isEqualTo(ScrollPosition.keyset());
+    }
+
+    @Test
+    void rejectsCursorFromAnotherList() {
+        String cursor = CursorCodec.encode(ScrollPosition.forward(Map.of("id", 1L)), SCOPE);
+
+        assertThatThrownBy(() -> CursorCodec.decode(cursor, CursorCodec.scopeOf("/api/places")))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void rejectsTamperedOrTruncatedCursor() {
+        String cursor = CursorCodec.encode(ScrollPosition.forward(Map.of("id", 1L)), SCOPE);
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        String truncated = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Arrays.copyOf(bytes, bytes.length - 3));
+        String trailing = cursor + "AA";
+
+        assertThatThrownBy(() -> CursorCodec.decode(truncated, SCOPE)).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> CursorCodec.decode(trailing, SCOPE)).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> CursorCodec.decode("not base64 !", SCOPE)).isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void rejectsSortKeyOfTheWrongType() {
+        PageQuery page = new PageQuery(ScrollPosition.forward(Map.of("startDate", "hier", "id", 3L)), Limit.of(10));
+
+        assertThatThrownBy(() -> page.lastKey("startDate", LocalDate.class))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
@@ -0,0 +1,127 @@
+package backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+class IncrementalIndexTest {
+
+    private static final Set<CatalogCollection> PARTS = EnumSet.of(CatalogCollection.PLACES,
+            CatalogCollection.ACTIVITIES);
+
+    private final ApplicationEventPublisher publisher = event -> {
+    };
+    private final CatalogVersions versions = new CatalogVersions(publisher, 64);
+    private final PlatformTransactionManager transactions = mock(PlatformTransactionManager.class);
+    private final List<Set<CatalogCollection>> rebuilt = new CopyOnWriteArrayList<>();
+    private final List<IncrementalIndex.Changes> applied = new CopyOnWriteArrayList<>();
+    private IncrementalIndex index;
+
+    @AfterEach
+    void stop() {
+        index.shutdown();
+    }
+
+    @Test
+    void firstPassBuildsEveryPartThenPublishesATag() {
+        index = index(rebuilt::add);
+        assertThat(index.tag()).isNull();
+
+        index.requestRebuild();
+
+        await().until(() -> index.isCurrent(CatalogCollection.PLACES) && index.isCurrent(CatalogCollection.ACTIVITIES));
+        assertThat(rebuilt).containsExactly(PARTS);
+        assertThat(index.tag()).startsWith("test-index-");
+    }
+
+    @Test
+    void markedIdsAreAppliedBySourceAndMoveTheTag() {
+        index = built();
+        String tag = index.tag();
+
+        versions.changed(CatalogCollection.PLACES, 7L);
+        index.mark(CatalogCollection.ACTIVITIES, CatalogCollection.PLACES, 7L);
+
+        await().until(() -> index.isCurrent(CatalogCollection.ACTIVITIES));
+        assertThat(applied).singleElement()
+                .satisfies(changes -> assertThat(changes.of(CatalogCollection.PLACES)).containsExactly(7L));
+        assertThat(index.tag()).isNotEqualTo(tag);
+        assertThat(rebuilt).hasSize(1);
+    }
+
+    @Test
+    void versionChangedWithoutMarkIsCaughtUpWithoutReload() {
+        index = built();
+        String tag = index.tag();
+
+        versions.changed(CatalogCollection.EVENTS);
+        versions.changed(CatalogCollection.PLACES);
+        assertThat(index.isCurrent(CatalogCollection.PLACES)).isFalse();
+
+        await().until(() -> index.isCurrent(CatalogCollection.PLACES));
+        assertThat(applied).isEmpty();
+        assertThat(index.tag()).isEqualTo(tag);
+    }
+
+    @Test
+    void failedRebuildIsRetriedAndNotServedMeanwhile() {
+        AtomicInteger attempts = new AtomicInteger();
+        index = index(parts -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("base indisponible");
+            }
+            rebuilt.add(parts);
+        });
+
+        index.requestRebuild();
+
+        await().until(() -> attempts.get() == 2 && index.isCurrent(CatalogCollection.PLACES));
+        assertThat(index.getStatistics()).containsEntry("failures", 1L);
+        assertThat(rebuilt).containsExactly(PARTS);
+    }
+
+    @Test
+    void loadAllFollowsTheLastIdAcrossBatches() {
+        index = index(rebuilt::add);
+        List<Long> ids = List.of(2L, 3L, 5L, 8L, 13L);
+        IncrementalIndex.Source<Long> source = new IncrementalIndex.Source<>(
+                (afterId, limit) -> ids.stream().filter(id -> id > afterId).limit(limit.max()).toList(),
+                wanted -> ids.stream().filter(wanted::contains).toList(),
+                id -> id);
+
+        List<Long> loaded = new ArrayList<>();
+        index.loadAll(source, loaded::add);
+        List<Long> found = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        index.loadByIds(source, List.of(3L, 4L, 8L), found::add, removed::add);
+
+        assertThat(loaded).containsExactlyElementsOf(ids);
+        assertThat(found).containsExactlyInAnyOrder(3L, 8L);
+        assertThat(removed).containsExactly(4L);
+    }
+
+    private IncrementalIndex built() {
+        IncrementalIndex built = index(rebuilt::add);
+        built.requestRebuild();
+        await().until(() -> built.isCurrent(CatalogCollection.PLACES) && built.isCurrent(CatalogCollection.ACTIVITIES));
+        return built;
+    }
+
+    private IncrementalIndex index(IncrementalIndex.Rebuild rebuild) {
+        // Lots de deux lignes, nouvel essai après 50 ms
+        return new IncrementalIndex("test-index", PARTS, rebuild, (part, changes) -> applied.add(changes),
+                versions, transactions, 2, true, 50);
+    }
+}
@@ -0,0 +1,53 @@
+package backend.service;
+
+import backend.entities.Role;
+import backend.entities.Status;
+import backend.entities.User;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    private final JwtService jwtService = new JwtService();
+
+    private static User user() {
+        return User.builder()
+                .id(7L)
+                .email("visiteur@taroudant.ma")
+                .fullName("Visiteur")
+                .role(Role.TOURIST)
+                .status(Status.ACTIVE)
+                .tokenVersion(3)
+                .build();
+    }
+
+    @Test
+    void verifiesOnceAndExposesIdentityClaims() {
+        VerifiedToken token = jwtService.verify(jwtService.generateToken(user())).orElseThrow();
+
+        assertThat(token.subject()).isEqualTo("visiteur@taroudant.ma");
+        assertThat(token.isSelfContained()).isTrue();
+        User principal = token.toPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getRole()).isEqualTo(Role.TOURIST);
+        assertThat(principal.getTokenVersion()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsTamperedOrMalformedTokens() {
+        String token = jwtService.generateToken(user());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(jwtService.verify(tampered)).isEmpty();
+        assertThat(jwtService.verify("pas-un-jwt")).isEmpty();
+    }
+
+    @Test
+    void checksSubjectAgainstUser() {
+        String token = jwtService.generateToken(user());
+
+        assertThat(jwtService.isTokenValid(token, user())).isTrue();
+        assertThat(jwtService.isTokenValid(token, User.builder().email("autre@taroudant.ma").build())).isFalse();
+    }
+}
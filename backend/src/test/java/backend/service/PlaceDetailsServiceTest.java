@@ -0,0 +1,66 @@
+package backend.service;
+
+import backend.dto.PlaceDetails;
+import backend.dto.PlaceView;
+import backend.dto.RatingStats;
+import backend.entities.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Window;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlaceDetailsServiceTest {
+
+    private final PlaceService placeService = mock(PlaceService.class);
+    private final ActivityService activityService = mock(ActivityService.class);
+    private final ReviewService reviewService = mock(ReviewService.class);
+    private final PlaceDetailsService service = new PlaceDetailsService(placeService, activityService, reviewService,
+            Duration.ofSeconds(2), Duration.ofMillis(100), 20, 10);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void lateBranchIsOmittedWithoutInterruptingItsThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        when(placeService.getPlaceView(7L)).thenReturn(place());
+        when(activityService.getActivitiesByPlace(eq(7L), any())).thenReturn(Window.from(List.of(), i -> null));
+        // Lecture des notes partagée avec d'autres requêtes : en retard, mais ne doit pas être interrompue
+        when(reviewService.getRatingStatsForPlace(7L)).thenAnswer(invocation -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+                interrupted.complete(false);
+            } catch (InterruptedException e) {
+                interrupted.complete(true);
+            }
+            return new RatingStats(0, 0, Map.of());
+        });
+
+        PlaceDetails details = service.getPlaceDetails(7L, false);
+        release.countDown();
+
+        assertThat(details.place().name()).isEqualTo("Kasbah");
+        assertThat(details.rating()).isNull();
+        assertThat(details.unavailable()).containsExactly("rating");
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    private static PlaceView place() {
+        return new PlaceView(7L, "Kasbah", null, "Taroudant", 30.47, -8.87, Status.ACTIVE, null, null, null);
+    }
+}
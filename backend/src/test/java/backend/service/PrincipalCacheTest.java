@@ -0,0 +1,59 @@
+package backend.service;
+
+import backend.entities.Role;
+import backend.entities.Status;
+import backend.entities.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final UserDetailsService users = email -> {
+        loads.incrementAndGet();
+        return User.builder()
+                .id(5L)
+                .email(email)
+                .fullName("Guide")
+                .password("$2a$10$hash")
+                .role(Role.GUIDE)
+                .status(Status.ACTIVE)
+                .tokenVersion(2)
+                .build();
+    };
+    private final PrincipalCache cache = new PrincipalCache(users, 100, Duration.ofMinutes(5));
+
+    @Test
+    void servesAFreshPrincipalPerLoad() {
+        User first = (User) cache.load("guide@taroudant.ma");
+        first.setFullName("modifié par une requête");
+        User second = (User) cache.load("guide@taroudant.ma");
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getFullName()).isEqualTo("Guide");
+        assertThat(second.getId()).isEqualTo(5L);
+        assertThat(second.getTokenVersion()).isEqualTo(2);
+        assertThat(second.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_GUIDE");
+        // Le hash du mot de passe ne reste pas en mémoire
+        assertThat(second.getPassword()).isNull();
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getStatistics()).containsEntry("hits", 1L).containsEntry("misses", 1L)
+                .containsEntry("size", 1L);
+    }
+
+    @Test
+    void reloadsAfterEviction() {
+        cache.load("guide@taroudant.ma");
+        cache.evict("guide@taroudant.ma");
+        cache.load("guide@taroudant.ma");
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getStatistics()).containsEntry("invalidations", 1L).containsEntry("misses", 2L)
+                .containsEntry("hits", 0L);
+    }
+}
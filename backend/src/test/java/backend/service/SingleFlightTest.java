@@ -0,0 +1,74 @@
+package backend.service;
+
+import backend.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight(true, Duration.ZERO, 100);
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<String>> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return List.of("kasbah");
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            List<Future<List<String>>> followers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    executions.incrementAndGet();
+                    return List.of("autre");
+                })));
+            }
+            while (singleFlight.getStatistics().get("coalesced") < 8) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<List<String>> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(leader.get(5, TimeUnit.SECONDS));
+            }
+            assertThat(executions).hasValue(1);
+            assertThat(singleFlight.getStatistics()).containsEntry("calls", 9L).containsEntry("executions", 1L)
+                    .containsEntry("coalesced", 8L).containsEntry("inFlight", 0L);
+        }
+    }
+
+    @Test
+    void failureIsRethrownAndNotRemembered() {
+        assertThatThrownBy(() -> singleFlight.execute("missing", () -> {
+            throw new ResourceNotFoundException("Lieu non trouvé");
+        })).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(singleFlight.<String>execute("missing", () -> "trouvé")).isEqualTo("trouvé");
+        assertThat(singleFlight.getStatistics()).containsEntry("executions", 2L).containsEntry("inFlight", 0L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
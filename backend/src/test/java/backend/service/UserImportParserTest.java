@@ -0,0 +1,67 @@
+package backend.service;
+
+import backend.exception.InvalidRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserImportParserTest {
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void splitsQuotedCsvFields() {
+        assertThat(UserImportParser.splitCsvLine("a,\"b, c\",\"dit \"\"bonjour\"\"\",,e"))
+                .containsExactly("a", "b, c", "dit \"bonjour\"", "", "e");
+    }
+
+    @Test
+    void readsCsvByHeaderNameWithLineNumbers() throws IOException {
+        String csv = "﻿Email,FullName,Password,Role,Status\n"
+                + "guide@taroudant.ma,\"Ait Said, Fatima\",secret123,guide,\n"
+                + "\n"
+                + "visiteur@taroudant.ma,Visiteur,secret456,,SUSPENDED\n";
+        List<UserImportParser.Row> rows = new ArrayList<>();
+        UserImportParser.readCsv(input(csv), rows::add);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).request().getFullName()).isEqualTo("Ait Said, Fatima");
+        assertThat(rows.get(0).request().getRole()).isEqualTo("guide");
+        assertThat(rows.get(0).status()).isNull();
+        // Ligne vide sautée, mais comptée
+        assertThat(rows.get(1).line()).isEqualTo(4);
+        assertThat(rows.get(1).request().getRole()).isNull();
+        assertThat(rows.get(1).status()).isEqualTo("SUSPENDED");
+    }
+
+    @Test
+    void readsJsonArrays() throws IOException {
+        String json = "[{\"email\":\"a@taroudant.ma\",\"fullName\":\"A\",\"password\":\"secret123\",\"phone\":null},"
+                + "{\"email\":\"b@taroudant.ma\",\"role\":\"GUIDE\",\"status\":\"ACTIVE\"}]";
+        List<UserImportParser.Row> rows = new ArrayList<>();
+        UserImportParser.readJson(new ObjectMapper(), input(json), rows::add);
+
+        assertThat(rows).extracting(UserImportParser.Row::line).containsExactly(1, 2);
+        assertThat(rows.get(0).request().getPhone()).isNull();
+        assertThat(rows.get(1).request().getRole()).isEqualTo("GUIDE");
+        assertThat(rows.get(1).status()).isEqualTo("ACTIVE");
+    }
+
+    @Test
+    void rejectsJsonThatIsNotAnArray() {
+        assertThatThrownBy(() -> UserImportParser.readJson(new ObjectMapper(), input("{}"), row -> {
+        })).isInstanceOf(InvalidRequestException.class);
+    }
+}
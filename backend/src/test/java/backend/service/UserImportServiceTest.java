@@ -0,0 +1,59 @@
+package backend.service;
+
+import backend.dto.BulkImportReport;
+import backend.exception.InvalidRequestException;
+import backend.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class UserImportServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordHashingService passwordHashing = mock(PasswordHashingService.class);
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final UserImportService service = new UserImportService(userRepository, passwordHashing,
+            mock(JdbcTemplate.class), mock(PlatformTransactionManager.class), new ObjectMapper(), validator);
+
+    @Test
+    void refusesAdminAndUnknownRoles() throws Exception {
+        String csv = "fullName,email,password,role\n"
+                + "Intrus,intrus@taroudant.ma,secret123,admin\n"
+                + "Autre,autre@taroudant.ma,secret123,PILOTE\n"
+                + "Court,court@taroudant.ma,abc,GUIDE\n";
+
+        BulkImportReport report = service.importUsers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), UserImportService.Format.CSV);
+
+        assertThat(report.failed()).isEqualTo(3);
+        assertThat(report.rows()).extracting(BulkImportReport.RowResult::message).containsExactly(
+                "Rôle non autorisé à l'import : ADMIN",
+                "Rôle inconnu : PILOTE",
+                "Le mot de passe doit contenir au moins 6 caractères");
+        // Aucune ligne valide : ni requête d'unicité ni hachage
+        verify(userRepository, never()).findExistingEmails(any());
+        verify(passwordHashing, never()).encodeAll(any());
+    }
+
+    @Test
+    void unreadableJsonIsABadRequest() {
+        assertThatThrownBy(() -> service.importUsers(
+                new ByteArrayInputStream("[{\"email\": ".getBytes(StandardCharsets.UTF_8)), UserImportService.Format.JSON))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageStartingWith("Fichier JSON mal formé");
+        verify(userRepository, never()).findExistingEmails(any());
+    }
+}
@@ -0,0 +1,89 @@
+package backend.service.facet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitmapFacetIndexTest {
+
+    private final BitmapFacetIndex index = new BitmapFacetIndex(List.of("city", "price"),
+            Map.of("price", List.of("0-100", "100+")));
+
+    @Test
+    void valuesOfAFacetAreOredAndFacetsAnded() {
+        index.put(1, Map.of("city", "Taroudant", "price", "0-100"));
+        index.put(2, Map.of("city", "Agadir", "price", "0-100"));
+        index.put(3, Map.of("city", "Taroudant", "price", "100+"));
+        index.put(4, Map.of("city", "Tiznit", "price", "0-100"));
+
+        BitmapFacetIndex.Result result = index.filter(Map.of(
+                "city", Set.of("Taroudant", "Agadir"),
+                "price", Set.of("0-100")), 0L, 10, 10);
+
+        assertThat(result.ids()).containsExactly(1L, 2L);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    void countsIgnoreTheFacetsOwnSelection() {
+        index.put(1, Map.of("city", "Taroudant", "price", "0-100"));
+        index.put(2, Map.of("city", "Agadir", "price", "0-100"));
+        index.put(3, Map.of("city", "Taroudant", "price", "100+"));
+
+        BitmapFacetIndex.Result result = index.filter(Map.of("city", Set.of("Taroudant")), 0L, 10, 10);
+
+        // Les autres villes restent proposées avec leur compte, les prix suivent la ville choisie
+        assertThat(result.facets().get("city")).containsExactly(Map.entry("Taroudant", 2L), Map.entry("Agadir", 1L));
+        assertThat(result.facets().get("price")).containsExactly(Map.entry("0-100", 1L), Map.entry("100+", 1L));
+    }
+
+    @Test
+    void fixedValuesKeepTheirOrderAndFreeValuesAreCapped() {
+        index.put(1, Map.of("city", "Tiznit", "price", "100+"));
+        index.put(2, Map.of("city", "Agadir"));
+        index.put(3, Map.of("city", "Agadir"));
+
+        BitmapFacetIndex.Result capped = index.filter(Map.of(), 0L, 10, 1);
+        BitmapFacetIndex.Result selected = index.filter(Map.of("city", Set.of("Tiznit", "Inconnue")), 0L, 10, 1);
+
+        assertThat(capped.facets().get("city")).containsExactly(Map.entry("Agadir", 2L));
+        assertThat(capped.facets().get("price")).containsExactly(Map.entry("0-100", 0L), Map.entry("100+", 1L));
+        // Une valeur sélectionnée reste affichée au-delà de la limite
+        assertThat(selected.facets().get("city")).containsKeys("Agadir", "Tiznit");
+    }
+
+    @Test
+    void pagesFollowIdsAfterTheCursor() {
+        for (int id = 1; id <= 5; id++) {
+            index.put(id, Map.of("city", "Taroudant"));
+        }
+
+        BitmapFacetIndex.Result first = index.filter(Map.of(), 0L, 2, 10);
+        BitmapFacetIndex.Result last = index.filter(Map.of(), 4L, 2, 10);
+
+        assertThat(first.ids()).containsExactly(1L, 2L);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.ids()).containsExactly(5L);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(index.filter(Map.of(), Integer.MAX_VALUE, 2, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void replacingOrRemovingAnEntryMovesItsBits() {
+        index.put(1, Map.of("city", "Taroudant"));
+        index.put(2, Map.of("city", "Taroudant"));
+
+        index.put(1, Map.of("city", "Agadir"));
+        index.remove(2);
+
+        assertThat(index.filter(Map.of("city", Set.of("Taroudant")), 0L, 10, 10).ids()).isEmpty();
+        assertThat(index.filter(Map.of("city", Set.of("Agadir")), 0L, 10, 10).ids()).containsExactly(1L);
+        assertThat(index.filter(Map.of(), 0L, 10, 10).facets().get("city")).containsOnlyKeys("Agadir");
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
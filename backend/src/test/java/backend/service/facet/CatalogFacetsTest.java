@@ -0,0 +1,163 @@
+package backend.service.facet;
+
+import backend.dto.ActivitySummary;
+import backend.dto.FacetRow;
+import backend.entities.Status;
+import backend.repositories.ActivityRepository;
+import backend.repositories.CircuitRepository;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.PageQuery;
+import backend.service.readmodel.CatalogReadModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogFacetsTest {
+
+    private final Map<Long, FacetRow> activities = new ConcurrentSkipListMap<>();
+    // Activités encore publiées dans le modèle de lecture
+    private final Set<Long> published = new ConcurrentSkipListSet<>();
+    private final ActivityRepository activityRepository = mock(ActivityRepository.class);
+    private final CircuitRepository circuitRepository = mock(CircuitRepository.class);
+    private final CatalogReadModel readModel = mock(CatalogReadModel.class);
+    private CatalogFacets facets;
+
+    @BeforeEach
+    void start() {
+        when(activityRepository.findFacetRows(eq(Status.ACTIVE), anyLong(), any())).thenAnswer(call -> {
+            long afterId = call.getArgument(1);
+            Limit limit = call.getArgument(2);
+            return activities.values().stream().filter(row -> row.id() > afterId).limit(limit.max()).toList();
+        });
+        when(activityRepository.findFacetRowsByPlaceIdIn(eq(Status.ACTIVE), any())).thenAnswer(call -> {
+            Collection<Long> places = call.getArgument(1);
+            return activities.values().stream().filter(row -> places.contains(row.placeId())).toList();
+        });
+        when(circuitRepository.findFacetRows(eq(Status.ACTIVE), anyLong(), any())).thenReturn(List.of());
+        when(readModel.getActivitySummaries(any())).thenAnswer(call -> {
+            List<Long> ids = call.getArgument(0);
+            List<ActivitySummary> rows = new ArrayList<>();
+            ids.stream().filter(published::contains).forEach(id -> rows.add(new ActivitySummary(id, "Activité " + id,
+                    null, null, Status.ACTIVE, null, null)));
+            return rows;
+        });
+
+        facets = new CatalogFacets(activityRepository, circuitRepository, readModel,
+                new CatalogVersions(event -> {
+                }, 64), mock(PlatformTransactionManager.class),
+                new double[]{100, 300}, new double[]{60, 240}, 2, 20, true);
+    }
+
+    @AfterEach
+    void stop() {
+        facets.shutdown();
+    }
+
+    @Test
+    void aReviewReloadsOnlyTheActivitiesOfItsPlace() {
+        activity(1L, 10L, 4.2);
+        activity(2L, 10L, 4.2);
+        activity(3L, 20L, 2.0);
+        built();
+        String tag = facets.tag();
+
+        activity(1L, 10L, 2.9);
+        activity(2L, 10L, 2.9);
+        facets.onCatalogChanged(new CatalogChangedEvent(CatalogCollection.PLACES, 10L));
+        await().until(() -> !tag.equals(facets.tag()));
+
+        FacetedPage<ActivitySummary> page = facets.filterActivities(
+                new FacetFilter(null, null, null, null, null, 4), PageQuery.first(10));
+        assertThat(page.total()).isZero();
+        assertThat(page.facets().get(CatalogFacets.RATING)).containsEntry("2", 3L);
+        // Pas de reconstruction : une seule lecture complète (par lots de 2), puis le lieu seul
+        verify(activityRepository, times(2)).findFacetRows(eq(Status.ACTIVE), anyLong(), any());
+        verify(activityRepository).findFacetRowsByPlaceIdIn(Status.ACTIVE, Set.of(10L));
+    }
+
+    @Test
+    void eventsWithoutIdLeaveTheIndexAlone() {
+        activity(1L, 10L, 4.0);
+        built();
+        String tag = facets.tag();
+
+        facets.onCatalogChanged(new CatalogChangedEvent(CatalogCollection.PLACES));
+        facets.onCatalogChanged(new CatalogChangedEvent(CatalogCollection.ACTIVITIES));
+
+        assertThat(facets.tag()).isEqualTo(tag);
+        verify(activityRepository, times(1)).findFacetRows(eq(Status.ACTIVE), anyLong(), any());
+    }
+
+    @Test
+    void aPageWhoseRowsAreAllGoneIsSkippedNotTheEndOfTheList() {
+        for (long id = 1; id <= 5; id++) {
+            activity(id, 10L, 4.0);
+        }
+        built();
+        // Dépubliées en base, l'index ne l'a pas encore vu
+        published.removeAll(Set.of(1L, 2L, 3L, 4L));
+
+        FacetedPage<ActivitySummary> page = facets.filterActivities(
+                new FacetFilter(null, null, null, null, null, null), PageQuery.first(2));
+
+        assertThat(page.window().getContent()).extracting(ActivitySummary::id).containsExactly(5L);
+        assertThat(page.window().hasNext()).isFalse();
+        assertThat(page.total()).isEqualTo(5);
+    }
+
+    @Test
+    void countsFilterRequestsEntriesAndPlaceUpdates() {
+        activity(1L, 10L, 4.2);
+        activity(2L, 10L, 4.2);
+        activity(3L, 20L, 2.0);
+        built();
+
+        FacetFilter all = new FacetFilter(null, null, null, null, null, null);
+        facets.filterActivities(all, PageQuery.first(10));
+        facets.filterActivities(all, PageQuery.first(10));
+        Map<String, Long> stats = facets.getStatistics();
+        assertThat(stats).containsEntry("requests", 2L).containsEntry("updates", 0L)
+                .containsEntry("activities.entries", 3L).containsEntry("circuits.entries", 0L);
+        assertThat(stats.get("activities.bitmaps")).isPositive();
+
+        String tag = facets.tag();
+        facets.onCatalogChanged(new CatalogChangedEvent(CatalogCollection.PLACES, 10L));
+        await().until(() -> !tag.equals(facets.tag()));
+
+        // Un lieu marqué : ses activités relues, sans nouvelle entrée
+        assertThat(facets.getStatistics()).containsEntry("updates", 1L).containsEntry("activities.entries", 3L);
+    }
+
+    private void built() {
+        facets.buildAll();
+        await().until(() -> facets.tag() != null);
+    }
+
+    private void activity(Long id, Long placeId, double rating) {
+        activities.put(id, new FacetRow(id, placeId, 7L, "Taroudant", new BigDecimal("150"), "2h", rating));
+        published.add(id);
+    }
+}
@@ -0,0 +1,40 @@
+package backend.service.facet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DurationParserTest {
+
+    @Test
+    void hoursAndMinutesInTheUsualSpellings() {
+        assertThat(DurationParser.minutes("1h30")).isEqualTo(90);
+        assertThat(DurationParser.minutes("2 heures")).isEqualTo(120);
+        assertThat(DurationParser.minutes("45 min")).isEqualTo(45);
+        assertThat(DurationParser.minutes("1 h 15 min")).isEqualTo(75);
+        assertThat(DurationParser.minutes("1,5 h")).isEqualTo(90);
+        assertThat(DurationParser.minutes("3 hours")).isEqualTo(180);
+    }
+
+    @Test
+    void rangesCountTheirMiddle() {
+        assertThat(DurationParser.minutes("2-3h")).isEqualTo(150);
+        assertThat(DurationParser.minutes("2 à 3 heures")).isEqualTo(150);
+        assertThat(DurationParser.minutes("1 to 2 hours")).isEqualTo(90);
+    }
+
+    @Test
+    void daysCountFullDaysAndOnlyTheFirstMention() {
+        assertThat(DurationParser.minutes("2 jours")).isEqualTo(2 * 24 * 60);
+        assertThat(DurationParser.minutes("3 jours / 2 nuits")).isEqualTo(3 * 24 * 60);
+        assertThat(DurationParser.minutes("Demi-journée")).isEqualTo(4 * 60);
+        assertThat(DurationParser.minutes("Une journée")).isEqualTo(8 * 60);
+    }
+
+    @Test
+    void textWithoutADurationHasNone() {
+        assertThat(DurationParser.minutes(null)).isNull();
+        assertThat(DurationParser.minutes("  ")).isNull();
+        assertThat(DurationParser.minutes("selon la météo")).isNull();
+    }
+}
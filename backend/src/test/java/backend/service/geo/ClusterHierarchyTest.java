@@ -0,0 +1,129 @@
+package backend.service.geo;
+
+import backend.dto.PlaceCluster;
+import backend.dto.PlacePoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ClusterHierarchyTest {
+
+    // Taroudant et Agadir, à environ 80 km l'une de l'autre
+    private static final double[] TAROUDANT = {30.4700, -8.8770};
+    private static final double[] AGADIR = {30.4278, -9.5981};
+
+    @Test
+    void nearbyPointsMergeWhenZoomingOutAndSplitWhenZoomingIn() {
+        List<PlacePoint> points = List.of(
+                point(1, TAROUDANT[0], TAROUDANT[1]),
+                point(2, TAROUDANT[0] + 0.001, TAROUDANT[1]),
+                point(3, AGADIR[0], AGADIR[1]));
+        ClusterHierarchy hierarchy = new ClusterHierarchy(points, 0, 16, 40, 512, 3);
+
+        List<PlaceCluster> world = all(hierarchy, 2);
+        List<PlaceCluster> region = all(hierarchy, 8);
+        List<PlaceCluster> street = all(hierarchy, 17);
+
+        assertThat(world).hasSize(1);
+        assertThat(world.get(0).count()).isEqualTo(3);
+        assertThat(region).extracting(PlaceCluster::count).containsExactlyInAnyOrder(2, 1);
+        assertThat(street).hasSize(3).allMatch(cluster -> cluster.count() == 1);
+        // Groupe des deux lieux de Taroudant : au barycentre, avec leurs ids
+        PlaceCluster taroudant = region.stream().filter(cluster -> cluster.count() == 2).findFirst().orElseThrow();
+        assertThat(taroudant.latitude()).isCloseTo(TAROUDANT[0] + 0.0005, within(1e-4));
+        assertThat(taroudant.placeIds()).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void everyLevelCountsEveryPointOnceAndKeepsTheClosestRepresentatives() {
+        List<PlacePoint> points = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            points.add(point(i + 1, TAROUDANT[0] + (i % 10) * 0.002, TAROUDANT[1] + (i / 10) * 0.002));
+        }
+        ClusterHierarchy hierarchy = new ClusterHierarchy(points, 0, 16, 40, 512, 2);
+
+        for (int zoom = 0; zoom <= 17; zoom++) {
+            assertThat(all(hierarchy, zoom).stream().mapToInt(PlaceCluster::count).sum()).as("zoom %d", zoom)
+                    .isEqualTo(50);
+        }
+        assertThat(all(hierarchy, 0).get(0).placeIds()).hasSize(2);
+        assertThat(hierarchy.points()).isEqualTo(50);
+    }
+
+    @Test
+    void onlyTilesWhoseContentChangedGetANewFingerprint() {
+        List<PlacePoint> before = List.of(point(1, TAROUDANT[0], TAROUDANT[1]), point(2, AGADIR[0], AGADIR[1]));
+        List<PlacePoint> after = List.of(point(1, TAROUDANT[0] + 0.01, TAROUDANT[1]), point(2, AGADIR[0], AGADIR[1]));
+        ClusterHierarchy first = new ClusterHierarchy(before, 0, 16, 40, 512, 3);
+        ClusterHierarchy second = new ClusterHierarchy(after, 0, 16, 40, 512, 3);
+
+        ClusterHierarchy.TileKey taroudant = tileOf(12, TAROUDANT);
+        ClusterHierarchy.TileKey agadir = tileOf(12, AGADIR);
+        ClusterHierarchy.TileKey empty = tileOf(12, new double[]{0.0, 0.0});
+
+        assertThat(second.fingerprint(taroudant)).isNotEqualTo(first.fingerprint(taroudant));
+        assertThat(second.fingerprint(agadir)).isEqualTo(first.fingerprint(agadir)).isNotZero();
+        assertThat(first.fingerprint(empty)).isZero();
+        assertThat(first.tile(empty)).isEmpty();
+    }
+
+    @Test
+    void zoomsOutsideTheHierarchyAreClamped() {
+        ClusterHierarchy hierarchy = new ClusterHierarchy(List.of(point(1, TAROUDANT[0], TAROUDANT[1])), 3, 10, 40, 512, 3);
+
+        assertThat(hierarchy.level(0)).isEqualTo(3);
+        assertThat(hierarchy.level(7)).isEqualTo(7);
+        assertThat(hierarchy.level(20)).isEqualTo(11);
+        assertThat(hierarchy.fingerprint(new ClusterHierarchy.TileKey(12, 0, 0))).isZero();
+    }
+
+    @Test
+    void mercatorProjectionIsClampedAtThePoles() {
+        assertThat(ClusterHierarchy.mercatorX(-180.0)).isEqualTo(0.0);
+        assertThat(ClusterHierarchy.mercatorX(180.0)).isEqualTo(1.0);
+        assertThat(ClusterHierarchy.mercatorY(0.0)).isCloseTo(0.5, within(1e-12));
+        assertThat(ClusterHierarchy.mercatorY(90.0)).isEqualTo(0.0);
+        assertThat(ClusterHierarchy.mercatorY(-90.0)).isEqualTo(1.0);
+        assertThat(ClusterHierarchy.cell(1.0, 8)).isEqualTo(7);
+    }
+
+    // Toutes les tuiles non vides du zoom (ramené à la plage de la hiérarchie)
+    private static List<PlaceCluster> all(ClusterHierarchy hierarchy, int zoom) {
+        int level = hierarchy.level(zoom);
+        int side = 1 << level;
+        List<PlaceCluster> clusters = new ArrayList<>();
+        if (side <= 64) {
+            for (int x = 0; x < side; x++) {
+                for (int y = 0; y < side; y++) {
+                    clusters.addAll(hierarchy.tile(new ClusterHierarchy.TileKey(level, x, y)));
+                }
+            }
+            return clusters;
+        }
+        // Zooms détaillés : seules les tuiles autour de Taroudant et d'Agadir
+        int x0 = ClusterHierarchy.cell(ClusterHierarchy.mercatorX(-10.0), side);
+        int x1 = ClusterHierarchy.cell(ClusterHierarchy.mercatorX(-8.0), side);
+        int y0 = ClusterHierarchy.cell(ClusterHierarchy.mercatorY(31.0), side);
+        int y1 = ClusterHierarchy.cell(ClusterHierarchy.mercatorY(30.0), side);
+        for (int x = x0; x <= x1; x++) {
+            for (int y = y0; y <= y1; y++) {
+                clusters.addAll(hierarchy.tile(new ClusterHierarchy.TileKey(level, x, y)));
+            }
+        }
+        return clusters;
+    }
+
+    private static ClusterHierarchy.TileKey tileOf(int zoom, double[] point) {
+        int side = 1 << zoom;
+        return new ClusterHierarchy.TileKey(zoom, ClusterHierarchy.cell(ClusterHierarchy.mercatorX(point[1]), side),
+                ClusterHierarchy.cell(ClusterHierarchy.mercatorY(point[0]), side));
+    }
+
+    private static PlacePoint point(long id, double latitude, double longitude) {
+        return new PlacePoint(id, latitude, longitude);
+    }
+}
@@ -0,0 +1,130 @@
+package backend.service.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeohashGridTest {
+
+    private final GeohashGrid grid = new GeohashGrid(5);
+
+    @Test
+    void nearestMatchesABruteForceScanAcrossRings() {
+        // Points épars autour de Taroudant : les k voisins tombent plusieurs anneaux plus loin
+        Random random = new Random(42);
+        double[][] points = new double[2000][];
+        for (int id = 0; id < points.length; id++) {
+            points[id] = new double[]{30.0 + random.nextDouble() * 2, -10.0 + random.nextDouble() * 3};
+            grid.put(id, points[id][0], points[id][1]);
+        }
+
+        for (int query = 0; query < 20; query++) {
+            double latitude = 30.0 + random.nextDouble() * 2;
+            double longitude = -10.0 + random.nextDouble() * 3;
+            List<Long> expected = IntStream.range(0, points.length).boxed()
+                    .sorted(Comparator.comparingDouble(id -> distance(latitude, longitude, points[id][0], points[id][1])))
+                    .limit(15)
+                    .map(Integer::longValue)
+                    .toList();
+
+            List<GeohashGrid.Hit> hits = grid.nearest(latitude, longitude, 100_000, 15);
+
+            assertThat(hits).extracting(GeohashGrid.Hit::id).containsExactlyElementsOf(expected);
+            assertThat(hits.get(0).distance()).isCloseTo(
+                    distance(latitude, longitude, points[expected.get(0).intValue()][0],
+                            points[expected.get(0).intValue()][1]), within(0.01));
+        }
+    }
+
+    @Test
+    void radiusBoundsTheResultEvenWhenFewerThanLimit() {
+        grid.put(1, 30.4700, -8.8770);
+        grid.put(2, 30.4800, -8.8770);
+        grid.put(3, 30.9000, -8.8770);
+
+        List<GeohashGrid.Hit> hits = grid.nearest(30.4700, -8.8770, 5_000, 10);
+
+        assertThat(hits).extracting(GeohashGrid.Hit::id).containsExactly(1L, 2L);
+        assertThat(hits.get(1).distance()).isCloseTo(1112, within(2.0));
+        assertThat(grid.nearest(30.4700, -8.8770, 100, 10)).extracting(GeohashGrid.Hit::id).containsExactly(1L);
+    }
+
+    @Test
+    void nearestWrapsAroundTheAntimeridian() {
+        grid.put(1, -17.0, 179.99);
+        grid.put(2, -17.0, -179.99);
+        grid.put(3, -17.0, 179.5);
+
+        List<GeohashGrid.Hit> fromEast = grid.nearest(-17.0, -179.999, 10_000, 2);
+        List<GeohashGrid.Hit> fromWest = grid.nearest(-17.0, 179.999, 10_000, 2);
+
+        assertThat(fromEast).extracting(GeohashGrid.Hit::id).containsExactly(2L, 1L);
+        assertThat(fromWest).extracting(GeohashGrid.Hit::id).containsExactly(1L, 2L);
+        assertThat(fromEast.get(1).distance()).isLessThan(3_000);
+    }
+
+    @Test
+    void nearestAroundAPoleLooksAtEveryLongitude() {
+        grid.put(1, 89.99, 0.0);
+        grid.put(2, 89.99, 180.0);
+        grid.put(3, 89.0, 90.0);
+
+        assertThat(grid.nearest(89.999, -90.0, 10_000, 5)).extracting(GeohashGrid.Hit::id)
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void boxesAcrossTheAntimeridianKeepBothSides() {
+        grid.put(1, -17.0, 179.5);
+        grid.put(2, -17.0, -179.5);
+        grid.put(3, -17.0, 0.0);
+        grid.put(4, 10.0, 179.5);
+
+        GeohashGrid.Page page = grid.within(-20.0, 179.0, -10.0, -179.0, 0L, 10);
+
+        assertThat(page.ids()).containsExactly(1L, 2L);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void boxPagesFollowIdsAfterTheCursor() {
+        for (long id = 1; id <= 5; id++) {
+            grid.put(id, 30.47 + id * 0.001, -8.87);
+        }
+
+        GeohashGrid.Page first = grid.within(30.0, -9.0, 31.0, -8.0, 0L, 2);
+        GeohashGrid.Page last = grid.within(30.0, -9.0, 31.0, -8.0, 4L, 2);
+
+        assertThat(first.ids()).containsExactly(1L, 2L);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.ids()).containsExactly(5L);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void movedAndRemovedPointsLeaveTheirCell() {
+        grid.put(1, 30.47, -8.87);
+        grid.put(2, 30.47, -8.87);
+
+        grid.put(1, -17.0, 179.5);
+        grid.remove(2);
+
+        assertThat(grid.nearest(30.47, -8.87, 50_000, 10)).isEmpty();
+        assertThat(grid.nearest(-17.0, 179.5, 1_000, 10)).extracting(GeohashGrid.Hit::id).containsExactly(1L);
+        assertThat(grid.size()).isEqualTo(1);
+        assertThat(grid.cellCount()).isEqualTo(1);
+    }
+
+    private static double distance(double lat1, double lon1, double lat2, double lon2) {
+        double sinLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double sinLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        double a = sinLat * sinLat + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * GeohashGrid.EARTH_RADIUS * Math.asin(Math.sqrt(Math.min(1.0, a)));
+    }
+}
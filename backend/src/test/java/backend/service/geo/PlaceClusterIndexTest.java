@@ -0,0 +1,123 @@
+package backend.service.geo;
+
+import backend.dto.PlaceCluster;
+import backend.dto.PlacePoint;
+import backend.entities.Status;
+import backend.exception.InvalidRequestException;
+import backend.repositories.PlaceRepository;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlaceClusterIndexTest {
+
+    // Région de Taroudant et d'Agadir (ouest, sud, est, nord)
+    private static final List<Double> SOUSS = List.of(-10.0, 30.0, -8.0, 31.0);
+
+    private final Map<Long, PlacePoint> points = new ConcurrentSkipListMap<>();
+    private final PlaceRepository placeRepository = mock(PlaceRepository.class);
+    private PlaceClusterIndex index;
+
+    @BeforeEach
+    void start() {
+        when(placeRepository.findPoints(eq(Status.ACTIVE), anyLong(), any())).thenAnswer(call -> {
+            long afterId = call.getArgument(1);
+            Limit limit = call.getArgument(2);
+            return points.values().stream().filter(point -> point.id() > afterId).limit(limit.max()).toList();
+        });
+        when(placeRepository.findPointsByIdIn(eq(Status.ACTIVE), any())).thenAnswer(call -> {
+            Collection<Long> ids = call.getArgument(1);
+            return ids.stream().map(points::get).filter(point -> point != null).toList();
+        });
+        point(1L, 30.4700, -8.8770);
+        point(2L, 30.4710, -8.8770);
+        point(3L, 30.4278, -9.5981);
+
+        index = new PlaceClusterIndex(placeRepository, new CatalogVersions(event -> {
+        }, 64), mock(PlatformTransactionManager.class), 0, 16, 40, 512, 3, 256, 1000, 2, true);
+    }
+
+    @AfterEach
+    void stop() {
+        index.shutdown();
+    }
+
+    @Test
+    void removedPlaceLeavesItsClusterUnderANewTag() {
+        built();
+        assertThat(counts(index.clusters(SOUSS, 8))).containsExactlyInAnyOrder(2, 1);
+        String tag = index.tag();
+
+        points.remove(2L);
+        index.onCatalogChanged(new CatalogChangedEvent(CatalogCollection.PLACES, 2L));
+        await().until(() -> !tag.equals(index.tag()));
+
+        assertThat(counts(index.clusters(SOUSS, 8))).containsExactly(1, 1);
+        assertThat(index.getStatistics()).containsEntry("points", 2L).containsEntry("updates", 1L);
+    }
+
+    @Test
+    void repeatedViewIsServedFromTheTileCache() {
+        built();
+
+        index.clusters(SOUSS, 8);
+        Map<String, Long> first = index.getStatistics();
+        index.clusters(SOUSS, 8);
+        Map<String, Long> second = index.getStatistics();
+
+        assertThat(first.get("tileMisses")).isPositive();
+        assertThat(second.get("tileMisses")).isEqualTo(first.get("tileMisses"));
+        assertThat(second.get("tileHits") - first.get("tileHits")).isEqualTo(first.get("tileMisses"));
+        assertThat(second).containsEntry("requests", 2L);
+    }
+
+    @Test
+    void eventsWithoutIdMoveNothing() {
+        built();
+        String tag = index.tag();
+
+        index.onCatalogChanged(new CatalogChangedEvent(CatalogCollection.PLACES));
+
+        assertThat(index.tag()).isEqualTo(tag);
+    }
+
+    @Test
+    void tooManyTilesForTheZoomIsABadRequest() {
+        built();
+
+        assertThatThrownBy(() -> index.clusters(List.of(-180.0, -85.0, 180.0, 85.0), 12))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private void built() {
+        index.buildAll();
+        await().until(() -> index.tag() != null);
+    }
+
+    private void point(Long id, double latitude, double longitude) {
+        points.put(id, new PlacePoint(id, latitude, longitude));
+    }
+
+    private static List<Integer> counts(List<PlaceCluster> clusters) {
+        return clusters.stream().map(PlaceCluster::count).toList();
+    }
+}
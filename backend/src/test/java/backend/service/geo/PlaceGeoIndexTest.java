@@ -0,0 +1,142 @@
+package backend.service.geo;
+
+import backend.dto.NearbyPlace;
+import backend.dto.PlacePoint;
+import backend.dto.PlaceSummary;
+import backend.entities.Status;
+import backend.exception.ServiceUnavailableException;
+import backend.repositories.PlaceRepository;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.PageQuery;
+import backend.service.readmodel.CatalogReadModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlaceGeoIndexTest {
+
+    private final Map<Long, PlacePoint> points = new ConcurrentSkipListMap<>();
+    // Lieux encore publiés dans le modèle de lecture
+    private final Set<Long> published = new ConcurrentSkipListSet<>();
+    private final PlaceRepository placeRepository = mock(PlaceRepository.class);
+    private final CatalogReadModel readModel = mock(CatalogReadModel.class);
+    private PlaceGeoIndex index;
+
+    @BeforeEach
+    void start() {
+        when(placeRepository.findPoints(eq(Status.ACTIVE), anyLong(), any())).thenAnswer(call -> {
+            long afterId = call.getArgument(1);
+            Limit limit = call.getArgument(2);
+            return points.values().stream().filter(point -> point.id() > afterId).limit(limit.max()).toList();
+        });
+        when(placeRepository.findPointsByIdIn(eq(Status.ACTIVE), any())).thenAnswer(call -> {
+            Collection<Long> ids = call.getArgument(1);
+            return ids.stream().map(points::get).filter(point -> point != null).toList();
+        });
+        when(readModel.getPlaceSummaries(any())).thenAnswer(call -> {
+            List<Long> ids = call.getArgument(0);
+            List<PlaceSummary> rows = new ArrayList<>();
+            ids.stream().filter(published::contains).forEach(id -> rows.add(new PlaceSummary(id, "Lieu " + id,
+                    "Taroudant", points.get(id).latitude(), points.get(id).longitude(), null, Status.ACTIVE,
+                    null, null)));
+            return rows;
+        });
+
+        index = new PlaceGeoIndex(placeRepository, readModel, new CatalogVersions(event -> {
+        }, 64), mock(PlatformTransactionManager.class), 5, 2, 5000, 100_000, 20, 100, true);
+    }
+
+    @AfterEach
+    void stop() {
+        index.shutdown();
+    }
+
+    @Test
+    void answers503UntilTheGridIsBuilt() {
+        assertThat(index.tag()).isNull();
+        assertThatThrownBy(() -> index.nearby(30.47, -8.87, null, null))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void movedPlaceIsReloadedAloneUnderANewTag() {
+        point(1L, 30.470, -8.870);
+        point(2L, 30.480, -8.870);
+        built();
+        String tag = index.tag();
+
+        point(2L, 30.900, -8.870);
+        index.onCatalogChanged(new CatalogChangedEvent(CatalogCollection.PLACES, 2L));
+        await().until(() -> !tag.equals(index.tag()));
+
+        List<NearbyPlace> nearby = index.nearby(30.470, -8.870, 5000.0, 10);
+        assertThat(nearby).extracting(place -> place.place().id()).containsExactly(1L);
+    }
+
+    @Test
+    void boxPageWhoseRowsAreAllGoneIsSkippedNotTheEndOfTheList() {
+        for (long id = 1; id <= 5; id++) {
+            point(id, 30.47 + id * 0.001, -8.87);
+        }
+        built();
+        published.removeAll(Set.of(1L, 2L, 3L, 4L));
+
+        Window<PlaceSummary> page = index.within(30.0, -9.0, 31.0, -8.0, PageQuery.first(2));
+
+        assertThat(page.getContent()).extracting(PlaceSummary::id).containsExactly(5L);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void countsLookupsEntriesCellsAndUpdates() {
+        point(1L, 30.470, -8.870);
+        point(2L, 30.900, -8.870);
+        built();
+
+        index.nearby(30.470, -8.870, 5000.0, 10);
+        index.within(30.0, -9.0, 31.0, -8.0, PageQuery.first(10));
+        assertThat(index.getStatistics()).containsEntry("requests", 2L).containsEntry("entries", 2L)
+                .containsEntry("cells", 2L).containsEntry("updates", 0L);
+
+        String tag = index.tag();
+        points.remove(2L);
+        index.onCatalogChanged(new CatalogChangedEvent(CatalogCollection.PLACES, 2L));
+        await().until(() -> !tag.equals(index.tag()));
+
+        // Lieu retiré : sa cellule, restée vide, disparaît avec lui
+        assertThat(index.getStatistics()).containsEntry("updates", 1L).containsEntry("entries", 1L)
+                .containsEntry("cells", 1L);
+    }
+
+    private void built() {
+        index.buildAll();
+        await().until(() -> index.tag() != null);
+    }
+
+    private void point(Long id, double latitude, double longitude) {
+        points.put(id, new PlacePoint(id, latitude, longitude));
+        published.add(id);
+    }
+}
@@ -0,0 +1,102 @@
+package backend.service.readmodel;
+
+import backend.dto.ChangeMark;
+import backend.dto.PlaceSummary;
+import backend.entities.Status;
+import backend.repositories.ActivityRepository;
+import backend.repositories.ArtisanRepository;
+import backend.repositories.CircuitRepository;
+import backend.repositories.EventRepository;
+import backend.repositories.PlaceRepository;
+import backend.repositories.ReviewRepository;
+import backend.repositories.UserRepository;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.PageQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogReadModelTest {
+
+    private static final ChangeMark EMPTY = new ChangeMark(0L, 0L, 0L);
+
+    private final PlaceRepository placeRepository = mock(PlaceRepository.class);
+    private final ActivityRepository activityRepository = mock(ActivityRepository.class);
+    private final CircuitRepository circuitRepository = mock(CircuitRepository.class);
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final ArtisanRepository artisanRepository = mock(ArtisanRepository.class);
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CatalogVersions versions = new CatalogVersions(event -> {
+    }, 64);
+    private CatalogReadModel readModel;
+
+    @BeforeEach
+    void start() {
+        when(placeRepository.findChangeMark()).thenReturn(EMPTY);
+        when(activityRepository.findChangeMark()).thenReturn(EMPTY);
+        when(circuitRepository.findChangeMark()).thenReturn(EMPTY);
+        when(eventRepository.findChangeMark()).thenReturn(EMPTY);
+        when(artisanRepository.findChangeMark()).thenReturn(EMPTY);
+        when(reviewRepository.findChangeMark()).thenReturn(EMPTY);
+        when(userRepository.findChangeMark()).thenReturn(EMPTY);
+        List<PlaceSummary> places = List.of(
+                new PlaceSummary(1L, "Kasbah", "Taroudant", 30.47, -8.87, null, Status.ACTIVE, null, null),
+                new PlaceSummary(2L, "Souk", "Taroudant", 30.47, -8.88, null, Status.ACTIVE, null, null));
+        when(placeRepository.findSummaries(anyLong(), any())).thenAnswer(call -> {
+            long afterId = call.getArgument(0);
+            Limit limit = call.getArgument(1);
+            return places.stream().filter(place -> place.id() > afterId).limit(limit.max()).toList();
+        });
+
+        readModel = new CatalogReadModel(placeRepository, activityRepository, circuitRepository, eventRepository,
+                artisanRepository, reviewRepository, userRepository, versions, mock(PlatformTransactionManager.class),
+                100, true, "");
+    }
+
+    @AfterEach
+    void stop() {
+        readModel.shutdown();
+    }
+
+    @Test
+    void countsReadsServedFromTheTablesAndFallbacksToTheDatabase() {
+        // Pas encore construit : la base répond
+        assertThat(readModel.getActivePlaces(PageQuery.first(10))).isEmpty();
+        assertThat(readModel.getStatistics()).containsEntry("hits", 0L).containsEntry("fallbacks", 1L);
+
+        readModel.buildAll();
+        await().until(() -> readModel.getStatistics().get("places.rows") == 2L
+                && readModel.getStatistics().get("pending") == 0L);
+        assertThat(readModel.getActivePlaces(PageQuery.first(10)).orElseThrow().getContent()).hasSize(2);
+        assertThat(readModel.getStatistics()).containsEntry("hits", 1L);
+
+        // Mutation commitée mais pas encore relue : la table en retard n'est pas servie
+        when(placeRepository.findSummariesByIdIn(any())).thenAnswer(call -> {
+            Thread.sleep(200);
+            return List.of();
+        });
+        versions.changed(CatalogCollection.PLACES, 2L);
+        readModel.onCatalogChanged(new CatalogChangedEvent(CatalogCollection.PLACES, 2L));
+        assertThat(readModel.getActivePlaces(PageQuery.first(10))).isEmpty();
+        assertThat(readModel.getStatistics()).containsEntry("fallbacks", 2L);
+
+        await().until(() -> readModel.getStatistics().get("places.rows") == 1L
+                && readModel.getStatistics().get("pending") == 0L);
+        // Lieux relus, et activités de ce lieu (elles recopient son nom)
+        assertThat(readModel.getStatistics()).containsEntry("updates", 2L);
+    }
+}
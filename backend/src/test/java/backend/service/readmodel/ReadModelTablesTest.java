@@ -0,0 +1,106 @@
+package backend.service.readmodel;
+
+import backend.dto.ActivitySummary;
+import backend.dto.CircuitSummary;
+import backend.dto.Contributor;
+import backend.dto.EventView;
+import backend.entities.Status;
+import backend.service.PageQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadModelTablesTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 1);
+
+    @Test
+    void mergeReplacesInsertsAndRemovesById() {
+        List<CircuitSummary> current = List.of(circuit(1), circuit(3), circuit(5), circuit(7));
+        CircuitSummary renamed = new CircuitSummary(3L, "Renommé", null, null, null, Status.ACTIVE, null);
+
+        // 3 modifié, 4 ajouté, 5 supprimé (relu mais absent), 9 ajouté ; 9 relu deux fois
+        List<CircuitSummary> merged = CatalogReadModel.merge(current, Set.of(3L, 4L, 5L, 9L),
+                List.of(circuit(9), renamed, circuit(4), circuit(9)), CircuitSummary::id);
+
+        assertThat(merged).extracting(CircuitSummary::id).containsExactly(1L, 3L, 4L, 7L, 9L);
+        assertThat(merged.get(1).title()).isEqualTo("Renommé");
+    }
+
+    @Test
+    void circuitTableRoundTripsColumnsAndPagesActiveRows() {
+        CircuitSummary priced = new CircuitSummary(2L, "Oasis", "Palmeraie", "2 jours", new BigDecimal("450.50"),
+                Status.ACTIVE, 9L);
+        CircuitTable table = CircuitTable.build(List.of(), List.of(priced, pending(4), circuit(6), circuit(8)));
+
+        assertThat(table.rows()).first().isEqualTo(priced);
+        assertThat(drain(2, table::active, CircuitSummary::id)).containsExactly(2L, 6L, 8L);
+        assertThat(table.byIds(List.of(8L, 5L, 2L))).extracting(CircuitSummary::id).containsExactly(8L, 2L);
+    }
+
+    @Test
+    void upcomingEventsFollowTheSqlOrderAndCursor() {
+        EventView undated = event(1, null, TODAY.plusDays(9));
+        EventView later = event(2, TODAY.plusDays(3), TODAY.plusDays(4));
+        EventView sooner = event(3, TODAY.plusDays(1), TODAY.plusDays(2));
+        EventView sameDay = event(4, TODAY.plusDays(1), TODAY.plusDays(1));
+        EventView ended = event(5, TODAY.minusDays(3), TODAY);
+        EventView noEnd = event(6, TODAY.plusDays(1), null);
+        EventView pending = new EventView(7L, "En attente", null, TODAY.plusDays(1), TODAY.plusDays(2), null,
+                Status.PENDING, (Contributor) null);
+        EventTable table = EventTable.build(List.of(), List.of(undated, later, sooner, sameDay, ended, noEnd, pending));
+
+        assertThat(drain(1, page -> table.upcoming(TODAY, page), EventView::id)).containsExactly(3L, 4L, 2L, 1L);
+        assertThat(table.rows()).contains(sooner, undated);
+    }
+
+    @Test
+    void activitiesOfChangedPlacesAreFoundWhateverTheirStatus() {
+        ActivitySummary.PlaceRef souk = new ActivitySummary.PlaceRef(10L, "Souk", "Taroudant");
+        ActivitySummary.PlaceRef kasbah = new ActivitySummary.PlaceRef(20L, "Kasbah", "Taroudant");
+        ActivityTable table = ActivityTable.build(List.of(), List.of(
+                activity(1, Status.ACTIVE, souk), activity(2, Status.PENDING, souk), activity(3, Status.ACTIVE, kasbah)));
+
+        assertThat(table.idsOfPlaces(List.of(10L, 30L))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(drain(5, page -> table.byPlace(10L, page), ActivitySummary::id)).containsExactly(1L);
+    }
+
+    private static <T> List<Long> drain(int size, Function<PageQuery, Window<T>> pages, Function<T, Long> idOf) {
+        List<Long> ids = new ArrayList<>();
+        PageQuery page = PageQuery.first(size);
+        while (true) {
+            Window<T> window = pages.apply(page);
+            window.forEach(row -> ids.add(idOf.apply(row)));
+            if (!window.hasNext()) {
+                return ids;
+            }
+            page = new PageQuery(PageQuery.nextPosition(window), Limit.of(size));
+        }
+    }
+
+    private static CircuitSummary circuit(long id) {
+        return new CircuitSummary(id, "Circuit " + id, null, "1 jour", BigDecimal.TEN, Status.ACTIVE, null);
+    }
+
+    private static CircuitSummary pending(long id) {
+        return new CircuitSummary(id, "Circuit " + id, null, "1 jour", null, Status.PENDING, null);
+    }
+
+    private static EventView event(long id, LocalDate start, LocalDate end) {
+        return new EventView(id, "Moussem " + id, null, start, end, "Taroudant", Status.ACTIVE,
+                new Contributor(1L, "Admin"));
+    }
+
+    private static ActivitySummary activity(long id, Status status, ActivitySummary.PlaceRef place) {
+        return new ActivitySummary(id, "Activité " + id, BigDecimal.ONE, "2 heures", status, place, null);
+    }
+}
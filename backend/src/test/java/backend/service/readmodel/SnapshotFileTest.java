@@ -0,0 +1,91 @@
+package backend.service.readmodel;
+
+import backend.dto.ChangeMark;
+import backend.dto.PlaceSummary;
+import backend.dto.RatingCounts;
+import backend.entities.Status;
+import backend.service.PageQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void repeatedStringsAreWrittenOnceAndSharedOnRead() throws IOException {
+        Path path = directory.resolve("strings.snapshot");
+        String[] cities = {"Taroudant", "Agadir", null, new String("Taroudant"), "Agadir"};
+
+        SnapshotFile.write(path, out -> out.writeStrings(cities));
+        SnapshotFile.Input in = SnapshotFile.read(path);
+        String[] read = in.readStrings();
+
+        assertThat(read).containsExactly(cities);
+        assertThat(read[3]).isSameAs(read[0]);
+        assertThat(read[4]).isSameAs(read[1]);
+        assertThat(in.isFullyRead()).isTrue();
+        // En-tête + 5 numéros + 2 textes + CRC : la seconde "Taroudant" n'est qu'un numéro
+        assertThat(Files.size(path)).isEqualTo(8 + 4 + 5 * 4 + (4 + 9) + (4 + 6) + 8);
+    }
+
+    @Test
+    void aFlippedByteIsRejectedByTheChecksum() throws IOException {
+        Path path = directory.resolve("corrupted.snapshot");
+        SnapshotFile.write(path, out -> out.writeLongs(LongBuffer.wrap(new long[]{1, 2, 3})));
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(20);
+            file.write(file.read() ^ 0x01);
+        }
+
+        assertThatThrownBy(() -> SnapshotFile.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Somme de contrôle");
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        Path path = directory.resolve("truncated.snapshot");
+        Files.write(path, new byte[]{0x45, 0x54, 0x52, 0x4D});
+
+        assertThatThrownBy(() -> SnapshotFile.read(path)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void restoredTableServesItsColumnsFromTheMapping() throws IOException {
+        LocalDateTime created = LocalDateTime.of(2026, 3, 1, 9, 30, 0, 120);
+        List<ChangeMark> watermark = List.of(new ChangeMark(2, 7, 42), new ChangeMark(1, 1, 0));
+        PlaceTable built = PlaceTable.build(watermark, List.of(
+                new PlaceSummary(3L, "Kasbah", "Taroudant", 30.47, -8.87, null, Status.ACTIVE, created, null),
+                new PlaceSummary(7L, "Souk", "Taroudant", null, null, "souk.jpg", Status.PENDING, null, null)),
+                List.of(new RatingCounts(3L, 0L, 0L, 1L, 0L, 2L), new RatingCounts(5L, 1L, 0L, 0L, 0L, 0L)));
+        Path path = directory.resolve("places.snapshot");
+
+        SnapshotFile.write(path, built::writeTo);
+        SnapshotFile.Input in = SnapshotFile.read(path);
+        PlaceTable restored = PlaceTable.readFrom(in);
+
+        assertThat(in.isFullyRead()).isTrue();
+        assertThat(restored.watermark()).isEqualTo(watermark);
+        assertThat(restored.rows()).isEqualTo(built.rows());
+        assertThat(restored.rows().get(0).averageRating()).isEqualTo(13.0 / 3);
+        assertThat(restored.ratingsOf(3L)).isEqualTo(new RatingCounts(3L, 0L, 0L, 1L, 0L, 2L));
+        // Comptes d'un lieu absent de la table ignorés
+        assertThat(restored.ratingsOf(5L)).isEqualTo(RatingCounts.none(5L));
+        assertThat(restored.active(PageQuery.first(10))).extracting(PlaceSummary::id).containsExactly(3L);
+        // Colonnes numériques hors du tas : seules les chaînes restent comptées
+        assertThat(restored.estimatedBytes()).isLessThan(built.estimatedBytes());
+    }
+}
@@ -0,0 +1,123 @@
+package backend.service.search;
+
+import backend.dto.SearchHit;
+import backend.dto.SearchRow;
+import backend.entities.Status;
+import backend.repositories.ActivityRepository;
+import backend.repositories.ArtisanRepository;
+import backend.repositories.CircuitRepository;
+import backend.repositories.EventRepository;
+import backend.repositories.PlaceRepository;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.PageQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogSearchIndexTest {
+
+    private final PlaceRepository placeRepository = mock(PlaceRepository.class);
+    private final ActivityRepository activityRepository = mock(ActivityRepository.class);
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final AtomicReference<List<SearchRow>> events = new AtomicReference<>(List.of());
+    private CatalogSearchIndex index;
+
+    @BeforeEach
+    void start() {
+        when(placeRepository.findSearchRows(eq(Status.ACTIVE), eq(0L), any())).thenReturn(List.of(
+                new SearchRow(1L, "Kasbah", "Palais du pacha", "Taroudant", null),
+                new SearchRow(2L, "Souk", "Bijoux berbères", " taroudant ", null),
+                new SearchRow(3L, "Remparts", null, "Tarudant", null),
+                new SearchRow(4L, "Plage", null, "Agadir", null)));
+        when(activityRepository.findSearchRows(eq(Status.ACTIVE), eq(0L), any())).thenReturn(List.of(
+                new SearchRow(7L, "Balade", null, "Taroudant", new BigDecimal("250.00")),
+                new SearchRow(8L, "Bivouac", null, "Agadir", new BigDecimal("12.5"))));
+        // Le dépôt filtre sur la date du jour : ici, la liste renvoyée change entre deux reconstructions
+        when(eventRepository.findSearchRows(eq(Status.ACTIVE), eq(LocalDate.now()), anyLong(), any()))
+                .thenAnswer(call -> (long) call.getArgument(2) == 0L ? events.get() : List.of());
+        events.set(List.of(new SearchRow(11L, "Moussem", "Fête annuelle", null, null)));
+
+        index = new CatalogSearchIndex(placeRepository, activityRepository, mock(CircuitRepository.class),
+                eventRepository, mock(ArtisanRepository.class), new CatalogVersions(event -> {
+        }, 64), mock(PlatformTransactionManager.class), "", 100, 2, new double[]{100, 300, 600}, 10, true);
+        index.buildAll();
+        await().until(() -> index.tag() != null);
+    }
+
+    @AfterEach
+    void stop() {
+        index.shutdown();
+    }
+
+    @Test
+    void citySpellingsShareOneFacetValueThatTheFilterFindsAgain() {
+        CatalogSearchIndex.Result all = search(null, null);
+
+        assertThat(all.facets().get("city")).containsExactly(Map.entry("Taroudant", 4L), Map.entry("Agadir", 2L));
+        assertThat(search(null, "Taroudant").total()).isEqualTo(4L);
+        assertThat(search("kasbah", "TARUDANT").hits().getContent()).extracting(SearchHit::id).containsExactly(1L);
+    }
+
+    @Test
+    void priceFacetUsesTheFilterBandLabels() {
+        CatalogSearchIndex.Result all = search(null, null);
+
+        assertThat(all.facets().get("price").keySet()).containsExactly("0-100", "100-300", "300-600", "600+");
+        assertThat(all.facets().get("price")).containsEntry("0-100", 1L).containsEntry("100-300", 1L);
+    }
+
+    @Test
+    void nightlyEventRebuildDropsEndedEventsOnly() {
+        assertThat(search("moussem", null).total()).isEqualTo(1L);
+        String tag = index.tag();
+
+        events.set(List.of());
+        index.dropEndedEvents();
+
+        await().until(() -> !tag.equals(index.tag()));
+        assertThat(search("moussem", null).total()).isZero();
+        // Les autres collections n'ont pas été relues ni retirées
+        assertThat(search("kasbah", null).total()).isEqualTo(1L);
+    }
+
+    @Test
+    void countsSearchesAndIndexedDocuments() {
+        Map<String, Long> built = index.getStatistics();
+        // Quatre lieux, deux activités, un événement
+        assertThat(built).containsEntry("requests", 0L).containsEntry("documents", 7L);
+
+        search("kasbah", null);
+        search(null, "Agadir");
+        assertThat(index.getStatistics()).containsEntry("requests", 2L);
+
+        String tag = index.tag();
+        events.set(List.of());
+        index.dropEndedEvents();
+        await().until(() -> !tag.equals(index.tag()));
+
+        Map<String, Long> stats = index.getStatistics();
+        assertThat(stats).containsEntry("documents", 6L).containsEntry("updates", 0L)
+                .containsEntry("generation", built.get("generation") + 1);
+    }
+
+    private CatalogSearchIndex.Result search(String query, String city) {
+        return index.search(query, Set.of(), city, null, null, PageQuery.first(10), false);
+    }
+}
@@ -0,0 +1,78 @@
+package backend.service.search;
+
+import backend.dto.Suggestion;
+import backend.service.CatalogCollection;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionTrieTest {
+
+    private final CompletionTrie trie = new CompletionTrie(3);
+
+    @Test
+    void heaviestEntriesUnderAPrefixComeFirst() {
+        put(1, "Kasbah", 2.0, "kasbah");
+        put(2, "Kasbah Tiout", 5.0, "kasbah tiut", "tiut");
+        put(3, "Karam", 1.0, "karam");
+        put(4, "Souk", 9.0, "suk");
+
+        assertThat(ids(trie.top("ka", 10))).containsExactly(2L, 1L, 3L);
+        assertThat(ids(trie.top("kas", 10))).containsExactly(2L, 1L);
+        assertThat(ids(trie.top("ti", 10))).containsExactly(2L);
+        assertThat(ids(trie.top("", 2))).containsExactly(4L, 2L);
+        assertThat(trie.top("kx", 10)).isEmpty();
+    }
+
+    @Test
+    void prefixEndingInsideACompressedEdgeMatchesTheWholeSubtree() {
+        put(1, "Tarudant", 1.0, "tarudant");
+        put(2, "Taliwine", 1.0, "taliwine");
+
+        // "tar" s'arrête au milieu de l'arête "rudant" après le nœud "ta"
+        assertThat(ids(trie.top("tar", 10))).containsExactly(1L);
+        assertThat(ids(trie.top("tarx", 10))).isEmpty();
+        assertThat(ids(trie.top("ta", 10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void entryWithSeveralKeysAppearsOnce() {
+        put(1, "Jardin du jardinier", 1.0, "jardin du jardinier", "du jardinier", "jardinier");
+
+        assertThat(ids(trie.top("jardin", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void capacityBoundsEveryNodeList() {
+        for (long id = 1; id <= 10; id++) {
+            put(id, "Riad " + id, id, "riad " + id);
+        }
+
+        assertThat(ids(trie.top("riad", 10))).containsExactly(10L, 9L, 8L);
+    }
+
+    @Test
+    void replacingAndRemovingMergesNodesBack() {
+        put(1, "Kasbah", 1.0, "kasbah");
+        put(2, "Kasba Tamdakht", 1.0, "kasba tamdakht");
+        int nodes = trie.nodes();
+
+        put(1, "Palais", 1.0, "palais");
+        trie.remove(2);
+
+        assertThat(trie.top("kas", 10)).isEmpty();
+        assertThat(ids(trie.top("pa", 10))).containsExactly(1L);
+        assertThat(trie.size()).isEqualTo(1);
+        assertThat(trie.nodes()).isLessThan(nodes);
+    }
+
+    private void put(long id, String label, double weight, String... keys) {
+        trie.put(new CompletionTrie.Entry(new Suggestion(CatalogCollection.PLACES, id, label), weight), List.of(keys));
+    }
+
+    private static List<Long> ids(List<CompletionTrie.Entry> entries) {
+        return entries.stream().map(entry -> entry.suggestion().id()).toList();
+    }
+}
@@ -0,0 +1,138 @@
+package backend.service.search;
+
+import backend.dto.PlaceSummary;
+import backend.dto.PlaceText;
+import backend.entities.Status;
+import backend.exception.InvalidRequestException;
+import backend.repositories.PlaceRepository;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import backend.service.PageQuery;
+import backend.service.readmodel.CatalogReadModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlaceSearchIndexTest {
+
+    private final Map<Long, PlaceText> texts = new ConcurrentSkipListMap<>();
+    private final PlaceRepository placeRepository = mock(PlaceRepository.class);
+    private final CatalogReadModel readModel = mock(CatalogReadModel.class);
+    private final CatalogVersions versions = new CatalogVersions(event -> {
+    }, 64);
+    private PlaceSearchIndex index;
+
+    @BeforeEach
+    void start() {
+        when(placeRepository.findTexts(anyLong(), any())).thenAnswer(call -> {
+            long afterId = call.getArgument(0);
+            Limit limit = call.getArgument(1);
+            return texts.values().stream().filter(text -> text.id() > afterId).limit(limit.max()).toList();
+        });
+        when(placeRepository.findTextsByIdIn(any())).thenAnswer(call -> {
+            Collection<Long> ids = call.getArgument(0);
+            return ids.stream().map(texts::get).filter(text -> text != null).toList();
+        });
+        when(readModel.getPlaceSummaries(any())).thenAnswer(call -> {
+            List<Long> ids = call.getArgument(0);
+            return ids.stream().map(id -> new PlaceSummary(id, texts.get(id).name(), texts.get(id).city(),
+                    null, null, null, Status.ACTIVE, null, null)).toList();
+        });
+        text(1L, "Kasbah", "Taroudant", "Palais du pacha");
+        text(2L, "Souk berbère", "Taroudant", "Marché aux bijoux");
+        text(3L, "Remparts", "Taroudant", "Promenade au pied de la kasbah");
+
+        index = new PlaceSearchIndex(placeRepository, readModel, versions, mock(PlatformTransactionManager.class),
+                2, true);
+    }
+
+    @AfterEach
+    void stop() {
+        index.shutdown();
+    }
+
+    @Test
+    void databaseAnswersUntilTheIndexIsBuilt() {
+        assertThat(index.tag()).isNull();
+        assertThat(index.search("kasbah", PageQuery.first(10))).isEmpty();
+
+        built();
+
+        assertThat(ids(index.search("kasba", PageQuery.first(10)).orElseThrow())).containsExactly(1L, 3L);
+        // Sans mot : tous les lieux, triés par id par la base
+        assertThat(index.search(" ", PageQuery.first(10))).isEmpty();
+        assertThat(index.getStatistics()).containsEntry("hits", 1L).containsEntry("fallbacks", 2L)
+                .containsEntry("rebuilds", 1L);
+    }
+
+    @Test
+    void builtIndexKeepsServingWhileAPlaceIsReloaded() {
+        built();
+        String tag = index.tag();
+
+        text(2L, "Souk Jdid", "Taroudant", "Marché aux bijoux");
+        versions.changed(CatalogCollection.PLACES, 2L);
+        index.onCatalogChanged(new CatalogChangedEvent(CatalogCollection.PLACES, 2L));
+        // Pas encore relu : l'ancien état reste servi sous l'ancien tag, pas de repli sur la base
+        assertThat(index.search("souk", PageQuery.first(10))).isPresent();
+
+        await().until(() -> !tag.equals(index.tag()));
+        assertThat(ids(index.search("jdid", PageQuery.first(10)).orElseThrow())).containsExactly(2L);
+        // Relecture d'une ligne : l'ancienne place reste morte dans l'index jusqu'à la prochaine reconstruction
+        assertThat(index.getStatistics()).containsEntry("updates", 1L).containsEntry("documents", 3L)
+                .containsEntry("deadDocuments", 1L);
+    }
+
+    @Test
+    void rankedCursorContinuesInTheIndexAndIsRejectedElsewhere() {
+        built();
+        Window<PlaceSummary> first = index.search("taroudant", PageQuery.first(2)).orElseThrow();
+        ScrollPosition next = first.positionAt(first.size() - 1);
+
+        Window<PlaceSummary> second = index.search("taroudant", new PageQuery(next, Limit.of(2))).orElseThrow();
+
+        assertThat(ids(first)).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(ids(second)).hasSize(1).doesNotContainAnyElementsOf(ids(first));
+        // Sans mot, la requête SQL lirait le couple (score, id) comme un simple id
+        assertThatThrownBy(() -> index.search(" ", new PageQuery(next, Limit.of(2))))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> index.search("taroudant",
+                new PageQuery(ScrollPosition.forward(Map.of("score", 3L, "id", 1L)), Limit.of(2))))
+                .isInstanceOf(InvalidRequestException.class);
+        // Curseur de la requête SQL (id seul) : la suite reste en base
+        assertThat(index.search("taroudant", new PageQuery(ScrollPosition.forward(Map.of("id", 1L)), Limit.of(2))))
+                .isEmpty();
+    }
+
+    private void built() {
+        index.buildAll();
+        await().until(() -> index.tag() != null);
+    }
+
+    private void text(Long id, String name, String city, String description) {
+        texts.put(id, new PlaceText(id, name, city, description));
+    }
+
+    private static List<Long> ids(Window<PlaceSummary> window) {
+        return window.getContent().stream().map(PlaceSummary::id).toList();
+    }
+}
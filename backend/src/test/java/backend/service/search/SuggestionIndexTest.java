@@ -0,0 +1,81 @@
+package backend.service.search;
+
+import backend.dto.Suggestion;
+import backend.dto.SuggestionRow;
+import backend.entities.Status;
+import backend.repositories.ActivityRepository;
+import backend.repositories.CircuitRepository;
+import backend.repositories.EventRepository;
+import backend.repositories.PlaceRepository;
+import backend.service.CatalogChangedEvent;
+import backend.service.CatalogCollection;
+import backend.service.CatalogVersions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SuggestionIndexTest {
+
+    private final Map<Long, SuggestionRow> places = new ConcurrentSkipListMap<>();
+    private final PlaceRepository placeRepository = mock(PlaceRepository.class);
+    private final CatalogVersions versions = new CatalogVersions(event -> {
+    }, 64);
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void start() {
+        when(placeRepository.findSuggestions(eq(Status.ACTIVE), anyLong(), any())).thenAnswer(call -> {
+            long afterId = call.getArgument(1);
+            Limit limit = call.getArgument(2);
+            return places.values().stream().filter(row -> row.id() > afterId).limit(limit.max()).toList();
+        });
+        when(placeRepository.findSuggestionsByIdIn(eq(Status.ACTIVE), any())).thenAnswer(call -> {
+            Collection<Long> ids = call.getArgument(1);
+            return ids.stream().map(places::get).filter(row -> row != null).toList();
+        });
+        places.put(1L, new SuggestionRow(1L, "Kasbah de Taroudant", 12L, 4.5));
+        places.put(2L, new SuggestionRow(2L, "Remparts de Taroudant", null, null));
+
+        index = new SuggestionIndex(placeRepository, mock(ActivityRepository.class), mock(CircuitRepository.class),
+                mock(EventRepository.class), versions, mock(PlatformTransactionManager.class), 100, 10, true);
+    }
+
+    @AfterEach
+    void stop() {
+        index.shutdown();
+    }
+
+    @Test
+    void countsRequestsAndEntriesPerCollection() {
+        // Une reconstruction par collection
+        index.buildAll();
+        await().until(() -> index.getStatistics().get("rebuilds") == 4L);
+
+        assertThat(index.suggest("tarou", 10, false)).extracting(Suggestion::id).containsExactly(1L, 2L);
+        // Saisie sans lettre : pas de recherche, pas de requête comptée
+        assertThat(index.suggest(" ", 10, false)).isEmpty();
+        assertThat(index.getStatistics()).containsEntry("requests", 1L).containsEntry("places.entries", 2L);
+
+        places.remove(2L);
+        versions.changed(CatalogCollection.PLACES, 2L);
+        index.onCatalogChanged(new CatalogChangedEvent(CatalogCollection.PLACES, 2L));
+        await().until(() -> index.getStatistics().get("updates") == 1L);
+
+        assertThat(index.getStatistics()).containsEntry("places.entries", 1L).containsEntry("activities.entries", 0L);
+    }
+}
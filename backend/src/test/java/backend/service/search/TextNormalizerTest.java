@@ -0,0 +1,40 @@
+package backend.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextNormalizerTest {
+
+    @Test
+    void spellingVariantsAndScriptsFoldToOneForm() {
+        assertThat(TextNormalizer.fold("Taroudant")).isEqualTo("tarudant");
+        assertThat(TextNormalizer.fold("TARUDANT")).isEqualTo("tarudant");
+        assertThat(TextNormalizer.fold("تارودانت")).isEqualTo("tarudant");
+        assertThat(TextNormalizer.fold("Marrakech")).isEqualTo(TextNormalizer.fold("Marrakesh"));
+        assertThat(TextNormalizer.fold("Souq")).isEqualTo(TextNormalizer.fold("Souk"));
+        assertThat(TextNormalizer.fold("Djemaa")).isEqualTo(TextNormalizer.fold("Jemaa"));
+    }
+
+    @Test
+    void accentsLigaturesAndPunctuationAreDropped() {
+        assertThat(TextNormalizer.words("Église de l'Œuvre")).containsExactly("eglise", "de", "l", "oeuvre");
+        assertThat(TextNormalizer.words("Bab-El-Khemis, route 2")).containsExactly("bab", "el", "khemis", "rute", "2");
+        assertThat(TextNormalizer.fold("  ... ")).isEmpty();
+        assertThat(TextNormalizer.words(null)).isEmpty();
+    }
+
+    @Test
+    void queryWordsAreDistinctInTypingOrder() {
+        assertThat(TextNormalizer.queryWords("Souk souq Taroudant")).containsExactly("suk", "tarudant");
+    }
+
+    @Test
+    void prefixFormsAnticipateAFoldedSpelling() {
+        // "taro" sera replié en "taru..." une fois le "u" tapé
+        assertThat(TextNormalizer.prefixForms("Taro")).containsExactly("taro", "taru");
+        assertThat(TextNormalizer.prefixForms("marrakec")).containsExactly("marakec", "marakes");
+        assertThat(TextNormalizer.prefixForms("kasbah")).containsExactly("kasbah");
+        assertThat(TextNormalizer.prefixForms(" ")).isEmpty();
+    }
+}
@@ -0,0 +1,128 @@
+package backend.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private static final double FIRST = Double.POSITIVE_INFINITY;
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    @Test
+    void longWordsMatchInsideIndexedWordsShortOnesOnlyAsPrefix() {
+        put(1, "kasbah", "tarudant", "");
+        put(2, "suk", "agadir", "");
+
+        assertThat(ids(search("asba"))).containsExactly(1L);
+        assertThat(ids(search("ka"))).containsExactly(1L);
+        assertThat(ids(search("as"))).isEmpty();
+        assertThat(ids(search("zzz"))).isEmpty();
+    }
+
+    @Test
+    void everyWordMustMatch() {
+        put(1, "kasbah", "tarudant", "");
+        put(2, "suk", "tarudant", "");
+        put(3, "suk", "agadir", "");
+
+        assertThat(ids(search("tarudant", "suk"))).containsExactly(2L);
+        assertThat(ids(search("tarudant", "absent"))).isEmpty();
+    }
+
+    @Test
+    void gallopingIntersectionKeepsExactlyTheCommonDocuments() {
+        // Liste longue (tous les documents) croisée avec des listes courtes et espacées : les sauts
+        // doublés dépassent la cible puis la dichotomie la retrouve
+        for (long id = 1; id <= 5000; id++) {
+            String rare = id % 97 == 0 ? "rempart" : "";
+            String odd = id % 2 == 1 ? "palmeraie" : "";
+            put(id, "jardin", "tarudant", rare + " " + odd);
+        }
+
+        List<Long> expected = LongStream.rangeClosed(1, 5000).filter(id -> id % 97 == 0 && id % 2 == 1).boxed().toList();
+        assertThat(ids(index.search(Set.of("jardin", "rempart", "palmeraie"), FIRST, 0L, 10_000)))
+                .containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(ids(search("jardin", "rempart"))).hasSize(51);
+    }
+
+    @Test
+    void nameMatchOutranksCityWhichOutranksDescription() {
+        put(1, "musee", "agadir", "visite du jardin");
+        put(2, "jardin", "agadir", "visite du musee");
+        put(3, "musee", "jardin", "visite du parc");
+
+        assertThat(ids(search("jardin"))).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void shorterDocumentRanksFirstAndRareWordsWeighMore() {
+        put(1, "kasbah", "tarudant", "");
+        put(2, "kasbah", "tarudant", "ancienne residence du pacha entouree de jardins et de remparts");
+        put(3, "suk", "tarudant", "");
+
+        List<TrigramIndex.Hit> hits = search("kasbah");
+        assertThat(ids(hits)).containsExactly(1L, 2L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+        // "tarudant" est partout : il ne départage presque rien face à "kasbah"
+        assertThat(search("tarudant").get(0).score()).isLessThan(hits.get(0).score());
+    }
+
+    @Test
+    void cursorPagesCoverEveryHitOnceIncludingTies() {
+        for (long id = 1; id <= 25; id++) {
+            put(id, "riad", "tarudant", id % 5 == 0 ? "riad" : "");
+        }
+
+        List<TrigramIndex.Hit> all = index.search(Set.of("riad"), FIRST, 0L, 100);
+        List<TrigramIndex.Hit> paged = new ArrayList<>();
+        double afterScore = FIRST;
+        long afterId = 0L;
+        List<TrigramIndex.Hit> page;
+        do {
+            page = index.search(Set.of("riad"), afterScore, afterId, 4);
+            paged.addAll(page);
+            if (!page.isEmpty()) {
+                afterScore = page.get(page.size() - 1).score();
+                afterId = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == 4);
+
+        assertThat(paged).containsExactlyElementsOf(all).hasSize(25);
+        // Deux occurrences d'abord, puis les ex aequo par id croissant
+        assertThat(ids(all).subList(0, 6)).containsExactly(5L, 10L, 15L, 20L, 25L, 1L);
+    }
+
+    @Test
+    void replacedAndRemovedDocumentsLeaveDeadSlots() {
+        put(1, "kasbah", "tarudant", "");
+        put(2, "suk", "tarudant", "");
+
+        put(1, "palais", "tarudant", "");
+        index.remove(2);
+
+        assertThat(ids(search("kasbah"))).isEmpty();
+        assertThat(ids(search("palais"))).containsExactly(1L);
+        assertThat(ids(search("tarudant"))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.deadDocuments()).isEqualTo(2);
+    }
+
+    private void put(long id, String name, String city, String description) {
+        index.put(id, TextNormalizer.words(name), TextNormalizer.words(city), TextNormalizer.words(description));
+    }
+
+    private List<TrigramIndex.Hit> search(String... words) {
+        return index.search(Set.of(words), FIRST, 0L, 100);
+    }
+
+    private static List<Long> ids(List<TrigramIndex.Hit> hits) {
+        return hits.stream().map(TrigramIndex.Hit::id).toList();
+    }
+}
@@ -7,13 +7,13 @@ import { Slider } from "@/components/ui/slider"
 import { ActivityCard } from "@/components/activity-card"
 import { Loader2, Search, Compass } from "lucide-react"
 import { activitiesService } from "@/services/activities.service"
-import type { Activity } from "@/lib/types"
+import type { ActivitySummary } from "@/lib/types"
 import { motion } from "framer-motion"
 import { Badge } from "@/components/ui/badge"
 
 export default function ActivitiesPage() {
-  const [activities, setActivities] = useState<Activity[]>([])
-  const [filteredActivities, setFilteredActivities] = useState<Activity[]>([])
+  const [activities, setActivities] = useState<ActivitySummary[]>([])
+  const [filteredActivities, setFilteredActivities] = useState<ActivitySummary[]>([])
   const [searchQuery, setSearchQuery] = useState("")
   const [priceRange, setPriceRange] = useState<number[]>([0, 1000])
   const [maxPrice, setMaxPrice] = useState(1000)
@@ -48,7 +48,6 @@ export default function ActivitiesPage() {
       filtered = filtered.filter(
         (activity) =>
           activity.title.toLowerCase().includes(query) ||
-          activity.description.toLowerCase().includes(query) ||
           activity.place?.name?.toLowerCase().includes(query) || false
       )
     }
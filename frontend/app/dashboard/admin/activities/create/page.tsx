@@ -11,11 +11,11 @@ import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card"
 import { useToast } from "@/hooks/use-toast"
 import { ArrowLeft, Loader2 } from "lucide-react"
 import Link from "next/link"
-import type { Place } from "@/lib/types"
+import type { PlaceSummary } from "@/lib/types"
 
 export default function AdminCreateActivityPage() {
   const [formData, setFormData] = useState({ title: "", description: "", price: "", duration: "", placeId: "" })
-  const [places, setPlaces] = useState<Place[]>([])
+  const [places, setPlaces] = useState<PlaceSummary[]>([])
   const [loading, setLoading] = useState(false)
   const router = useRouter()
   const { toast } = useToast()
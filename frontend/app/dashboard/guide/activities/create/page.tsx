@@ -13,11 +13,11 @@ import { Textarea } from "@/components/ui/textarea"
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from "@/components/ui/select"
 import { ArrowLeft, Loader2, Activity as ActivityIcon } from "lucide-react"
 import Link from "next/link"
-import type { Place } from "@/lib/types"
+import type { PlaceSummary } from "@/lib/types"
 
 export default function GuideCreateActivityPage() {
   const [loading, setLoading] = useState(false)
-  const [places, setPlaces] = useState<Place[]>([])
+  const [places, setPlaces] = useState<PlaceSummary[]>([])
   const [formData, setFormData] = useState({
     title: "",
     description: "",
@@ -9,10 +9,10 @@ import { Table, TableBody, TableCell, TableHead, TableHeader, TableRow } from "@
 import { MapPin, Plus, Clock, CheckCircle, Search, Loader2, ArrowLeft, Eye } from "lucide-react"
 import { Input } from "@/components/ui/input"
 import Link from "next/link"
-import type { Place } from "@/lib/types"
+import type { PlaceSummary } from "@/lib/types"
 
 export default function GuidePlacesPage() {
-  const [places, setPlaces] = useState<Place[]>([])
+  const [places, setPlaces] = useState<PlaceSummary[]>([])
   const [loading, setLoading] = useState(true)
   const [searchTerm, setSearchTerm] = useState("")
   const { toast } = useToast()
@@ -13,7 +13,7 @@ import { placesService } from "@/services/places.service"
 import { activitiesService } from "@/services/activities.service"
 import { reviewsService } from "@/services/reviews.service"
 import { authService } from "@/services/auth.service"
-import type { Place, Activity, Review } from "@/lib/types"
+import type { Place, ActivitySummary, Review } from "@/lib/types"
 import { MapPin, Clock, Loader2, Star, Activity as ActivityIcon, ArrowLeft, History, Info, Landmark } from "lucide-react"
 import Link from "next/link"
 import { Badge } from "@/components/ui/badge"
@@ -21,7 +21,7 @@ import { Badge } from "@/components/ui/badge"
 export default function PlaceDetailsPage({ params }: { params: Promise<{ id: string }> }) {
   const resolvedParams = use(params)
   const [place, setPlace] = useState<Place | null>(null)
-  const [activities, setActivities] = useState<Activity[]>([])
+  const [activities, setActivities] = useState<ActivitySummary[]>([])
   const [reviews, setReviews] = useState<Review[]>([])
   const [averageRating, setAverageRating] = useState<number>(0)
   const [isLoading, setIsLoading] = useState(true)
@@ -38,14 +38,15 @@ export default function PlaceDetailsPage({ params }: { params: Promise<{ id: str
         const placeId = Number.parseInt(resolvedParams.id)
         if (isNaN(placeId)) return;
 
-        const [placeData, activitiesData, reviewsData, rating] = await Promise.all([
-          placesService.getPlaceById(placeId),
-          activitiesService.getActivitiesByPlace(placeId),
-          reviewsService.getReviewsByPlace(placeId),
-          reviewsService.getAverageRating(placeId),
+        // Un seul aller-retour ; une partie non servie à temps est rechargée par son endpoint
+        const details = await placesService.getPlaceDetails(placeId)
+        const [activitiesData, reviewsData, rating] = await Promise.all([
+          details.activities ?? activitiesService.getActivitiesByPlace(placeId),
+          details.reviews ?? (details.unavailable.includes("reviews") ? reviewsService.getReviewsByPlace(placeId) : []),
+          details.rating?.average ?? reviewsService.getAverageRating(placeId),
         ])
 
-        setPlace(placeData)
+        setPlace(details.place)
         setActivities(activitiesData)
         setReviews(reviewsData)
         
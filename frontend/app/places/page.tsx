@@ -7,12 +7,12 @@ import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from "@
 import { PlaceCard } from "@/components/place-card"
 import { Loader2, Search, Map, Landmark, Navigation, Badge } from "lucide-react"
 import { placesService } from "@/services/places.service"
-import type { Place } from "@/lib/types"
+import type { PlaceSummary } from "@/lib/types"
 import { Separator } from "@/components/ui/separator"
 
 export default function PlacesPage() {
-  const [places, setPlaces] = useState<Place[]>([])
-  const [filteredPlaces, setFilteredPlaces] = useState<Place[]>([])
+  const [places, setPlaces] = useState<PlaceSummary[]>([])
+  const [filteredPlaces, setFilteredPlaces] = useState<PlaceSummary[]>([])
   const [searchQuery, setSearchQuery] = useState("")
   const [selectedCity, setSelectedCity] = useState<string>("all")
   const [isLoading, setIsLoading] = useState(true)
@@ -41,7 +41,7 @@ export default function PlacesPage() {
       filtered = filtered.filter(
         (place) =>
           place.name.toLowerCase().includes(searchQuery.toLowerCase()) ||
-          place.description.toLowerCase().includes(searchQuery.toLowerCase())
+          place.city.toLowerCase().includes(searchQuery.toLowerCase())
       )
     }
     setFilteredPlaces(filtered)
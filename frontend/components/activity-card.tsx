@@ -4,10 +4,10 @@ import Link from "next/link"
 import { Clock, MapPin, User, ArrowRight } from "lucide-react"
 import { Card, CardContent, CardDescription, CardHeader, CardTitle, CardFooter } from "@/components/ui/card"
 import { Badge } from "@/components/ui/badge"
-import type { Activity } from "@/lib/types"
+import type { ActivitySummary } from "@/lib/types"
 
 interface ActivityCardProps {
-  activity: Activity
+  activity: ActivitySummary
 }
 
 export function ActivityCard({ activity }: ActivityCardProps) {
@@ -34,20 +34,16 @@ export function ActivityCard({ activity }: ActivityCardProps) {
                 <span>{activity.duration}</span>
               </div>
             </div>
-             {activity.guide?.user?.fullName && (
+             {activity.guide?.fullName && (
                 <div className="flex items-center gap-2 text-slate-500 text-xs font-medium pt-1 pl-1">
                   <User className="h-3 w-3 opacity-70" />
-                  <span>Guide : {activity.guide.user.fullName}</span>
+                  <span>Guide : {activity.guide.fullName}</span>
                 </div>
               )}
           </CardDescription>
         </CardHeader>
         
-        <CardContent className="px-6 pb-4 flex-grow">
-          <p className="text-sm text-slate-500 line-clamp-3 leading-relaxed font-medium italic">
-            {activity.description || "Aucune description disponible pour le moment."}
-          </p>
-        </CardContent>
+        <CardContent className="px-6 pb-4 flex-grow" />
         <CardFooter className="px-6 pb-6 pt-0">
             <div className="text-amber-600 text-sm font-bold flex items-center opacity-0 group-hover:opacity-100 transition-opacity duration-300 translate-x-[-10px] group-hover:translate-x-0">
                 Voir les détails <ArrowRight className="ml-2 h-4 w-4" />
@@ -5,7 +5,10 @@ import Link from "next/link"
 import { Card, CardHeader, CardTitle, CardDescription, CardContent } from "@/components/ui/card"
 import { MapPin, Loader2 } from "lucide-react"
 import { placesService } from "@/services/places.service"
-import { Place } from "@/lib/types"
+import { PlaceSummary } from "@/lib/types"
+
+// La liste publique ne transporte pas la description : seules les cartes de secours en ont une
+type FeaturedPlace = PlaceSummary & { description?: string }
 
 /** * HELPER FUNCTIONS
  * Defined outside the component to avoid initialization errors 
@@ -29,7 +32,7 @@ const getPlaceImage = (placeName: string): string => {
     return `${baseUrl}?auto=format&fit=crop&w=800&h=450&q=80`
 }
 
-const getFallbackPlaces = (): Place[] => [
+const getFallbackPlaces = (): FeaturedPlace[] => [
     {
         id: 1,
         name: "Les Remparts de Taroudant",
@@ -57,7 +60,7 @@ const getFallbackPlaces = (): Place[] => [
 ]
 
 export default function FeaturedPlaces() {
-    const [places, setPlaces] = useState<Place[]>([])
+    const [places, setPlaces] = useState<FeaturedPlace[]>([])
     const [loading, setLoading] = useState(true)
     const [error, setError] = useState<string | null>(null)
 
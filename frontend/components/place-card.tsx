@@ -1,10 +1,10 @@
 import Link from "next/link"
-import { MapPin } from "lucide-react"
+import { MapPin, Star } from "lucide-react"
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card"
-import type { Place } from "@/lib/types"
+import type { PlaceSummary } from "@/lib/types"
 
 interface PlaceCardProps {
-  place: Place
+  place: PlaceSummary
 }
 
 export function PlaceCard({ place }: PlaceCardProps) {
@@ -27,7 +27,14 @@ export function PlaceCard({ place }: PlaceCardProps) {
           </CardDescription>
         </CardHeader>
         <CardContent>
-          <p className="text-sm text-muted-foreground line-clamp-2">{place.description}</p>
+          {place.averageRating != null ? (
+            <p className="text-sm text-muted-foreground flex items-center gap-1">
+              <Star className="h-4 w-4 text-amber-500" />
+              {place.averageRating.toFixed(1)} / 5
+            </p>
+          ) : (
+            <p className="text-sm text-muted-foreground">Pas encore d'avis</p>
+          )}
         </CardContent>
       </Card>
     </Link>
@@ -7,7 +7,41 @@ export class ApiError extends Error {
   }
 }
 
+// Taille de page maximale acceptée par le backend (application.pagination.max-size)
+const MAX_PAGE_SIZE = 200;
+
 export async function apiRequest<T>(endpoint: string, options: RequestInit = {}): Promise<T> {
+  const { response, data } = await send(endpoint, options);
+
+  if (response.status === 204 || !data) {
+    return {} as T;
+  }
+
+  return data as T;
+}
+
+/**
+ * Liste complète d'un endpoint paginé par curseur : les pages sont demandées une à une,
+ * en suivant l'en-tête X-Next-Cursor jusqu'à la dernière.
+ */
+export async function apiRequestAll<T>(endpoint: string, options: RequestInit = {}): Promise<T[]> {
+  const separator = endpoint.includes("?") ? "&" : "?";
+  const items: T[] = [];
+  let cursor: string | null = null;
+  do {
+    const page: string = cursor
+      ? `${endpoint}${separator}size=${MAX_PAGE_SIZE}&cursor=${encodeURIComponent(cursor)}`
+      : `${endpoint}${separator}size=${MAX_PAGE_SIZE}`;
+    const { response, data } = await send(page, options);
+    if (Array.isArray(data)) {
+      items.push(...(data as T[]));
+    }
+    cursor = response.headers.get("X-Next-Cursor");
+  } while (cursor);
+  return items;
+}
+
+async function send(endpoint: string, options: RequestInit): Promise<{ response: Response; data: any }> {
   const token = typeof window !== "undefined" ? localStorage.getItem("token") : null;
 
   const headers: Record<string, string> = {
@@ -41,13 +75,10 @@ export async function apiRequest<T>(endpoint: string, options: RequestInit = {})
 
   if (!response.ok) {
     // Si la réponse est une erreur, on utilise les données déjà extraites
-    const errorMessage = data?.error || data?.message || (typeof data === 'string' ? data : response.statusText);
+    // Les erreurs métier arrivent en problem+json : le message est dans "detail"
+    const errorMessage = data?.detail || data?.error || data?.message || (typeof data === 'string' ? data : response.statusText);
     throw new ApiError(response.status, errorMessage);
   }
 
-  if (response.status === 204 || !data) {
-    return {} as T;
-  }
-
-  return data as T;
+  return { response, data };
 }
\ No newline at end of file
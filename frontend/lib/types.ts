@@ -54,6 +54,29 @@ export interface Activity {
   status?: "ACTIVE" | "PENDING"; 
   placeId?: number; 
 }
+
+// Vues liste renvoyées par GET /places et GET /activities (sans description ni entités liées)
+export interface PlaceSummary {
+  id: number;
+  name: string;
+  city: string;
+  latitude: number;
+  longitude: number;
+  imageUrl?: string;
+  status: "PENDING" | "ACTIVE";
+  createdAt: string;
+  averageRating?: number | null;
+}
+
+export interface ActivitySummary {
+  id: number;
+  title: string;
+  price: number;
+  duration: string;
+  status?: "ACTIVE" | "PENDING";
+  place?: { id: number; name: string; city: string } | null;
+  guide?: { id: number; fullName: string } | null;
+}
 export interface Event {
   id: number;
   title: string;
@@ -144,3 +167,19 @@ export interface Report {
   reporter?: any;
 }
 
+// Réponse de GET /places/{id}/full : une partie non servie à temps vaut null et est listée dans "unavailable"
+// (reviews vaut aussi null, hors "unavailable", pour un visiteur non connecté)
+export interface RatingStats {
+  average: number;
+  count: number;
+  distribution: Record<number, number>;
+}
+
+export interface PlaceDetails {
+  place: Place;
+  activities: ActivitySummary[] | null;
+  reviews: Review[] | null;
+  reviewsNextCursor: string | null;
+  rating: RatingStats | null;
+  unavailable: string[];
+}
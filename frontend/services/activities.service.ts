@@ -1,28 +1,28 @@
-import { apiRequest } from "@/lib/api-client"
-import type { Activity } from "@/lib/types"
+import { apiRequest, apiRequestAll } from "@/lib/api-client"
+import type { Activity, ActivitySummary } from "@/lib/types"
 
 export const activitiesService = {
   // --- ROUTES PUBLIQUES ---
 
   // Récupère uniquement les activités validées par l'admin
-  async getAllActiveActivities(): Promise<Activity[]> {
-    return apiRequest<Activity[]>("/activities")
+  async getAllActiveActivities(): Promise<ActivitySummary[]> {
+    return apiRequestAll<ActivitySummary>("/activities")
   },
 
   async getActivityById(id: number): Promise<Activity> {
     return apiRequest<Activity>(`/activities/${id}`)
   },
 
-  async getActivitiesByPlace(placeId: number): Promise<Activity[]> {
-    return apiRequest<Activity[]>(`/activities/place/${placeId}`)
+  async getActivitiesByPlace(placeId: number): Promise<ActivitySummary[]> {
+    return apiRequestAll<ActivitySummary>(`/activities/place/${placeId}`)
   },
 
-  async getActivitiesByGuide(guideId: number): Promise<Activity[]> {
-    return apiRequest<Activity[]>(`/activities/guide/${guideId}`)
+  async getActivitiesByGuide(guideId: number): Promise<ActivitySummary[]> {
+    return apiRequestAll<ActivitySummary>(`/activities/guide/${guideId}`)
   },
   // activities.service.ts
 async getMyActivities(): Promise<Activity[]> {
-    return apiRequest<Activity[]>("/activities/my-activities");
+    return apiRequestAll<Activity>("/activities/my-activities");
 },
 
   // --- ROUTES GUIDES & ADMIN ---
@@ -39,12 +39,12 @@ async getMyActivities(): Promise<Activity[]> {
 
   // Récupère TOUTES les activités pour le dashboard admin
   async getAllActivities(): Promise<Activity[]> {
-    return apiRequest<Activity[]>("/activities/all")
+    return apiRequestAll<Activity>("/activities/all")
   },
 
   // Liste des activités en attente de validation
   async getPendingActivities(): Promise<Activity[]> {
-    return apiRequest<Activity[]>("/activities/pending")
+    return apiRequestAll<Activity>("/activities/pending")
   },
 
   // Valider une activité pour la rendre publique
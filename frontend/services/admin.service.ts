@@ -1,24 +1,24 @@
-import { apiRequest } from "@/lib/api-client"
+import { apiRequest, apiRequestAll } from "@/lib/api-client"
 import type { User, Status } from "@/lib/types"
 
 export const adminService = {
   // Récupérer tous les guides 
   async getAllGuides(): Promise<User[]> {
-    return apiRequest<User[]>("/admin/guides", {
+    return apiRequestAll<User>("/admin/guides", {
       method: "GET",
     })
   },
 
   // Récupérer tous les touristes
   async getAllTourists(): Promise<User[]> {
-    return apiRequest<User[]>("/admin/tourists", {
+    return apiRequestAll<User>("/admin/tourists", {
       method: "GET",
     })
   },
 
   // Récupérer la liste globale de tous les utilisateurs
   async getAllUsers(): Promise<User[]> {
-    return apiRequest<User[]>("/admin/users", {
+    return apiRequestAll<User>("/admin/users", {
       method: "GET",
     })
   },
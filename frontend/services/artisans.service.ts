@@ -1,15 +1,15 @@
 // services/artisans.service.ts
-import { apiRequest } from "@/lib/api-client"
+import { apiRequest, apiRequestAll } from "@/lib/api-client"
 import type { Artisan } from "@/lib/types"
 
 export const artisansService = {
   // Lecture
   async getAllActiveArtisans(): Promise<Artisan[]> {
-    return apiRequest<Artisan[]>("/artisans");
+    return apiRequestAll<Artisan>("/artisans");
   },
   
   async getAllArtisans(): Promise<Artisan[]> {
-    return apiRequest<Artisan[]>("/artisans/all");
+    return apiRequestAll<Artisan>("/artisans/all");
   },
 
   async getArtisanById(id: number): Promise<Artisan> {
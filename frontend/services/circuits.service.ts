@@ -1,4 +1,4 @@
-import { apiRequest } from "@/lib/api-client"
+import { apiRequest, apiRequestAll } from "@/lib/api-client"
 import type { Circuit } from "@/lib/types"
 
 export const circuitsService = {
@@ -6,7 +6,7 @@ export const circuitsService = {
 
   // Récupère les circuits validés (Status ACTIVE)
   async getActiveCircuits(): Promise<Circuit[]> {
-    return apiRequest<Circuit[]>("/circuits", {
+    return apiRequestAll<Circuit>("/circuits", {
       method: "GET",
     })
   },
@@ -22,7 +22,7 @@ export const circuitsService = {
 
   // Récupère les circuits créés par le guide connecté (utilise le Token JWT)
   async getMyCircuits(): Promise<Circuit[]> {
-    return apiRequest<Circuit[]>("/circuits/my-circuits", {
+    return apiRequestAll<Circuit>("/circuits/my-circuits", {
       method: "GET",
     })
   },
@@ -31,7 +31,7 @@ export const circuitsService = {
 
   // Liste des circuits en attente de validation par l'Admin
   async getPendingCircuits(): Promise<Circuit[]> {
-    return apiRequest<Circuit[]>("/circuits/pending", {
+    return apiRequestAll<Circuit>("/circuits/pending", {
       method: "GET",
     })
   },
@@ -1,4 +1,4 @@
-import { apiRequest } from "@/lib/api-client"
+import { apiRequest, apiRequestAll } from "@/lib/api-client"
 import type { Event } from "@/lib/types"
 
 export const eventsService = {
@@ -6,11 +6,11 @@ export const eventsService = {
 
   // Récupère uniquement les événements actifs (validés)
   async getAllActiveEvents(): Promise<Event[]> {
-    return apiRequest<Event[]>("/events")
+    return apiRequestAll<Event>("/events")
   },
 
   async getUpcomingEvents(): Promise<Event[]> {
-    return apiRequest<Event[]>("/events/upcoming")
+    return apiRequestAll<Event>("/events/upcoming")
   },
 
   async getEventById(id: number): Promise<Event> {
@@ -39,12 +39,12 @@ export const eventsService = {
 
   // Récupérer absolument tous les événements (Dashboard Admin)
   async getAllEventsForAdmin(): Promise<Event[]> {
-    return apiRequest<Event[]>("/events/all")
+    return apiRequestAll<Event>("/events/all")
   },
 
   // Récupérer les événements en attente de validation
   async getPendingEvents(): Promise<Event[]> {
-    return apiRequest<Event[]>("/events/pending")
+    return apiRequestAll<Event>("/events/pending")
   },
 
   // Valider un événement (Hamza en propose un, l'Admin le valide)
@@ -55,7 +55,7 @@ export const eventsService = {
   },
 
 async getMyProposedEvents(): Promise<Event[]> {
-  return apiRequest<Event[]>("/events/my-proposals", {
+  return apiRequestAll<Event>("/events/my-proposals", {
     method: "GET",
   })
 },
@@ -1,4 +1,4 @@
-import { apiRequest } from "@/lib/api-client"
+import { apiRequest, apiRequestAll } from "@/lib/api-client"
 import type { User, Circuit } from "@/lib/types"
 
 export const guideService = {
@@ -27,7 +27,7 @@ export const guideService = {
     //Récupère uniquement les circuits créés par ce guide.
    
   async getMyCircuits(): Promise<Circuit[]> {
-    return apiRequest<Circuit[]>("/guide/circuits", {
+    return apiRequestAll<Circuit>("/guide/circuits", {
       method: "GET",
     })
   },
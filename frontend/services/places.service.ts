@@ -1,24 +1,29 @@
-import { apiRequest } from "@/lib/api-client"
-import type { Place, User } from "@/lib/types"
+import { apiRequest, apiRequestAll } from "@/lib/api-client"
+import type { Place, PlaceDetails, PlaceSummary, User } from "@/lib/types"
 
 export const placesService = {
   // --- ROUTES PUBLIQUES ---
 
   // Récupère uniquement les lieux actifs (ceux validés par l'admin)
-  async getAllActivePlaces(): Promise<Place[]> {
-    return apiRequest<Place[]>("/places")
+  async getAllActivePlaces(): Promise<PlaceSummary[]> {
+    return apiRequestAll<PlaceSummary>("/places")
   },
 
   async getPlaceById(id: number): Promise<Place> {
     return apiRequest<Place>(`/places/${id}`)
   },
 
-  async searchPlaces(query: string): Promise<Place[]> {
-    return apiRequest<Place[]>(`/places/search?query=${encodeURIComponent(query)}`)
+  // Page lieu en une seule requête : lieu, activités, derniers avis et notes
+  async getPlaceDetails(id: number): Promise<PlaceDetails> {
+    return apiRequest<PlaceDetails>(`/places/${id}/full`)
   },
 
-  async getPlacesByCity(city: string): Promise<Place[]> {
-    return apiRequest<Place[]>(`/places/city/${encodeURIComponent(city)}`)
+  async searchPlaces(query: string): Promise<PlaceSummary[]> {
+    return apiRequestAll<PlaceSummary>(`/places/search?query=${encodeURIComponent(query)}`)
+  },
+
+  async getPlacesByCity(city: string): Promise<PlaceSummary[]> {
+    return apiRequestAll<PlaceSummary>(`/places/city/${encodeURIComponent(city)}`)
   },
 
   // --- ROUTES GUIDES & ADMIN ---
@@ -35,12 +40,12 @@ export const placesService = {
 
   // Récupère TOUS les lieux (pour le dashboard admin)
   async getAllPlacesForAdmin(): Promise<Place[]> {
-    return apiRequest<Place[]>("/places/all")
+    return apiRequestAll<Place>("/places/all")
   },
 
   // Récupère uniquement les lieux en attente de validation
   async getPendingPlaces(): Promise<Place[]> {
-    return apiRequest<Place[]>("/places/pending")
+    return apiRequestAll<Place>("/places/pending")
   },
 
   // Valide un lieu (change son statut de PENDING à ACTIVE)
@@ -1,4 +1,4 @@
-import { apiRequest } from "@/lib/api-client"
+import { apiRequest, apiRequestAll } from "@/lib/api-client"
 import type { Report, ReportStatus } from "@/lib/types"
 
 export const reportsService = {
@@ -22,7 +22,7 @@ export const reportsService = {
    * Nécessite le rôle ADMIN.
    */
   async getAllReports(): Promise<Report[]> {
-    return apiRequest<Report[]>("/reports", {
+    return apiRequestAll<Report>("/reports", {
       method: "GET",
     })
   },
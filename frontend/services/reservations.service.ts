@@ -1,4 +1,4 @@
-import { apiRequest } from "@/lib/api-client"
+import { apiRequest, apiRequestAll } from "@/lib/api-client"
 import type { Reservation } from "@/lib/types"
 
 export const reservationsService = {
@@ -11,21 +11,21 @@ export const reservationsService = {
   },
 
   async getMyReservations(): Promise<Reservation[]> {
-    return apiRequest<Reservation[]>("/tourist/reservations/my", {
+    return apiRequestAll<Reservation>("/tourist/reservations/my", {
       method: "GET",
     });
   },
 
   // --- GUIDE ---
   async getGuideReservations(): Promise<Reservation[]> {
-    return apiRequest<Reservation[]>("/tourist/reservations/guide/my-bookings", {
+    return apiRequestAll<Reservation>("/tourist/reservations/guide/my-bookings", {
       method: "GET",
     });
   },
 
   // --- ADMIN (C'EST ICI QU'IL MANQUAIT LA FONCTION) ---
   async getAllReservationsAdmin(): Promise<Reservation[]> {
-    return apiRequest<Reservation[]>("/tourist/reservations/all", {
+    return apiRequestAll<Reservation>("/tourist/reservations/all", {
       method: "GET",
     });
   },
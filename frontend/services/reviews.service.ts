@@ -1,4 +1,4 @@
-import { apiRequest } from "@/lib/api-client"
+import { apiRequest, apiRequestAll } from "@/lib/api-client"
 import type { Review } from "@/lib/types"
 
 export const reviewsService = {
@@ -19,7 +19,7 @@ async createReview(placeId: number, rating: number, comment: string): Promise<Re
   });
 },
   async getReviewsByPlace(placeId: number): Promise<Review[]> {
-    return apiRequest<Review[]>(`/reviews/place/${placeId}`);
+    return apiRequestAll<Review>(`/reviews/place/${placeId}`);
   },
 
   async getAverageRating(placeId: number): Promise<number> {
@@ -35,7 +35,7 @@ async updateReview(id: number, rating: number, comment: string): Promise<Review>
 },
   // Admin: Récupérer tous les avis.
 async getAllReviewsAdmin(): Promise<Review[]> {
-  return apiRequest<Review[]>("/reviews/all", { 
+  return apiRequestAll<Review>("/reviews/all", { 
     method: "GET" 
   });
 },
@@ -46,7 +46,7 @@ async getAllReviewsAdmin(): Promise<Review[]> {
   //  Récupérer les avis d'un utilisateur spécifique.
    
   async getReviewsByUser(userId: number): Promise<Review[]> {
-    return apiRequest<Review[]>(`/reviews/user/${userId}`, {
+    return apiRequestAll<Review>(`/reviews/user/${userId}`, {
       method: "GET"
     });
   },